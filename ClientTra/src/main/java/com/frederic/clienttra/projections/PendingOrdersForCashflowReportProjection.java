@@ -6,5 +6,7 @@ public interface PendingOrdersForCashflowReportProjection {
     Integer getIdOrder();
     Double getTotal();
     Integer getIdCompany();
+    String getLegalName();
+    String getVatNumber();
     LocalDate getDateOrder();
 }
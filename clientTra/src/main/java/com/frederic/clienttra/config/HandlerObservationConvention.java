@@ -0,0 +1,46 @@
+package com.frederic.clienttra.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Observation convention of the {@code http.server.requests} metric.
+ * <p>
+ * Keeps the default tags ({@code method}, {@code uri}, {@code status}, {@code outcome},
+ * {@code exception}) and adds {@code handler}, the controller method that served the request
+ * (e.g. {@code CustomerController.getCustomerById}), plus the {@link TenantMetricsTag} when
+ * enabled.
+ */
+public class HandlerObservationConvention extends DefaultServerRequestObservationConvention {
+
+    private static final String HANDLER = "handler";
+    private static final String NONE = "none";
+
+    private final TenantMetricsTag tenantTag;
+
+    public HandlerObservationConvention(TenantMetricsTag tenantTag) {
+        this.tenantTag = tenantTag;
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        HttpServletRequest request = context.getCarrier();
+        KeyValues keyValues = super.getLowCardinalityKeyValues(context).and(KeyValue.of(HANDLER, handler(request)));
+        if (tenantTag.isEnabled()) {
+            keyValues = keyValues.and(KeyValue.of(TenantMetricsTag.KEY, tenantTag.captured(request)));
+        }
+        return keyValues;
+    }
+
+    private static String handler(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,49 @@
+package com.frederic.clienttra.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for JDBC batching of entity writes.
+ * <p>
+ * Entities whose identifiers come from the pooled {@code id_generators} table can be inserted
+ * in batches. This class:
+ * <ul>
+ *     <li>sets the Hibernate batch size to {@code clienttra.jdbc.batch-size} (default 50;
+ *     {@code 0} disables batching) and orders inserts and updates by entity so that
+ *     consecutive statements can share a batch</li>
+ *     <li>enables {@code rewriteBatchedStatements} on the MySQL driver, which sends each
+ *     batch as a single multi-row statement instead of one round trip per row</li>
+ * </ul>
+ */
+@Configuration
+public class JdbcBatchingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(
+            @Value("${clienttra.jdbc.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.put("hibernate.jdbc.batch_size", batchSize);
+            properties.put("hibernate.order_inserts", true);
+            properties.put("hibernate.order_updates", true);
+            properties.put("hibernate.jdbc.batch_versioned_data", true);
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor rewriteBatchedStatements() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    hikari.addDataSourceProperty("rewriteBatchedStatements", "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.frederic.clienttra.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frederic.clienttra.repositories.CompanyRepository;
+import com.frederic.clienttra.repositories.JobRepository;
+import com.frederic.clienttra.services.JobHandler;
+import com.frederic.clienttra.services.JobWorker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration for the background job worker.
+ * <p>
+ * Every node runs a {@link JobWorker} with {@code clienttra.jobs.workers} threads (default 4),
+ * at most {@code clienttra.jobs.per-company} running jobs per company (default 1), polling every
+ * {@code clienttra.jobs.poll-interval-ms} (default 1000) and re-queuing jobs without a heartbeat
+ * for {@code clienttra.jobs.stale-after-seconds} (default 300). Set
+ * {@code clienttra.jobs.worker.enabled=false} on nodes that should only accept jobs, not run them.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+public class JobConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "clienttra.jobs.worker.enabled", havingValue = "true", matchIfMissing = true)
+    public JobWorker jobWorker(JobRepository jobRepository,
+                               CompanyRepository companyRepository,
+                               TransactionTemplate transactionTemplate,
+                               ObjectMapper objectMapper,
+                               List<JobHandler> handlers,
+                               @Value("${clienttra.jobs.workers:4}") int workers,
+                               @Value("${clienttra.jobs.per-company:1}") int perCompany,
+                               @Value("${clienttra.jobs.stale-after-seconds:300}") long staleAfterSeconds) {
+        return new JobWorker(jobRepository, companyRepository, transactionTemplate, objectMapper,
+                handlers, workers, perCompany, Duration.ofSeconds(staleAfterSeconds));
+    }
+}
@@ -0,0 +1,113 @@
+package com.frederic.clienttra.config;
+
+import com.frederic.clienttra.security.TenantContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.Set;
+
+/**
+ * Configuration of the application metrics, scraped in Prometheus format from
+ * {@code /actuator/prometheus} (operators only, see {@link SecurityConfig}).
+ * <p>
+ * Defaults are in {@code metrics.properties} and can be overridden like any other property.
+ * On top of what Spring Boot records, this class:
+ * <ul>
+ *     <li>tags {@code http.server.requests} with the controller method that handled the
+ *     request (see {@link HandlerObservationConvention})</li>
+ *     <li>keeps the default tags of {@code spring.data.repository.invocations}, which times
+ *     every repository method</li>
+ *     <li>adds the {@link TenantMetricsTag} to both when
+ *     {@code clienttra.metrics.tenant-tag.tenants} lists owner IDs</li>
+ *     <li>enables Hibernate statistics, published as {@code hibernate.*}
+ *     (disable with {@code clienttra.metrics.hibernate-statistics=false}), without the
+ *     per-session log Hibernate writes with them unless {@code hibernate.session.events.log} is set</li>
+ *     <li>publishes the permits of the {@link ConcurrencyLimitedDataSource}, when virtual
+ *     threads put one in front of the Hikari pool, as {@code clienttra.jdbc.permits.*};
+ *     the pool itself is published as {@code hikaricp.*}</li>
+ * </ul>
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final TenantMetricsTag tenantTag;
+
+    /**
+     * {@link TenantContext} needs the repositories, hence the entity manager factory, which in
+     * turn needs {@link #hibernateStatisticsCustomizer}: it is only looked up when a tag is computed.
+     */
+    public MetricsConfig(ObjectProvider<TenantContext> tenantContext,
+                         @Value("${clienttra.metrics.tenant-tag.tenants:}") Set<Integer> taggedTenants) {
+        this.tenantTag = new TenantMetricsTag(tenantContext::getObject, taggedTenants);
+    }
+
+    @Bean
+    public ServerRequestObservationConvention handlerObservationConvention() {
+        return new HandlerObservationConvention(tenantTag);
+    }
+
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        RepositoryTagsProvider defaults = new DefaultRepositoryTagsProvider();
+        return invocation -> tenantTag.isEnabled()
+                ? Tags.of(defaults.repositoryTags(invocation)).and(TenantMetricsTag.KEY, tenantTag.current())
+                : defaults.repositoryTags(invocation);
+    }
+
+    @Bean
+    public static HibernatePropertiesCustomizer hibernateStatisticsCustomizer(
+            @Value("${clienttra.metrics.hibernate-statistics:true}") boolean enabled) {
+        return properties -> {
+            properties.put("hibernate.generate_statistics", enabled);
+            // Statistics also turn on the "Session Metrics" log of every closed session
+            properties.putIfAbsent("hibernate.session.events.log", false);
+        };
+    }
+
+    @Bean
+    public MeterBinder jdbcPermitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConcurrencyLimitedDataSource limiter) {
+                Gauge.builder("clienttra.jdbc.permits.active", limiter, ConcurrencyLimitedDataSource::getActiveCount)
+                        .description("Connections checked out through the JDBC concurrency limiter")
+                        .register(registry);
+                Gauge.builder("clienttra.jdbc.permits.max", limiter, ConcurrencyLimitedDataSource::getMaxConcurrency)
+                        .description("Maximum number of connections the JDBC concurrency limiter hands out")
+                        .register(registry);
+                Gauge.builder("clienttra.jdbc.permits.waiting", limiter, ConcurrencyLimitedDataSource::getWaitingCount)
+                        .description("Threads waiting for a permit of the JDBC concurrency limiter")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (tenantTag.isEnabled()) {
+            registry.addInterceptor(new HandlerInterceptor() {
+                @Override
+                public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                    tenantTag.capture(request);
+                    return true;
+                }
+            });
+        }
+    }
+}
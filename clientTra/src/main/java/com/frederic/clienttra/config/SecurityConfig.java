@@ -1,12 +1,22 @@
 package com.frederic.clienttra.config;
 
+import com.frederic.clienttra.security.BoundedPasswordEncoder;
 import com.frederic.clienttra.security.CustomAccessDeniedHandler;
 import com.frederic.clienttra.security.JwtAuthFilter;
+import com.frederic.clienttra.utils.KeysetPage;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -39,12 +49,24 @@ public class SecurityConfig {
 
     /**
      * Defines the password encoder bean using BCrypt hashing algorithm.
+     * <p>
+     * Hashing runs on a bounded executor (see {@link BoundedPasswordEncoder}). Raising the
+     * strength is safe: existing hashes keep verifying and are re-encoded with the new cost
+     * on the user's next successful login.
      *
+     * @param strength      BCrypt cost factor (log rounds)
+     * @param threads       number of hashing threads; 0 uses the number of available processors
+     * @param queueCapacity maximum number of hashing tasks waiting for a thread
+     * @param timeoutMs     maximum time a caller waits for its hash, including queueing
      * @return a {@link PasswordEncoder} instance
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${security.password.hashing-threads:0}") int threads,
+                                           @Value("${security.password.queue-capacity:100}") int queueCapacity,
+                                           @Value("${security.password.timeout-ms:5000}") long timeoutMs) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, timeoutMs);
     }
 
     @Bean
@@ -53,6 +75,50 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * Configures the security filter chain of the actuator endpoints, evaluated before the
+     * application chain.
+     * <p>
+     * Metrics are not tenant data, so they are not exposed to application users: apart from
+     * {@code /actuator/health}, which stays public for load balancers, every endpoint requires
+     * HTTP Basic authentication as the operator account {@code clienttra.operator.username}
+     * (default {@code operator}) with the BCrypt hash {@code clienttra.operator.password-hash}.
+     * Without a hash there is no operator account and those endpoints always answer 401.
+     *
+     * @param http            the {@link HttpSecurity} builder
+     * @param passwordEncoder the encoder checking the operator password
+     * @param username        operator user name
+     * @param passwordHash    BCrypt hash of the operator password, or empty
+     * @return the configured {@link SecurityFilterChain}
+     * @throws Exception in case of misconfiguration
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http,
+                                                           PasswordEncoder passwordEncoder,
+                                                           @Value("${clienttra.operator.username:operator}") String username,
+                                                           @Value("${clienttra.operator.password-hash:}") String passwordHash) throws Exception {
+        InMemoryUserDetailsManager operators = new InMemoryUserDetailsManager();
+        if (!passwordHash.isBlank()) {
+            operators.createUser(User.withUsername(username).password(passwordHash).roles("OPERATOR").build());
+        }
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(operators);
+        provider.setPasswordEncoder(passwordEncoder);
+
+        http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .anyRequest().hasRole("OPERATOR")
+            )
+            .authenticationManager(new ProviderManager(provider))
+            .httpBasic(withDefaults());
+
+        return http.build();
+    }
+
     /**
      * Configures the security filter chain for HTTP security:
      * <ul>
@@ -125,6 +191,7 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(List.of("*"));
         configuration.setAllowedMethods(Arrays.asList("GET","POST","PUT","PATCH","DELETE","OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of(KeysetPage.NEXT_CURSOR_HEADER));
         configuration.setAllowCredentials(true); // importante para cookies de sesión
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
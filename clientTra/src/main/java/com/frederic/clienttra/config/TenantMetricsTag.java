@@ -0,0 +1,68 @@
+package com.frederic.clienttra.config;
+
+import com.frederic.clienttra.security.TenantContext;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Computes the {@code tenant} tag added to request and repository metrics.
+ * <p>
+ * Tagging every owner company would create one time series per tenant, so only the owner IDs
+ * listed in {@code clienttra.metrics.tenant-tag.tenants} keep their own value; any other
+ * authenticated tenant is tagged {@code other} and unauthenticated work (login, background
+ * jobs) {@code none}. With the list empty, which is the default, no tenant tag is added.
+ */
+public class TenantMetricsTag {
+
+    public static final String KEY = "tenant";
+
+    private static final String OTHER = "other";
+    private static final String NONE = "none";
+    private static final String REQUEST_ATTRIBUTE = TenantMetricsTag.class.getName();
+
+    private final Supplier<TenantContext> tenantContext;
+    private final Set<Integer> taggedTenants;
+
+    public TenantMetricsTag(Supplier<TenantContext> tenantContext, Set<Integer> taggedTenants) {
+        this.tenantContext = tenantContext;
+        this.taggedTenants = Set.copyOf(taggedTenants);
+    }
+
+    /**
+     * @return whether the tenant tag should be added at all
+     */
+    public boolean isEnabled() {
+        return !taggedTenants.isEmpty();
+    }
+
+    /**
+     * @return the tag value for the tenant authenticated on the current thread
+     */
+    public String current() {
+        return tenantContext.get().findOwnerId()
+                .map(id -> taggedTenants.contains(id) ? id.toString() : OTHER)
+                .orElse(NONE);
+    }
+
+    /**
+     * Stores the tag value of the current tenant in the request.
+     * <p>
+     * Request metrics are recorded once the security filters have cleared the security context,
+     * so the value has to be captured while the request is being handled.
+     *
+     * @param request the request being handled
+     */
+    public void capture(HttpServletRequest request) {
+        request.setAttribute(REQUEST_ATTRIBUTE, current());
+    }
+
+    /**
+     * @param request a handled request
+     * @return the tag value captured for the request, or {@code none} if it never reached a handler
+     */
+    public String captured(HttpServletRequest request) {
+        return request.getAttribute(REQUEST_ATTRIBUTE) instanceof String value ? value : NONE;
+    }
+}
@@ -0,0 +1,54 @@
+package com.frederic.clienttra.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the virtual-thread execution mode.
+ * <p>
+ * Setting {@code spring.threads.virtual.enabled=true} makes Spring Boot serve requests on
+ * virtual threads. In that mode this class also:
+ * <ul>
+ *     <li>wraps the Hikari pool in a {@link ConcurrencyLimitedDataSource} sized to
+ *     {@code maximumPoolSize}, so that the number of threads doing JDBC work is bounded
+ *     (disable with {@code clienttra.virtual-threads.jdbc-limiter.enabled=false})</li>
+ *     <li>starts a {@link VirtualThreadPinningMonitor} reporting pinning longer than
+ *     {@code clienttra.virtual-threads.pinning-threshold-ms} (default 20 ms)
+ *     (disable with {@code clienttra.virtual-threads.pinning-monitor.enabled=false})</li>
+ * </ul>
+ * With the property unset the application keeps running on platform Tomcat threads.
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    @ConditionalOnProperty(name = "clienttra.virtual-threads.jdbc-limiter.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor jdbcConcurrencyLimiter() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new ConcurrencyLimitedDataSource(hikari, hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    @ConditionalOnProperty(name = "clienttra.virtual-threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${clienttra.virtual-threads.pinning-threshold-ms:20}") long thresholdMs) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMs));
+    }
+}
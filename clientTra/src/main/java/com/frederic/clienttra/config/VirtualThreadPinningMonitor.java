@@ -0,0 +1,84 @@
+package com.frederic.clienttra.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, typically because they
+ * block inside a {@code synchronized} block or method.
+ * <p>
+ * Listens to the JFR {@code jdk.VirtualThreadPinned} event in-process. Each event longer than
+ * the threshold is logged once with the first application frame on its stack, and a counter
+ * is kept per frame so that hot spots can be inspected through {@link #getPinnedCounts()}.
+ */
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String APP_PACKAGE = "com.frederic.clienttra.";
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final Map<String, LongAdder> pinnedCounts = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * @return number of pinning events seen so far, keyed by the first application frame
+     */
+    public Map<String, Long> getPinnedCounts() {
+        Map<String, Long> snapshot = new ConcurrentHashMap<>();
+        pinnedCounts.forEach((frame, count) -> snapshot.put(frame, count.sum()));
+        return snapshot;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String frame = firstApplicationFrame(event);
+        LongAdder counter = pinnedCounts.computeIfAbsent(frame, key -> new LongAdder());
+        counter.increment();
+
+        if (counter.sum() == 1) {
+            logger.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), frame);
+        }
+    }
+
+    private static String firstApplicationFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APP_PACKAGE)) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "outside application code";
+    }
+}
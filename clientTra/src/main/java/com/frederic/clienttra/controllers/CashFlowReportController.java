@@ -2,11 +2,14 @@ package com.frederic.clienttra.controllers;
 
 import com.frederic.clienttra.dto.read.CashFlowReportDTO;
 import com.frederic.clienttra.dto.read.CashFlowGraphDTO;
+import com.frederic.clienttra.dto.read.RollupVerificationDTO;
 import com.frederic.clienttra.enums.DocumentType;
 import com.frederic.clienttra.services.CashFlowReportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -82,4 +85,18 @@ public class CashFlowReportController {
         return ResponseEntity.ok(dto);
     }
 
+    /**
+     * Recomputes the monthly invoice rollups behind the graphs from the invoices and
+     * reports any month that still differs.
+     * Requires ADMIN role.
+     *
+     * @return a {@link RollupVerificationDTO} with the verification result
+     */
+    @PostMapping("/rollups/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RollupVerificationDTO> rebuildRollups() {
+        RollupVerificationDTO dto = service.rebuildRollups();
+        return ResponseEntity.ok(dto);
+    }
+
 }
@@ -5,6 +5,7 @@ import com.frederic.clienttra.dto.create.CreateCustomerRequestDTO;
 import com.frederic.clienttra.dto.read.CustomerDetailsDTO;
 import com.frederic.clienttra.dto.read.BaseCompanyMinimalDTO;
 import com.frederic.clienttra.dto.read.CustomerForListDTO;
+import com.frederic.clienttra.dto.read.CustomerPageDTO;
 import com.frederic.clienttra.dto.read.ProviderForListDTO;
 import com.frederic.clienttra.dto.update.UpdateCustomerRequestDTO;
 import com.frederic.clienttra.services.CustomerService;
@@ -52,6 +53,22 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.getAllCustomersEnabled(enabled));
     }
 
+    /**
+     * Retrieves one page of customers sorted by commercial name.
+     * Pass the {@code nextCursor} of a page as {@code cursor} to get the following one.
+     *
+     * @param enabled optional filter on the enabled status
+     * @param cursor  opaque cursor from the previous page
+     * @param limit   page size (default 50, maximum 200)
+     * @return a {@link CustomerPageDTO}
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CustomerPageDTO> getCustomersPage(@RequestParam(required = false) Boolean enabled,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(customerService.getCustomersPage(enabled, cursor, limit));
+    }
+
     /**
      * Retrieves full details of a customer by ID.
      *
@@ -74,6 +91,19 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.searchByNameOrVat(input));
     }
 
+    /**
+     * Returns the best matching enabled customers for a typeahead, by name or VAT number.
+     *
+     * @param q     the text typed so far
+     * @param limit the maximum number of results (10 by default, at most 50)
+     * @return a list of {@link BaseCompanyMinimalDTO}, best match first
+     */
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<BaseCompanyMinimalDTO>> typeahead(@RequestParam String q,
+                                                                 @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(customerService.typeahead(q, limit));
+    }
+
     /**
      * Returns a minimal list of customers for dropdowns or selection inputs.
      *
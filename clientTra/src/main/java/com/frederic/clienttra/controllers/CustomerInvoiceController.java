@@ -1,12 +1,18 @@
 package com.frederic.clienttra.controllers;
 
 import com.frederic.clienttra.dto.GenericResponseDTO;
+import com.frederic.clienttra.dto.create.BulkInvoicingRequestDTO;
 import com.frederic.clienttra.dto.create.CreateDocumentRequestDTO;
+import com.frederic.clienttra.dto.read.BulkInvoicingProgressDTO;
+import com.frederic.clienttra.dto.read.BulkInvoicingResultDTO;
 import com.frederic.clienttra.dto.read.DocumentDTO;
 import com.frederic.clienttra.dto.read.DocumentForListDTO;
+import com.frederic.clienttra.dto.read.DocumentPageDTO;
 import com.frederic.clienttra.enums.DocumentStatus;
 import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.services.BulkInvoicingService;
 import com.frederic.clienttra.services.CustomerInvoiceService;
+import com.frederic.clienttra.utils.KeysetPage;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -28,18 +34,47 @@ import java.util.List;
 public class CustomerInvoiceController {
 
     private final CustomerInvoiceService documentService;
+    private final BulkInvoicingService bulkInvoicingService;
 
     // Constant DocumentType for customer invoices
     private static final DocumentType DOC_TYPE = DocumentType.INV_CUST;
 
     /**
      * Retrieves all customer invoices.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return a list of {@link DocumentForListDTO}
      */
     @GetMapping
-    public ResponseEntity<List<DocumentForListDTO>> getAllCustomerInvoices() {
-        List<DocumentForListDTO> result = documentService.getAllDocumentsByType(DOC_TYPE);
+    public ResponseEntity<List<DocumentForListDTO>> getAllCustomerInvoices(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO page = documentService.getDocumentsPage(DOC_TYPE, null, null, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
+    }
+
+    /**
+     * Retrieves one page of customer invoices, newest first.
+     * Pass the {@code nextCursor} of a page as {@code cursor} to get the following one.
+     * Filtering by status is restricted to ADMIN and ACCOUNTING roles.
+     *
+     * @param idCompany optional ID of the customer company
+     * @param status    optional document status filter
+     * @param cursor    opaque cursor from the previous page
+     * @param limit     page size (default 50, maximum 200)
+     * @return a {@link DocumentPageDTO}
+     */
+    @GetMapping("/page")
+    @PreAuthorize("#status == null or hasAnyRole('ADMIN','ACCOUNTING')")
+    public ResponseEntity<DocumentPageDTO> getCustomerInvoicesPage(
+            @RequestParam(required = false) Integer idCompany,
+            @RequestParam(required = false) DocumentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO result = documentService.getDocumentsPage(DOC_TYPE, idCompany, status, cursor, limit);
         return ResponseEntity.ok(result);
     }
 
@@ -57,45 +92,65 @@ public class CustomerInvoiceController {
 
     /**
      * Retrieves all customer invoices linked to a specific customer company.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
      * @param idCompany the ID of the customer company
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return a list of {@link DocumentForListDTO}
      */
     @GetMapping("/by-customer/{idCompany}")
-    public ResponseEntity<List<DocumentForListDTO>> getCustomerInvoicesByCustomer(@PathVariable Integer idCompany) {
-        List<DocumentForListDTO> result = documentService.getDocumentsByCompanyId(DOC_TYPE, idCompany);
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<DocumentForListDTO>> getCustomerInvoicesByCustomer(
+            @PathVariable Integer idCompany,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO page = documentService.getDocumentsPage(DOC_TYPE, idCompany, null, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
     }
 
     /**
      * Retrieves customer invoices filtered by document status.
      * Restricted to ADMIN and ACCOUNTING roles.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
      * @param status the document status filter
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return a list of {@link DocumentForListDTO}
      */
     @GetMapping("/by-status")
     @PreAuthorize("hasAnyRole('ADMIN','ACCOUNTING')")
-    public ResponseEntity<List<DocumentForListDTO>> getCustomerInvoicesByStatus(@RequestParam DocumentStatus status) {
-        List<DocumentForListDTO> result = documentService.getDocumentsByStatus(DOC_TYPE, status);
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<DocumentForListDTO>> getCustomerInvoicesByStatus(
+            @RequestParam DocumentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO page = documentService.getDocumentsPage(DOC_TYPE, null, status, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
     }
 
     /**
      * Retrieves customer invoices filtered by customer company and status.
      * Restricted to ADMIN and ACCOUNTING roles.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
      * @param idCompany the ID of the customer company
      * @param status    the document status filter
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return a list of {@link DocumentForListDTO}
      */
     @GetMapping("/by-customer/{idCompany}/by-status")
     @PreAuthorize("hasAnyRole('ADMIN','ACCOUNTING')")
     public ResponseEntity<List<DocumentForListDTO>> getCustomerInvoicesByCustomerAndStatus(
             @PathVariable Integer idCompany,
-            @RequestParam DocumentStatus status) {
-        List<DocumentForListDTO> result = documentService.getDocumentsByIdCompanyAndStatus(DOC_TYPE, idCompany, status);
-        return ResponseEntity.ok(result);
+            @RequestParam DocumentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO page = documentService.getDocumentsPage(DOC_TYPE, idCompany, status, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
     }
 
     /**
@@ -114,6 +169,34 @@ public class CustomerInvoiceController {
         return ResponseEntity.ok(created);
     }
 
+    /**
+     * Creates one invoice per customer with all of the customer's unbilled orders,
+     * using each customer's default VAT, withholding, due date and payment method.
+     * Restricted to ADMIN and ACCOUNTING roles.
+     *
+     * @param dto the invoice date, change rate and optional bank account and last order date
+     * @return the {@link BulkInvoicingResultDTO}, with one entry per customer
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN','ACCOUNTING')")
+    public ResponseEntity<BulkInvoicingResultDTO> invoiceUnbilledOrders(@Valid @RequestBody BulkInvoicingRequestDTO dto) {
+        BulkInvoicingResultDTO result = bulkInvoicingService.invoiceUnbilledOrders(dto);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Retrieves the progress of the current or last bulk invoicing run.
+     * Restricted to ADMIN and ACCOUNTING roles.
+     *
+     * @return the {@link BulkInvoicingProgressDTO}
+     */
+    @GetMapping("/bulk/progress")
+    @PreAuthorize("hasAnyRole('ADMIN','ACCOUNTING')")
+    public ResponseEntity<BulkInvoicingProgressDTO> getBulkInvoicingProgress() {
+        BulkInvoicingProgressDTO progress = bulkInvoicingService.getProgress();
+        return ResponseEntity.ok(progress);
+    }
+
     /**
      * Creates a new version of an existing customer invoice.
      * Uses POST because it creates a new document instead of updating the existing one.
@@ -0,0 +1,74 @@
+package com.frederic.clienttra.controllers;
+
+import com.frederic.clienttra.dto.create.JobRequestDTO;
+import com.frederic.clienttra.dto.read.JobDTO;
+import com.frederic.clienttra.services.JobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for the background jobs of the current company.
+ * <p>
+ * Long operations are submitted here and run by a worker outside the request; clients poll
+ * the job until it is finished. Restricted to users with ADMIN role.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+public class JobController {
+
+    private final JobService jobService;
+
+    /**
+     * Retrieves the 50 most recent jobs, newest first.
+     *
+     * @return a list of {@link JobDTO}
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<JobDTO>> getRecentJobs() {
+        return ResponseEntity.ok(jobService.getRecentJobs());
+    }
+
+    /**
+     * Queues a new job.
+     *
+     * @param dto the job type
+     * @return the queued {@link JobDTO}, with status 202 Accepted
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JobDTO> submit(@Valid @RequestBody JobRequestDTO dto) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(jobService.submit(dto));
+    }
+
+    /**
+     * Retrieves a job with its status, progress and result.
+     *
+     * @param idJob the job ID
+     * @return the {@link JobDTO}
+     */
+    @GetMapping("/{idJob}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JobDTO> getJob(@PathVariable Long idJob) {
+        return ResponseEntity.ok(jobService.getJob(idJob));
+    }
+
+    /**
+     * Cancels a queued job, or asks a running job to stop.
+     *
+     * @param idJob the job ID
+     * @return the {@link JobDTO} after the cancellation
+     */
+    @PostMapping("/{idJob}/cancel")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JobDTO> cancel(@PathVariable Long idJob) {
+        return ResponseEntity.ok(jobService.cancel(idJob));
+    }
+}
@@ -4,13 +4,16 @@ import com.frederic.clienttra.dto.GenericResponseDTO;
 import com.frederic.clienttra.dto.create.CreateOrderRequestDTO;
 import com.frederic.clienttra.dto.read.OrderDetailsDTO;
 import com.frederic.clienttra.dto.read.OrderListDTO;
+import com.frederic.clienttra.dto.read.OrderPageDTO;
 import com.frederic.clienttra.dto.update.UpdateOrderRequestDTO;
 import com.frederic.clienttra.services.OrderService;
+import com.frederic.clienttra.utils.KeysetPage;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -29,27 +32,80 @@ public class OrderController {
 
     /**
      * Retrieves all orders for a given company.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
      * @param idCompany the company ID
+     * @param from      optional first order date
+     * @param to        optional last order date
+     * @param cursor    opaque cursor from the previous page
+     * @param limit     page size (default 50, maximum 200)
      * @return a list of {@link OrderListDTO}
      */
     @GetMapping
-    public ResponseEntity<List<OrderListDTO>> getOrders(@PathVariable Integer idCompany) {
-        List<OrderListDTO> orders = orderService.getOrders(idCompany);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderListDTO>> getOrders(
+            @PathVariable Integer idCompany,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        OrderPageDTO page = orderService.getOrdersPage(idCompany, null, null, from, to,
+                null, null, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
     }
 
     /**
      * Retrieves pending orders for a given company.
      * Restricted to users with ADMIN or ACCOUNTING roles.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
      * @param idCompany the company ID
+     * @param from      optional first order date
+     * @param to        optional last order date
+     * @param cursor    opaque cursor from the previous page
+     * @param limit     page size (default 50, maximum 200)
      * @return a list of pending {@link OrderListDTO}
      */
     @GetMapping("/pending")
-    public ResponseEntity<List<OrderListDTO>> getPendingOrders(@PathVariable Integer idCompany) {
-        List<OrderListDTO> orders = orderService.getPendingOrders(idCompany);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderListDTO>> getPendingOrders(
+            @PathVariable Integer idCompany,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        OrderPageDTO page = orderService.getOrdersPage(idCompany, null, false, from, to,
+                null, null, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
+    }
+
+    /**
+     * Retrieves one page of orders for a given company, newest first.
+     * Pass the {@code nextCursor} of a page as {@code cursor} to get the following one.
+     *
+     * @param idCompany      the company ID
+     * @param billed         optional billing status
+     * @param from           optional first order date
+     * @param to             optional last order date
+     * @param sourceLanguage optional source language
+     * @param targetLanguage optional target language
+     * @param cursor         opaque cursor from the previous page
+     * @param limit          page size (default 50, maximum 200)
+     * @return an {@link OrderPageDTO}
+     */
+    @GetMapping("/page")
+    public ResponseEntity<OrderPageDTO> getOrdersPage(
+            @PathVariable Integer idCompany,
+            @RequestParam(required = false) Boolean billed,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) String sourceLanguage,
+            @RequestParam(required = false) String targetLanguage,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        OrderPageDTO result = orderService.getOrdersPage(idCompany, null, billed, from, to,
+                sourceLanguage, targetLanguage, cursor, limit);
+        return ResponseEntity.ok(result);
     }
 
     /**
@@ -4,11 +4,15 @@ package com.frederic.clienttra.controllers;
 import com.frederic.clienttra.dto.GenericResponseDTO;
 import com.frederic.clienttra.dto.read.OrderDetailsDTO;
 import com.frederic.clienttra.dto.read.OrderListDTO;
+import com.frederic.clienttra.dto.read.OrderPageDTO;
+import com.frederic.clienttra.enums.PartyType;
 import com.frederic.clienttra.services.OrderService;
+import com.frederic.clienttra.utils.KeysetPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -25,35 +29,97 @@ public class OrderGlobalController {
 
     /**
      * Retrieves all pending orders.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
+     * @param from   optional first order date
+     * @param to     optional last order date
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return a list of pending {@link OrderListDTO}
      */
     @GetMapping("/pending")
-    public ResponseEntity<List<OrderListDTO>> getPendingOrders() {
-        List<OrderListDTO> orders = orderService.getPendingOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderListDTO>> getPendingOrders(
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        OrderPageDTO page = orderService.getOrdersPage(null, null, false, from, to,
+                null, null, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
     }
 
     /**
      * Retrieves all orders of customers.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
+     * @param from   optional first order date
+     * @param to     optional last order date
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return a list of pending {@link OrderListDTO}
      */
     @GetMapping("/customers")
-    public ResponseEntity<List<OrderListDTO>> getCustomersOrders() {
-        List<OrderListDTO> orders = orderService.getCustomersOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderListDTO>> getCustomersOrders(
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        OrderPageDTO page = orderService.getOrdersPage(null, PartyType.CUSTOMER, null, from, to,
+                null, null, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
     }
 
     /**
      * Retrieves all orders of providers.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
+     * @param from   optional first order date
+     * @param to     optional last order date
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return a list of pending {@link OrderListDTO}
      */
     @GetMapping("/providers")
-    public ResponseEntity<List<OrderListDTO>> getProvidersOrders() {
-        List<OrderListDTO> orders = orderService.getProvidersOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderListDTO>> getProvidersOrders(
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        OrderPageDTO page = orderService.getOrdersPage(null, PartyType.PROVIDER, null, from, to,
+                null, null, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
+    }
+
+    /**
+     * Retrieves one page of orders, newest first.
+     * Pass the {@code nextCursor} of a page as {@code cursor} to get the following one.
+     *
+     * @param party          optional restriction to CUSTOMER or PROVIDER orders
+     * @param billed         optional billing status
+     * @param from           optional first order date
+     * @param to             optional last order date
+     * @param sourceLanguage optional source language
+     * @param targetLanguage optional target language
+     * @param cursor         opaque cursor from the previous page
+     * @param limit          page size (default 50, maximum 200)
+     * @return an {@link OrderPageDTO}
+     */
+    @GetMapping("/page")
+    public ResponseEntity<OrderPageDTO> getOrdersPage(
+            @RequestParam(required = false) PartyType party,
+            @RequestParam(required = false) Boolean billed,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) String sourceLanguage,
+            @RequestParam(required = false) String targetLanguage,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        OrderPageDTO result = orderService.getOrdersPage(null, party, billed, from, to,
+                sourceLanguage, targetLanguage, cursor, limit);
+        return ResponseEntity.ok(result);
     }
 
     @GetMapping("/{idOrder}")
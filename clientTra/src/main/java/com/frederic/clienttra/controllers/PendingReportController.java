@@ -1,5 +1,6 @@
 package com.frederic.clienttra.controllers;
 
+import com.frederic.clienttra.dto.read.AgingReportDTO;
 import com.frederic.clienttra.dto.read.PendingReportDTO;
 import com.frederic.clienttra.enums.DocumentType;
 import com.frederic.clienttra.services.PendingReportService;
@@ -28,4 +29,16 @@ public class PendingReportController {
         return ResponseEntity.ok(dto);
     }
 
-}
\ No newline at end of file
+    @GetMapping("/income/aging")
+    public ResponseEntity<AgingReportDTO> getIncomeAgingReport(){
+        AgingReportDTO dto = service.generateAging(DocumentType.INV_CUST);
+        return ResponseEntity.ok(dto);
+    }
+
+    @GetMapping("/outcome/aging")
+    public ResponseEntity<AgingReportDTO> getOutcomeAgingReport(){
+        AgingReportDTO dto = service.generateAging(DocumentType.INV_PROV);
+        return ResponseEntity.ok(dto);
+    }
+
+}
@@ -5,6 +5,7 @@ import com.frederic.clienttra.dto.create.CreateProviderRequestDTO;
 import com.frederic.clienttra.dto.read.BaseCompanyMinimalDTO;
 import com.frederic.clienttra.dto.read.ProviderDetailsDTO;
 import com.frederic.clienttra.dto.read.ProviderForListDTO;
+import com.frederic.clienttra.dto.read.ProviderPageDTO;
 import com.frederic.clienttra.dto.update.UpdateProviderRequestDTO;
 import com.frederic.clienttra.services.ProviderService;
 import jakarta.validation.Valid;
@@ -50,6 +51,22 @@ public class ProviderController {
         return ResponseEntity.ok(providerService.getAllProvidersEnabled(enabled));
     }
 
+    /**
+     * Retrieves one page of providers sorted by commercial name.
+     * Pass the {@code nextCursor} of a page as {@code cursor} to get the following one.
+     *
+     * @param enabled optional filter on the enabled status
+     * @param cursor  opaque cursor from the previous page
+     * @param limit   page size (default 50, maximum 200)
+     * @return a {@link ProviderPageDTO}
+     */
+    @GetMapping("/page")
+    public ResponseEntity<ProviderPageDTO> getProvidersPage(@RequestParam(required = false) Boolean enabled,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(providerService.getProvidersPage(enabled, cursor, limit));
+    }
+
     /**
      * Retrieves provider details by ID.
      *
@@ -72,6 +89,19 @@ public class ProviderController {
         return ResponseEntity.ok(providerService.searchByNameOrVat(input));
     }
 
+    /**
+     * Returns the best matching enabled providers for a typeahead, by name or VAT number.
+     *
+     * @param q     the text typed so far
+     * @param limit the maximum number of results (10 by default, at most 50)
+     * @return a list of {@link BaseCompanyMinimalDTO}, best match first
+     */
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<BaseCompanyMinimalDTO>> typeahead(@RequestParam String q,
+                                                                 @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(providerService.typeahead(q, limit));
+    }
+
     /**
      * Retrieves a minimal list of providers for lightweight use.
      *
@@ -4,9 +4,12 @@ import com.frederic.clienttra.dto.GenericResponseDTO;
 import com.frederic.clienttra.dto.create.CreateDocumentRequestDTO;
 import com.frederic.clienttra.dto.read.DocumentDTO;
 import com.frederic.clienttra.dto.read.DocumentForListDTO;
+import com.frederic.clienttra.dto.read.DocumentPageDTO;
 import com.frederic.clienttra.enums.DocumentStatus;
 import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.exceptions.DocumentNumberRequiredException;
 import com.frederic.clienttra.services.ProviderInvoiceService;
+import com.frederic.clienttra.utils.KeysetPage;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -30,12 +33,40 @@ public class ProviderInvoiceController {
 
     /**
      * Retrieves all provider invoices.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return list of {@link DocumentForListDTO}
      */
     @GetMapping
-    public ResponseEntity<List<DocumentForListDTO>> getAllProviderInvoices() {
-        List<DocumentForListDTO> result = documentService.getAllDocumentsByType(DOC_TYPE);
+    public ResponseEntity<List<DocumentForListDTO>> getAllProviderInvoices(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO page = documentService.getDocumentsPage(DOC_TYPE, null, null, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
+    }
+
+    /**
+     * Retrieves one page of provider invoices, newest first.
+     * Pass the {@code nextCursor} of a page as {@code cursor} to get the following one.
+     * Filtering by status is restricted to ADMIN and ACCOUNTING roles.
+     *
+     * @param idCompany optional ID of the provider company
+     * @param status    optional document status filter
+     * @param cursor    opaque cursor from the previous page
+     * @param limit     page size (default 50, maximum 200)
+     * @return a {@link DocumentPageDTO}
+     */
+    @GetMapping("/page")
+    @PreAuthorize("#status == null or hasAnyRole('ADMIN','ACCOUNTING')")
+    public ResponseEntity<DocumentPageDTO> getProviderInvoicesPage(
+            @RequestParam(required = false) Integer idCompany,
+            @RequestParam(required = false) DocumentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO result = documentService.getDocumentsPage(DOC_TYPE, idCompany, status, cursor, limit);
         return ResponseEntity.ok(result);
     }
 
@@ -53,45 +84,65 @@ public class ProviderInvoiceController {
 
     /**
      * Retrieves provider invoices by provider company ID.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
      * @param idCompany provider company ID
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return list of {@link DocumentForListDTO} for the provider
      */
     @GetMapping("/by-provider/{idCompany}")
-    public ResponseEntity<List<DocumentForListDTO>> getProviderInvoicesByProvider(@PathVariable Integer idCompany) {
-        List<DocumentForListDTO> result = documentService.getDocumentsByCompanyId(DOC_TYPE, idCompany);
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<DocumentForListDTO>> getProviderInvoicesByProvider(
+            @PathVariable Integer idCompany,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO page = documentService.getDocumentsPage(DOC_TYPE, idCompany, null, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
     }
 
     /**
      * Retrieves provider invoices filtered by status.
      * Requires ADMIN or ACCOUNTING roles.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
      * @param status the document status to filter
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return filtered list of provider invoices
      */
     @GetMapping("/by-status")
     @PreAuthorize("hasAnyRole('ADMIN','ACCOUNTING')")
-    public ResponseEntity<List<DocumentForListDTO>> getProviderInvoicesByStatus(@RequestParam DocumentStatus status) {
-        List<DocumentForListDTO> result = documentService.getDocumentsByStatus(DOC_TYPE, status);
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<DocumentForListDTO>> getProviderInvoicesByStatus(
+            @RequestParam DocumentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO page = documentService.getDocumentsPage(DOC_TYPE, null, status, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
     }
 
     /**
      * Retrieves provider invoices filtered by provider and status.
      * Requires ADMIN or ACCOUNTING roles.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
      * @param idCompany provider company ID
      * @param status    document status to filter
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return filtered list of provider invoices for the provider
      */
     @GetMapping("/by-provider/{idCompany}/by-status")
     @PreAuthorize("hasAnyRole('ADMIN','ACCOUNTING')")
     public ResponseEntity<List<DocumentForListDTO>> getProviderInvoicesByProviderAndStatus(
             @PathVariable Integer idCompany,
-            @RequestParam DocumentStatus status) {
-        List<DocumentForListDTO> result = documentService.getDocumentsByIdCompanyAndStatus(DOC_TYPE, idCompany, status);
-        return ResponseEntity.ok(result);
+            @RequestParam DocumentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO page = documentService.getDocumentsPage(DOC_TYPE, idCompany, status, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
     }
 
     /**
@@ -101,11 +152,15 @@ public class ProviderInvoiceController {
      * @param idCompany provider company ID
      * @param dto       creation data transfer object
      * @return the created {@link DocumentDTO}
+     * @throws DocumentNumberRequiredException if no document number is given, since provider invoices have no number series
      */
     @PostMapping("/create/{idCompany}")
     @PreAuthorize("hasAnyRole('ADMIN','ACCOUNTING')")
     public ResponseEntity<DocumentDTO> createProviderInvoice(@PathVariable Integer idCompany,
                                                              @Valid @RequestBody CreateDocumentRequestDTO dto) {
+        if (dto.getDocNumber() == null || dto.getDocNumber().isBlank()) {
+            throw new DocumentNumberRequiredException();
+        }
         DocumentDTO created = documentService.createDocument(idCompany, dto, DOC_TYPE);
         return ResponseEntity.ok(created);
     }
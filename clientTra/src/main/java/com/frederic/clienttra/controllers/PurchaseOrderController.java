@@ -4,10 +4,12 @@ import com.frederic.clienttra.dto.GenericResponseDTO;
 import com.frederic.clienttra.dto.create.CreateDocumentRequestDTO;
 import com.frederic.clienttra.dto.read.DocumentDTO;
 import com.frederic.clienttra.dto.read.DocumentForListDTO;
+import com.frederic.clienttra.dto.read.DocumentPageDTO;
 import com.frederic.clienttra.dto.update.UpdateDocumentRequestDTO;
 import com.frederic.clienttra.enums.DocumentStatus;
 import com.frederic.clienttra.enums.DocumentType;
 import com.frederic.clienttra.services.PurchaseOrderService;
+import com.frederic.clienttra.utils.KeysetPage;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -32,12 +34,38 @@ public class PurchaseOrderController {
 
     /**
      * Get all purchase orders.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return list of purchase orders as {@link DocumentForListDTO}
      */
     @GetMapping
-    public ResponseEntity<List<DocumentForListDTO>> getAllPos() {
-        List<DocumentForListDTO> result = documentService.getAllDocumentsByType(DOC_TYPE);
+    public ResponseEntity<List<DocumentForListDTO>> getAllPos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO page = documentService.getDocumentsPage(DOC_TYPE, null, null, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
+    }
+
+    /**
+     * Retrieves one page of purchase orders, newest first.
+     * Pass the {@code nextCursor} of a page as {@code cursor} to get the following one.
+     *
+     * @param idCompany optional ID of the provider company
+     * @param status    optional document status filter
+     * @param cursor    opaque cursor from the previous page
+     * @param limit     page size (default 50, maximum 200)
+     * @return a {@link DocumentPageDTO}
+     */
+    @GetMapping("/page")
+    public ResponseEntity<DocumentPageDTO> getPurchaseOrdersPage(
+            @RequestParam(required = false) Integer idCompany,
+            @RequestParam(required = false) DocumentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO result = documentService.getDocumentsPage(DOC_TYPE, idCompany, status, cursor, limit);
         return ResponseEntity.ok(result);
     }
 
@@ -55,45 +83,65 @@ public class PurchaseOrderController {
 
     /**
      * Get purchase orders by customer (provider) company ID.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
      * @param idCompany the company ID
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return list of purchase orders linked to the company
      */
     @GetMapping("/by-provider/{idCompany}")
-    public ResponseEntity<List<DocumentForListDTO>> getPosByProvider(@PathVariable Integer idCompany) {
-        List<DocumentForListDTO> result = documentService.getDocumentsByCompanyId(DOC_TYPE, idCompany);
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<DocumentForListDTO>> getPosByProvider(
+            @PathVariable Integer idCompany,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO page = documentService.getDocumentsPage(DOC_TYPE, idCompany, null, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
     }
 
     /**
      * Get purchase orders filtered by document status.
      * Requires ADMIN or ACCOUNTING roles.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
      * @param status the document status to filter
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return list of purchase orders matching status
      */
     @GetMapping("/by-status")
     @PreAuthorize("hasAnyRole('ADMIN','ACCOUNTING')")
-    public ResponseEntity<List<DocumentForListDTO>> getPosByStatus(@RequestParam DocumentStatus status) {
-        List<DocumentForListDTO> result = documentService.getDocumentsByStatus(DOC_TYPE, status);
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<DocumentForListDTO>> getPosByStatus(
+            @RequestParam DocumentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO page = documentService.getDocumentsPage(DOC_TYPE, null, status, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
     }
 
     /**
      * Get purchase orders filtered by company and status.
      * Requires ADMIN or ACCOUNTING roles.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      *
      * @param idCompany the company ID
      * @param status    document status to filter
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return list of purchase orders matching company and status
      */
     @GetMapping("/by-provider/{idCompany}/by-status")
     @PreAuthorize("hasAnyRole('ADMIN','ACCOUNTING')")
     public ResponseEntity<List<DocumentForListDTO>> getPosByProviderAndStatus(
             @PathVariable Integer idCompany,
-            @RequestParam DocumentStatus status) {
-        List<DocumentForListDTO> result = documentService.getDocumentsByIdCompanyAndStatus(DOC_TYPE, idCompany, status);
-        return ResponseEntity.ok(result);
+            @RequestParam DocumentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO page = documentService.getDocumentsPage(DOC_TYPE, idCompany, status, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
     }
 
     /**
@@ -4,10 +4,12 @@ import com.frederic.clienttra.dto.GenericResponseDTO;
 import com.frederic.clienttra.dto.create.CreateDocumentRequestDTO;
 import com.frederic.clienttra.dto.read.DocumentDTO;
 import com.frederic.clienttra.dto.read.DocumentForListDTO;
+import com.frederic.clienttra.dto.read.DocumentPageDTO;
 import com.frederic.clienttra.dto.update.UpdateDocumentRequestDTO;
 import com.frederic.clienttra.enums.DocumentStatus;
 import com.frederic.clienttra.enums.DocumentType;
 import com.frederic.clienttra.services.QuoteService;
+import com.frederic.clienttra.utils.KeysetPage;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -32,11 +34,37 @@ public class QuoteController {
 
     /**
      * Retrieves all quotes.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return list of summarized quotes
      */
     @GetMapping
-    public ResponseEntity<List<DocumentForListDTO>> getAllQuotes() {
-        List<DocumentForListDTO> result = documentService.getAllDocumentsByType(DOC_TYPE);
+    public ResponseEntity<List<DocumentForListDTO>> getAllQuotes(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO page = documentService.getDocumentsPage(DOC_TYPE, null, null, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
+    }
+
+    /**
+     * Retrieves one page of quotes, newest first.
+     * Pass the {@code nextCursor} of a page as {@code cursor} to get the following one.
+     *
+     * @param idCompany optional ID of the customer company
+     * @param status    optional document status filter
+     * @param cursor    opaque cursor from the previous page
+     * @param limit     page size (default 50, maximum 200)
+     * @return a {@link DocumentPageDTO}
+     */
+    @GetMapping("/page")
+    public ResponseEntity<DocumentPageDTO> getQuotesPage(
+            @RequestParam(required = false) Integer idCompany,
+            @RequestParam(required = false) DocumentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO result = documentService.getDocumentsPage(DOC_TYPE, idCompany, status, cursor, limit);
         return ResponseEntity.ok(result);
     }
 
@@ -53,40 +81,60 @@ public class QuoteController {
 
     /**
      * Retrieves quotes associated with a customer company.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      * @param idCompany customer company ID
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return list of quotes for the company
      */
     @GetMapping("/by-customer/{idCompany}")
-    public ResponseEntity<List<DocumentForListDTO>> getQuotesByCustomer(@PathVariable Integer idCompany) {
-        List<DocumentForListDTO> result = documentService.getDocumentsByCompanyId(DOC_TYPE, idCompany);
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<DocumentForListDTO>> getQuotesByCustomer(
+            @PathVariable Integer idCompany,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO page = documentService.getDocumentsPage(DOC_TYPE, idCompany, null, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
     }
 
     /**
      * Retrieves quotes filtered by status.
      * Accessible only to ADMIN or ACCOUNTING roles.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      * @param status document status
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return filtered list of quotes
      */
     @GetMapping("/by-status")
-    public ResponseEntity<List<DocumentForListDTO>> getQuotesByStatus(@RequestParam DocumentStatus status) {
-        List<DocumentForListDTO> result = documentService.getDocumentsByStatus(DOC_TYPE, status);
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<DocumentForListDTO>> getQuotesByStatus(
+            @RequestParam DocumentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO page = documentService.getDocumentsPage(DOC_TYPE, null, status, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
     }
 
     /**
      * Retrieves quotes filtered by company and status.
      * Accessible only to ADMIN or ACCOUNTING roles.
+     * Returns one page, newest first; the cursor of the next page, if any, is sent in the
+     * {@value KeysetPage#NEXT_CURSOR_HEADER} header.
      * @param idCompany customer company ID
      * @param status document status
+     * @param cursor opaque cursor from the previous page
+     * @param limit  page size (default 50, maximum 200)
      * @return list of quotes filtered by company and status
      */
     @GetMapping("/by-customer/{idCompany}/by-status")
     public ResponseEntity<List<DocumentForListDTO>> getQuotesByCustomerAndStatus(
             @PathVariable Integer idCompany,
-            @RequestParam DocumentStatus status) {
-        List<DocumentForListDTO> result = documentService.getDocumentsByIdCompanyAndStatus(DOC_TYPE, idCompany, status);
-        return ResponseEntity.ok(result);
+            @RequestParam DocumentStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        DocumentPageDTO page = documentService.getDocumentsPage(DOC_TYPE, idCompany, status, cursor, limit);
+        return KeysetPage.toListResponse(page.getItems(), page.getNextCursor());
     }
 
     /**
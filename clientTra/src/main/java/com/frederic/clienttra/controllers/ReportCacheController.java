@@ -0,0 +1,33 @@
+package com.frederic.clienttra.controllers;
+
+import com.frederic.clienttra.dto.read.ReportCacheStatsDTO;
+import com.frederic.clienttra.services.ReportCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing the statistics of the report cache.
+ * Requires ADMIN role.
+ */
+@RestController
+@RequestMapping("/api/reports/cache")
+@RequiredArgsConstructor
+public class ReportCacheController {
+
+    private final ReportCache reportCache;
+
+    /**
+     * Returns the hit, miss and invalidation counters of the report cache since startup.
+     *
+     * @return a {@link ReportCacheStatsDTO} with the cache statistics
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReportCacheStatsDTO> getStats() {
+        return ResponseEntity.ok(reportCache.getStats());
+    }
+}
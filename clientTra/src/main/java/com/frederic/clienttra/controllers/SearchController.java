@@ -0,0 +1,40 @@
+package com.frederic.clienttra.controllers;
+
+import com.frederic.clienttra.dto.read.SearchResultDTO;
+import com.frederic.clienttra.services.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for the unified search of the current company.
+ * <p>
+ * One typeahead endpoint covers customers, providers, documents and orders, so the frontend
+ * does not need to download and filter each list.
+ */
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /**
+     * Searches customers and providers by name or VAT number, documents by number and orders
+     * by description.
+     *
+     * @param q     the text typed so far
+     * @param limit the maximum number of results (10 by default, at most 50)
+     * @return a list of {@link SearchResultDTO}, best match first
+     */
+    @GetMapping
+    public ResponseEntity<List<SearchResultDTO>> search(@RequestParam String q,
+                                                        @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(searchService.search(q, limit));
+    }
+}
@@ -0,0 +1,27 @@
+package com.frederic.clienttra.dto.create;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * DTO used to invoice all unbilled orders of all customers at once, typically at month end.
+ * Each invoice takes its VAT, withholding, due date, payment method and language from the customer.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkInvoicingRequestDTO {
+
+    @NotNull(message="validation.document.doc_date_required")
+    private LocalDate docDate;
+    private LocalDate upTo; // Last order date to invoice; defaults to docDate
+
+    @NotNull(message="validation.document.change_rate_required")
+    private Integer idChangeRate;
+    private Integer idBankAccount;
+    private String noteComment;
+}
@@ -3,7 +3,6 @@ package com.frederic.clienttra.dto.create;
 import com.frederic.clienttra.dto.bases.BaseDocumentDTO;
 import com.frederic.clienttra.enums.DocumentStatus;
 import com.frederic.clienttra.enums.DocumentType;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
@@ -22,8 +21,7 @@ import java.util.List;
 @Builder
 public class CreateDocumentRequestDTO implements BaseDocumentDTO {
 
-    @NotBlank(message="validation.document.doc_number_required")
-    private String docNumber;
+    private String docNumber; // Assigned from the number series when empty, except for provider invoices
     @NotNull(message="validation.document.doc_date_required")
     private LocalDate docDate;
     private DocumentType docType;
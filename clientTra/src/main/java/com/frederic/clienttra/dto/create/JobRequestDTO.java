@@ -0,0 +1,19 @@
+package com.frederic.clienttra.dto.create;
+
+import com.frederic.clienttra.enums.JobType;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * DTO used to submit a background job for the current company.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobRequestDTO {
+
+    @NotNull(message = "validation.job.type_required")
+    private JobType type;
+}
@@ -0,0 +1,24 @@
+package com.frederic.clienttra.dto.read;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO holding pending amounts split by days past the deadline.
+ * Invoices without a deadline are counted as not yet due.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AgingBucketsDTO {
+    private Double notDue;
+    private Double days1To30;
+    private Double days31To60;
+    private Double days61To90;
+    private Double over90;
+    private Double total;
+
+}
@@ -0,0 +1,25 @@
+package com.frederic.clienttra.dto.read;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for an aging report of pending invoices.
+ * Contains the reference date, the totals per aging bucket and the subtotals per counterparty,
+ * ordered by company name.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AgingReportDTO {
+    private LocalDate asOf;
+    private AgingBucketsDTO totals;
+    private List<PartyForAgingReportDTO> parties;
+
+}
@@ -0,0 +1,27 @@
+package com.frederic.clienttra.dto.read;
+
+import com.frederic.clienttra.enums.BulkInvoicingOutcome;
+import lombok.*;
+
+/**
+ * DTO representing what a bulk invoicing run did for one customer.
+ * {@code idDocument} and {@code docNumber} are only set when an invoice was created,
+ * and {@code message} only when it failed.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkInvoicingCustomerResultDTO {
+
+    private Integer idCompany;
+    private String comName;
+    private BulkInvoicingOutcome outcome;
+    private Integer idDocument;
+    private String docNumber;
+    private int orderCount;
+    private Double totalNet;
+    private Double totalToPay;
+    private String message;
+}
@@ -0,0 +1,25 @@
+package com.frederic.clienttra.dto.read;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO representing the progress of the current or last bulk invoicing run of an owner company.
+ * {@code finishedAt} is null while the run is in progress.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkInvoicingProgressDTO {
+
+    private boolean running;
+    private int customersTotal;
+    private int customersDone;
+    private int invoicesCreated;
+    private int failed;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,24 @@
+package com.frederic.clienttra.dto.read;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO representing the result of a bulk invoicing run, with one entry per customer.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkInvoicingResultDTO {
+
+    private LocalDate docDate;
+    private int invoicesCreated;
+    private int ordersBilled;
+    private int failed;
+    private Double totalNet;
+    private List<BulkInvoicingCustomerResultDTO> results;
+}
@@ -0,0 +1,20 @@
+package com.frederic.clienttra.dto.read;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO representing one page of a customer list.
+ * {@code nextCursor} is null when there are no more customers after this page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerPageDTO {
+
+    private List<CustomerForListDTO> items;
+    private String nextCursor;
+}
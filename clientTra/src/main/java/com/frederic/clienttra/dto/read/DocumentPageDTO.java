@@ -0,0 +1,20 @@
+package com.frederic.clienttra.dto.read;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO representing one page of a document list.
+ * {@code nextCursor} is null when there are no more documents after this page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentPageDTO {
+
+    private List<DocumentForListDTO> items;
+    private String nextCursor;
+}
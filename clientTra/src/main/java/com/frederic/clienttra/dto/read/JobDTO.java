@@ -0,0 +1,30 @@
+package com.frederic.clienttra.dto.read;
+
+import com.frederic.clienttra.enums.JobStatus;
+import com.frederic.clienttra.enums.JobType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO representing a background job and its progress.
+ * {@code result} is the JSON result of a succeeded job, {@code error} the cause of a failed one.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobDTO {
+
+    private Long idJob;
+    private JobType type;
+    private JobStatus status;
+    private int progress;
+    private String result;
+    private String error;
+    private boolean cancelRequested;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,20 @@
+package com.frederic.clienttra.dto.read;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO representing one page of an order list.
+ * {@code nextCursor} is null when there are no more orders after this page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderPageDTO {
+
+    private List<OrderListDTO> items;
+    private String nextCursor;
+}
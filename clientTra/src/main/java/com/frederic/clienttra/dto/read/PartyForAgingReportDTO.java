@@ -0,0 +1,22 @@
+package com.frederic.clienttra.dto.read;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for representing a counterparty in an aging report.
+ * Contains the company identification, its number of pending invoices and its aging subtotals.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PartyForAgingReportDTO {
+    private Integer idCompany;
+    private String comName;
+    private Long invoiceCount;
+    private AgingBucketsDTO buckets;
+
+}
@@ -0,0 +1,20 @@
+package com.frederic.clienttra.dto.read;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO representing one page of a provider list.
+ * {@code nextCursor} is null when there are no more providers after this page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProviderPageDTO {
+
+    private List<ProviderForListDTO> items;
+    private String nextCursor;
+}
@@ -0,0 +1,21 @@
+package com.frederic.clienttra.dto.read;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO holding the counters of the report cache since startup.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportCacheStatsDTO {
+    private long hits;
+    private long misses;
+    private long invalidations;
+    private int size;
+
+}
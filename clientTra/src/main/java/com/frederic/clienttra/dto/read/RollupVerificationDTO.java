@@ -0,0 +1,26 @@
+package com.frederic.clienttra.dto.read;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO representing the result of comparing the monthly cash-flow rollups of an owner company
+ * with totals computed from its invoices.
+ * {@code mismatches} is empty when every month agrees.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupVerificationDTO {
+
+    private Integer idOwnerCompany;
+    private int months;
+    private List<String> mismatches;
+
+    public boolean isConsistent() {
+        return mismatches == null || mismatches.isEmpty();
+    }
+}
@@ -0,0 +1,27 @@
+package com.frederic.clienttra.dto.read;
+
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.enums.SearchResultType;
+import lombok.*;
+
+/**
+ * DTO representing one result of the unified search.
+ * {@code id} is the ID used by the detail endpoint of the type: the company ID for customers and
+ * providers, the document ID for documents and the order ID for orders. {@code detail} is the VAT
+ * number of a counterparty, or the name of the counterparty of a document or order.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchResultDTO {
+
+    private SearchResultType type;
+    private Integer id;
+    private DocumentType documentType;
+    private String label;
+    private String detail;
+    private Integer idCompany;
+    private boolean enabled;
+}
@@ -18,7 +18,10 @@ import lombok.*;
 public class Address {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "addresses_gen")
+    @TableGenerator(name = "addresses_gen", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "addresses",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "id_address")
     private Integer idAddress;
 
@@ -18,7 +18,10 @@ import lombok.*;
 public class BankAccount {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "bank_accounts_gen")
+    @TableGenerator(name = "bank_accounts_gen", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "bank_accounts",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "id_bank_account")
     private Integer idBankAccount;
     @Column(nullable = false, length = 34, unique = true)
@@ -0,0 +1,41 @@
+package com.frederic.clienttra.entities;
+
+import com.frederic.clienttra.enums.DocumentType;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Represents the net total and number of the active invoices of one type issued by an owner
+ * company in one month. {@code period} is encoded as {@code yyyymm}.
+ */
+@Entity
+@Table(name = "cash_flow_monthly_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CashFlowMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_rollup")
+    private Integer idRollup;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DocumentType docType;
+
+    @Column(nullable = false)
+    private Integer period;
+
+    @Column(nullable = false)
+    private Double totalNet;
+
+    @Column(nullable = false)
+    private Integer docCount;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_owner_company", nullable = false)
+    private Company ownerCompany;
+}
@@ -21,7 +21,10 @@ import java.time.LocalDate;
 public class ChangeRate {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "change_rates_gen")
+    @TableGenerator(name = "change_rates_gen", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "change_rates",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "id_change_rate")
     private Integer idChangeRate;
 
@@ -25,7 +25,10 @@ import java.util.List;
 public class Company {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "companies_gen")
+    @TableGenerator(name = "companies_gen", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "companies",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "id_company")
     private Integer idCompany;
     @Column(length = 25, nullable = false)
@@ -17,7 +17,10 @@ import lombok.*;
 public class ContactPerson {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "contact_persons_gen")
+    @TableGenerator(name = "contact_persons_gen", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "contact_persons",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "id_contact_person")
     private Integer idContactPerson;
     @Column(nullable = false, length = 40)
@@ -17,7 +17,10 @@ import lombok.*;
 public class Customer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "customers_gen")
+    @TableGenerator(name = "customers_gen", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "customers",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "id_customer")
     private Integer idCustomer;
     @Column(length = 50)
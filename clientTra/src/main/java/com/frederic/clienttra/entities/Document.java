@@ -23,7 +23,10 @@ import java.util.List;
 public class Document {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "documents_gen")
+    @TableGenerator(name = "documents_gen", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "documents",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "id_document")
     private Integer idDocument;
     @Column(nullable = false, length = 50)
@@ -0,0 +1,38 @@
+package com.frederic.clienttra.entities;
+
+import com.frederic.clienttra.enums.DocumentType;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Represents the numbering counter of one document type for one owner company and year.
+ * {@code lastValue} holds the sequence value of the last number allocated.
+ */
+@Entity
+@Table(name = "document_number_series")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentNumberSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_series")
+    private Integer idSeries;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DocumentType docType;
+
+    @Column(nullable = false)
+    private Integer seriesYear;
+
+    @Column(nullable = false)
+    private Integer lastValue;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_owner_company", nullable = false)
+    private Company ownerCompany;
+}
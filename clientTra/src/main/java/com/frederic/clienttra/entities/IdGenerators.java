@@ -0,0 +1,20 @@
+package com.frederic.clienttra.entities;
+
+/**
+ * Settings shared by the table-based identifier generators of the high-volume entities.
+ * <p>
+ * Identifiers are reserved in blocks of {@link #ALLOCATION_SIZE} from one row per table in
+ * {@code id_generators}, so Hibernate knows them before inserting and can group the inserts
+ * into JDBC batches, which {@code IDENTITY} columns prevent.
+ * </p>
+ */
+final class IdGenerators {
+
+    static final String TABLE = "id_generators";
+    static final String PK_COLUMN = "gen_name";
+    static final String VALUE_COLUMN = "next_val";
+    static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
@@ -17,7 +17,10 @@ import lombok.*;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "items_gen")
+    @TableGenerator(name = "items_gen", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "items",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "id_item")
     private Integer idItem;
     @Column(length = 255)
@@ -0,0 +1,64 @@
+package com.frederic.clienttra.entities;
+
+import com.frederic.clienttra.enums.JobStatus;
+import com.frederic.clienttra.enums.JobType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a background job of an owner company.
+ * {@code result} holds the JSON result of a succeeded job, {@code error} the cause of a failed one.
+ * {@code heartbeatAt} is refreshed by the worker while the job runs.
+ */
+@Entity
+@Table(name = "jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Job {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_job")
+    private Long idJob;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private JobType jobType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus status;
+
+    @Column(nullable = false)
+    private int progress;
+
+    @Column(columnDefinition = "TEXT")
+    private String result;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(nullable = false)
+    private boolean cancelRequested;
+
+    @Column(length = 100)
+    private String worker;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    private LocalDateTime heartbeatAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_owner_company", nullable = false)
+    private Company ownerCompany;
+}
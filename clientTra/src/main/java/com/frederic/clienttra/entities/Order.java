@@ -21,7 +21,10 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "orders_gen")
+    @TableGenerator(name = "orders_gen", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "orders",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "id_order")
     private Integer idOrder;
     @Column(nullable = false, length = 100)
@@ -9,7 +9,7 @@ import lombok.*;
  */
 @Entity
 @Table(name = "Phones",
-    uniqueConstraints = {@UniqueConstraint(columnNames = {"phone_number", "id_owner_entity"})
+    uniqueConstraints = {@UniqueConstraint(columnNames = {"phone_number", "id_company"})
     })
 @Getter
 @Setter
@@ -19,7 +19,10 @@ import lombok.*;
 public class Phone {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "phones_gen")
+    @TableGenerator(name = "phones_gen", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "phones",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "id_phone")
     private Integer idPhone;
 
@@ -16,7 +16,10 @@ import lombok.*;
 public class Provider {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "providers_gen")
+    @TableGenerator(name = "providers_gen", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "providers",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "id_provider")
     private Integer idProvider;
     @Column(length = 10)
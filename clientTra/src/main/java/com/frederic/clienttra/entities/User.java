@@ -34,6 +34,9 @@ public class User {
     private boolean darkMode;
     @Column(nullable = false)
     private boolean enabled = true;
+    // Incremented whenever previously issued tokens must stop being accepted
+    @Column(nullable = false)
+    private int securityVersion;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_company", nullable = false)
     private Company company;
@@ -43,4 +46,11 @@ public class User {
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "id_plan", nullable = false)
     private Plan plan;
+
+    /**
+     * Invalidates every token issued for this user before the call.
+     */
+    public void bumpSecurityVersion() {
+        securityVersion++;
+    }
 }
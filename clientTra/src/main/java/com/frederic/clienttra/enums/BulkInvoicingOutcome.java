@@ -0,0 +1,15 @@
+package com.frederic.clienttra.enums;
+
+/**
+ * Result of a bulk invoicing run for one customer.
+ * <ul>
+ *     <li>INVOICED: an invoice was created for the customer's unbilled orders.</li>
+ *     <li>SKIPPED: all the customer's orders were billed by someone else during the run.</li>
+ *     <li>FAILED: the invoice could not be created; the customer's orders are still unbilled.</li>
+ * </ul>
+ */
+public enum BulkInvoicingOutcome {
+    INVOICED,
+    SKIPPED,
+    FAILED
+}
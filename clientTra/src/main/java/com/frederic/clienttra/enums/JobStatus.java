@@ -0,0 +1,21 @@
+package com.frederic.clienttra.enums;
+
+/**
+ * Lifecycle of a background job.
+ * <ul>
+ *     <li>QUEUED: waiting for a worker.</li>
+ *     <li>RUNNING: claimed by a worker.</li>
+ *     <li>SUCCEEDED, FAILED, CANCELLED: finished; the job will not run again.</li>
+ * </ul>
+ */
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+}
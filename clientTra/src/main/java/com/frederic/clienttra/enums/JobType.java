@@ -0,0 +1,13 @@
+package com.frederic.clienttra.enums;
+
+/**
+ * Kinds of background job that can be submitted.
+ * <ul>
+ *     <li>DEMO_DATA_PURGE: deletes the customers, providers, documents and orders of the company.</li>
+ *     <li>ROLLUP_REBUILD: rebuilds the company's monthly cash-flow rollups from its invoices.</li>
+ * </ul>
+ */
+public enum JobType {
+    DEMO_DATA_PURGE,
+    ROLLUP_REBUILD
+}
@@ -0,0 +1,9 @@
+package com.frederic.clienttra.enums;
+
+/**
+ * Role a company plays for the owner company: customer or provider.
+ */
+public enum PartyType {
+    CUSTOMER,
+    PROVIDER
+}
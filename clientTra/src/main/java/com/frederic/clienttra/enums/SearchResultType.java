@@ -0,0 +1,16 @@
+package com.frederic.clienttra.enums;
+
+/**
+ * Kinds of record returned by the unified search.
+ * <ul>
+ *     <li>CUSTOMER, PROVIDER: a counterparty, found by commercial name, legal name or VAT number.</li>
+ *     <li>DOCUMENT: an invoice, quote or purchase order, found by document number.</li>
+ *     <li>ORDER: an order, found by description.</li>
+ * </ul>
+ */
+public enum SearchResultType {
+    CUSTOMER,
+    PROVIDER,
+    DOCUMENT,
+    ORDER
+}
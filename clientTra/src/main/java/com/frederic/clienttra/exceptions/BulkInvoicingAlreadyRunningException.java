@@ -0,0 +1,12 @@
+package com.frederic.clienttra.exceptions;
+
+/**
+ * Exception thrown when a bulk invoicing run is requested while another one is still running
+ * for the same company.
+ * The message "error.invoice.bulk_already_running" is used as a localization key.
+ */
+public class BulkInvoicingAlreadyRunningException extends RuntimeException{
+    public BulkInvoicingAlreadyRunningException(){
+        super("error.invoice.bulk_already_running");
+    }
+}
@@ -0,0 +1,11 @@
+package com.frederic.clienttra.exceptions;
+
+/**
+ * Exception thrown when a document that has no number series is created without a number.
+ * The message key "validation.document.doc_number_required" can be used for localization.
+ */
+public class DocumentNumberRequiredException extends RuntimeException {
+    public DocumentNumberRequiredException() {
+        super("validation.document.doc_number_required");
+    }
+}
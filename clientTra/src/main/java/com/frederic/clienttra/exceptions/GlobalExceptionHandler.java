@@ -92,7 +92,8 @@ public class GlobalExceptionHandler {
             OrderNotFoundException.class,
             ChangeRateNotFoundException.class,
             DocumentNotFoundException.class,
-            LastNumberNotFoundException.class
+            LastNumberNotFoundException.class,
+            JobNotFoundException.class
     })
     public ResponseEntity<ErrorResponse> handleNotFound(RuntimeException ex, HttpServletRequest request) {
         return buildErrorResponse(
@@ -173,7 +174,11 @@ public class GlobalExceptionHandler {
             CantDeletePaidInvoiceException.class,
             CantIncludeOrderAlreadyBilledException.class,
             InvalidVatRateException.class,
-            InvalidWithholdingException.class
+            InvalidWithholdingException.class,
+            InvalidCursorException.class,
+            BulkInvoicingAlreadyRunningException.class,
+            DocumentNumberRequiredException.class,
+            JobAlreadyFinishedException.class
     })
     public ResponseEntity<ErrorResponse> handleInvalidInput(RuntimeException ex, HttpServletRequest request) {
         return buildErrorResponse(
@@ -183,6 +188,16 @@ public class GlobalExceptionHandler {
                 request.getRequestURI());
     }
 
+    // --- Temporary overload (503) ---
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponse> handleServiceBusy(RuntimeException ex, HttpServletRequest request) {
+        return buildErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage(),
+                "Too many authentication requests. Please try again in a moment.",
+                request.getRequestURI());
+    }
+
     // --- Generic catch-all exception handler ---
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneric(Exception ex, HttpServletRequest request) {
@@ -0,0 +1,11 @@
+package com.frederic.clienttra.exceptions;
+
+/**
+ * Exception thrown when a pagination cursor cannot be decoded.
+ * The message key "error.pagination.invalid_cursor" can be used for localization.
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException() {
+        super("error.pagination.invalid_cursor");
+    }
+}
@@ -0,0 +1,11 @@
+package com.frederic.clienttra.exceptions;
+
+/**
+ * Exception thrown when cancelling a background job that has already finished.
+ * The message "error.job.already_finished" is used as a localization key.
+ */
+public class JobAlreadyFinishedException extends RuntimeException{
+    public JobAlreadyFinishedException(){
+        super("error.job.already_finished");
+    }
+}
@@ -0,0 +1,11 @@
+package com.frederic.clienttra.exceptions;
+
+/**
+ * Exception thrown when a background job is not found for the current company.
+ * The message "error.job.not_found" is used as a localization key.
+ */
+public class JobNotFoundException extends RuntimeException{
+    public JobNotFoundException(){
+        super("error.job.not_found");
+    }
+}
@@ -0,0 +1,12 @@
+package com.frederic.clienttra.exceptions;
+
+/**
+ * Exception thrown when the password hashing executor is saturated and cannot
+ * accept or complete a hashing task in time.
+ * The message key "error.auth.busy" can be used for localization.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException() {
+        super("error.auth.busy");
+    }
+}
@@ -9,8 +9,7 @@ import com.frederic.clienttra.projections.InvoiceForCashFlowReportProjection;
 import org.springframework.stereotype.Component;
 
 import java.time.YearMonth;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
 
 /**
  * Mapper class for converting invoice and party projections into DTOs
@@ -20,33 +19,15 @@ import java.util.stream.Collectors;
 public class CashFlowReportMapper {
 
     /**
-     * Converts invoice projections and company info into a PartyForCashFlowReportDTO.
-     * If the list of projections is empty, returns null.
-     *
-     * Note: Totals (totalNet, totalVat, totalWithholding) are initialized to 0.0
-     * and calculated later in the service layer.
+     * Creates a PartyForCashFlowReportDTO without invoices and with all totals set to 0.0,
+     * to be filled invoice by invoice in the service layer.
      *
      * @param idCompany the ID of the company
      * @param legalName the legal name of the party
      * @param vatNumber the VAT number of the party
-     * @param projections list of invoice projections related to the party
-     * @return a PartyForCashFlowReportDTO containing the party and its invoices, or null if no invoices
+     * @return an empty PartyForCashFlowReportDTO
      */
-    public PartyForCashFlowReportDTO toPartyReportDTO(Integer idCompany, String legalName, String vatNumber, List<InvoiceForCashFlowReportProjection> projections) {
-        if (projections.isEmpty()){
-            return null;
-        }
-
-        List<InvoiceSummaryForCashFlowReportDTO> invoices = projections.stream()
-                .map(p -> new InvoiceSummaryForCashFlowReportDTO(
-                        p.getInvoiceNumber(),
-                        p.getDocDate(),
-                        p.getTotalNet(),
-                        p.getTotalVat(),
-                        p.getTotalWithholding()
-                ))
-                .collect(Collectors.toList());
-
+    public PartyForCashFlowReportDTO toPartyReportDTO(Integer idCompany, String legalName, String vatNumber) {
         return PartyForCashFlowReportDTO.builder()
                 .idCompany(idCompany)
                 .legalName(legalName)
@@ -54,8 +35,24 @@ public class CashFlowReportMapper {
                 .totalNet(0.0)
                 .totalVat(0.0)
                 .totalWithholding(0.0) // Totals are calculated in the Service layer
-                .invoices(invoices)
+                .invoices(new ArrayList<>())
                 .build();
     }
 
+    /**
+     * Converts an invoice projection into an InvoiceSummaryForCashFlowReportDTO.
+     *
+     * @param projection the invoice projection
+     * @return the invoice summary
+     */
+    public InvoiceSummaryForCashFlowReportDTO toInvoiceSummaryDTO(InvoiceForCashFlowReportProjection projection) {
+        return new InvoiceSummaryForCashFlowReportDTO(
+                projection.getInvoiceNumber(),
+                projection.getDocDate(),
+                projection.getTotalNet(),
+                projection.getTotalVat(),
+                projection.getTotalWithholding()
+        );
+    }
+
 }
@@ -5,12 +5,14 @@ import com.frederic.clienttra.dto.demo.DemoCompanyDTO;
 import com.frederic.clienttra.dto.read.CustomerDetailsDTO;
 import com.frederic.clienttra.dto.read.BaseCompanyMinimalDTO;
 import com.frederic.clienttra.dto.read.CustomerForListDTO;
+import com.frederic.clienttra.dto.read.CustomerPageDTO;
 import com.frederic.clienttra.dto.update.UpdateCustomerRequestDTO;
 import com.frederic.clienttra.entities.Company;
 import com.frederic.clienttra.entities.Customer;
 import com.frederic.clienttra.projections.CustomerListProjection;
 import com.frederic.clienttra.projections.CustomerMinimalProjection;
-import com.frederic.clienttra.repositories.CompanyRepository;
+import com.frederic.clienttra.utils.CompanyNameCursor;
+import com.frederic.clienttra.utils.KeysetPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -37,7 +39,6 @@ public class CustomerMapper {
     private final BankAccountMapper bankAccountMapper;
     private final ContactPersonMapper contactPersonMapper;
     private final SchemeMapper schemeMapper;
-    private final CompanyRepository companyRepository;
 
     /**
      * Converts a list of CustomerListProjection to a list of CustomerForListDTO.
@@ -59,6 +60,22 @@ public class CustomerMapper {
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    /**
+     * Converts one page of customer projections, fetched with one extra row, into a CustomerPageDTO.
+     *
+     * @param rows up to {@code pageSize + 1} projections; the extra row only signals a next page
+     * @param pageSize the requested page size
+     * @return a CustomerPageDTO with the page items and the cursor of the next page, if any
+     */
+    public CustomerPageDTO toPageDto(List<CustomerListProjection> rows, int pageSize){
+        KeysetPage<CustomerForListDTO> page = KeysetPage.of(rows, pageSize, this::toCustomerForListDTOS,
+                last -> new CompanyNameCursor(last.getComName(), last.getIdCompany()).encode());
+        return CustomerPageDTO.builder()
+                .items(page.items())
+                .nextCursor(page.nextCursor())
+                .build();
+    }
+
     public CustomerForListDTO toCustomerForListDTO(Customer entity){
         return CustomerForListDTO.builder()
                 .idCustomer(entity.getIdCustomer())
@@ -122,15 +139,14 @@ public class CustomerMapper {
     }
 
     /**
-     * Converts a DemoCompanyDTO into a Customer entity, creating and saving the associated Company first.
+     * Converts a DemoCompanyDTO into a Customer entity linked to a new, not yet saved, Company.
      *
      * @param dto the demo company DTO with data
      * @param ownerCompany the owner company entity for ownership reference
-     * @return a Customer entity linked to the saved Company
+     * @return a Customer entity linked to the new Company
      */
     public Customer toEntity(DemoCompanyDTO dto, Company ownerCompany) {
         Company company = companyMapper.toEntity(dto,ownerCompany);
-        Company savedCompany =  companyRepository.save(company);
 
         return Customer.builder()
                 .invoicingMethod(dto.getInvoicingMethod())
@@ -141,7 +157,7 @@ public class CustomerMapper {
                 .defaultWithholding(dto.getDefaultWithholding())
                 .europe(dto.getEurope())
                 .enabled(true)
-                .company(savedCompany)
+                .company(company)
                 .ownerCompany(ownerCompany)
                 .build();
     }
@@ -5,6 +5,8 @@ import com.frederic.clienttra.dto.demo.DemoDocumentDTO;
 import com.frederic.clienttra.dto.read.*;
 import com.frederic.clienttra.entities.*;
 import com.frederic.clienttra.projections.DocumentListProjection;
+import com.frederic.clienttra.utils.DocumentCursor;
+import com.frederic.clienttra.utils.KeysetPage;
 import com.frederic.clienttra.utils.DocumentUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -103,6 +105,23 @@ public class DocumentMapper {
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    /**
+     * Builds a page of document summaries from a keyset query that fetched one row more
+     * than the page size. The extra row is dropped and signals that a next cursor is needed.
+     *
+     * @param rows     projections returned by the repository, at most {@code pageSize + 1}
+     * @param pageSize the requested page size
+     * @return a DocumentPageDTO with the page items and the cursor of the next page, if any
+     */
+    public DocumentPageDTO toPageDtoFromProjection(List<DocumentListProjection> rows, int pageSize){
+        KeysetPage<DocumentForListDTO> page = KeysetPage.of(rows, pageSize, this::toListDtosFromProjection,
+                last -> new DocumentCursor(last.getDocDate(), last.getDocNumber(), last.getIdDocument()).encode());
+        return DocumentPageDTO.builder()
+                .items(page.items())
+                .nextCursor(page.nextCursor())
+                .build();
+    }
+
     /**
      * Converts a DocumentListProjection to a DocumentForListDTO.
      *
@@ -0,0 +1,49 @@
+package com.frederic.clienttra.mappers;
+
+import com.frederic.clienttra.dto.read.JobDTO;
+import com.frederic.clienttra.entities.Job;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Mapper class responsible for converting Job entities into JobDTOs.
+ */
+@Component
+public class JobMapper {
+
+    /**
+     * Converts a list of Job entities into a list of JobDTOs.
+     *
+     * @param entities the list of Job entities to convert
+     * @return a list of JobDTO objects representing the entities
+     */
+    public List<JobDTO> toDtos(List<Job> entities) {
+        return entities.stream()
+                .map(this::toDto)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Converts a single Job entity into a JobDTO.
+     *
+     * @param entity the Job entity to convert
+     * @return the JobDTO representing the entity
+     */
+    public JobDTO toDto(Job entity) {
+        return JobDTO.builder()
+                .idJob(entity.getIdJob())
+                .type(entity.getJobType())
+                .status(entity.getStatus())
+                .progress(entity.getProgress())
+                .result(entity.getResult())
+                .error(entity.getError())
+                .cancelRequested(entity.isCancelRequested())
+                .createdAt(entity.getCreatedAt())
+                .startedAt(entity.getStartedAt())
+                .finishedAt(entity.getFinishedAt())
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import com.frederic.clienttra.dto.bases.BaseOrderDTO;
 import com.frederic.clienttra.dto.read.OrderDetailsDTO;
 import com.frederic.clienttra.dto.read.OrderForDocumentDTO;
 import com.frederic.clienttra.dto.read.OrderListDTO;
+import com.frederic.clienttra.dto.read.OrderPageDTO;
 import com.frederic.clienttra.dto.update.UpdateOrderRequestDTO;
 import com.frederic.clienttra.entities.Company;
 import com.frederic.clienttra.entities.Item;
@@ -11,7 +12,8 @@ import com.frederic.clienttra.entities.Order;
 import com.frederic.clienttra.exceptions.InvalidOrderDescriptionException;
 import com.frederic.clienttra.exceptions.InvalidOrderPriceException;
 import com.frederic.clienttra.projections.OrderListForDashboardProjection;
-import com.frederic.clienttra.projections.OrderListForDocumentsProjection;
+import com.frederic.clienttra.utils.KeysetPage;
+import com.frederic.clienttra.utils.OrderCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -72,9 +74,10 @@ public class OrderMapper {
      * @param entity the OrderListProjection
      * @return mapped OrderListDTO
      */
-    public OrderListDTO toListDtoFromProjectionForDocuments(OrderListForDocumentsProjection entity){
+    public OrderListDTO toListDtosFromProjectionForDashboard(OrderListForDashboardProjection entity){
         return OrderListDTO.builder()
                 .idOrder(entity.getIdOrder())
+                .comName(entity.getComName())
                 .descrip(entity.getDescrip())
                 .dateOrder(entity.getDateOrder())
                 .total(entity.getTotal())
@@ -83,19 +86,18 @@ public class OrderMapper {
     }
 
     /**
-     * Converts a projection representing an Order list entry to an OrderListDTO.
+     * Converts one page of order projections, fetched with one extra row, into an OrderPageDTO.
      *
-     * @param entity the OrderListProjection
-     * @return mapped OrderListDTO
+     * @param rows up to {@code pageSize + 1} projections; the extra row only signals a next page
+     * @param pageSize the requested page size
+     * @return an OrderPageDTO with the page items and the cursor of the next page, if any
      */
-    public OrderListDTO toListDtosFromProjectionForDashboard(OrderListForDashboardProjection entity){
-        return OrderListDTO.builder()
-                .idOrder(entity.getIdOrder())
-                .comName(entity.getComName())
-                .descrip(entity.getDescrip())
-                .dateOrder(entity.getDateOrder())
-                .total(entity.getTotal())
-                .billed(entity.getBilled())
+    public OrderPageDTO toPageDto(List<OrderListForDashboardProjection> rows, int pageSize){
+        KeysetPage<OrderListDTO> page = KeysetPage.of(rows, pageSize, this::toListDtosFromProjectionForDashboard,
+                last -> new OrderCursor(last.getDateOrder(), last.getIdOrder()).encode());
+        return OrderPageDTO.builder()
+                .items(page.items())
+                .nextCursor(page.nextCursor())
                 .build();
     }
 
@@ -134,18 +136,6 @@ public class OrderMapper {
                 .build();
     }
 
-    /**
-     * Converts a list of OrderListProjections to a list of OrderListDTOs.
-     *
-     * @param entities list of OrderListProjections
-     * @return list of mapped OrderListDTOs
-     */
-    public List<OrderListDTO> toListDtoFromProjectionForDocuments(List<OrderListForDocumentsProjection> entities){
-        return entities.stream()
-                .map(this::toListDtoFromProjectionForDocuments)
-                .collect(Collectors.toCollection(ArrayList::new));
-    }
-
     /**
      * Converts a list of OrderListProjections to a list of OrderListDTOs.
      *
@@ -1,16 +1,20 @@
 package com.frederic.clienttra.mappers;
 
+import com.frederic.clienttra.dto.read.AgingBucketsDTO;
 import com.frederic.clienttra.dto.read.InvoiceSummaryForPendingReportDTO;
 import com.frederic.clienttra.dto.read.MonthlyPendingReportDTO;
+import com.frederic.clienttra.dto.read.PartyForAgingReportDTO;
+import com.frederic.clienttra.projections.AgingForPendingReportProjection;
 import com.frederic.clienttra.projections.InvoiceForPendingReportProjection;
 import org.springframework.stereotype.Component;
 
 import java.time.YearMonth;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Mapper class to convert invoice projections into report DTOs
- * related to pending invoices grouped by month.
+ * related to pending invoices grouped by month or by aging bucket.
  */
 @Component
 public class PendingReportMapper {
@@ -48,4 +52,47 @@ public class PendingReportMapper {
                 .build();
     }
 
+    /**
+     * Converts the aging subtotals of one counterparty into a PartyForAgingReportDTO.
+     *
+     * @param projection the aging subtotals of the counterparty
+     * @return a PartyForAgingReportDTO with its buckets and total
+     */
+    public PartyForAgingReportDTO toPartyForAgingReportDTO(AgingForPendingReportProjection projection){
+        return PartyForAgingReportDTO.builder()
+                .idCompany(projection.getIdCompany())
+                .comName(projection.getComName())
+                .invoiceCount(projection.getInvoiceCount())
+                .buckets(toAgingBucketsDTO(
+                        projection.getNotDue(),
+                        projection.getDays1To30(),
+                        projection.getDays31To60(),
+                        projection.getDays61To90(),
+                        projection.getOver90()))
+                .build();
+    }
+
+    /**
+     * Builds an AgingBucketsDTO from the amount of each bucket, treating null amounts as 0.0,
+     * and sets its total.
+     *
+     * @param notDue amount not yet due
+     * @param days1To30 amount 1 to 30 days past the deadline
+     * @param days31To60 amount 31 to 60 days past the deadline
+     * @param days61To90 amount 61 to 90 days past the deadline
+     * @param over90 amount more than 90 days past the deadline
+     * @return an AgingBucketsDTO with its total
+     */
+    public AgingBucketsDTO toAgingBucketsDTO(Double notDue, Double days1To30, Double days31To60, Double days61To90, Double over90){
+        AgingBucketsDTO dto = AgingBucketsDTO.builder()
+                .notDue(Optional.ofNullable(notDue).orElse(0.0))
+                .days1To30(Optional.ofNullable(days1To30).orElse(0.0))
+                .days31To60(Optional.ofNullable(days31To60).orElse(0.0))
+                .days61To90(Optional.ofNullable(days61To90).orElse(0.0))
+                .over90(Optional.ofNullable(over90).orElse(0.0))
+                .build();
+        dto.setTotal(dto.getNotDue() + dto.getDays1To30() + dto.getDays31To60() + dto.getDays61To90() + dto.getOver90());
+        return dto;
+    }
+
 }
@@ -5,12 +5,14 @@ import com.frederic.clienttra.dto.demo.DemoCompanyDTO;
 import com.frederic.clienttra.dto.read.BaseCompanyMinimalDTO;
 import com.frederic.clienttra.dto.read.ProviderDetailsDTO;
 import com.frederic.clienttra.dto.read.ProviderForListDTO;
+import com.frederic.clienttra.dto.read.ProviderPageDTO;
 import com.frederic.clienttra.dto.update.UpdateProviderRequestDTO;
 import com.frederic.clienttra.entities.Company;
 import com.frederic.clienttra.entities.Provider;
 import com.frederic.clienttra.projections.ProviderListProjection;
 import com.frederic.clienttra.projections.ProviderMinimalProjection;
-import com.frederic.clienttra.repositories.CompanyRepository;
+import com.frederic.clienttra.utils.CompanyNameCursor;
+import com.frederic.clienttra.utils.KeysetPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -33,7 +35,6 @@ public class ProviderMapper {
     private final BankAccountMapper bankAccountMapper;
     private final ContactPersonMapper contactPersonMapper;
     private final SchemeMapper schemeMapper;
-    private final CompanyRepository companyRepository;
 
     /**
      * Converts a list of ProviderListProjection to a list of ProviderForListDTO.
@@ -55,6 +56,22 @@ public class ProviderMapper {
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    /**
+     * Converts one page of provider projections, fetched with one extra row, into a ProviderPageDTO.
+     *
+     * @param rows up to {@code pageSize + 1} projections; the extra row only signals a next page
+     * @param pageSize the requested page size
+     * @return a ProviderPageDTO with the page items and the cursor of the next page, if any
+     */
+    public ProviderPageDTO toPageDto(List<ProviderListProjection> rows, int pageSize){
+        KeysetPage<ProviderForListDTO> page = KeysetPage.of(rows, pageSize, this::toProviderForListDTOS,
+                last -> new CompanyNameCursor(last.getComName(), last.getIdCompany()).encode());
+        return ProviderPageDTO.builder()
+                .items(page.items())
+                .nextCursor(page.nextCursor())
+                .build();
+    }
+
     public ProviderForListDTO toProviderForListDTO(Provider entity){
         return ProviderForListDTO.builder()
                 .idProvider(entity.getIdProvider())
@@ -114,15 +131,14 @@ public class ProviderMapper {
     }
 
     /**
-     * Converts a DemoCompanyDTO to a Provider entity including saving the associated Company entity.
+     * Converts a DemoCompanyDTO to a Provider entity linked to a new, not yet saved, Company entity.
      *
      * @param dto the demo company DTO
      * @param ownerCompany the owning company
-     * @return the new Provider entity with persisted Company
+     * @return the new Provider entity with its new Company
      */
     public Provider toEntity(DemoCompanyDTO dto, Company ownerCompany){
         Company company = companyMapper.toEntity(dto,ownerCompany);
-        Company savedCompany =  companyRepository.save(company);
 
         return Provider.builder()
                 .duedate(dto.getDuedate())
@@ -131,7 +147,7 @@ public class ProviderMapper {
                 .defaultWithholding(dto.getDefaultWithholding())
                 .europe(dto.getEurope())
                 .enabled(true)
-                .company(savedCompany)
+                .company(company)
                 .ownerCompany(ownerCompany)
                 .build();
     }
@@ -0,0 +1,16 @@
+package com.frederic.clienttra.projections;
+
+/**
+ * Projection interface representing the pending amounts of one counterparty,
+ * split into aging buckets by days past the deadline.
+ */
+public interface AgingForPendingReportProjection {
+    Integer getIdCompany();
+    String getComName();
+    Long getInvoiceCount();
+    Double getNotDue();
+    Double getDays1To30();
+    Double getDays31To60();
+    Double getDays61To90();
+    Double getOver90();
+}
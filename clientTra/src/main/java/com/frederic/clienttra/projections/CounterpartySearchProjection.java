@@ -0,0 +1,13 @@
+package com.frederic.clienttra.projections;
+
+/**
+ * Projection interface with the searchable fields of a customer or provider,
+ * used to build the unified search index.
+ */
+public interface CounterpartySearchProjection {
+    Integer getIdCompany();
+    String getComName();
+    String getLegalName();
+    String getVatNumber();
+    Boolean getEnabled();
+}
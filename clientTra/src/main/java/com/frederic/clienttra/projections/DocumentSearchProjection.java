@@ -0,0 +1,14 @@
+package com.frederic.clienttra.projections;
+
+import com.frederic.clienttra.enums.DocumentType;
+
+/**
+ * Projection interface with the searchable fields of a document,
+ * used to build the unified search index.
+ */
+public interface DocumentSearchProjection {
+    Integer getIdDocument();
+    String getDocNumber();
+    DocumentType getDocType();
+    Integer getIdCompany();
+}
@@ -0,0 +1,12 @@
+package com.frederic.clienttra.projections;
+
+/**
+ * Projection interface representing the invoice totals of one document type in one month.
+ * {@code period} is encoded as {@code yyyymm}.
+ */
+public interface MonthlyRollupProjection {
+    String getDocType();
+    Integer getPeriod();
+    Double getTotalNet();
+    Integer getDocCount();
+}
@@ -0,0 +1,11 @@
+package com.frederic.clienttra.projections;
+
+/**
+ * Projection interface with the searchable fields of an order,
+ * used to build the unified search index.
+ */
+public interface OrderSearchProjection {
+    Integer getIdOrder();
+    String getDescrip();
+    Integer getIdCompany();
+}
@@ -0,0 +1,9 @@
+package com.frederic.clienttra.projections;
+
+/**
+ * Projection interface representing the number of running jobs of one owner company.
+ */
+public interface RunningJobsProjection {
+    Integer getIdOwnerCompany();
+    Long getRunning();
+}
@@ -0,0 +1,11 @@
+package com.frederic.clienttra.projections;
+
+/**
+ * Projection interface representing an unbilled order to be invoiced in bulk.
+ * Provides the order's company and total, which is all a bulk invoice needs from it.
+ */
+public interface UnbilledOrderForInvoicingProjection {
+    Integer getIdOrder();
+    Integer getIdCompany();
+    Double getTotal();
+}
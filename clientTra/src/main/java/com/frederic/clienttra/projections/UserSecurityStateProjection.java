@@ -0,0 +1,12 @@
+package com.frederic.clienttra.projections;
+
+/**
+ * Projection interface exposing the minimal user state needed to accept or reject a JWT
+ * issued with a given security version, without loading the user's role, plan or company.
+ * Also carries the preferred language, which can change without a new token being issued.
+ */
+public interface UserSecurityStateProjection {
+    Integer getSecurityVersion();
+    Boolean getEnabled();
+    String getPreferredLanguage();
+}
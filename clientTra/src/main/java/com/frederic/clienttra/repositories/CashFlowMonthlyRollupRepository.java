@@ -0,0 +1,136 @@
+package com.frederic.clienttra.repositories;
+
+import com.frederic.clienttra.entities.CashFlowMonthlyRollup;
+import com.frederic.clienttra.projections.MonthlyRollupProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link CashFlowMonthlyRollup} entities.
+ * <p>
+ * Rollups are maintained with atomic upserts so concurrent invoice writes on the same month
+ * never lose an update, and can be recomputed from the documents table for one owner company.
+ */
+public interface CashFlowMonthlyRollupRepository extends JpaRepository<CashFlowMonthlyRollup, Integer> {
+
+    /**
+     * Adds an amount and a document count to the rollup of a month, creating it if needed.
+     *
+     * @param idOwnerCompany the ID of the owning company
+     * @param docType the document type code
+     * @param period the month, encoded as {@code yyyymm}
+     * @param totalNet the net amount to add, negative to subtract
+     * @param docCount the number of documents to add, negative to subtract
+     * @return the number of rows affected
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+        INSERT INTO cash_flow_monthly_rollups (doc_type, period, total_net, doc_count, id_owner_company)
+        VALUES (:docType, :period, :totalNet, :docCount, :idOwnerCompany)
+        ON DUPLICATE KEY UPDATE
+            total_net = total_net + :totalNet,
+            doc_count = doc_count + :docCount
+    """)
+    int add(@Param("idOwnerCompany") Integer idOwnerCompany,
+            @Param("docType") String docType,
+            @Param("period") Integer period,
+            @Param("totalNet") Double totalNet,
+            @Param("docCount") Integer docCount);
+
+    /**
+     * Retrieves the rollups of one document type between two months, inclusive.
+     *
+     * @param idOwnerCompany the ID of the owning company
+     * @param docType the document type code
+     * @param fromPeriod the first month, encoded as {@code yyyymm}
+     * @param toPeriod the last month, encoded as {@code yyyymm}
+     * @return list of monthly rollups ordered by month
+     */
+    @Query(nativeQuery = true, value = """
+        SELECT
+            r.doc_type AS docType,
+            r.period AS period,
+            r.total_net AS totalNet,
+            r.doc_count AS docCount
+        FROM cash_flow_monthly_rollups r
+        WHERE r.id_owner_company = :idOwnerCompany
+          AND r.doc_type = :docType
+          AND r.period BETWEEN :fromPeriod AND :toPeriod
+        ORDER BY r.period
+    """)
+    List<MonthlyRollupProjection> findByPeriodBetween(@Param("idOwnerCompany") Integer idOwnerCompany,
+                                                      @Param("docType") String docType,
+                                                      @Param("fromPeriod") Integer fromPeriod,
+                                                      @Param("toPeriod") Integer toPeriod);
+
+    /**
+     * Retrieves all stored rollups of an owner company.
+     *
+     * @param idOwnerCompany the ID of the owning company
+     * @return list of monthly rollups
+     */
+    @Query(nativeQuery = true, value = """
+        SELECT
+            r.doc_type AS docType,
+            r.period AS period,
+            r.total_net AS totalNet,
+            r.doc_count AS docCount
+        FROM cash_flow_monthly_rollups r
+        WHERE r.id_owner_company = :idOwnerCompany
+    """)
+    List<MonthlyRollupProjection> findAllByOwner(@Param("idOwnerCompany") Integer idOwnerCompany);
+
+    /**
+     * Aggregates the active invoices of an owner company per document type and month,
+     * straight from the documents table.
+     *
+     * @param idOwnerCompany the ID of the owning company
+     * @return list of monthly totals computed from the documents
+     */
+    @Query(nativeQuery = true, value = """
+        SELECT
+            d.doc_type AS docType,
+            YEAR(d.doc_date) * 100 + MONTH(d.doc_date) AS period,
+            SUM(d.total_net) AS totalNet,
+            COUNT(*) AS docCount
+        FROM documents d
+        WHERE d.id_owner_company = :idOwnerCompany
+          AND d.doc_type IN ('INV_CUST', 'INV_PROV')
+          AND d.status NOT IN ('MODIFIED', 'DELETED')
+        GROUP BY d.doc_type, YEAR(d.doc_date) * 100 + MONTH(d.doc_date)
+    """)
+    List<MonthlyRollupProjection> aggregateFromDocuments(@Param("idOwnerCompany") Integer idOwnerCompany);
+
+    /**
+     * Deletes all rollups of an owner company.
+     *
+     * @param idOwnerCompany the ID of the owning company
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM cash_flow_monthly_rollups WHERE id_owner_company = :idOwnerCompany")
+    int deleteAllByOwner(@Param("idOwnerCompany") Integer idOwnerCompany);
+
+    /**
+     * Recomputes all rollups of an owner company from the documents table.
+     * Existing rollups must be deleted first.
+     *
+     * @param idOwnerCompany the ID of the owning company
+     * @return the number of rollups inserted
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+        INSERT INTO cash_flow_monthly_rollups (doc_type, period, total_net, doc_count, id_owner_company)
+        SELECT d.doc_type, YEAR(d.doc_date) * 100 + MONTH(d.doc_date), SUM(d.total_net), COUNT(*), d.id_owner_company
+        FROM documents d
+        WHERE d.id_owner_company = :idOwnerCompany
+          AND d.doc_type IN ('INV_CUST', 'INV_PROV')
+          AND d.status NOT IN ('MODIFIED', 'DELETED')
+        GROUP BY d.doc_type, YEAR(d.doc_date) * 100 + MONTH(d.doc_date), d.id_owner_company
+    """)
+    int insertFromDocuments(@Param("idOwnerCompany") Integer idOwnerCompany);
+}
@@ -3,6 +3,8 @@ package com.frederic.clienttra.repositories;
 import com.frederic.clienttra.entities.Company;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -58,4 +60,60 @@ public interface CompanyRepository extends JpaRepository<Company, Integer> {
      */
     List<Company> findAllByOwnerCompany(Company onwerCompany);
 
+
+    /**
+     * Loads the phones of a company in one statement, initializing the collection on the
+     * managed instance of the current persistence context.
+     *
+     * @param idCompany the ID of the company
+     * @return optional containing the company with its phones loaded
+     */
+    @Query("""
+        SELECT c FROM Company c
+        LEFT JOIN FETCH c.phones
+        WHERE c.idCompany = :idCompany
+    """)
+    Optional<Company> findWithPhonesByIdCompany(@Param("idCompany") Integer idCompany);
+
+    /**
+     * Loads the bank accounts of a company in one statement, initializing the collection on the
+     * managed instance of the current persistence context.
+     *
+     * @param idCompany the ID of the company
+     * @return optional containing the company with its bank accounts loaded
+     */
+    @Query("""
+        SELECT c FROM Company c
+        LEFT JOIN FETCH c.bankAccounts
+        WHERE c.idCompany = :idCompany
+    """)
+    Optional<Company> findWithBankAccountsByIdCompany(@Param("idCompany") Integer idCompany);
+
+    /**
+     * Loads the contact persons of a company in one statement, initializing the collection on the
+     * managed instance of the current persistence context.
+     *
+     * @param idCompany the ID of the company
+     * @return optional containing the company with its contact persons loaded
+     */
+    @Query("""
+        SELECT c FROM Company c
+        LEFT JOIN FETCH c.contactPersons
+        WHERE c.idCompany = :idCompany
+    """)
+    Optional<Company> findWithContactPersonsByIdCompany(@Param("idCompany") Integer idCompany);
+
+    /**
+     * Loads the schemes of a company in one statement, initializing the collection on the
+     * managed instance of the current persistence context.
+     *
+     * @param idCompany the ID of the company
+     * @return optional containing the company with its schemes loaded
+     */
+    @Query("""
+        SELECT c FROM Company c
+        LEFT JOIN FETCH c.schemes
+        WHERE c.idCompany = :idCompany
+    """)
+    Optional<Company> findWithSchemesByIdCompany(@Param("idCompany") Integer idCompany);
 }
@@ -2,12 +2,17 @@ package com.frederic.clienttra.repositories;
 
 import com.frederic.clienttra.entities.Company;
 import com.frederic.clienttra.entities.Customer;
+import com.frederic.clienttra.projections.CounterpartySearchProjection;
 import com.frederic.clienttra.projections.CustomerListProjection;
 import com.frederic.clienttra.projections.CustomerMinimalProjection;
+import com.frederic.clienttra.utils.CompanyNameCursor;
+import com.frederic.clienttra.utils.KeysetPage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,6 +52,58 @@ public interface CustomerRepository extends JpaRepository<Customer, Integer> {
      */
     Optional<Customer> findByOwnerCompanyAndCompany(Company ownerCompany, Company company);
 
+    /**
+     * Finds a customer by its company ID and the owning company, fetching in the same statement its
+     * company, the company's owner and addresses. The other collections of the detail view are
+     * loaded by {@link com.frederic.clienttra.services.CompanyDetailService}.
+     *
+     * @param ownerCompany the company that owns the customer
+     * @param idCompany the Customer's company ID
+     * @return an Optional containing the customer if found
+     */
+    @Query("""
+        SELECT c FROM Customer c
+        JOIN FETCH c.company co
+        LEFT JOIN FETCH co.ownerCompany
+        LEFT JOIN FETCH co.addresses
+        WHERE c.ownerCompany = :ownerCompany AND co.idCompany = :idCompany
+    """)
+    Optional<Customer> findDetailByOwnerCompanyAndIdCompany(@Param("ownerCompany") Company ownerCompany,
+                                                            @Param("idCompany") Integer idCompany);
+
+    /**
+     * Finds a customer by its ID and the owning company, fetching the same associations as
+     * {@link #findDetailByOwnerCompanyAndIdCompany(Company, Integer)}.
+     *
+     * @param ownerCompany the company that owns the customer
+     * @param idCustomer the customer ID
+     * @return an Optional containing the customer if found
+     */
+    @Query("""
+        SELECT c FROM Customer c
+        JOIN FETCH c.company co
+        LEFT JOIN FETCH co.ownerCompany
+        LEFT JOIN FETCH co.addresses
+        WHERE c.ownerCompany = :ownerCompany AND c.idCustomer = :idCustomer
+    """)
+    Optional<Customer> findDetailByOwnerCompanyAndIdCustomer(@Param("ownerCompany") Company ownerCompany,
+                                                             @Param("idCustomer") Integer idCustomer);
+
+    /**
+     * Retrieves the customers of the given companies, with their company loaded.
+     *
+     * @param ownerCompany the owning company
+     * @param companyIds the IDs of the customers' companies
+     * @return list of customers
+     */
+    @Query("""
+        SELECT c FROM Customer c
+        JOIN FETCH c.company
+        WHERE c.ownerCompany = :ownerCompany AND c.company.idCompany IN :companyIds
+    """)
+    List<Customer> findAllWithCompanyByOwnerCompanyAndCompanyIds(@Param("ownerCompany") Company ownerCompany,
+                                                                 @Param("companyIds") Collection<Integer> companyIds);
+
     /**
      * Retrieves all customers owned by a specific company.
      *
@@ -60,7 +117,7 @@ public interface CustomerRepository extends JpaRepository<Customer, Integer> {
      *
      * @param owner the owning company
      * @param enabled filter by enabled status (true/false)
-     * @return list of customer projections with basic info
+     * @return list of customer projections with basic info, ordered by commercial name
      */
     @Query("""
         SELECT c.idCustomer AS idCustomer,
@@ -72,7 +129,8 @@ public interface CustomerRepository extends JpaRepository<Customer, Integer> {
                co.idCompany AS idCompany
         FROM Customer c
         JOIN c.company co
-        WHERE c.ownerCompany = :owner AND c.enabled = :enabled
+        WHERE co.ownerCompany = :owner AND c.ownerCompany = :owner AND c.enabled = :enabled
+        ORDER BY co.comName, co.idCompany
     """)
     List<CustomerListProjection> findListByOwnerCompany(@Param("owner") Company owner, @Param("enabled") Boolean enabled);
 
@@ -80,7 +138,7 @@ public interface CustomerRepository extends JpaRepository<Customer, Integer> {
      * Retrieves a list of customers with selected fields filtered by owning company.
      *
      * @param owner the owning company
-     * @return list of customer projections with basic info
+     * @return list of customer projections with basic info, ordered by commercial name
      */
     @Query("""
         SELECT c.idCustomer AS idCustomer,
@@ -92,10 +150,65 @@ public interface CustomerRepository extends JpaRepository<Customer, Integer> {
                co.idCompany AS idCompany
         FROM Customer c
         JOIN c.company co
-        WHERE c.ownerCompany = :owner
+        WHERE co.ownerCompany = :owner AND c.ownerCompany = :owner
+        ORDER BY co.comName, co.idCompany
     """)
     List<CustomerListProjection> findListByOwnerCompany(@Param("owner") Company owner);
 
+    /**
+     * Retrieves the customers following a position in the list ordered by commercial name.
+     * The owner condition on {@code co} lets the index on {@code companies(id_owner_company, com_name)}
+     * drive the query, so it stops once the page is complete.
+     *
+     * @param owner the owning company
+     * @param enabled the enabled status, or null for all
+     * @param afterId the company ID of the cursor, or null for the first page
+     * @param afterName the commercial name of the cursor, may be null
+     * @param pageable the number of rows to fetch
+     * @return list of customer projections ordered by commercial name
+     */
+    @Query("""
+        SELECT c.idCustomer AS idCustomer,
+               co.comName AS comName,
+               co.vatNumber AS vatNumber,
+               co.email AS email,
+               co.web AS web,
+               c.enabled AS enabled,
+               co.idCompany AS idCompany
+        FROM Customer c
+        JOIN c.company co
+        WHERE co.ownerCompany = :owner AND c.ownerCompany = :owner
+          AND (:enabled IS NULL OR c.enabled = :enabled)
+          AND (:afterId IS NULL
+               OR (:afterName IS NULL AND (co.comName IS NOT NULL OR co.idCompany > :afterId))
+               OR co.comName > :afterName
+               OR (co.comName = :afterName AND co.idCompany > :afterId))
+        ORDER BY co.comName, co.idCompany
+    """)
+    List<CustomerListProjection> findPageByOwnerCompany(@Param("owner") Company owner,
+                                                        @Param("enabled") Boolean enabled,
+                                                        @Param("afterId") Integer afterId,
+                                                        @Param("afterName") String afterName,
+                                                        Pageable pageable);
+
+    /**
+     * Retrieves the page of customers following the given cursor, fetching one extra row
+     * so the caller can tell whether another page exists.
+     *
+     * @param owner the owning company
+     * @param enabled the enabled status, or null for all
+     * @param after the cursor of the previous page, or null for the first page
+     * @param pageSize the number of customers per page
+     * @return up to {@code pageSize + 1} customer projections
+     */
+    default List<CustomerListProjection> findPageByOwnerCompany(Company owner, Boolean enabled,
+                                                                CompanyNameCursor after, int pageSize) {
+        return findPageByOwnerCompany(owner, enabled,
+                after != null ? after.idCompany() : null,
+                after != null ? after.comName() : null,
+                KeysetPage.request(pageSize));
+    }
+
     /**
      * Retrieves a list of customers filtered by owning company and matching
      * a search input in company commercial name, legal name, or VAT number (case-insensitive).
@@ -119,12 +232,43 @@ public interface CustomerRepository extends JpaRepository<Customer, Integer> {
     """)
     List<CustomerListProjection> findListByComNameOrLegalNameOrVatNumber(@Param("owner") Company owner, @Param("input") String input);
 
+    /**
+     * Retrieves the best matches of a typeahead search among the enabled customers.
+     * Names starting with the typed text come first, then the most relevant full-text matches.
+     * The full-text index covers the companies of every owner, so MySQL finds the matches of all
+     * tenants before the owner filter applies; the search by name or VAT keeps its LIKE query.
+     *
+     * @param idOwnerCompany the ID of the owning company
+     * @param terms the boolean-mode full-text query
+     * @param namePrefix the LIKE pattern of names starting with the typed text
+     * @param limit the maximum number of results
+     * @return list of minimal customer projections, best match first
+     */
+    @Query(nativeQuery = true, value = """
+        SELECT co.id_company AS idCompany,
+               co.com_name AS comName,
+               co.vat_number AS vatNumber
+        FROM companies co
+        JOIN customers c ON c.id_company = co.id_company
+        WHERE MATCH(co.com_name, co.legal_name, co.vat_number) AGAINST(:terms IN BOOLEAN MODE)
+          AND c.id_owner_company = :idOwnerCompany
+          AND c.enabled = true
+        ORDER BY co.com_name LIKE :namePrefix DESC,
+                 MATCH(co.com_name, co.legal_name, co.vat_number) AGAINST(:terms IN BOOLEAN MODE) DESC,
+                 co.com_name
+        LIMIT :limit
+    """)
+    List<CustomerMinimalProjection> findTypeahead(@Param("idOwnerCompany") Integer idOwnerCompany,
+                                                   @Param("terms") String terms,
+                                                   @Param("namePrefix") String namePrefix,
+                                                   @Param("limit") int limit);
+
     /**
      * Retrieves a minimal list of customers (ID, commercial name, VAT) owned by a company,
      * filtering only enabled customers.
      *
      * @param owner the owning company
-     * @return list of minimal customer projections
+     * @return list of minimal customer projections, ordered by commercial name
      */
     @Query("""
     SELECT co.idCompany AS idCompany,
@@ -132,7 +276,27 @@ public interface CustomerRepository extends JpaRepository<Customer, Integer> {
            co.vatNumber AS vatNumber
     FROM Customer c
     JOIN c.company co
-    WHERE c.ownerCompany = :owner AND c.enabled = true
+    WHERE co.ownerCompany = :owner AND c.ownerCompany = :owner AND c.enabled = true
+    ORDER BY co.comName, co.idCompany
     """)
     List<CustomerMinimalProjection> findMinimalListByOwnerCompany(Company owner);
+
+    /**
+     * Retrieves the searchable fields of every customer, enabled or not, of an owner company.
+     * Used to build the search index.
+     *
+     * @param owner the owning company
+     * @return list of customer search projections
+     */
+    @Query("""
+        SELECT co.idCompany AS idCompany,
+               co.comName AS comName,
+               co.legalName AS legalName,
+               co.vatNumber AS vatNumber,
+               c.enabled AS enabled
+        FROM Customer c
+        JOIN c.company co
+        WHERE c.ownerCompany = :owner
+    """)
+    List<CounterpartySearchProjection> findSearchEntriesByOwnerCompany(@Param("owner") Company owner);
 }
@@ -0,0 +1,103 @@
+package com.frederic.clienttra.repositories;
+
+import com.frederic.clienttra.entities.DocumentNumberSeries;
+import com.frederic.clienttra.enums.DocumentType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for managing {@link DocumentNumberSeries} entities.
+ * <p>
+ * All operations address a series by its unique key (owner company, document type, year),
+ * so each one is a single indexed row access.
+ */
+public interface DocumentNumberSeriesRepository extends JpaRepository<DocumentNumberSeries, Integer> {
+
+    /**
+     * Advances a series by the given amount. The updated row stays locked until the
+     * surrounding transaction ends, which serializes concurrent allocations on the same series.
+     *
+     * @param idOwnerCompany the ID of the owning company
+     * @param docType the document type
+     * @param year the series year
+     * @param count the number of values to allocate
+     * @return the number of rows updated, 0 if the series does not exist yet
+     */
+    @Modifying
+    @Query("""
+        UPDATE DocumentNumberSeries s
+        SET s.lastValue = s.lastValue + :count
+        WHERE s.ownerCompany.idCompany = :idOwnerCompany
+          AND s.docType = :docType
+          AND s.seriesYear = :year
+    """)
+    int increment(@Param("idOwnerCompany") Integer idOwnerCompany,
+                  @Param("docType") DocumentType docType,
+                  @Param("year") Integer year,
+                  @Param("count") int count);
+
+    /**
+     * Raises a series to the given value if it is currently lower.
+     *
+     * @param idOwnerCompany the ID of the owning company
+     * @param docType the document type
+     * @param year the series year
+     * @param value the sequence value already in use
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Query("""
+        UPDATE DocumentNumberSeries s
+        SET s.lastValue = :value
+        WHERE s.ownerCompany.idCompany = :idOwnerCompany
+          AND s.docType = :docType
+          AND s.seriesYear = :year
+          AND s.lastValue < :value
+    """)
+    int raiseTo(@Param("idOwnerCompany") Integer idOwnerCompany,
+                @Param("docType") DocumentType docType,
+                @Param("year") Integer year,
+                @Param("value") int value);
+
+    /**
+     * Creates a series starting at the given value, unless another transaction created it first.
+     *
+     * @param idOwnerCompany the ID of the owning company
+     * @param docType the document type code
+     * @param year the series year
+     * @param lastValue the initial sequence value
+     * @return 1 if the series was created, 0 if it already existed
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+        INSERT IGNORE INTO document_number_series (doc_type, series_year, last_value, id_owner_company)
+        VALUES (:docType, :year, :lastValue, :idOwnerCompany)
+    """)
+    int insertIfAbsent(@Param("idOwnerCompany") Integer idOwnerCompany,
+                       @Param("docType") String docType,
+                       @Param("year") Integer year,
+                       @Param("lastValue") int lastValue);
+
+    /**
+     * Retrieves the last sequence value allocated in a series.
+     *
+     * @param idOwnerCompany the ID of the owning company
+     * @param docType the document type
+     * @param year the series year
+     * @return an Optional with the last value, empty if the series does not exist
+     */
+    @Query("""
+        SELECT s.lastValue
+        FROM DocumentNumberSeries s
+        WHERE s.ownerCompany.idCompany = :idOwnerCompany
+          AND s.docType = :docType
+          AND s.seriesYear = :year
+    """)
+    Optional<Integer> findLastValue(@Param("idOwnerCompany") Integer idOwnerCompany,
+                                    @Param("docType") DocumentType docType,
+                                    @Param("year") Integer year);
+}
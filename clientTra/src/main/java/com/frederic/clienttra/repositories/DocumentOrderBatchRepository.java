@@ -0,0 +1,48 @@
+package com.frederic.clienttra.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository writing the rows of the {@code document_orders} join table with JDBC batching.
+ * <p>
+ * Used by bulk operations that link many orders to freshly inserted documents, where going
+ * through the {@code Document.orders} collection would issue one INSERT per row.
+ * Runs in the caller's transaction.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class DocumentOrderBatchRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO document_orders (id_document, id_order) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Links orders to documents.
+     *
+     * @param orderIdsByDocument the order IDs to link, by document ID
+     * @return the number of rows inserted
+     */
+    public int insertAll(Map<Integer, List<Integer>> orderIdsByDocument) {
+        List<int[]> rows = new ArrayList<>();
+        orderIdsByDocument.forEach((idDocument, orderIds) ->
+                orderIds.forEach(idOrder -> rows.add(new int[]{idDocument, idOrder})));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setInt(1, row[0]);
+            ps.setInt(2, row[1]);
+        });
+        return rows.size();
+    }
+}
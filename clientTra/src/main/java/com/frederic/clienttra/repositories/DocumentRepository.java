@@ -6,11 +6,15 @@ import com.frederic.clienttra.enums.DocumentStatus;
 import com.frederic.clienttra.enums.DocumentType;
 import com.frederic.clienttra.projections.DocumentListProjection;
 import com.frederic.clienttra.projections.DocumentMinimalProjection;
+import com.frederic.clienttra.projections.DocumentSearchProjection;
+import com.frederic.clienttra.utils.DocumentCursor;
+import com.frederic.clienttra.utils.KeysetPage;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,13 +35,20 @@ public interface DocumentRepository extends JpaRepository<Document, Integer> {
     List<Document> findAllByOwnerCompany(Company ownerCompany);
 
     /**
-     * Retrieves a list of document summaries filtered by document type, associated company,
-     * and owner company. Excludes documents with status 'MODIFIED' or 'DELETED'.
-     * Results are ordered by document date and number descending.
+     * Retrieves one page of document summaries using keyset pagination.
+     * Optional filters on associated company and status are ignored when null.
+     * Excludes 'MODIFIED' and 'DELETED' statuses.
+     * Ordered by document date, number and ID descending; when a cursor is given, only documents
+     * strictly after that position are returned, so every page costs the same regardless of depth.
      *
      * @param docType the document type to filter
-     * @param idCompany the associated company ID
      * @param ownerCompany the owning company
+     * @param idCompany the associated company ID, or null for all
+     * @param status the document status, or null for all
+     * @param afterDate date of the last document of the previous page, or null for the first page
+     * @param afterNumber number of the last document of the previous page
+     * @param afterId ID of the last document of the previous page
+     * @param pageable the page size (page number must be 0)
      * @return list of document list projections
      */
     @Query("""
@@ -54,118 +65,86 @@ public interface DocumentRepository extends JpaRepository<Document, Integer> {
         JOIN d.company c
         WHERE d.ownerCompany = :ownerCompany
           AND d.docType = :docType
-          AND c.idCompany = :idCompany
+          AND (:idCompany IS NULL OR c.idCompany = :idCompany)
+          AND (:status IS NULL OR d.status = :status)
           AND d.status NOT IN ('MODIFIED','DELETED')
-        ORDER BY d.docDate DESC, d.docNumber DESC
+          AND (:afterDate IS NULL
+               OR d.docDate < :afterDate
+               OR (d.docDate = :afterDate AND d.docNumber < :afterNumber)
+               OR (d.docDate = :afterDate AND d.docNumber = :afterNumber AND d.idDocument < :afterId))
+        ORDER BY d.docDate DESC, d.docNumber DESC, d.idDocument DESC
     """)
-    List<DocumentListProjection> findListByDocTypeIdCompanyAndOwnerCompany(@Param("docType") DocumentType docType,
-                                                                           @Param("idCompany") Integer idCompany,
-                                                                           @Param("ownerCompany") Company ownerCompany);
+    List<DocumentListProjection> findPageByDocTypeAndOwnerCompany(@Param("docType") DocumentType docType,
+                                                                  @Param("ownerCompany") Company ownerCompany,
+                                                                  @Param("idCompany") Integer idCompany,
+                                                                  @Param("status") DocumentStatus status,
+                                                                  @Param("afterDate") LocalDate afterDate,
+                                                                  @Param("afterNumber") String afterNumber,
+                                                                  @Param("afterId") Integer afterId,
+                                                                  Pageable pageable);
 
     /**
-     * Retrieves documents filtered by document type, status, and owner company.
-     * Excludes 'MODIFIED' and 'DELETED' statuses.
-     * Ordered by document date and number descending.
+     * Retrieves the page of documents following the given cursor, fetching one extra row
+     * so the caller can tell whether another page exists.
      *
      * @param docType the document type to filter
-     * @param status the document status to filter
      * @param ownerCompany the owning company
-     * @return list of document list projections
+     * @param idCompany the associated company ID, or null for all
+     * @param status the document status, or null for all
+     * @param after the cursor of the previous page, or null for the first page
+     * @param pageSize the number of documents per page
+     * @return up to {@code pageSize + 1} document list projections
      */
-    @Query("""
-        SELECT
-            d.idDocument AS idDocument,
-            c.comName AS comName,
-            d.docNumber AS docNumber,
-            d.docDate AS docDate,
-            d.totalNet AS totalNet,
-            d.currency AS currency,
-            d.docType AS docType,
-            d.status AS status
-        FROM Document d
-        JOIN d.company c
-        WHERE d.ownerCompany = :ownerCompany
-          AND d.docType = :docType
-          AND d.status = :status
-          AND d.status NOT IN ('MODIFIED','DELETED')
-        ORDER BY d.docDate DESC, d.docNumber DESC
-    """)
-    List<DocumentListProjection> findListByDocTypeStatusAndOwnerCompany(@Param("docType") DocumentType docType,
-                                                                        @Param("status") DocumentStatus status,
-                                                                        @Param("ownerCompany") Company ownerCompany);
+    default List<DocumentListProjection> findPageByDocTypeAndOwnerCompany(DocumentType docType,
+                                                                          Company ownerCompany,
+                                                                          Integer idCompany,
+                                                                          DocumentStatus status,
+                                                                          DocumentCursor after,
+                                                                          int pageSize) {
+        return findPageByDocTypeAndOwnerCompany(docType, ownerCompany, idCompany, status,
+                after != null ? after.docDate() : null,
+                after != null ? after.docNumber() : null,
+                after != null ? after.idDocument() : null,
+                KeysetPage.request(pageSize));
+    }
 
     /**
-     * Retrieves documents filtered by document type and owner company,
-     * excluding those with 'MODIFIED' or 'DELETED' status.
-     * Ordered by document date and number descending.
+     * Finds a document by owner company, document ID, and document type.
      *
-     * @param docType the document type to filter
      * @param ownerCompany the owning company
-     * @return list of document list projections
+     * @param idDocument the document ID
+     * @param docType the document type
+     * @return an Optional with the document if found
      */
-    @Query("""
-        SELECT
-            d.idDocument AS idDocument,
-            c.comName AS comName,
-            d.docNumber AS docNumber,
-            d.docDate AS docDate,
-            d.totalNet AS totalNet,
-            d.currency AS currency,
-            d.status AS status,
-            d.docType AS docType
-        FROM Document d
-        JOIN d.company c
-        WHERE d.ownerCompany = :ownerCompany
-          AND d.docType = :docType
-          AND d.status NOT IN ('MODIFIED','DELETED')
-        ORDER BY d.docDate DESC, d.docNumber DESC
-    """)
-    List<DocumentListProjection> findListByDocTypeAndOwnerCompany(@Param("docType") DocumentType docType,
-                                                                  @Param("ownerCompany") Company ownerCompany);
+    Optional<Document> findByOwnerCompanyAndIdDocumentAndDocType(Company ownerCompany, Integer idDocument, DocumentType docType);
 
     /**
-     * Retrieves documents filtered by document type, company ID, status, and owner company,
-     * excluding 'MODIFIED' and 'DELETED' statuses.
-     * Ordered by document date and number descending.
+     * Finds a document by owner company, document ID, and document type, fetching in the same
+     * statement everything the detail view needs: the associated company, change rate, bank
+     * account, parent document and linked orders. Order items are loaded separately with
+     * {@link OrderRepository#findWithItemsByIdOrderIn(List)}, since two bags cannot be fetched at once.
      *
-     * @param docType the document type to filter
-     * @param idCompany the associated company ID
-     * @param status the document status to filter
      * @param ownerCompany the owning company
-     * @return list of document list projections
+     * @param idDocument the document ID
+     * @param docType the document type
+     * @return an Optional with the document if found
      */
     @Query("""
-        SELECT
-            d.idDocument AS idDocument,
-            c.comName AS comName,
-            d.docNumber AS docNumber,
-            d.docDate AS docDate,
-            d.totalNet AS totalNet,
-            d.currency AS currency,
-            d.status AS status,
-            d.docType AS docType
+        SELECT d
         FROM Document d
-        JOIN d.company c
+        JOIN FETCH d.company c
+        LEFT JOIN FETCH c.ownerCompany
+        LEFT JOIN FETCH d.changeRate
+        LEFT JOIN FETCH d.bankAccount
+        LEFT JOIN FETCH d.documentParent
+        LEFT JOIN FETCH d.orders
         WHERE d.ownerCompany = :ownerCompany
+          AND d.idDocument = :idDocument
           AND d.docType = :docType
-          AND d.status = :status
-          AND c.idCompany = :idCompany
-          AND d.status NOT IN ('MODIFIED','DELETED')
-        ORDER BY d.docDate DESC, d.docNumber DESC
     """)
-    List<DocumentListProjection> findListByDocTypeIdCompanyStatusAndOwnerCompany(@Param("docType") DocumentType docType,
-                                                                                 @Param("idCompany") Integer idCompany,
-                                                                                 @Param("status") DocumentStatus status,
-                                                                                 @Param("ownerCompany") Company ownerCompany);
-    /**
-     * Finds a document by owner company, document ID, and document type.
-     *
-     * @param ownerCompany the owning company
-     * @param idDocument the document ID
-     * @param docType the document type
-     * @return an Optional with the document if found
-     */
-    Optional<Document> findByOwnerCompanyAndIdDocumentAndDocType(Company ownerCompany, Integer idDocument, DocumentType docType);
+    Optional<Document> findDetailByOwnerCompanyAndIdDocumentAndDocType(@Param("ownerCompany") Company ownerCompany,
+                                                                       @Param("idDocument") Integer idDocument,
+                                                                       @Param("docType") DocumentType docType);
 
     /**
      * Finds a document by owner company and document ID.
@@ -220,4 +199,22 @@ public interface DocumentRepository extends JpaRepository<Document, Integer> {
     """)
     List<DocumentMinimalProjection> findMinimalListByOwnerCompanyAndDocType(@Param("ownerCompany") Company ownerCompany, @Param("docType") String docType);
 
+    /**
+     * Retrieves the searchable fields of every document of an owner company,
+     * excluding documents with 'MODIFIED' or 'DELETED' status. Used to build the search index.
+     *
+     * @param ownerCompany the owning company
+     * @return list of document search projections
+     */
+    @Query("""
+        SELECT
+            d.idDocument AS idDocument,
+            d.docNumber AS docNumber,
+            d.docType AS docType,
+            d.company.idCompany AS idCompany
+        FROM Document d
+        WHERE d.ownerCompany = :ownerCompany
+          AND d.status NOT IN ('MODIFIED','DELETED')
+    """)
+    List<DocumentSearchProjection> findSearchEntriesByOwnerCompany(@Param("ownerCompany") Company ownerCompany);
 }
@@ -6,10 +6,16 @@ import com.frederic.clienttra.projections.InvoiceForCashFlowGraphProjection;
 import com.frederic.clienttra.projections.InvoiceForCashFlowReportProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository interface for retrieving invoice data specifically for cash flow reports.
@@ -21,15 +27,30 @@ import java.util.List;
 public interface InvoiceForCashFlowReportRepository extends JpaRepository<Document, Integer> {
 
     /**
-     * Finds invoices for cash flow reporting purposes, filtered by date range, owner company ID,
-     * and document type.
+     * Fetch size that makes MySQL Connector/J hand the rows over one at a time instead of
+     * reading the whole result set into memory first.
+     */
+    int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    /**
+     * Streams invoices for cash flow reporting purposes, filtered by date range, owner company ID,
+     * and document type, ordered by company and invoice number.
+     * <p>
+     * Rows are read from the server one at a time (see {@link #STREAMING_FETCH_SIZE}) and are not
+     * kept in the persistence context, so only the rows not yet consumed stay on the server.
+     * The stream must be consumed inside a transaction and closed by the caller, and no other
+     * statement can run on the connection until it is closed.
      *
      * @param initDate the start date of the range (inclusive)
      * @param endDate the end date of the range (inclusive)
      * @param idOwnerCompany the ID of the owning company
      * @param docType the type of document (usually INVOICE)
-     * @return list of projections containing invoice details for the report
+     * @return stream of projections containing invoice details for the report
      */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAMING_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
     @Query("""
         SELECT
             c.id AS idCompany,
@@ -47,8 +68,9 @@ public interface InvoiceForCashFlowReportRepository extends JpaRepository<Docume
           AND d.docType = :docType
           AND d.status NOT IN (com.frederic.clienttra.enums.DocumentStatus.MODIFIED,
                                com.frederic.clienttra.enums.DocumentStatus.DELETED)
+        ORDER BY c.id, d.docNumber
     """)
-    List<InvoiceForCashFlowReportProjection> findInvoicesForCashFlowReport(
+    Stream<InvoiceForCashFlowReportProjection> streamInvoicesForCashFlowReport(
             @Param("initDate") LocalDate initDate,
             @Param("endDate") LocalDate endDate,
             @Param("idOwnerCompany") Integer idOwnerCompany,
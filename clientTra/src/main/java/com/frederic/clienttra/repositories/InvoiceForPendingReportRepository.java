@@ -3,18 +3,21 @@ package com.frederic.clienttra.repositories;
 import com.frederic.clienttra.entities.Document;
 import com.frederic.clienttra.enums.DocumentStatus;
 import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.projections.AgingForPendingReportProjection;
 import com.frederic.clienttra.projections.InvoiceForPendingReportProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
  * Repository interface for fetching invoices that are pending, intended for generating pending payment reports.
  * <p>
  * Extends JpaRepository to provide CRUD operations on Document entities.
- * Includes a custom query to fetch invoices filtered by status, owner company, and document type.
+ * Includes a custom query to fetch invoices filtered by status, owner company, and document type,
+ * and an aggregating query computing aging buckets per counterparty.
  */
 public interface InvoiceForPendingReportRepository extends JpaRepository<Document, Integer> {
 
@@ -40,9 +43,57 @@ public interface InvoiceForPendingReportRepository extends JpaRepository<Documen
             WHERE d.status = :status
             AND d.ownerCompany.idCompany = :idOwnerCompany
             AND d.docType = :docType
+            ORDER BY d.deadline
             """)
     List<InvoiceForPendingReportProjection> findInvoiceForPendingReport(
             @Param("idOwnerCompany") Integer idOwnerCompany,
             @Param("docType") DocumentType docType,
             @Param("status") DocumentStatus status);
+
+    /**
+     * Sums the amounts to pay of the matching invoices per counterparty, split into aging buckets
+     * by deadline. The bucket limits are passed as dates so the deadline is compared as stored
+     * and the query is answered from the (owner, type, status, deadline) index.
+     * Invoices without a deadline are counted as not yet due.
+     *
+     * @param idOwnerCompany the ID of the owning company
+     * @param docType the type of document (typically INVOICE)
+     * @param status the status of the document (e.g., PENDING)
+     * @param today the reference date; invoices due on or after it are not yet due
+     * @param overdue30 the date 30 days before {@code today}
+     * @param overdue60 the date 60 days before {@code today}
+     * @param overdue90 the date 90 days before {@code today}
+     * @return list of aging subtotals, one per counterparty, ordered by company name
+     */
+    @Query("""
+            SELECT
+                c.idCompany AS idCompany,
+                c.comName AS comName,
+                COUNT(d) AS invoiceCount,
+                SUM(CASE WHEN d.deadline IS NULL OR d.deadline >= :today
+                         THEN COALESCE(d.totalToPay, 0.0) ELSE 0.0 END) AS notDue,
+                SUM(CASE WHEN d.deadline < :today AND d.deadline >= :overdue30
+                         THEN COALESCE(d.totalToPay, 0.0) ELSE 0.0 END) AS days1To30,
+                SUM(CASE WHEN d.deadline < :overdue30 AND d.deadline >= :overdue60
+                         THEN COALESCE(d.totalToPay, 0.0) ELSE 0.0 END) AS days31To60,
+                SUM(CASE WHEN d.deadline < :overdue60 AND d.deadline >= :overdue90
+                         THEN COALESCE(d.totalToPay, 0.0) ELSE 0.0 END) AS days61To90,
+                SUM(CASE WHEN d.deadline < :overdue90
+                         THEN COALESCE(d.totalToPay, 0.0) ELSE 0.0 END) AS over90
+            FROM Document d
+            JOIN d.company c
+            WHERE d.ownerCompany.idCompany = :idOwnerCompany
+            AND d.docType = :docType
+            AND d.status = :status
+            GROUP BY c.idCompany, c.comName
+            ORDER BY c.comName
+            """)
+    List<AgingForPendingReportProjection> findAgingByCounterparty(
+            @Param("idOwnerCompany") Integer idOwnerCompany,
+            @Param("docType") DocumentType docType,
+            @Param("status") DocumentStatus status,
+            @Param("today") LocalDate today,
+            @Param("overdue30") LocalDate overdue30,
+            @Param("overdue60") LocalDate overdue60,
+            @Param("overdue90") LocalDate overdue90);
 }
@@ -0,0 +1,116 @@
+package com.frederic.clienttra.repositories;
+
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.entities.Job;
+import com.frederic.clienttra.enums.JobStatus;
+import com.frederic.clienttra.projections.RunningJobsProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing {@link Job} entities.
+ * <p>
+ * The worker methods address jobs by ID only; the API methods are always scoped by owner company.
+ */
+public interface JobRepository extends JpaRepository<Job, Long> {
+
+    Optional<Job> findByIdJobAndOwnerCompany(Long idJob, Company ownerCompany);
+
+    List<Job> findTop50ByOwnerCompanyOrderByIdJobDesc(Company ownerCompany);
+
+    /**
+     * Locks the oldest queued jobs, skipping those already locked by another node.
+     * The rows stay locked until the surrounding transaction ends.
+     *
+     * @param limit the maximum number of jobs to lock
+     * @return the locked jobs, oldest first
+     */
+    @Query(nativeQuery = true, value = """
+        SELECT * FROM jobs
+        WHERE status = 'QUEUED'
+        ORDER BY id_job
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """)
+    List<Job> lockQueued(@Param("limit") int limit);
+
+    @Query("""
+        SELECT j.ownerCompany.idCompany AS idOwnerCompany, COUNT(j) AS running
+        FROM Job j
+        WHERE j.status = com.frederic.clienttra.enums.JobStatus.RUNNING
+        GROUP BY j.ownerCompany.idCompany
+    """)
+    List<RunningJobsProjection> countRunningByOwner();
+
+    @Query("SELECT j.cancelRequested FROM Job j WHERE j.idJob = :idJob")
+    boolean isCancelRequested(@Param("idJob") Long idJob);
+
+    @Modifying
+    @Query("""
+        UPDATE Job j SET j.progress = :progress, j.heartbeatAt = :now
+        WHERE j.idJob = :idJob AND j.status = com.frederic.clienttra.enums.JobStatus.RUNNING
+    """)
+    int updateProgress(@Param("idJob") Long idJob, @Param("progress") int progress, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        UPDATE Job j SET j.heartbeatAt = :now
+        WHERE j.idJob IN :ids AND j.status = com.frederic.clienttra.enums.JobStatus.RUNNING
+    """)
+    int heartbeat(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Records the end of a running job. Has no effect on a job that is no longer running,
+     * for instance one that was re-queued after missing its heartbeats.
+     *
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Query("""
+        UPDATE Job j
+        SET j.status = :status, j.result = :result, j.error = :error, j.finishedAt = :now, j.heartbeatAt = :now,
+            j.progress = CASE WHEN :status = com.frederic.clienttra.enums.JobStatus.SUCCEEDED THEN 100 ELSE j.progress END
+        WHERE j.idJob = :idJob AND j.status = com.frederic.clienttra.enums.JobStatus.RUNNING
+    """)
+    int finish(@Param("idJob") Long idJob,
+               @Param("status") JobStatus status,
+               @Param("result") String result,
+               @Param("error") String error,
+               @Param("now") LocalDateTime now);
+
+    /**
+     * Puts running jobs whose worker stopped sending heartbeats back in the queue.
+     *
+     * @param before the oldest heartbeat still considered alive
+     * @return the number of jobs re-queued
+     */
+    @Modifying
+    @Query("""
+        UPDATE Job j SET j.status = com.frederic.clienttra.enums.JobStatus.QUEUED, j.worker = NULL, j.startedAt = NULL
+        WHERE j.status = com.frederic.clienttra.enums.JobStatus.RUNNING AND j.heartbeatAt < :before
+    """)
+    int requeueStale(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("""
+        UPDATE Job j SET j.status = com.frederic.clienttra.enums.JobStatus.CANCELLED, j.cancelRequested = true, j.finishedAt = :now
+        WHERE j.idJob = :idJob AND j.ownerCompany = :ownerCompany
+          AND j.status = com.frederic.clienttra.enums.JobStatus.QUEUED
+    """)
+    int cancelQueued(@Param("idJob") Long idJob, @Param("ownerCompany") Company ownerCompany, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        UPDATE Job j SET j.cancelRequested = true
+        WHERE j.idJob = :idJob AND j.ownerCompany = :ownerCompany
+          AND j.status = com.frederic.clienttra.enums.JobStatus.RUNNING
+    """)
+    int requestCancel(@Param("idJob") Long idJob, @Param("ownerCompany") Company ownerCompany);
+}
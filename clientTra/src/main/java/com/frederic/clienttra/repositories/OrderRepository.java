@@ -2,12 +2,20 @@ package com.frederic.clienttra.repositories;
 
 import com.frederic.clienttra.entities.Company;
 import com.frederic.clienttra.entities.Order;
+import com.frederic.clienttra.enums.PartyType;
 import com.frederic.clienttra.projections.OrderListForDashboardProjection;
-import com.frederic.clienttra.projections.OrderListForDocumentsProjection;
+import com.frederic.clienttra.projections.OrderSearchProjection;
 import com.frederic.clienttra.projections.PendingOrdersForCashflowReportProjection;
+import com.frederic.clienttra.projections.UnbilledOrderForInvoicingProjection;
+import com.frederic.clienttra.utils.KeysetPage;
+import com.frederic.clienttra.utils.OrderCursor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,34 +29,82 @@ import java.util.Optional;
 public interface OrderRepository extends JpaRepository<Order, Integer> {
 
     /**
-     * Finds all orders for a given owner company and a specific customer/provider company,
-     * ordered descending by order date.
+     * Retrieves the unbilled orders of enabled customers up to a given date, for bulk invoicing.
+     * Ordered by customer company, then by order date, so that orders can be grouped in one pass.
      *
      * @param owner the owner company
-     * @param idCompany the customer or provider company ID
-     * @return list of order projections with summary data ordered by order date descending
+     * @param upTo the last order date to include
+     * @return list of unbilled order projections
      */
-    List<OrderListForDocumentsProjection> findByOwnerCompanyAndCompany_idCompanyOrderByDateOrderDesc(Company owner, Integer idCompany);
+    @Query("""
+        SELECT
+            o.idOrder as idOrder,
+            o.company.idCompany as idCompany,
+            o.total as total
+        FROM Order o
+        WHERE o.ownerCompany = :owner
+          AND o.billed = false
+          AND o.dateOrder <= :upTo
+          AND EXISTS (
+                SELECT 1 FROM Customer cust
+                WHERE cust.company = o.company AND cust.ownerCompany = :owner AND cust.enabled = true)
+        ORDER BY o.company.idCompany, o.dateOrder, o.idOrder
+    """)
+    List<UnbilledOrderForInvoicingProjection> findUnbilledForBulkInvoicing(@Param("owner") Company owner,
+                                                                           @Param("upTo") LocalDate upTo);
 
     /**
-     * Finds all orders for a given owner company and a specific company that have NOT been billed,
-     * ordered descending by order date.
+     * Locks the given orders that are still unbilled and returns them.
+     * Orders billed in the meantime are not returned, so they are never invoiced twice.
      *
-     * @param owner the owner company
-     * @param idCompany the customer or provider company ID
-     * @return list of non-billed order projections ordered by order date descending
+     * @param idOwnerCompany the ID of the owner company
+     * @param orderIds the order IDs
+     * @return list of the still unbilled order projections
      */
-    List<OrderListForDocumentsProjection> findByOwnerCompanyAndCompany_idCompanyAndBilledFalseOrderByDateOrderDesc(Company owner, Integer idCompany);
+    @Query(nativeQuery = true, value = """
+        SELECT o.id_order AS idOrder, o.id_company AS idCompany, o.total AS total
+        FROM orders o
+        WHERE o.id_owner_company = :idOwnerCompany
+          AND o.id_order IN (:orderIds)
+          AND o.billed = false
+        ORDER BY o.id_order
+        FOR UPDATE
+    """)
+    List<UnbilledOrderForInvoicingProjection> lockUnbilledByIds(@Param("idOwnerCompany") Integer idOwnerCompany,
+                                                                @Param("orderIds") List<Integer> orderIds);
 
     /**
-     * Finds all orders for a given owner company that have NOT been billed,
-     * ordered descending by order date.
+     * Marks the given orders as billed with a single statement.
      *
      * @param owner the owner company
-     * @return list of non-billed order projections ordered by order date descending
+     * @param orderIds the order IDs
+     * @return the number of orders updated
      */
-    List<OrderListForDocumentsProjection> findByOwnerCompanyAndBilledFalseOrderByDateOrderDesc(Company owner);
+    @Modifying
+    @Query("UPDATE Order o SET o.billed = true WHERE o.ownerCompany = :owner AND o.idOrder IN :orderIds")
+    int markAsBilled(@Param("owner") Company owner, @Param("orderIds") List<Integer> orderIds);
 
+    /**
+     * Retrieves one page of order summaries using keyset pagination.
+     * Every filter is ignored when null (or false for the customer/provider flags).
+     * Ordered by order date and ID descending; when a cursor is given, only orders strictly after
+     * that position are returned. The owner/company/billed/language filters match the composite
+     * indexes on orders, so a page is read in index order and costs the same regardless of depth.
+     *
+     * @param owner the owner company
+     * @param idCompany the customer or provider company ID, or null for all
+     * @param customersOnly whether to keep only orders of enabled customers
+     * @param providersOnly whether to keep only orders of providers
+     * @param billed the billing status, or null for all
+     * @param fromDate the first order date, or null
+     * @param toDate the last order date, or null
+     * @param sourceLanguage the source language, or null for all
+     * @param targetLanguage the target language, or null for all
+     * @param afterDate date of the last order of the previous page, or null for the first page
+     * @param afterId ID of the last order of the previous page
+     * @param pageable the page size (page number must be 0)
+     * @return list of order projections
+     */
     @Query("""
         SELECT
             o.idOrder as idOrder,
@@ -56,37 +112,85 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
             o.dateOrder as dateOrder,
             o.total as total,
             o.billed as billed,
-            o.company.comName as comName
+            c.comName as comName
         FROM Order o
-        JOIN Provider prov ON prov.company = o.company AND prov.ownerCompany = :owner
+        JOIN o.company c
         WHERE o.ownerCompany = :owner
-        ORDER BY o.dateOrder DESC
+          AND (:idCompany IS NULL OR o.company.idCompany = :idCompany)
+          AND (:billed IS NULL OR o.billed = :billed)
+          AND (:fromDate IS NULL OR o.dateOrder >= :fromDate)
+          AND (:toDate IS NULL OR o.dateOrder <= :toDate)
+          AND (:sourceLanguage IS NULL OR o.sourceLanguage = :sourceLanguage)
+          AND (:targetLanguage IS NULL OR o.targetLanguage = :targetLanguage)
+          AND (:customersOnly = false OR EXISTS (
+                SELECT 1 FROM Customer cust
+                WHERE cust.company = o.company AND cust.ownerCompany = :owner AND cust.enabled = true))
+          AND (:providersOnly = false OR EXISTS (
+                SELECT 1 FROM Provider prov
+                WHERE prov.company = o.company AND prov.ownerCompany = :owner))
+          AND (:afterDate IS NULL
+               OR o.dateOrder < :afterDate
+               OR (o.dateOrder = :afterDate AND o.idOrder < :afterId))
+        ORDER BY o.dateOrder DESC, o.idOrder DESC
     """)
-    List<OrderListForDashboardProjection> findByOwnerCompanyOrdersForProvidersByDateOrderDesc(Company owner);
+    List<OrderListForDashboardProjection> findPageByOwnerCompany(@Param("owner") Company owner,
+                                                                 @Param("idCompany") Integer idCompany,
+                                                                 @Param("customersOnly") boolean customersOnly,
+                                                                 @Param("providersOnly") boolean providersOnly,
+                                                                 @Param("billed") Boolean billed,
+                                                                 @Param("fromDate") LocalDate fromDate,
+                                                                 @Param("toDate") LocalDate toDate,
+                                                                 @Param("sourceLanguage") String sourceLanguage,
+                                                                 @Param("targetLanguage") String targetLanguage,
+                                                                 @Param("afterDate") LocalDate afterDate,
+                                                                 @Param("afterId") Integer afterId,
+                                                                 Pageable pageable);
 
-    @Query("""
-        SELECT
-            o.idOrder as idOrder,
-            o.descrip as descrip,
-            o.dateOrder as dateOrder,
-            o.total as total,
-            o.billed as billed,
-            o.company.comName as comName
-        FROM Order o
-        JOIN Customer cust ON cust.company = o.company AND cust.ownerCompany = :owner
-        WHERE o.ownerCompany = :owner AND cust.enabled = true
-        ORDER BY o.dateOrder DESC
-    """)
-    List<OrderListForDashboardProjection> findByOwnerCompanyOrdersForCustomersByDateOrderDesc(Company owner);
+    /**
+     * Retrieves the page of orders following the given cursor, fetching one extra row
+     * so the caller can tell whether another page exists.
+     *
+     * @param owner the owner company
+     * @param idCompany the customer or provider company ID, or null for all
+     * @param party whether to keep only orders of customers or of providers, or null for all
+     * @param billed the billing status, or null for all
+     * @param fromDate the first order date, or null
+     * @param toDate the last order date, or null
+     * @param sourceLanguage the source language, or null for all
+     * @param targetLanguage the target language, or null for all
+     * @param after the cursor of the previous page, or null for the first page
+     * @param pageSize the number of orders per page
+     * @return up to {@code pageSize + 1} order projections
+     */
+    default List<OrderListForDashboardProjection> findPageByOwnerCompany(Company owner,
+                                                                         Integer idCompany,
+                                                                         PartyType party,
+                                                                         Boolean billed,
+                                                                         LocalDate fromDate,
+                                                                         LocalDate toDate,
+                                                                         String sourceLanguage,
+                                                                         String targetLanguage,
+                                                                         OrderCursor after,
+                                                                         int pageSize) {
+        return findPageByOwnerCompany(owner, idCompany,
+                party == PartyType.CUSTOMER, party == PartyType.PROVIDER,
+                billed, fromDate, toDate, sourceLanguage, targetLanguage,
+                after != null ? after.dateOrder() : null,
+                after != null ? after.idOrder() : null,
+                KeysetPage.request(pageSize));
+    }
 
     @Query("""
         SELECT
             o.idOrder as idOrder,
             o.total as total,
             o.dateOrder as dateOrder,
-            o.company.idCompany as idCompany
+            c.idCompany as idCompany,
+            c.legalName as legalName,
+            c.vatNumber as vatNumber
         FROM Order o
-        JOIN Customer cust ON cust.company = o.company AND cust.ownerCompany = :owner
+        JOIN o.company c
+        JOIN Customer cust ON cust.company = c AND cust.ownerCompany = :owner
         WHERE o.ownerCompany = :owner
             AND cust.enabled = true
             AND o.billed = false
@@ -99,9 +203,12 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
             o.idOrder as idOrder,
             o.total as total,
             o.dateOrder as dateOrder,
-            o.company.idCompany as idCompany
+            c.idCompany as idCompany,
+            c.legalName as legalName,
+            c.vatNumber as vatNumber
         FROM Order o
-        JOIN Provider prov ON prov.company = o.company AND prov.ownerCompany = :owner
+        JOIN o.company c
+        JOIN Provider prov ON prov.company = c AND prov.ownerCompany = :owner
         WHERE o.ownerCompany = :owner
             AND prov.enabled = true
             AND o.billed = false
@@ -145,4 +252,34 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
      */
     List<Order> findAllByOwnerCompany(Company ownerCompany);
 
+    /**
+     * Loads the given orders together with their items in a single statement.
+     * Orders already present in the persistence context get their item collections initialized.
+     *
+     * @param ids list of order IDs
+     * @return list of orders with their items fetched
+     */
+    @Query("""
+        SELECT DISTINCT o
+        FROM Order o
+        LEFT JOIN FETCH o.items
+        WHERE o.idOrder IN :ids
+    """)
+    List<Order> findWithItemsByIdOrderIn(@Param("ids") List<Integer> ids);
+
+    /**
+     * Retrieves the searchable fields of every order of an owner company. Used to build the search index.
+     *
+     * @param ownerCompany the owner company
+     * @return list of order search projections
+     */
+    @Query("""
+        SELECT
+            o.idOrder AS idOrder,
+            o.descrip AS descrip,
+            o.company.idCompany AS idCompany
+        FROM Order o
+        WHERE o.ownerCompany = :ownerCompany
+    """)
+    List<OrderSearchProjection> findSearchEntriesByOwnerCompany(@Param("ownerCompany") Company ownerCompany);
 }
@@ -2,8 +2,12 @@ package com.frederic.clienttra.repositories;
 
 import com.frederic.clienttra.entities.Company;
 import com.frederic.clienttra.entities.Provider;
+import com.frederic.clienttra.projections.CounterpartySearchProjection;
 import com.frederic.clienttra.projections.ProviderListProjection;
 import com.frederic.clienttra.projections.ProviderMinimalProjection;
+import com.frederic.clienttra.utils.CompanyNameCursor;
+import com.frederic.clienttra.utils.KeysetPage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -46,13 +50,32 @@ public interface ProviderRepository extends JpaRepository<Provider, Integer> {
      */
     Optional<Provider> findByOwnerCompanyAndCompany(Company ownerCompany, Company company);
 
+    /**
+     * Finds a provider by its company ID and the owning company, fetching in the same statement its
+     * company, the company's owner and addresses. The other collections of the detail view are
+     * loaded by {@link com.frederic.clienttra.services.CompanyDetailService}.
+     *
+     * @param ownerCompany the company that owns the provider
+     * @param idCompany the Provider's company ID
+     * @return an Optional containing the provider if found
+     */
+    @Query("""
+        SELECT p FROM Provider p
+        JOIN FETCH p.company co
+        LEFT JOIN FETCH co.ownerCompany
+        LEFT JOIN FETCH co.addresses
+        WHERE p.ownerCompany = :ownerCompany AND co.idCompany = :idCompany
+    """)
+    Optional<Provider> findDetailByOwnerCompanyAndIdCompany(@Param("ownerCompany") Company ownerCompany,
+                                                            @Param("idCompany") Integer idCompany);
+
     /**
      * Retrieves a list of providers for an owner company filtered by enabled status.
      * Returns a projection with basic provider information.
      *
      * @param owner the owning company
      * @param enabled the enabled status filter
-     * @return a list of providers matching the criteria
+     * @return a list of providers matching the criteria, ordered by commercial name
      */
     @Query("""
         SELECT p.idProvider AS idProvider,
@@ -64,7 +87,8 @@ public interface ProviderRepository extends JpaRepository<Provider, Integer> {
                co.idCompany AS idCompany
         FROM Provider p
         JOIN p.company co
-        WHERE p.ownerCompany = :owner AND p.enabled = :enabled
+        WHERE co.ownerCompany = :owner AND p.ownerCompany = :owner AND p.enabled = :enabled
+        ORDER BY co.comName, co.idCompany
     """)
     List<ProviderListProjection> findListByOwnerCompany(@Param("owner") Company owner, @Param("enabled") boolean enabled);
 
@@ -73,7 +97,7 @@ public interface ProviderRepository extends JpaRepository<Provider, Integer> {
      * Returns a projection with basic provider information.
      *
      * @param owner the owning company
-     * @return a list of providers matching the criteria
+     * @return a list of providers matching the criteria, ordered by commercial name
      */
     @Query("""
         SELECT p.idProvider AS idProvider,
@@ -85,10 +109,65 @@ public interface ProviderRepository extends JpaRepository<Provider, Integer> {
                co.idCompany AS idCompany
         FROM Provider p
         JOIN p.company co
-        WHERE p.ownerCompany = :owner
+        WHERE co.ownerCompany = :owner AND p.ownerCompany = :owner
+        ORDER BY co.comName, co.idCompany
     """)
     List<ProviderListProjection> findListByOwnerCompany(@Param("owner") Company owner);
 
+    /**
+     * Retrieves the providers following a position in the list ordered by commercial name.
+     * The owner condition on {@code co} lets the index on {@code companies(id_owner_company, com_name)}
+     * drive the query, so it stops once the page is complete.
+     *
+     * @param owner the owning company
+     * @param enabled the enabled status, or null for all
+     * @param afterId the company ID of the cursor, or null for the first page
+     * @param afterName the commercial name of the cursor, may be null
+     * @param pageable the number of rows to fetch
+     * @return list of provider projections ordered by commercial name
+     */
+    @Query("""
+        SELECT p.idProvider AS idProvider,
+               co.comName AS comName,
+               co.vatNumber AS vatNumber,
+               co.email AS email,
+               co.web AS web,
+               p.enabled AS enabled,
+               co.idCompany AS idCompany
+        FROM Provider p
+        JOIN p.company co
+        WHERE co.ownerCompany = :owner AND p.ownerCompany = :owner
+          AND (:enabled IS NULL OR p.enabled = :enabled)
+          AND (:afterId IS NULL
+               OR (:afterName IS NULL AND (co.comName IS NOT NULL OR co.idCompany > :afterId))
+               OR co.comName > :afterName
+               OR (co.comName = :afterName AND co.idCompany > :afterId))
+        ORDER BY co.comName, co.idCompany
+    """)
+    List<ProviderListProjection> findPageByOwnerCompany(@Param("owner") Company owner,
+                                                        @Param("enabled") Boolean enabled,
+                                                        @Param("afterId") Integer afterId,
+                                                        @Param("afterName") String afterName,
+                                                        Pageable pageable);
+
+    /**
+     * Retrieves the page of providers following the given cursor, fetching one extra row
+     * so the caller can tell whether another page exists.
+     *
+     * @param owner the owning company
+     * @param enabled the enabled status, or null for all
+     * @param after the cursor of the previous page, or null for the first page
+     * @param pageSize the number of providers per page
+     * @return up to {@code pageSize + 1} provider projections
+     */
+    default List<ProviderListProjection> findPageByOwnerCompany(Company owner, Boolean enabled,
+                                                                CompanyNameCursor after, int pageSize) {
+        return findPageByOwnerCompany(owner, enabled,
+                after != null ? after.idCompany() : null,
+                after != null ? after.comName() : null,
+                KeysetPage.request(pageSize));
+    }
+
     /**
      * Retrieves a list of providers filtered by company name, legal name or VAT number,
      * performing a case-insensitive partial match.
@@ -112,12 +191,43 @@ public interface ProviderRepository extends JpaRepository<Provider, Integer> {
     """)
     List<ProviderListProjection> findListByComNameOrLegalNameOrVatNumber(@Param("owner") Company owner, @Param("input") String input);
 
+    /**
+     * Retrieves the best matches of a typeahead search among the enabled providers.
+     * Names starting with the typed text come first, then the most relevant full-text matches.
+     * The full-text index covers the companies of every owner, so MySQL finds the matches of all
+     * tenants before the owner filter applies; the search by name or VAT keeps its LIKE query.
+     *
+     * @param idOwnerCompany the ID of the owning company
+     * @param terms the boolean-mode full-text query
+     * @param namePrefix the LIKE pattern of names starting with the typed text
+     * @param limit the maximum number of results
+     * @return list of minimal provider projections, best match first
+     */
+    @Query(nativeQuery = true, value = """
+        SELECT co.id_company AS idCompany,
+               co.com_name AS comName,
+               co.vat_number AS vatNumber
+        FROM companies co
+        JOIN providers p ON p.id_company = co.id_company
+        WHERE MATCH(co.com_name, co.legal_name, co.vat_number) AGAINST(:terms IN BOOLEAN MODE)
+          AND p.id_owner_company = :idOwnerCompany
+          AND p.enabled = true
+        ORDER BY co.com_name LIKE :namePrefix DESC,
+                 MATCH(co.com_name, co.legal_name, co.vat_number) AGAINST(:terms IN BOOLEAN MODE) DESC,
+                 co.com_name
+        LIMIT :limit
+    """)
+    List<ProviderMinimalProjection> findTypeahead(@Param("idOwnerCompany") Integer idOwnerCompany,
+                                                   @Param("terms") String terms,
+                                                   @Param("namePrefix") String namePrefix,
+                                                   @Param("limit") int limit);
+
     /**
      * Retrieves a minimal list of enabled providers for an owner company,
      * returning only company ID, commercial name and VAT number.
      *
      * @param owner the owning company
-     * @return a list of minimal provider projections
+     * @return a list of minimal provider projections, ordered by commercial name
      */
     @Query("""
         SELECT co.idCompany AS idCompany,
@@ -125,7 +235,27 @@ public interface ProviderRepository extends JpaRepository<Provider, Integer> {
                co.vatNumber AS vatNumber
         FROM Provider p
         JOIN p.company co
-        WHERE p.ownerCompany = :owner AND p.enabled = true
+        WHERE co.ownerCompany = :owner AND p.ownerCompany = :owner AND p.enabled = true
+        ORDER BY co.comName, co.idCompany
     """)
     List<ProviderMinimalProjection> findMinimalListByOwnerCompany(Company owner);
+
+    /**
+     * Retrieves the searchable fields of every provider, enabled or not, of an owner company.
+     * Used to build the search index.
+     *
+     * @param owner the owning company
+     * @return list of provider search projections
+     */
+    @Query("""
+        SELECT co.idCompany AS idCompany,
+               co.comName AS comName,
+               co.legalName AS legalName,
+               co.vatNumber AS vatNumber,
+               p.enabled AS enabled
+        FROM Provider p
+        JOIN p.company co
+        WHERE p.ownerCompany = :owner
+    """)
+    List<CounterpartySearchProjection> findSearchEntriesByOwnerCompany(@Param("owner") Company owner);
 }
@@ -3,6 +3,8 @@ package com.frederic.clienttra.repositories;
 import com.frederic.clienttra.entities.Company;
 import com.frederic.clienttra.entities.Scheme;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -41,4 +43,17 @@ public interface SchemeRepository extends JpaRepository<Scheme, Integer> {
      */
     Optional<Scheme> findByOwnerCompanyAndIdScheme(Company owner, Integer idScheme);
 
+    /**
+     * Loads the schemes of a company together with their lines, in one statement.
+     *
+     * @param company the company the schemes apply to
+     * @return list of schemes with their lines loaded
+     */
+    @Query("""
+        SELECT s FROM Scheme s
+        LEFT JOIN FETCH s.schemeLines
+        WHERE s.company = :company
+    """)
+    List<Scheme> findWithLinesByCompany(@Param("company") Company company);
+
 }
@@ -0,0 +1,79 @@
+package com.frederic.clienttra.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository deleting a tenant's data with set-based statements, without loading any entity.
+ * <p>
+ * Every statement takes the company ID and a row limit, so that callers can delete large tenants
+ * in chunks, each in its own short transaction. Statements are listed children before parents, so
+ * that no chunk relies on {@code ON DELETE CASCADE} to remove a large number of rows at once.
+ * Runs in the caller's transaction.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class TenantPurgeRepository {
+
+    /**
+     * Deletes everything owned by a company (customers, providers and their companies, documents,
+     * orders, schemes, rollups and number series), leaving the owner company itself in place.
+     */
+    public static final List<String> OWNED_DATA = List.of(
+            "DELETE FROM document_orders WHERE id_document IN "
+                    + "(SELECT id_document FROM documents WHERE id_owner_company = ?) LIMIT ?",
+            "DELETE FROM items WHERE id_order IN "
+                    + "(SELECT id_order FROM orders WHERE id_owner_company = ?) LIMIT ?",
+            "DELETE FROM orders WHERE id_owner_company = ? LIMIT ?",
+            "DELETE FROM documents WHERE id_owner_company = ? AND id_document_parent IS NOT NULL LIMIT ?",
+            "DELETE FROM documents WHERE id_owner_company = ? LIMIT ?",
+            "DELETE FROM scheme_lines WHERE id_scheme IN "
+                    + "(SELECT id_scheme FROM schemes WHERE id_owner_company = ?) LIMIT ?",
+            "DELETE FROM schemes WHERE id_owner_company = ? LIMIT ?",
+            "DELETE FROM contact_persons WHERE id_company IN "
+                    + "(SELECT id_company FROM companies WHERE id_owner_company = ?) LIMIT ?",
+            "DELETE FROM phones WHERE id_company IN "
+                    + "(SELECT id_company FROM companies WHERE id_owner_company = ?) LIMIT ?",
+            "DELETE FROM addresses WHERE id_company IN "
+                    + "(SELECT id_company FROM companies WHERE id_owner_company = ?) LIMIT ?",
+            "DELETE FROM bank_accounts WHERE id_company IN "
+                    + "(SELECT id_company FROM companies WHERE id_owner_company = ?) LIMIT ?",
+            "DELETE FROM customers WHERE id_owner_company = ? LIMIT ?",
+            "DELETE FROM providers WHERE id_owner_company = ? LIMIT ?",
+            "DELETE FROM cash_flow_monthly_rollups WHERE id_owner_company = ? LIMIT ?",
+            "DELETE FROM document_number_series WHERE id_owner_company = ? LIMIT ?",
+            "DELETE FROM companies WHERE id_owner_company = ? LIMIT ?"
+    );
+
+    /**
+     * Deletes a company's own rows and then the company. Meant to run after {@link #OWNED_DATA}.
+     */
+    public static final List<String> COMPANY = List.of(
+            "DELETE FROM change_rates WHERE id_owner_company = ? LIMIT ?",
+            "DELETE FROM contact_persons WHERE id_company = ? LIMIT ?",
+            "DELETE FROM phones WHERE id_company = ? LIMIT ?",
+            "DELETE FROM addresses WHERE id_company = ? LIMIT ?",
+            "DELETE FROM bank_accounts WHERE id_company = ? LIMIT ?",
+            "DELETE FROM users WHERE id_company = ? LIMIT ?",
+            "DELETE FROM jobs WHERE id_owner_company = ? LIMIT ?",
+            "DELETE FROM companies WHERE id_company = ? LIMIT ?"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Runs one purge statement.
+     *
+     * @param statement one of the {@link #OWNED_DATA} or {@link #COMPANY} statements
+     * @param idCompany the company being purged
+     * @param limit     the maximum number of rows to delete
+     * @return the number of rows deleted
+     */
+    public int deleteChunk(String statement, Integer idCompany, int limit) {
+        return jdbcTemplate.update(statement, idCompany, limit);
+    }
+}
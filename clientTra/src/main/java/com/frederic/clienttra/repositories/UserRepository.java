@@ -1,8 +1,11 @@
 package com.frederic.clienttra.repositories;
 
 import com.frederic.clienttra.entities.User;
+import com.frederic.clienttra.projections.UserSecurityStateProjection;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -58,4 +61,18 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      * @return list of enabled users belonging to the company
      */
     List<User> findAllByCompany_IdCompanyAndEnabledTrue(int idCompany);
+
+    /**
+     * Retrieves only the security version, enabled flag and preferred language of a user.
+     * Used to check tokens without loading the full user graph.
+     *
+     * @param idUser the ID of the user
+     * @return an Optional containing the security state if the user exists
+     */
+    @Query("""
+        SELECT u.securityVersion AS securityVersion, u.enabled AS enabled, u.preferredLanguage AS preferredLanguage
+        FROM User u
+        WHERE u.idUser = :idUser
+    """)
+    Optional<UserSecurityStateProjection> findSecurityStateByIdUser(@Param("idUser") int idUser);
 }
@@ -11,7 +11,8 @@ import java.util.Collection;
  * Implementation of Spring Security's {@link UserDetails} that holds custom user information.
  * <p>
  * Contains user identification, credentials, authorities, company association,
- * and user preferences such as preferred language.
+ * and user preferences such as preferred language. The security version is the value
+ * the user had when the details were built, and is embedded in issued tokens.
  */
 @Getter
 @AllArgsConstructor
@@ -25,6 +26,14 @@ public class CustomUserDetails implements UserDetails {
     private final String preferredLanguage;
     private final String preferredTheme;
     private final String preferredMode;
+    private final int securityVersion;
+
+    public CustomUserDetails(int idUser, String username, String password, boolean enabled,
+                             Collection<? extends GrantedAuthority> authorities, int idCompany,
+                             String preferredLanguage, String preferredTheme, String preferredMode) {
+        this(idUser, username, password, enabled, authorities, idCompany,
+                preferredLanguage, preferredTheme, preferredMode, 0);
+    }
 
     /**
      * Indicates whether the user account has expired.
@@ -3,9 +3,12 @@ package com.frederic.clienttra.security;
 import com.frederic.clienttra.entities.User;
 import com.frederic.clienttra.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -16,10 +19,13 @@ import java.util.List;
  * Retrieves the user from the database via {@link UserRepository} and constructs
  * a {@link CustomUserDetails} instance containing the user information and roles
  * for Spring Security.
+ * <p>
+ * Also implements {@link UserDetailsPasswordService}, so that the authentication provider
+ * can store a re-encoded password when the stored hash was produced with a lower cost factor.
  */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -37,6 +43,42 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByUserName(username)
                 .orElseThrow(() -> new UsernameNotFoundException("error.user.not_found"));
 
+        return toUserDetails(user);
+    }
+
+    /**
+     * Stores a password that the authentication provider has just re-encoded
+     * with the current cost factor. The plain password was already verified.
+     *
+     * @param user        the authenticated user details
+     * @param newPassword the newly encoded password
+     * @return user details holding the new password
+     * @throws UsernameNotFoundException if the user no longer exists
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByUserName(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("error.user.not_found"));
+
+        entity.setPasswd(newPassword);
+
+        return toUserDetails(userRepository.save(entity));
+    }
+
+    /**
+     * Builds an already authenticated {@link Authentication} for a user whose credentials
+     * were verified by the caller (e.g. right after registration), without hashing again.
+     *
+     * @param user the user entity
+     * @return an authenticated token holding the user's details
+     */
+    public Authentication authenticationFor(User user) {
+        CustomUserDetails userDetails = toUserDetails(user);
+        return UsernamePasswordAuthenticationToken.authenticated(userDetails, null, userDetails.getAuthorities());
+    }
+
+    private CustomUserDetails toUserDetails(User user) {
         List<SimpleGrantedAuthority> authorities = List.of(
                 new SimpleGrantedAuthority(user.getRole().getRoleName())
         );
@@ -56,7 +98,8 @@ public class CustomUserDetailsService implements UserDetailsService {
                 user.getCompany().getIdCompany(),
                 user.getPreferredLanguage(),
                 user.getPreferredTheme(),
-                darkMode
+                darkMode,
+                user.getSecurityVersion()
         );
     }
 }
@@ -0,0 +1,62 @@
+package com.frederic.clienttra.security;
+
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.exceptions.UserNotAuthenticatedException;
+import com.frederic.clienttra.repositories.CompanyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Resolves the owner company (tenant) of the current request.
+ * <p>
+ * The owner ID is read from the authenticated principal, so no query is needed to know it.
+ * Repositories that only filter or join on the owner receive a {@link Company} reference
+ * obtained through {@link CompanyRepository#getReferenceById(Object)}: within a persistence
+ * context the same instance is returned for every call, and it is only loaded from the
+ * database if one of its non-identifier properties is actually read.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantContext {
+
+    private final CompanyRepository companyRepository;
+
+    /**
+     * Returns the owner company ID of the authenticated user, if any.
+     *
+     * @return an Optional containing the owner ID, or empty if no user is authenticated
+     */
+    public Optional<Integer> findOwnerId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return Optional.of(userDetails.getIdCompany());
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the owner company ID of the authenticated user.
+     *
+     * @return the owner company ID
+     * @throws UserNotAuthenticatedException if no user is authenticated
+     */
+    public int getOwnerId() {
+        return findOwnerId().orElseThrow(UserNotAuthenticatedException::new);
+    }
+
+    /**
+     * Returns a lazy reference to the owner company of the authenticated user.
+     *
+     * @return the owner company reference
+     * @throws UserNotAuthenticatedException if no user is authenticated
+     */
+    public Company getOwnerReference() {
+        return companyRepository.getReferenceById(getOwnerId());
+    }
+}
@@ -0,0 +1,119 @@
+package com.frederic.clienttra.security;
+
+import com.frederic.clienttra.projections.UserSecurityStateProjection;
+import com.frederic.clienttra.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, time-limited cache of user security versions.
+ * <p>
+ * Used by the claims-only authentication mode to reject tokens issued before a
+ * role change, password change, deactivation or company move, without loading the
+ * full user on every request. The user's preferred language is cached along with the
+ * version, since it is not carried by the token. Entries expire after a short TTL so that
+ * changes made by another instance are picked up within that window; local changes evict
+ * immediately.
+ */
+@Component
+public class UserSecurityVersionCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+    private final Map<Integer, Entry> entries;
+    // A lock rather than synchronized, so that virtual threads waiting here are not pinned
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public UserSecurityVersionCache(UserRepository userRepository,
+                                    @Value("${jwt.security-version-cache.max-size:10000}") int maxSize,
+                                    @Value("${jwt.security-version-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Checks whether a principal rebuilt from token claims is still acceptable and completes
+     * it with the user's current preferred language.
+     *
+     * @param fromClaims the principal built from the token
+     * @return the principal with its preferred language, or null if the user no longer exists,
+     *         is disabled or has a different security version
+     */
+    public CustomUserDetails currentPrincipal(CustomUserDetails fromClaims) {
+        Entry entry = lookup(fromClaims.getIdUser());
+        if (entry == null || !entry.enabled() || entry.securityVersion() != fromClaims.getSecurityVersion()) {
+            return null;
+        }
+        return new CustomUserDetails(
+                fromClaims.getIdUser(),
+                fromClaims.getUsername(),
+                fromClaims.getPassword(),
+                fromClaims.isEnabled(),
+                fromClaims.getAuthorities(),
+                fromClaims.getIdCompany(),
+                entry.preferredLanguage(),
+                fromClaims.getPreferredTheme(),
+                fromClaims.getPreferredMode(),
+                fromClaims.getSecurityVersion()
+        );
+    }
+
+    /**
+     * Removes the cached state of a user, forcing the next check to read the database.
+     *
+     * @param idUser the ID of the user; ignored if null
+     */
+    public void evict(Integer idUser) {
+        if (idUser == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            entries.remove(idUser);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry lookup(int idUser) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            Entry cached = entries.get(idUser);
+            if (cached != null && cached.expiresAt() > now) {
+                return cached;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        UserSecurityStateProjection state = userRepository.findSecurityStateByIdUser(idUser).orElse(null);
+        if (state == null) {
+            evict(idUser);
+            return null;
+        }
+
+        Entry entry = new Entry(state.getSecurityVersion(), Boolean.TRUE.equals(state.getEnabled()),
+                state.getPreferredLanguage(), now + ttlMs);
+        lock.lock();
+        try {
+            entries.put(idUser, entry);
+        } finally {
+            lock.unlock();
+        }
+        return entry;
+    }
+
+    private record Entry(int securityVersion, boolean enabled, String preferredLanguage, long expiresAt) {
+    }
+}
@@ -0,0 +1,351 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.create.BulkInvoicingRequestDTO;
+import com.frederic.clienttra.dto.read.BulkInvoicingCustomerResultDTO;
+import com.frederic.clienttra.dto.read.BulkInvoicingProgressDTO;
+import com.frederic.clienttra.dto.read.BulkInvoicingResultDTO;
+import com.frederic.clienttra.entities.*;
+import com.frederic.clienttra.enums.BulkInvoicingOutcome;
+import com.frederic.clienttra.enums.DocumentStatus;
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.exceptions.BankAccountNotFoundException;
+import com.frederic.clienttra.exceptions.BulkInvoicingAlreadyRunningException;
+import com.frederic.clienttra.exceptions.ChangeRateNotFoundException;
+import com.frederic.clienttra.projections.UnbilledOrderForInvoicingProjection;
+import com.frederic.clienttra.repositories.CustomerRepository;
+import com.frederic.clienttra.repositories.DocumentOrderBatchRepository;
+import com.frederic.clienttra.repositories.DocumentRepository;
+import com.frederic.clienttra.repositories.OrderRepository;
+import com.frederic.clienttra.utils.DocumentUtils;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service invoicing all unbilled orders of all customers in one run, typically at month end.
+ * <p>
+ * Unbilled orders of enabled customers are read once and grouped by customer. Customers are then
+ * invoiced in chunks, each in its own transaction: the chunk's orders are locked and re-read (so
+ * orders billed in the meantime are left out), a block of invoice numbers is allocated, the
+ * invoices are saved, and the {@code document_orders} rows and billed flags are written with one
+ * JDBC batch and one UPDATE. A failing chunk is rolled back, including its invoice numbers, and
+ * reported as failed without stopping the run.
+ * </p>
+ * <p>
+ * Each invoice takes its VAT, withholding, due date, payment method and language from the customer.
+ * Only one run per owner company is allowed at a time on this instance; its progress can be read
+ * through {@link #getProgress()}.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkInvoicingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkInvoicingService.class);
+    private static final DocumentType DOC_TYPE = DocumentType.INV_CUST;
+    private static final String DEFAULT_LANGUAGE = "es";
+    static final int DEFAULT_CHUNK_SIZE = 50;
+
+    private final CompanyService companyService;
+    private final ChangeRateService changeRateService;
+    private final BankAccountService bankAccountService;
+    private final OrderRepository orderRepository;
+    private final CustomerRepository customerRepository;
+    private final DocumentRepository documentRepository;
+    private final DocumentOrderBatchRepository documentOrderBatchRepository;
+    private final DocumentNumberService documentNumberService;
+    private final DocumentUtils documentUtils;
+    private final CashFlowRollupService cashFlowRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Integer, Progress> progressByOwner = new ConcurrentHashMap<>();
+
+    @Value("${clienttra.bulk-invoicing.chunk-size:50}")
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /**
+     * Creates one invoice per customer with all of the customer's unbilled orders.
+     *
+     * @param dto the invoice date, optional last order date, change rate and bank account
+     * @return the result of the run, with one entry per customer
+     * @throws BulkInvoicingAlreadyRunningException if a run is already in progress for the current company
+     * @throws ChangeRateNotFoundException         if the change rate does not exist for the current company
+     * @throws BankAccountNotFoundException        if the bank account does not exist for the current company
+     */
+    public BulkInvoicingResultDTO invoiceUnbilledOrders(BulkInvoicingRequestDTO dto) {
+        Company owner = companyService.getCurrentCompanyOrThrow();
+        ChangeRate changeRate = changeRateService.getChangeRateByIdAndOwner(dto.getIdChangeRate(), owner);
+        BankAccount bankAccount = dto.getIdBankAccount() != null ? bankAccountService.getBankAccountByIdAndOwner(dto.getIdBankAccount(), owner) : null;
+        LocalDate upTo = dto.getUpTo() != null ? dto.getUpTo() : dto.getDocDate();
+
+        Progress progress = new Progress();
+        if (progressByOwner.merge(owner.getIdCompany(), progress, (old, next) -> old.running ? old : next) != progress) {
+            throw new BulkInvoicingAlreadyRunningException();
+        }
+
+        try {
+            // 1. Select unbilled orders and group them by customer
+            Map<Integer, List<UnbilledOrderForInvoicingProjection>> ordersByCompany =
+                    groupByCompany(orderRepository.findUnbilledForBulkInvoicing(owner, upTo));
+            Map<Integer, Customer> customers = new HashMap<>();
+            if (!ordersByCompany.isEmpty()) {
+                customerRepository.findAllWithCompanyByOwnerCompanyAndCompanyIds(owner, ordersByCompany.keySet())
+                        .forEach(customer -> customers.put(customer.getCompany().getIdCompany(), customer));
+            }
+            List<Customer> toInvoice = ordersByCompany.keySet().stream()
+                    .map(customers::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            progress.customersTotal = toInvoice.size();
+
+            // 2. Invoice customers chunk by chunk, each chunk in its own transaction
+            List<BulkInvoicingCustomerResultDTO> results = new ArrayList<>();
+            for (int from = 0; from < toInvoice.size(); from += chunkSize) {
+                List<Customer> chunk = toInvoice.subList(from, Math.min(from + chunkSize, toInvoice.size()));
+                List<BulkInvoicingCustomerResultDTO> chunkResults;
+                try {
+                    chunkResults = transactionTemplate.execute(status ->
+                            invoiceChunk(owner, chunk, ordersByCompany, dto, changeRate, bankAccount));
+                } catch (RuntimeException e) {
+                    logger.warn("Bulk invoicing chunk failed for company {}: {}", owner.getIdCompany(), e.getMessage());
+                    chunkResults = chunk.stream().map(customer -> failed(customer, e)).toList();
+                }
+                results.addAll(chunkResults);
+                progress.advance(chunkResults);
+                logger.info("Bulk invoicing for company {}: {}/{} customers done",
+                        owner.getIdCompany(), progress.customersDone, progress.customersTotal);
+            }
+
+            return toResultDto(dto.getDocDate(), results);
+        } finally {
+            progress.finish();
+        }
+    }
+
+    /**
+     * Retrieves the progress of the current or last bulk invoicing run of the current company.
+     *
+     * @return the progress; not running and all zero if no run was started since startup
+     */
+    public BulkInvoicingProgressDTO getProgress() {
+        Company owner = companyService.getCurrentCompanyOrThrow();
+        Progress progress = progressByOwner.get(owner.getIdCompany());
+        return progress != null ? progress.toDto() : BulkInvoicingProgressDTO.builder().build();
+    }
+
+    private List<BulkInvoicingCustomerResultDTO> invoiceChunk(Company owner,
+                                                              List<Customer> chunk,
+                                                              Map<Integer, List<UnbilledOrderForInvoicingProjection>> ordersByCompany,
+                                                              BulkInvoicingRequestDTO dto,
+                                                              ChangeRate changeRate,
+                                                              BankAccount bankAccount) {
+        // Lock the chunk's orders; orders billed since they were selected are not returned
+        List<Integer> selectedIds = chunk.stream()
+                .flatMap(customer -> ordersByCompany.get(customer.getCompany().getIdCompany()).stream())
+                .map(UnbilledOrderForInvoicingProjection::getIdOrder)
+                .toList();
+        Map<Integer, List<UnbilledOrderForInvoicingProjection>> locked =
+                groupByCompany(orderRepository.lockUnbilledByIds(owner.getIdCompany(), selectedIds));
+
+        List<Customer> invoiced = chunk.stream()
+                .filter(customer -> locked.containsKey(customer.getCompany().getIdCompany()))
+                .toList();
+        List<BulkInvoicingCustomerResultDTO> results = new ArrayList<>();
+        if (invoiced.isEmpty()) {
+            chunk.forEach(customer -> results.add(skipped(customer)));
+            return results;
+        }
+
+        // Build the invoices with a block of consecutive numbers
+        Iterator<String> numbers = documentNumberService
+                .allocateBlock(owner, DOC_TYPE, dto.getDocDate().getYear(), invoiced.size())
+                .iterator();
+        List<Document> invoices = new ArrayList<>(invoiced.size());
+        for (Customer customer : invoiced) {
+            List<UnbilledOrderForInvoicingProjection> orders = locked.get(customer.getCompany().getIdCompany());
+            invoices.add(buildInvoice(owner, customer, orders, numbers.next(), dto, changeRate, bankAccount));
+        }
+
+        // Write invoices, join rows and billed flags
+        documentRepository.saveAll(invoices);
+        documentRepository.flush();
+
+        Map<Integer, List<Integer>> orderIdsByDocument = new LinkedHashMap<>();
+        List<Integer> billedIds = new ArrayList<>();
+        for (int i = 0; i < invoiced.size(); i++) {
+            List<Integer> orderIds = locked.get(invoiced.get(i).getCompany().getIdCompany()).stream()
+                    .map(UnbilledOrderForInvoicingProjection::getIdOrder)
+                    .toList();
+            orderIdsByDocument.put(invoices.get(i).getIdDocument(), orderIds);
+            billedIds.addAll(orderIds);
+        }
+        documentOrderBatchRepository.insertAll(orderIdsByDocument);
+        orderRepository.markAsBilled(owner, billedIds);
+
+        cashFlowRollupService.recordCreated(invoices);
+        eventPublisher.publishEvent(DataChangedEvent.documentsSaved(owner, invoices));
+
+        Map<Integer, Document> invoiceByCompany = new HashMap<>();
+        for (int i = 0; i < invoiced.size(); i++) {
+            invoiceByCompany.put(invoiced.get(i).getCompany().getIdCompany(), invoices.get(i));
+        }
+        for (Customer customer : chunk) {
+            Document invoice = invoiceByCompany.get(customer.getCompany().getIdCompany());
+            results.add(invoice != null
+                    ? invoiced(customer, invoice, orderIdsByDocument.get(invoice.getIdDocument()).size())
+                    : skipped(customer));
+        }
+        return results;
+    }
+
+    private Document buildInvoice(Company owner, Customer customer, List<UnbilledOrderForInvoicingProjection> orders,
+                                  String docNumber, BulkInvoicingRequestDTO dto, ChangeRate changeRate, BankAccount bankAccount) {
+        LocalDate docDate = dto.getDocDate();
+        Document invoice = Document.builder()
+                .docNumber(docNumber)
+                .docDate(docDate)
+                .docType(DOC_TYPE)
+                .status(DocumentStatus.PENDING)
+                .language(customer.getDefaultLanguage() != null ? customer.getDefaultLanguage() : DEFAULT_LANGUAGE)
+                .vatRate(toRate(customer.getDefaultVat()))
+                .withholding(toRate(customer.getDefaultWithholding()))
+                .currency(changeRate.getCurrency1())
+                .notePayment(documentUtils.generateNotePayment(docDate, customer, bankAccount))
+                .noteComment(dto.getNoteComment())
+                .deadline(documentUtils.calculateDeadline(docDate, customer.getDuedate()))
+                .company(customer.getCompany())
+                .ownerCompany(owner)
+                .changeRate(changeRate)
+                .bankAccount(bankAccount)
+                .orders(new ArrayList<>())
+                .build();
+
+        double totalNet = 0.0;
+        for (UnbilledOrderForInvoicingProjection order : orders) {
+            totalNet += order.getTotal();
+        }
+        documentUtils.calculateTotals(invoice, totalNet);
+        return invoice;
+    }
+
+    // Customer defaults are stored as fractions, but may have been entered as percentages
+    private static double toRate(Double value) {
+        if (value == null) {
+            return 0.0;
+        }
+        return value > 1 ? value / 100 : value;
+    }
+
+    private static Map<Integer, List<UnbilledOrderForInvoicingProjection>> groupByCompany(List<UnbilledOrderForInvoicingProjection> rows) {
+        Map<Integer, List<UnbilledOrderForInvoicingProjection>> grouped = new LinkedHashMap<>();
+        for (UnbilledOrderForInvoicingProjection row : rows) {
+            grouped.computeIfAbsent(row.getIdCompany(), id -> new ArrayList<>()).add(row);
+        }
+        return grouped;
+    }
+
+    private static BulkInvoicingCustomerResultDTO invoiced(Customer customer, Document invoice, int orderCount) {
+        return BulkInvoicingCustomerResultDTO.builder()
+                .idCompany(customer.getCompany().getIdCompany())
+                .comName(customer.getCompany().getComName())
+                .outcome(BulkInvoicingOutcome.INVOICED)
+                .idDocument(invoice.getIdDocument())
+                .docNumber(invoice.getDocNumber())
+                .orderCount(orderCount)
+                .totalNet(invoice.getTotalNet())
+                .totalToPay(invoice.getTotalToPay())
+                .build();
+    }
+
+    private static BulkInvoicingCustomerResultDTO skipped(Customer customer) {
+        return BulkInvoicingCustomerResultDTO.builder()
+                .idCompany(customer.getCompany().getIdCompany())
+                .comName(customer.getCompany().getComName())
+                .outcome(BulkInvoicingOutcome.SKIPPED)
+                .build();
+    }
+
+    private static BulkInvoicingCustomerResultDTO failed(Customer customer, RuntimeException e) {
+        return BulkInvoicingCustomerResultDTO.builder()
+                .idCompany(customer.getCompany().getIdCompany())
+                .comName(customer.getCompany().getComName())
+                .outcome(BulkInvoicingOutcome.FAILED)
+                .message(e.getMessage())
+                .build();
+    }
+
+    private static BulkInvoicingResultDTO toResultDto(LocalDate docDate, List<BulkInvoicingCustomerResultDTO> results) {
+        int invoicesCreated = 0;
+        int ordersBilled = 0;
+        int failed = 0;
+        double totalNet = 0.0;
+        for (BulkInvoicingCustomerResultDTO result : results) {
+            if (result.getOutcome() == BulkInvoicingOutcome.INVOICED) {
+                invoicesCreated++;
+                ordersBilled += result.getOrderCount();
+                totalNet += result.getTotalNet();
+            } else if (result.getOutcome() == BulkInvoicingOutcome.FAILED) {
+                failed++;
+            }
+        }
+        return BulkInvoicingResultDTO.builder()
+                .docDate(docDate)
+                .invoicesCreated(invoicesCreated)
+                .ordersBilled(ordersBilled)
+                .failed(failed)
+                .totalNet(totalNet)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Progress of one run. Written only by the thread running it, read by progress requests.
+     */
+    private static final class Progress {
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile boolean running = true;
+        private volatile int customersTotal;
+        private volatile int customersDone;
+        private volatile int invoicesCreated;
+        private volatile int failed;
+        private volatile LocalDateTime finishedAt;
+
+        private void advance(List<BulkInvoicingCustomerResultDTO> results) {
+            for (BulkInvoicingCustomerResultDTO result : results) {
+                if (result.getOutcome() == BulkInvoicingOutcome.INVOICED) {
+                    invoicesCreated++;
+                } else if (result.getOutcome() == BulkInvoicingOutcome.FAILED) {
+                    failed++;
+                }
+            }
+            customersDone += results.size();
+        }
+
+        private void finish() {
+            finishedAt = LocalDateTime.now();
+            running = false;
+        }
+
+        private BulkInvoicingProgressDTO toDto() {
+            return BulkInvoicingProgressDTO.builder()
+                    .running(running)
+                    .customersTotal(customersTotal)
+                    .customersDone(customersDone)
+                    .invoicesCreated(invoicesCreated)
+                    .failed(failed)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
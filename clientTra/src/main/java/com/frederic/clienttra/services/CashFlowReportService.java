@@ -10,13 +10,15 @@ import com.frederic.clienttra.projections.PendingOrdersForCashflowReportProjecti
 import com.frederic.clienttra.repositories.InvoiceForCashFlowReportRepository;
 import com.frederic.clienttra.repositories.OrderRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for generating cash flow reports based on invoices within a date range.
@@ -28,14 +30,31 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CashFlowReportService {
 
+    private static final String PENDING_INVOICE_NUMBER = "PENDING";
+    static final int DEFAULT_MAX_CACHED_DAYS = 366;
+
     private final InvoiceForCashFlowReportRepository repository;
     private final OrderRepository orderRepository;
     private final CashFlowReportMapper mapper;
     private final OrderService orderService;
     private final CompanyServiceImpl companyService;
+    private final CashFlowRollupService rollupService;
+    private final ReportCache reportCache;
+
+    @Value("${clienttra.cash-flow-report.max-cached-days:366}")
+    private int maxCachedDays = DEFAULT_MAX_CACHED_DAYS;
 
     /**
      * Generates a cash flow report for invoices of a specified document type between two dates.
+     * <p>
+     * Invoices are streamed from the database ordered by company and invoice number, so each party
+     * is completed, with its running totals, before the next one starts; memory holds the report
+     * being built, not the rows read for it. Reports covering up to
+     * {@code clienttra.cash-flow-report.max-cached-days} days are cached per owner company and type
+     * until an invoice or order of that type is written; longer ranges are built on every request
+     * and are not kept once returned.
+     * Pending orders are read in one query that already carries the company details, so the report
+     * costs a fixed number of statements whatever the number of parties.
      *
      * @param initDate the start date (inclusive) of the report period
      * @param endDate  the end date (inclusive) of the report period
@@ -43,95 +62,53 @@ public class CashFlowReportService {
      * @return a {@link CashFlowReportDTO} containing aggregated invoice data grouped by client/provider
      * @throws RuntimeException if the current user's company cannot be retrieved
      */
+    @Transactional(readOnly = true)
     public CashFlowReportDTO generateReport(LocalDate initDate, LocalDate endDate, DocumentType type, Boolean withOrders) {
         Company onwerCompany = companyService.getCurrentCompanyOrThrow();
-        List<InvoiceForCashFlowReportProjection> rawData = repository.findInvoicesForCashFlowReport(initDate, endDate, onwerCompany.getIdCompany(), type);
-        List<PendingOrdersForCashflowReportProjection> pendingOrders = null;
-
-       // Group invoices by company (client or provider)
-        Map<Integer, List<InvoiceForCashFlowReportProjection>> groupedByCompany = rawData.stream()
-                .collect(Collectors.groupingBy(InvoiceForCashFlowReportProjection::getIdCompany));
-
-        double grandTotalNet = 0.0;
-
-        List<PartyForCashFlowReportDTO> parties = new ArrayList<>();
-        Map<Integer, InvoiceSummaryForCashFlowReportDTO> fakeInvoices = new HashMap<>();
-
-        if(withOrders) {
-            if(type == DocumentType.INV_CUST) {
-                pendingOrders = orderRepository.findByOwnerCompanyPendingOrdersForCustomersByDateOrderDesc(onwerCompany);
-            }else if(type == DocumentType.INV_PROV){
-                pendingOrders = orderRepository.findByOwnerCompanyPendingOrdersForProvidersByDateOrderDesc(onwerCompany);
-            }
-            //Group orders by company (client or provider)
-            Map<Integer, List<PendingOrdersForCashflowReportProjection>> ordersGroupedByCompany = pendingOrders.stream()
-                    .collect(Collectors.groupingBy(PendingOrdersForCashflowReportProjection::getIdCompany));
-            //Adding orders grouped by company as "Fake" invoices"
-            for (Map.Entry<Integer, List<PendingOrdersForCashflowReportProjection>> entry : ordersGroupedByCompany.entrySet()) {
-                List<PendingOrdersForCashflowReportProjection> orders = entry.getValue();
-                Integer idCompany = entry.getKey();
-                double totalNetOrders = orders.stream().mapToDouble(PendingOrdersForCashflowReportProjection::getTotal).sum();
-
-                InvoiceSummaryForCashFlowReportDTO invoice = InvoiceSummaryForCashFlowReportDTO.builder()
-                        .invoiceNumber("PENDING")
-                        .docDate(LocalDate.now())
-                        .totalNet(totalNetOrders)
-                        .totalVat(0.0)
-                        .totalWithholding(0.0)
-                        .build();
-
-                if(!groupedByCompany.containsKey(idCompany)){
-                    Company company = companyService.getCompanyById(idCompany);
-                    PartyForCashFlowReportDTO dto = PartyForCashFlowReportDTO.builder()
-                                    .idCompany(company.getIdCompany())
-                                    .legalName(company.getLegalName())
-                                    .vatNumber(company.getVatNumber())
-                                    .build();
-                    dto.addInvoice(invoice);
-                    parties.add(dto);
-                }else{
-                    fakeInvoices.put(idCompany, invoice);
-                }
-            }
-
+        if (ChronoUnit.DAYS.between(initDate, endDate) + 1 > maxCachedDays) {
+            return buildReport(onwerCompany, initDate, endDate, type, withOrders);
         }
+        return reportCache.get("cash-flow-report", onwerCompany, type, initDate, endDate, withOrders,
+                () -> buildReport(onwerCompany, initDate, endDate, type, withOrders));
+    }
 
-        for (Map.Entry<Integer, List<InvoiceForCashFlowReportProjection>> entry : groupedByCompany.entrySet()) {
-            Integer idCompany = entry.getKey();
-            List<InvoiceForCashFlowReportProjection> companyInvoices = entry.getValue();
-
-            // Retrieve basic company info from the first invoice of the group
-            InvoiceForCashFlowReportProjection first = companyInvoices.get(0);
-
-            PartyForCashFlowReportDTO dto = mapper.toPartyReportDTO(
-                    idCompany,
-                    first.getLegalName(),
-                    first.getVatNumber(),
-                    companyInvoices
-            );
-
-            if(fakeInvoices.get(idCompany) != null) {
-                dto.getInvoices().add(fakeInvoices.get(idCompany));
+    private CashFlowReportDTO buildReport(Company onwerCompany, LocalDate initDate, LocalDate endDate, DocumentType type, Boolean withOrders) {
+
+        // Pending orders summed per company, added to the parties as "fake" invoices
+        Map<Integer, PartyForCashFlowReportDTO> pendingParties = withOrders
+                ? getPendingOrdersByParty(onwerCompany, type)
+                : new LinkedHashMap<>();
+
+        List<PartyForCashFlowReportDTO> invoiceParties = new ArrayList<>();
+        try (Stream<InvoiceForCashFlowReportProjection> invoices = repository.streamInvoicesForCashFlowReport(
+                initDate, endDate, onwerCompany.getIdCompany(), type)) {
+            PartyForCashFlowReportDTO current = null;
+            Iterator<InvoiceForCashFlowReportProjection> iterator = invoices.iterator();
+            while (iterator.hasNext()) {
+                InvoiceForCashFlowReportProjection invoice = iterator.next();
+                if (current == null || !current.getIdCompany().equals(invoice.getIdCompany())) {
+                    finishParty(current, pendingParties);
+                    current = mapper.toPartyReportDTO(invoice.getIdCompany(), invoice.getLegalName(), invoice.getVatNumber());
+                    invoiceParties.add(current);
+                }
+                // Keep the pending orders in invoice number order
+                InvoiceSummaryForCashFlowReportDTO summary = mapper.toInvoiceSummaryDTO(invoice);
+                if (pendingParties.containsKey(current.getIdCompany()) && summary.getInvoiceNumber() != null
+                        && summary.getInvoiceNumber().compareTo(PENDING_INVOICE_NUMBER) > 0) {
+                    finishParty(current, pendingParties);
+                }
+                addToParty(current, summary);
             }
-
-            parties.add(dto);
+            finishParty(current, pendingParties);
         }
 
-        for(PartyForCashFlowReportDTO dto : parties){
-            // Calculate totals per company
-            double totalNet = dto.getInvoices().stream().mapToDouble(i -> Optional.ofNullable(i.getTotalNet()).orElse(0.0)).sum();
-            double totalVat = dto.getInvoices().stream().mapToDouble(i -> Optional.ofNullable(i.getTotalVat()).orElse(0.0)).sum();
-            double totalWithholding = dto.getInvoices().stream().mapToDouble(i -> Optional.ofNullable(i.getTotalWithholding()).orElse(0.0)).sum();
-
-            dto.setTotalNet(totalNet);
-            dto.setTotalVat(totalVat);
-            dto.setTotalWithholding(totalWithholding);
+        // Companies with pending orders but no invoice in the range come first
+        List<PartyForCashFlowReportDTO> parties = new ArrayList<>(pendingParties.values());
+        parties.addAll(invoiceParties);
 
-            dto.setInvoices(dto.getInvoices().stream()
-                    .sorted(Comparator.comparing(InvoiceSummaryForCashFlowReportDTO::getInvoiceNumber))
-                    .toList());
-
-            grandTotalNet += totalNet;
+        double grandTotalNet = 0.0;
+        for (PartyForCashFlowReportDTO dto : parties) {
+            grandTotalNet += dto.getTotalNet();
         }
 
         return CashFlowReportDTO.builder()
@@ -142,8 +119,53 @@ public class CashFlowReportService {
                 .build();
     }
 
+    private Map<Integer, PartyForCashFlowReportDTO> getPendingOrdersByParty(Company onwerCompany, DocumentType type) {
+        List<PendingOrdersForCashflowReportProjection> pendingOrders = List.of();
+        if (type == DocumentType.INV_CUST) {
+            pendingOrders = orderRepository.findByOwnerCompanyPendingOrdersForCustomersByDateOrderDesc(onwerCompany);
+        } else if (type == DocumentType.INV_PROV) {
+            pendingOrders = orderRepository.findByOwnerCompanyPendingOrdersForProvidersByDateOrderDesc(onwerCompany);
+        }
+
+        Map<Integer, PartyForCashFlowReportDTO> pendingParties = new LinkedHashMap<>();
+        for (PendingOrdersForCashflowReportProjection order : pendingOrders) {
+            PartyForCashFlowReportDTO party = pendingParties.computeIfAbsent(order.getIdCompany(), idCompany -> {
+                PartyForCashFlowReportDTO dto = mapper.toPartyReportDTO(idCompany, order.getLegalName(), order.getVatNumber());
+                dto.addInvoice(InvoiceSummaryForCashFlowReportDTO.builder()
+                        .invoiceNumber(PENDING_INVOICE_NUMBER)
+                        .docDate(LocalDate.now())
+                        .totalNet(0.0)
+                        .totalVat(0.0)
+                        .totalWithholding(0.0)
+                        .build());
+                return dto;
+            });
+            InvoiceSummaryForCashFlowReportDTO invoice = party.getInvoices().get(0);
+            invoice.setTotalNet(invoice.getTotalNet() + order.getTotal());
+            party.setTotalNet(party.getTotalNet() + order.getTotal());
+        }
+        return pendingParties;
+    }
+
+    private void finishParty(PartyForCashFlowReportDTO party, Map<Integer, PartyForCashFlowReportDTO> pendingParties) {
+        PartyForCashFlowReportDTO pending = party == null ? null : pendingParties.remove(party.getIdCompany());
+        if (pending != null) {
+            addToParty(party, pending.getInvoices().get(0));
+        }
+    }
+
+    private void addToParty(PartyForCashFlowReportDTO party, InvoiceSummaryForCashFlowReportDTO invoice) {
+        party.addInvoice(invoice);
+        party.setTotalNet(party.getTotalNet() + Optional.ofNullable(invoice.getTotalNet()).orElse(0.0));
+        party.setTotalVat(party.getTotalVat() + Optional.ofNullable(invoice.getTotalVat()).orElse(0.0));
+        party.setTotalWithholding(party.getTotalWithholding() + Optional.ofNullable(invoice.getTotalWithholding()).orElse(0.0));
+    }
+
     /**
      * Generates a cash flow graph for invoices of a specified document type between two dates.
+     * <p>
+     * Months fully inside the range are read from the pre-aggregated monthly rollups; only the
+     * partial first and last months, if any, are summed from the invoices themselves.
      *
      * @param initDate the start date (inclusive) of the report period
      * @param endDate  the end date (inclusive) of the report period
@@ -153,30 +175,38 @@ public class CashFlowReportService {
      */
     public CashFlowGraphDTO generateGraph(LocalDate initDate, LocalDate endDate, DocumentType type) {
         Company ownerCompany = companyService.getCurrentCompanyOrThrow();
-        List<InvoiceForCashFlowGraphProjection> rawData = repository.findInvoicesForCashFlowGraph(
-                initDate, endDate, ownerCompany.getIdCompany(), type);
-
-        // Agrupar por YearMonth, ordenado
-        Map<YearMonth, List<InvoiceForCashFlowGraphProjection>> groupedByYearMonth =
-                rawData.stream()
-                        .collect(Collectors.groupingBy(
-                                p -> YearMonth.from(p.getDocDate()),
-                                TreeMap::new,
-                                Collectors.toList()
-                        ));
+        return reportCache.get("cash-flow-graph", ownerCompany, type, initDate, endDate, null,
+                () -> buildGraph(ownerCompany, initDate, endDate, type));
+    }
 
-        List<MonthlyForCashFlowGraphDTO> monthlyInvoicesForGraph = new ArrayList<>();
-        double grandTotal = 0.0;
+    private CashFlowGraphDTO buildGraph(Company ownerCompany, LocalDate initDate, LocalDate endDate, DocumentType type) {
 
         YearMonth startYm = YearMonth.from(initDate);
         YearMonth endYm = YearMonth.from(endDate);
 
+        // Whole months come from the rollups, partial edge months from the invoices
+        YearMonth firstFull = CashFlowRollupService.coversMonth(startYm, initDate, endDate) ? startYm : startYm.plusMonths(1);
+        YearMonth lastFull = CashFlowRollupService.coversMonth(endYm, initDate, endDate) ? endYm : endYm.minusMonths(1);
+
+        Map<YearMonth, Double> monthlyTotals = new TreeMap<>();
+        if (!initDate.isAfter(endDate)) {
+            if (!firstFull.isAfter(lastFull)) {
+                monthlyTotals.putAll(rollupService.getMonthlyTotals(ownerCompany, type, firstFull, lastFull));
+            }
+            if (!firstFull.equals(startYm)) {
+                addInvoiceTotals(monthlyTotals, initDate, endYm.equals(startYm) ? endDate : startYm.atEndOfMonth(), ownerCompany, type);
+            }
+            if (!lastFull.equals(endYm) && !endYm.equals(startYm)) {
+                addInvoiceTotals(monthlyTotals, endYm.atDay(1), endDate, ownerCompany, type);
+            }
+        }
+
+        List<MonthlyForCashFlowGraphDTO> monthlyInvoicesForGraph = new ArrayList<>();
+        double grandTotal = 0.0;
+
         // Generar todos los meses del rango
         for (YearMonth ym = startYm; !ym.isAfter(endYm); ym = ym.plusMonths(1)) {
-            double monthlyTotal = groupedByYearMonth.getOrDefault(ym, List.of())
-                    .stream()
-                    .mapToDouble(i -> Optional.ofNullable(i.getTotalNet()).orElse(0.0))
-                    .sum();
+            double monthlyTotal = monthlyTotals.getOrDefault(ym, 0.0);
 
             monthlyInvoicesForGraph.add(
                     MonthlyForCashFlowGraphDTO.builder()
@@ -199,4 +229,25 @@ public class CashFlowReportService {
                 .months(monthlyInvoicesForGraph)
                 .build();
     }
+
+    /**
+     * Recomputes the monthly invoice rollups of the current user's company and verifies them
+     * against the invoices.
+     *
+     * @return the verification result after the rebuild
+     * @throws RuntimeException if the current user's company cannot be retrieved
+     */
+    public RollupVerificationDTO rebuildRollups() {
+        Company ownerCompany = companyService.getCurrentCompanyOrThrow();
+        return rollupService.rebuild(ownerCompany);
+    }
+
+    private void addInvoiceTotals(Map<YearMonth, Double> monthlyTotals, LocalDate from, LocalDate to,
+                                  Company ownerCompany, DocumentType type) {
+        for (InvoiceForCashFlowGraphProjection invoice : repository.findInvoicesForCashFlowGraph(
+                from, to, ownerCompany.getIdCompany(), type)) {
+            monthlyTotals.merge(YearMonth.from(invoice.getDocDate()),
+                    Optional.ofNullable(invoice.getTotalNet()).orElse(0.0), Double::sum);
+        }
+    }
 }
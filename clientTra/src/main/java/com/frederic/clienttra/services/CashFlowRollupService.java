@@ -0,0 +1,236 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.read.RollupVerificationDTO;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.entities.Document;
+import com.frederic.clienttra.enums.DocumentStatus;
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.projections.MonthlyRollupProjection;
+import com.frederic.clienttra.repositories.CashFlowMonthlyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Service maintaining the monthly invoice rollups used by the cash-flow graph.
+ * <p>
+ * An invoice contributes its net total to the rollup of its owner company, type and month
+ * while its status is neither MODIFIED nor DELETED. The write paths report every creation,
+ * status change and recalculated total (an order edit recalculates the invoices it belongs to),
+ * and the rollup is adjusted by the difference in the same transaction, so the graph always
+ * agrees with the documents table.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class CashFlowRollupService {
+
+    private static final double TOLERANCE = 0.005;
+
+    private final CashFlowMonthlyRollupRepository rollupRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Adds a newly created document to its monthly rollup.
+     *
+     * @param document the saved document
+     */
+    @Transactional
+    public void recordCreated(Document document) {
+        if (isTracked(document.getDocType()) && counts(document.getStatus())) {
+            add(document, 1);
+        }
+    }
+
+    /**
+     * Adds newly created documents to their monthly rollups, with one update per
+     * (owner company, type, month) rather than one per document.
+     *
+     * @param documents the saved documents
+     */
+    @Transactional
+    public void recordCreated(List<Document> documents) {
+        Map<RollupKey, double[]> deltas = new LinkedHashMap<>();
+        for (Document document : documents) {
+            if (isTracked(document.getDocType()) && counts(document.getStatus())) {
+                RollupKey key = new RollupKey(document.getOwnerCompany().getIdCompany(),
+                        document.getDocType().getCode(), toPeriod(YearMonth.from(document.getDocDate())));
+                double[] delta = deltas.computeIfAbsent(key, k -> new double[2]);
+                delta[0] += Optional.ofNullable(document.getTotalNet()).orElse(0.0);
+                delta[1]++;
+            }
+        }
+        deltas.forEach((key, delta) ->
+                rollupRepository.add(key.idOwnerCompany(), key.docType(), key.period(), delta[0], (int) delta[1]));
+    }
+
+    /**
+     * Adjusts the monthly rollup after a document's status changed.
+     *
+     * @param document       the document, with its new status
+     * @param previousStatus the status the document had before
+     */
+    @Transactional
+    public void recordStatusChange(Document document, DocumentStatus previousStatus) {
+        if (!isTracked(document.getDocType())) {
+            return;
+        }
+        boolean before = counts(previousStatus);
+        boolean after = counts(document.getStatus());
+        if (before && !after) {
+            add(document, -1);
+        } else if (!before && after) {
+            add(document, 1);
+        }
+    }
+
+    /**
+     * Adjusts the monthly rollup after a document's net total was recalculated,
+     * e.g. because one of its orders changed.
+     *
+     * @param document         the document, with its new net total
+     * @param previousTotalNet the net total the document had before
+     */
+    @Transactional
+    public void recordTotalChange(Document document, Double previousTotalNet) {
+        if (!isTracked(document.getDocType()) || !counts(document.getStatus())) {
+            return;
+        }
+        double delta = Optional.ofNullable(document.getTotalNet()).orElse(0.0)
+                - Optional.ofNullable(previousTotalNet).orElse(0.0);
+        if (delta != 0.0) {
+            rollupRepository.add(document.getOwnerCompany().getIdCompany(), document.getDocType().getCode(),
+                    toPeriod(YearMonth.from(document.getDocDate())), delta, 0);
+        }
+    }
+
+    /**
+     * Retrieves the net totals of one invoice type per month.
+     *
+     * @param owner the owner company
+     * @param type  the document type
+     * @param from  the first month
+     * @param to    the last month
+     * @return net totals by month; months without invoices are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<YearMonth, Double> getMonthlyTotals(Company owner, DocumentType type, YearMonth from, YearMonth to) {
+        Map<YearMonth, Double> totals = new TreeMap<>();
+        for (MonthlyRollupProjection row : rollupRepository.findByPeriodBetween(
+                owner.getIdCompany(), type.getCode(), toPeriod(from), toPeriod(to))) {
+            totals.put(toYearMonth(row.getPeriod()), row.getTotalNet());
+        }
+        return totals;
+    }
+
+    /**
+     * Recomputes all rollups of an owner company from its invoices and verifies the result.
+     *
+     * @param owner the owner company
+     * @return the verification result after the rebuild
+     */
+    @Transactional
+    public RollupVerificationDTO rebuild(Company owner) {
+        rollupRepository.deleteAllByOwner(owner.getIdCompany());
+        rollupRepository.insertFromDocuments(owner.getIdCompany());
+        eventPublisher.publishEvent(DataChangedEvent.rollupsRebuilt(owner));
+        return verify(owner);
+    }
+
+    /**
+     * Compares the stored rollups of an owner company with totals computed from its invoices.
+     *
+     * @param owner the owner company
+     * @return the verification result, listing every month that differs
+     */
+    @Transactional(readOnly = true)
+    public RollupVerificationDTO verify(Company owner) {
+        Map<String, MonthlyRollupProjection> expected = index(rollupRepository.aggregateFromDocuments(owner.getIdCompany()));
+        Map<String, MonthlyRollupProjection> stored = index(rollupRepository.findAllByOwner(owner.getIdCompany()));
+
+        Set<String> keys = new TreeSet<>(expected.keySet());
+        keys.addAll(stored.keySet());
+
+        List<String> mismatches = new ArrayList<>();
+        for (String key : keys) {
+            MonthlyRollupProjection e = expected.get(key);
+            MonthlyRollupProjection s = stored.get(key);
+            double expectedNet = e == null ? 0.0 : e.getTotalNet();
+            double storedNet = s == null ? 0.0 : s.getTotalNet();
+            int expectedCount = e == null ? 0 : e.getDocCount();
+            int storedCount = s == null ? 0 : s.getDocCount();
+            if (Math.abs(expectedNet - storedNet) > TOLERANCE || expectedCount != storedCount) {
+                mismatches.add(key + ": expected " + expectedNet + " (" + expectedCount + " invoices), stored "
+                        + storedNet + " (" + storedCount + " invoices)");
+            }
+        }
+
+        return RollupVerificationDTO.builder()
+                .idOwnerCompany(owner.getIdCompany())
+                .months(keys.size())
+                .mismatches(mismatches)
+                .build();
+    }
+
+    /**
+     * Tells whether a document type is tracked by the rollups.
+     *
+     * @param type the document type
+     * @return true for customer and provider invoices
+     */
+    public static boolean isTracked(DocumentType type) {
+        return type == DocumentType.INV_CUST || type == DocumentType.INV_PROV;
+    }
+
+    /**
+     * Tells whether a document with the given status is included in the rollups.
+     *
+     * @param status the document status
+     * @return false for MODIFIED and DELETED documents
+     */
+    public static boolean counts(DocumentStatus status) {
+        return status != DocumentStatus.MODIFIED && status != DocumentStatus.DELETED;
+    }
+
+    private void add(Document document, int sign) {
+        double totalNet = Optional.ofNullable(document.getTotalNet()).orElse(0.0);
+        rollupRepository.add(document.getOwnerCompany().getIdCompany(), document.getDocType().getCode(),
+                toPeriod(YearMonth.from(document.getDocDate())), sign * totalNet, sign);
+    }
+
+    private static Map<String, MonthlyRollupProjection> index(List<MonthlyRollupProjection> rows) {
+        Map<String, MonthlyRollupProjection> map = new HashMap<>();
+        for (MonthlyRollupProjection row : rows) {
+            map.put(row.getDocType() + " " + toYearMonth(row.getPeriod()), row);
+        }
+        return map;
+    }
+
+    static int toPeriod(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    static YearMonth toYearMonth(int period) {
+        return YearMonth.of(period / 100, period % 100);
+    }
+
+    /**
+     * Tells whether a date range covers the whole of the given month.
+     *
+     * @param month    the month
+     * @param initDate the first day of the range
+     * @param endDate  the last day of the range
+     * @return true if the month lies entirely within the range
+     */
+    static boolean coversMonth(YearMonth month, LocalDate initDate, LocalDate endDate) {
+        return !initDate.isAfter(month.atDay(1)) && !endDate.isBefore(month.atEndOfMonth());
+    }
+
+    private record RollupKey(Integer idOwnerCompany, String docType, int period) {
+    }
+}
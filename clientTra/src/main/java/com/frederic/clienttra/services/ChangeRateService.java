@@ -9,11 +9,13 @@ import com.frederic.clienttra.exceptions.AccessDeniedException;
 import com.frederic.clienttra.exceptions.ChangeRateNotFoundException;
 import com.frederic.clienttra.mappers.ChangeRateMapper;
 import com.frederic.clienttra.repositories.ChangeRateRepository;
+import com.frederic.clienttra.security.TenantContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Service class for managing currency exchange rates.
@@ -28,6 +30,7 @@ public class ChangeRateService {
     private final CompanyService companyService;
     private final ChangeRateRepository changeRateRepository;
     private final ChangeRateMapper changeRateMapper;
+    private final TenantContext tenantContext;
 
     /**
      * Retrieves all exchange rates for the current user's company.
@@ -66,8 +69,7 @@ public class ChangeRateService {
      */
     @Transactional
     public ChangeRate getChangeRateByIdAndOwner(Integer idChangeRate, Company owner){
-        Company currentOwner = companyService.getCurrentCompanyOrThrow();
-        if (!owner.equals(currentOwner)) {
+        if (!Objects.equals(owner.getIdCompany(), tenantContext.getOwnerId())) {
             throw new AccessDeniedException();
         }
 
@@ -0,0 +1,44 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.repositories.CompanyRepository;
+import com.frederic.clienttra.repositories.SchemeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Read path for the collections shown in the detail view of a customer or provider.
+ * <p>
+ * The customer or provider is loaded with its company and addresses in one statement (see
+ * {@code findDetailByOwnerCompanyAndIdCompany} in the customer and provider repositories). This
+ * service then loads the remaining collections of the company with one statement each: phones,
+ * bank accounts, contact persons, schemes, and the lines of all those schemes. A detail view
+ * therefore costs six statements however many contacts and schemes the company has.
+ * Hibernate cannot fetch several lists in one statement, hence one statement per collection.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class CompanyDetailService {
+
+    private final CompanyRepository companyRepository;
+    private final SchemeRepository schemeRepository;
+
+    /**
+     * Initializes the phones, bank accounts, contact persons and schemes, with their lines, of a
+     * company managed by the current persistence context, so that mapping it to a detail DTO
+     * issues no further statement.
+     *
+     * @param company the company of a customer or provider, loaded in the current transaction
+     */
+    @Transactional(readOnly = true)
+    public void loadDetailCollections(Company company) {
+        Integer idCompany = company.getIdCompany();
+        companyRepository.findWithPhonesByIdCompany(idCompany);
+        companyRepository.findWithBankAccountsByIdCompany(idCompany);
+        companyRepository.findWithContactPersonsByIdCompany(idCompany);
+        companyRepository.findWithSchemesByIdCompany(idCompany);
+        schemeRepository.findWithLinesByCompany(company);
+    }
+}
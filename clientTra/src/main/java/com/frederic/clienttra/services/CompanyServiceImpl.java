@@ -8,10 +8,8 @@ import com.frederic.clienttra.exceptions.CompanyNotFoundForUserException;
 import com.frederic.clienttra.exceptions.LogoNotLoadedException;
 import com.frederic.clienttra.mappers.CompanyMapper;
 import com.frederic.clienttra.repositories.CompanyRepository;
-import com.frederic.clienttra.security.CustomUserDetails;
+import com.frederic.clienttra.security.TenantContext;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -33,32 +31,27 @@ public class CompanyServiceImpl implements CompanyService {
 
     private final CompanyRepository companyRepository;
     private final CompanyMapper companyMapper;
+    private final TenantContext tenantContext;
 
     /**
      * Retrieves the current authenticated user's company, if available.
+     * <p>
+     * The company is returned as a lazy reference resolved from the principal, so no query is
+     * issued unless one of its properties (other than the ID) is read.
      *
-     * @return an {@link Optional} containing the current {@link Company} or empty if not authenticated or company not found
+     * @return an {@link Optional} containing the current {@link Company} or empty if not authenticated
      */
-    @Transactional(readOnly = true)
     @Override
     public Optional<Company> getCurrentCompany() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
-            int currentCompanyId = userDetails.getIdCompany();
-            return companyRepository.findById(currentCompanyId);
-        }
-
-        return Optional.empty();
+        return tenantContext.findOwnerId().map(companyRepository::getReferenceById);
     }
 
     /**
      * Retrieves the current authenticated user's company.
      *
      * @return the current {@link Company}
-     * @throws CompanyNotFoundForUserException if no company is found for the authenticated user
+     * @throws CompanyNotFoundForUserException if no user is authenticated
      */
-    @Transactional(readOnly = true)
     @Override
     public Company getCurrentCompanyOrThrow() {
         return getCurrentCompany().orElseThrow(CompanyNotFoundForUserException::new);
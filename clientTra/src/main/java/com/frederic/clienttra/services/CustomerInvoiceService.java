@@ -3,22 +3,20 @@ package com.frederic.clienttra.services;
 import com.frederic.clienttra.dto.GenericResponseDTO;
 import com.frederic.clienttra.dto.bases.BaseDocumentDTO;
 import com.frederic.clienttra.dto.read.DocumentDTO;
-import com.frederic.clienttra.dto.read.DocumentForListDTO;
-import com.frederic.clienttra.dto.read.ItemDTO;
-import com.frederic.clienttra.dto.read.OrderForDocumentDTO;
+import com.frederic.clienttra.dto.read.DocumentPageDTO;
 import com.frederic.clienttra.entities.*;
 import com.frederic.clienttra.enums.DocumentStatus;
 import com.frederic.clienttra.enums.DocumentType;
 import com.frederic.clienttra.exceptions.*;
 import com.frederic.clienttra.mappers.DocumentMapper;
-import com.frederic.clienttra.projections.DocumentListProjection;
 import com.frederic.clienttra.repositories.CompanyRepository;
 import com.frederic.clienttra.repositories.CustomerRepository;
 import com.frederic.clienttra.repositories.DocumentRepository;
 import com.frederic.clienttra.repositories.OrderRepository;
 import com.frederic.clienttra.utils.DocumentUtils;
+import com.frederic.clienttra.utils.KeysetPage;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -51,69 +49,29 @@ public class CustomerInvoiceService implements DocumentService {
     private final CustomerRepository customerRepository;
     private final OrderRepository orderRepository;
     private final DocumentUtils documentUtils;
+    private final CashFlowRollupService cashFlowRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DocumentDetailService documentDetailService;
+    private final DocumentPageService documentPageService;
+    private final DocumentNumberService documentNumberService;
 
     /**
-     * Retrieves all documents of a specified type belonging to the current user's company.
-     *
-     * @param type the type of documents to retrieve
-     * @return a list of document DTOs for display
-     * @throws CompanyNotFoundException if the current user's company is not found
-     */
-    @Transactional(readOnly = true)
-    @Override
-    public List<DocumentForListDTO> getAllDocumentsByType(DocumentType type) {
-        Company owner = companyService.getCurrentCompanyOrThrow();
-        List<DocumentListProjection> entities = documentRepository.findListByDocTypeAndOwnerCompany(type, owner);
-        return documentMapper.toListDtosFromProjection(entities);
-    }
-
-    /**
-     * Retrieves all documents of a specified type for a given company.
-     *
-     * @param type      the document type
-     * @param idCompany the ID of the company whose documents are fetched
-     * @return a list of document DTOs
-     * @throws CompanyNotFoundException if the specified company does not exist or does not belong to the current user
-     */
-    @Transactional(readOnly = true)
-    @Override
-    public List<DocumentForListDTO> getDocumentsByCompanyId(DocumentType type, Integer idCompany) {
-        Company owner = companyService.getCurrentCompanyOrThrow();
-        List<DocumentListProjection> entities = documentRepository.findListByDocTypeIdCompanyAndOwnerCompany(type, idCompany, owner);
-        return documentMapper.toListDtosFromProjection(entities);
-    }
-
-    /**
-     * Retrieves documents filtered by status and type for the current company.
-     *
-     * @param type   the document type
-     * @param status the document status filter
-     * @return a list of document DTOs matching the filters
-     * @throws CompanyNotFoundException if the current user's company is not found
-     */
-    @Transactional(readOnly = true)
-    @Override
-    public List<DocumentForListDTO> getDocumentsByStatus(DocumentType type, DocumentStatus status) {
-        Company owner = companyService.getCurrentCompanyOrThrow();
-        List<DocumentListProjection> entities = documentRepository.findListByDocTypeStatusAndOwnerCompany(type, status, owner);
-        return documentMapper.toListDtosFromProjection(entities);
-    }
-
-    /**
-     * Retrieves documents for a specific company and status.
+     * Retrieves one page of documents of the given type using keyset pagination.
      *
      * @param type      the document type
-     * @param idCompany the company ID
-     * @param status    the document status
-     * @return a filtered list of document DTOs
-     * @throws CompanyNotFoundException if the specified company does not exist or is not owned by the current user
+     * @param idCompany optional company ID filter
+     * @param status    optional document status filter
+     * @param cursor    opaque cursor returned with the previous page, or null for the first page
+     * @param limit     requested page size; defaults to {@link KeysetPage#DEFAULT_PAGE_SIZE}
+     *                  and is capped at {@link KeysetPage#MAX_PAGE_SIZE}
+     * @return the page of document DTOs and the cursor of the next page
+     * @throws InvalidCursorException if the cursor is malformed
      */
     @Transactional(readOnly = true)
     @Override
-    public List<DocumentForListDTO> getDocumentsByIdCompanyAndStatus(DocumentType type, Integer idCompany, DocumentStatus status) {
+    public DocumentPageDTO getDocumentsPage(DocumentType type, Integer idCompany, DocumentStatus status, String cursor, Integer limit) {
         Company owner = companyService.getCurrentCompanyOrThrow();
-        List<DocumentListProjection> entities = documentRepository.findListByDocTypeIdCompanyStatusAndOwnerCompany(type, idCompany, status, owner);
-        return documentMapper.toListDtosFromProjection(entities);
+        return documentPageService.getDocumentsPage(owner, type, idCompany, status, cursor, limit);
     }
 
     /**
@@ -128,29 +86,16 @@ public class CustomerInvoiceService implements DocumentService {
     @Override
     public DocumentDTO getDocumentById(DocumentType type, Integer id) {
         Company owner = companyService.getCurrentCompanyOrThrow();
-        Document entity = documentRepository.findByOwnerCompanyAndIdDocumentAndDocType(owner, id, type)
-                .orElseThrow(DocumentNotFoundException::new);
-        DocumentDTO dto = documentMapper.toDto(entity);
+        DocumentDTO dto = documentDetailService.getDocumentDetail(owner, type, id);
 
         //Calculate totals in currency2
-        Double rate = entity.getChangeRate().getRate();
-        Double totalGross2 = entity.getTotalGross()*rate;
-        Double totalToPay2 = entity.getTotalToPay()*rate;
+        Double rate = dto.getChangeRate().getRate();
+        Double totalGross2 = dto.getTotalGross()*rate;
+        Double totalToPay2 = dto.getTotalToPay()*rate;
 
         dto.setTotalGrossInCurrency2(totalGross2);
         dto.setTotalToPayInCurrency2(totalToPay2);
 
-        // Calculate orders quantity
-        List<OrderForDocumentDTO> orders=dto.getOrders();
-
-        for(OrderForDocumentDTO order : orders){
-            double quantity=0.0;
-            for(ItemDTO item : order.getItems()){
-                quantity=quantity + item.getQty();
-            }
-            order.setQuantity(quantity);
-        }
-
         return dto;
     }
 
@@ -164,25 +109,11 @@ public class CustomerInvoiceService implements DocumentService {
     @Transactional(readOnly = true)
     public String getLastDocumentNumber(DocumentType type) {
         Company owner = companyService.getCurrentCompanyOrThrow();
-        String lastNumber;
-        String yearPrefix = Year.now().toString() + "-";
-
-        lastNumber = documentRepository
-                .findDocNumbersByOwnerCompanyAndDocTypeAndDocNumberStartingWith(owner, type, yearPrefix, PageRequest.of(0, 1))
-                .stream()
-                .findFirst()
-                .orElse(null);
-
-        if(lastNumber == null){
-            yearPrefix = (Year.now().minusYears(1)).toString() + "-";
-            lastNumber = documentRepository
-                    .findDocNumbersByOwnerCompanyAndDocTypeAndDocNumberStartingWith(owner, type, yearPrefix, PageRequest.of(0, 1))
-                    .stream()
-                    .findFirst()
-                    .orElse("N/A");
-        }
+        int year = Year.now().getValue();
 
-        return lastNumber;
+        return documentNumberService.findLastNumber(owner, type, year)
+                .or(() -> documentNumberService.findLastNumber(owner, type, year - 1))
+                .orElse("N/A");
     }
 
     /**
@@ -254,6 +185,7 @@ public class CustomerInvoiceService implements DocumentService {
         entity.setCurrency(currency);
         entity.setDeadline(deadline);
         entity.setDocType(type);
+        entity.setDocNumber(documentNumberService.assignNumber(owner, type, entity.getDocDate(), entity.getDocNumber()));
         //entity.setStatus(DocumentStatus.PENDING);
 
         // 4. Calculate totals
@@ -264,6 +196,8 @@ public class CustomerInvoiceService implements DocumentService {
 
         // 6. Save the document
         Document newEntity = documentRepository.save(entity);
+        cashFlowRollupService.recordCreated(newEntity);
+        eventPublisher.publishEvent(DataChangedEvent.documentSaved(owner, newEntity));
 
         return documentMapper.toDto(newEntity);
     }
@@ -300,6 +234,7 @@ public class CustomerInvoiceService implements DocumentService {
             if (!entityParent.getStatus().equals(DocumentStatus.PENDING)) {
                 throw new CantModifyPaidInvoiceException();
             }
+            DocumentStatus previousStatus = entityParent.getStatus();
             entityParent.setStatus(DocumentStatus.MODIFIED);
             //Setting orders as billed = false to free them. Orders staying in the invoice will be setted back to billed = true in CreateDocument
             entityParent.getOrders().forEach(order -> {
@@ -307,6 +242,8 @@ public class CustomerInvoiceService implements DocumentService {
                 orderRepository.save(order);
             });
             documentRepository.save(entityParent);
+            cashFlowRollupService.recordStatusChange(entityParent, previousStatus);
+            eventPublisher.publishEvent(DataChangedEvent.documentSaved(owner, entityParent));
         }
 
         dto.setIdDocumentParent(entityParent.getIdDocument());
@@ -321,10 +258,12 @@ public class CustomerInvoiceService implements DocumentService {
      * @param idDocument the ID of the document to delete
      * @throws DocumentNotFoundException if the document does not exist or is not owned by the current user
      */
+    @Transactional
     public void togglePaidStatus(Integer idDocument){
         Company owner = companyService.getCurrentCompanyOrThrow();
         Document entity = documentRepository.findByOwnerCompanyAndIdDocument(owner, idDocument)
                 .orElseThrow(DocumentNotFoundException::new);
+        DocumentStatus previousStatus = entity.getStatus();
         if(entity.getStatus() == DocumentStatus.PAID){
             entity.setStatus(DocumentStatus.PENDING);
         }
@@ -332,6 +271,8 @@ public class CustomerInvoiceService implements DocumentService {
             entity.setStatus(DocumentStatus.PAID);
         }
         documentRepository.save(entity);
+        cashFlowRollupService.recordStatusChange(entity, previousStatus);
+        eventPublisher.publishEvent(DataChangedEvent.documentSaved(owner, entity));
     }
 
     /**
@@ -346,12 +287,15 @@ public class CustomerInvoiceService implements DocumentService {
         Company owner = companyService.getCurrentCompanyOrThrow();
         Document entity = documentRepository.findByOwnerCompanyAndIdDocument(owner, id)
                 .orElseThrow(DocumentNotFoundException::new);
+        DocumentStatus previousStatus = entity.getStatus();
         entity.setStatus(DocumentStatus.DELETED);
         entity.getOrders().forEach(order -> {
             order.setBilled(false);
             orderRepository.save(order);
         });
         documentRepository.save(entity);
+        cashFlowRollupService.recordStatusChange(entity, previousStatus);
+        eventPublisher.publishEvent(DataChangedEvent.documentSaved(owner, entity));
     }
 
     /**
@@ -4,6 +4,7 @@ import com.frederic.clienttra.dto.create.CreateCustomerRequestDTO;
 import com.frederic.clienttra.dto.read.CustomerDetailsDTO;
 import com.frederic.clienttra.dto.read.BaseCompanyMinimalDTO;
 import com.frederic.clienttra.dto.read.CustomerForListDTO;
+import com.frederic.clienttra.dto.read.CustomerPageDTO;
 import com.frederic.clienttra.dto.update.UpdateCustomerRequestDTO;
 
 import java.util.List;
@@ -18,9 +19,11 @@ import java.util.List;
 public interface CustomerService {
     List<CustomerForListDTO> getAllCustomers();
     List<CustomerForListDTO> getAllCustomersEnabled(boolean enabled);
+    CustomerPageDTO getCustomersPage(Boolean enabled, String cursor, Integer limit);
     CustomerDetailsDTO getCustomerById(int id);
     CustomerDetailsDTO getCustomerByIdCompany(int idCompany);
     List<CustomerForListDTO> searchByNameOrVat(String query);
+    List<BaseCompanyMinimalDTO> typeahead(String query, Integer limit);
     List<BaseCompanyMinimalDTO> getMinimalCustomerList();
     CustomerForListDTO createCustomer(CreateCustomerRequestDTO dto);
     void updateCustomer(int id, UpdateCustomerRequestDTO dto);
@@ -10,6 +10,9 @@ import com.frederic.clienttra.mappers.*;
 import com.frederic.clienttra.projections.CustomerListProjection;
 import com.frederic.clienttra.projections.CustomerMinimalProjection;
 import com.frederic.clienttra.repositories.*;
+import com.frederic.clienttra.utils.CompanyNameCursor;
+import com.frederic.clienttra.utils.KeysetPage;
+import com.frederic.clienttra.utils.SearchTerms;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -32,27 +35,26 @@ public class CustomerServiceImpl implements CustomerService {
     private final CompanyRepository companyRepository;
     private final CustomerMapper customerMapper;
     private final CompanyService companyService;
+    private final CompanyDetailService companyDetailService;
     private final CompanyMapper companyMapper;
+    private final SearchIndex searchIndex;
 
     /**
-     * Retrieves all enabled customers of the current user's company, sorted by company name.
+     * Retrieves all customers of the current user's company, sorted by company name by the database.
      *
-     * @return a list of CustomerForListDTO with all enabled customers
+     * @return a list of CustomerForListDTO with all customers
      */
     @Transactional(readOnly = true)
     @Override
     public List<CustomerForListDTO> getAllCustomers() {
         Company owner = companyService.getCurrentCompanyOrThrow();
 
-        List<CustomerListProjection> entities = new ArrayList<>(customerRepository.findListByOwnerCompany(owner));
-        List<CustomerForListDTO> dtos = customerMapper.toCustomerForListDTOS(entities);
-        dtos.sort(Comparator.comparing(CustomerForListDTO::getComName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
-
-        return dtos;
+        List<CustomerListProjection> entities = customerRepository.findListByOwnerCompany(owner);
+        return customerMapper.toCustomerForListDTOS(entities);
     }
 
     /**
-     * Retrieves customers filtered by their enabled status, sorted by company name.
+     * Retrieves customers filtered by their enabled status, sorted by company name by the database.
      *
      * @param enabled true to get enabled customers, false to get disabled customers
      * @return a list of filtered CustomerForListDTOs
@@ -61,11 +63,28 @@ public class CustomerServiceImpl implements CustomerService {
     public List<CustomerForListDTO> getAllCustomersEnabled(boolean enabled) {
         Company owner = companyService.getCurrentCompanyOrThrow();
 
-        List<CustomerListProjection> entities = new ArrayList<>(customerRepository.findListByOwnerCompany(owner, enabled));
-        List<CustomerForListDTO> dtos = customerMapper.toCustomerForListDTOS(entities);
-        dtos.sort(Comparator.comparing(CustomerForListDTO::getComName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        List<CustomerListProjection> entities = customerRepository.findListByOwnerCompany(owner, enabled);
+        return customerMapper.toCustomerForListDTOS(entities);
+    }
 
-        return dtos;
+    /**
+     * Retrieves one page of the customers of the current user's company, sorted by company name.
+     * Only the requested page is read from the database.
+     *
+     * @param enabled the enabled status to keep, or null for all customers
+     * @param cursor  the {@code nextCursor} of the previous page, or null for the first page
+     * @param limit   the page size (default 50, maximum 200)
+     * @return a CustomerPageDTO with the customers of the page and the cursor of the next one
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public CustomerPageDTO getCustomersPage(Boolean enabled, String cursor, Integer limit) {
+        Company owner = companyService.getCurrentCompanyOrThrow();
+        int pageSize = KeysetPage.pageSize(limit);
+
+        List<CustomerListProjection> rows = customerRepository.findPageByOwnerCompany(
+                owner, enabled, CompanyNameCursor.decode(cursor), pageSize);
+        return customerMapper.toPageDto(rows, pageSize);
     }
 
     /**
@@ -79,8 +98,9 @@ public class CustomerServiceImpl implements CustomerService {
     @Override
     public CustomerDetailsDTO getCustomerById(int id) {
         Company owner = companyService.getCurrentCompanyOrThrow();
-        Customer entity = customerRepository.findByOwnerCompanyAndIdCustomer(owner, id)
+        Customer entity = customerRepository.findDetailByOwnerCompanyAndIdCustomer(owner, id)
                 .orElseThrow(CustomerNotFoundException::new);
+        companyDetailService.loadDetailCollections(entity.getCompany());
         return customerMapper.toCustomerDetailsDTO(entity);
     }
 
@@ -95,8 +115,9 @@ public class CustomerServiceImpl implements CustomerService {
     @Override
     public CustomerDetailsDTO getCustomerByIdCompany(int idCompany) {
         Company owner = companyService.getCurrentCompanyOrThrow();
-        Customer entity = customerRepository.findByOwnerCompanyAndCompany_IdCompany(owner, idCompany)
+        Customer entity = customerRepository.findDetailByOwnerCompanyAndIdCompany(owner, idCompany)
                 .orElseThrow(CustomerNotFoundException::new);
+        companyDetailService.loadDetailCollections(entity.getCompany());
         return customerMapper.toCustomerDetailsDTO(entity);
     }
 
@@ -120,7 +141,30 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     /**
-     * Retrieves a minimal list of customers for lightweight display purposes (e.g., dropdowns).
+     * Returns the best matching enabled customers for a typeahead, searching the commercial name,
+     * legal name and VAT number. Names starting with the input come first.
+     *
+     * @param input the text typed so far
+     * @param limit the maximum number of results, {@link SearchTerms#DEFAULT_LIMIT} if null
+     * @return the matching customers, best match first
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<BaseCompanyMinimalDTO> typeahead(String input, Integer limit) {
+        Company owner = companyService.getCurrentCompanyOrThrow();
+        SearchTerms terms = SearchTerms.parse(input);
+        if (terms == null) {
+            return new ArrayList<>();
+        }
+
+        List<CustomerMinimalProjection> entities = customerRepository.findTypeahead(owner.getIdCompany(),
+                terms.booleanQuery(), terms.namePrefix(), SearchTerms.limit(limit));
+        return customerMapper.toMinimalDTOs(entities);
+    }
+
+    /**
+     * Retrieves a minimal list of enabled customers, sorted by company name, for lightweight
+     * display purposes (e.g., dropdowns).
      *
      * @return list of BaseCompanyMinimalDTO containing essential customer info
      */
@@ -129,10 +173,7 @@ public class CustomerServiceImpl implements CustomerService {
     public List<BaseCompanyMinimalDTO> getMinimalCustomerList() {
         Company owner = companyService.getCurrentCompanyOrThrow();
         List<CustomerMinimalProjection> entities = customerRepository.findMinimalListByOwnerCompany(owner);
-        List<BaseCompanyMinimalDTO>dtos = customerMapper.toMinimalDTOs(entities);
-        dtos.sort(Comparator.comparing(BaseCompanyMinimalDTO::getComName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
-
-        return dtos;
+        return customerMapper.toMinimalDTOs(entities);
     }
 
     /**
@@ -177,6 +218,7 @@ public class CustomerServiceImpl implements CustomerService {
         entity.setOwnerCompany(owner);
 
         Customer customerSaved = customerRepository.save(entity);
+        searchIndex.customerSaved(customerSaved);
 
         return customerMapper.toCustomerForListDTO(customerSaved);
     }
@@ -210,6 +252,7 @@ public class CustomerServiceImpl implements CustomerService {
 
         companyRepository.save(company);
         customerRepository.save(entity);
+        searchIndex.customerSaved(entity);
     }
 
     /**
@@ -226,5 +269,6 @@ public class CustomerServiceImpl implements CustomerService {
                 .orElseThrow(CustomerNotFoundException::new);
         entity.setEnabled(false);
         customerRepository.save(entity);
+        searchIndex.customerSaved(entity);
     }
 }
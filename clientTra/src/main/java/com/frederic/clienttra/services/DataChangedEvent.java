@@ -0,0 +1,115 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.entities.Document;
+import com.frederic.clienttra.entities.Order;
+import com.frederic.clienttra.enums.DocumentType;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published by the service write paths when documents or orders of an owner company change.
+ * <p>
+ * The {@link ReportCache} and the {@link SearchIndex} listen to it and apply it once the writing
+ * transaction commits, so a rolled back write never reaches them. Data that must stay consistent
+ * with the documents table, such as the monthly rollups, is still updated in the transaction.
+ * </p>
+ *
+ * @param owner          the owner company
+ * @param savedDocuments the documents created or updated
+ * @param savedOrders    the orders created or updated
+ * @param deletedOrders  the orders deleted
+ * @param rollupsRebuilt whether the monthly rollups of the company were rebuilt
+ * @param purged         whether the records of the company were deleted in bulk, bypassing the
+ *                       entity write paths
+ */
+public record DataChangedEvent(Company owner, List<Document> savedDocuments, List<Order> savedOrders,
+                               List<Order> deletedOrders, boolean rollupsRebuilt, boolean purged) {
+
+    /**
+     * Orders show up as pending orders in the reports of both customer and provider invoices.
+     */
+    private static final Set<DocumentType> INVOICE_TYPES = EnumSet.of(DocumentType.INV_CUST, DocumentType.INV_PROV);
+
+    /**
+     * A document was created, updated or had its status changed.
+     *
+     * @param owner    the owner company
+     * @param document the saved document
+     * @return the event
+     */
+    public static DataChangedEvent documentSaved(Company owner, Document document) {
+        return documentsSaved(owner, Collections.singletonList(document));
+    }
+
+    /**
+     * Several documents of the same owner company were saved in one transaction.
+     *
+     * @param owner     the owner company
+     * @param documents the saved documents
+     * @return the event
+     */
+    public static DataChangedEvent documentsSaved(Company owner, List<Document> documents) {
+        return new DataChangedEvent(owner, documents, List.of(), List.of(), false, false);
+    }
+
+    /**
+     * An order was created or updated.
+     *
+     * @param owner the owner company
+     * @param order the saved order
+     * @return the event
+     */
+    public static DataChangedEvent orderSaved(Company owner, Order order) {
+        return new DataChangedEvent(owner, List.of(), Collections.singletonList(order), List.of(), false, false);
+    }
+
+    /**
+     * An order was deleted.
+     *
+     * @param owner the owner company
+     * @param order the deleted order
+     * @return the event
+     */
+    public static DataChangedEvent orderDeleted(Company owner, Order order) {
+        return new DataChangedEvent(owner, List.of(), List.of(), Collections.singletonList(order), false, false);
+    }
+
+    /**
+     * The monthly rollups of an owner company were rebuilt, so its cash-flow graphs may change.
+     *
+     * @param owner the owner company
+     * @return the event
+     */
+    public static DataChangedEvent rollupsRebuilt(Company owner) {
+        return new DataChangedEvent(owner, List.of(), List.of(), List.of(), true, false);
+    }
+
+    /**
+     * The records of an owner company were deleted in bulk.
+     *
+     * @param owner the owner company
+     * @return the event
+     */
+    public static DataChangedEvent purged(Company owner) {
+        return new DataChangedEvent(owner, List.of(), List.of(), List.of(), false, true);
+    }
+
+    /**
+     * Returns the document types whose reports are affected: the types of the saved documents,
+     * and both invoice types when orders or rollups changed or the company was purged.
+     *
+     * @return the affected document types
+     */
+    public Set<DocumentType> reportTypes() {
+        Set<DocumentType> types = EnumSet.noneOf(DocumentType.class);
+        savedDocuments.forEach(document -> types.add(document.getDocType()));
+        if (!savedOrders.isEmpty() || !deletedOrders.isEmpty() || rollupsRebuilt || purged) {
+            types.addAll(INVOICE_TYPES);
+        }
+        return types;
+    }
+}
@@ -0,0 +1,28 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.enums.JobType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Runs {@link JobType#DEMO_DATA_PURGE} jobs with the {@link TenantPurgeService}.
+ */
+@Component
+@RequiredArgsConstructor
+public class DemoDataPurgeJobHandler implements JobHandler {
+
+    private final TenantPurgeService tenantPurgeService;
+
+    @Override
+    public JobType getType() {
+        return JobType.DEMO_DATA_PURGE;
+    }
+
+    @Override
+    public Object run(Company owner, JobContext context) {
+        return Map.of("rowsDeleted", tenantPurgeService.purgeOwnedData(owner, context));
+    }
+}
@@ -1,14 +1,6 @@
 package com.frederic.clienttra.services;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.frederic.clienttra.dto.create.CreateOrderRequestDTO;
 import com.frederic.clienttra.dto.create.CreateUserRequestDTO;
-import com.frederic.clienttra.dto.demo.DemoCompanyDTO;
-import com.frederic.clienttra.dto.demo.DemoDocumentDTO;
 import com.frederic.clienttra.dto.demo.DemoOwnerCompanyDTO;
 import com.frederic.clienttra.entities.*;
 import com.frederic.clienttra.exceptions.UserAlreadyExistsException;
@@ -18,7 +10,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -38,20 +29,25 @@ public class DemoDataService {
     private final ChangeRateRepository changeRateRepository;
     private final CompanyRepository companyRepository;
     private final CustomerRepository customerRepository;
-    private final DocumentRepository documentRepository;
     private final ProviderRepository providerRepository;
     private final UserRepository userRepository;
     private final AddressMapper addressMapper;
     private final BankAccountMapper bankAccountMapper;
     private final ChangeRateMapper changeRateMapper;
     private final CustomerMapper customerMapper;
-    private final ObjectMapper objectMapper;
     private final ProviderMapper providerMapper;
     private final UserMapper userMapper;
     private final CompanyService companyService;
+    private final DemoDataTemplate demoDataTemplate;
+    private final CashFlowRollupService cashFlowRollupService;
+    private final TenantPurgeService tenantPurgeService;
 
     /**
      * Loads demo data for a new user including company, customers, and providers.
+     * <p>
+     * The entities are built from the pre-parsed {@link DemoDataTemplate} and written with a
+     * handful of {@code saveAll} calls, which Hibernate sends as JDBC batches.
+     * </p>
      *
      * @param userDTO the user creation data transfer object containing username
      */
@@ -61,7 +57,7 @@ public class DemoDataService {
        if(exists){
            throw new UserAlreadyExistsException();
        }
-       Company demoCompany = loadDemoCompany(userDTO.getUsername());
+       Company demoCompany = createDemoCompany(demoDataTemplate.getOwnerCompany(), userDTO.getUsername());
 
        if(userDTO.getIdRole()==null) {
            userDTO.setIdRole(1);
@@ -75,20 +71,7 @@ public class DemoDataService {
        user.setPreferredLanguage("es");
        userRepository.save(user);
 
-       loadDemoCustomers(demoCompany);
-       loadDemoProviders(demoCompany);
-    }
-
-    /**
-     * Loads a demo company from JSON resource and creates it in the database.
-     *
-     * @param userName the username to customize the demo company name
-     * @return the persisted Company entity
-     */
-    private Company loadDemoCompany(String userName) {
-        DemoOwnerCompanyDTO demoCompanyDTO = readJsonFromResource("db/demo_data/company.json", new TypeReference<>() {});
-
-        return createDemoCompany(demoCompanyDTO, userName);
+       loadDemoPartners(demoCompany);
     }
 
     /**
@@ -124,111 +107,45 @@ public class DemoDataService {
     }
 
     /**
-     * Loads demo users for a given company from JSON resource and saves them.
+     * Creates the demo customers and providers of a company, with their documents and orders.
+     * All their companies are saved in one call, the cascades inserting the rest of the graph,
+     * and the demo invoices are then added to the cash-flow rollups.
      *
-     * @param company the company to associate the demo users with
+     * @param company the owning company of the demo customers and providers
      */
-    private void loadDemoUsers(Company company) {
-        List<CreateUserRequestDTO> dtos = readJsonFromResource("db/demo_data/users.json", new TypeReference<>() {});
-        List<User> entities = userMapper.toEntities(dtos, company);
-        userRepository.saveAll(entities);
-    }
+    private void loadDemoPartners(Company company) {
+        List<Customer> customers = customerMapper.toEntities(demoDataTemplate.getCustomers(), company);
+        List<Provider> providers = providerMapper.toEntities(demoDataTemplate.getProviders(), company);
 
-    /**
-     * Loads demo customers from JSON resource and saves them along with their companies.
-     *
-     * @param company the owning company of the demo customers
-     */
-    private void loadDemoCustomers(Company company) {
-        List<DemoCompanyDTO> dtos = readJsonFromResource("db/demo_data/customers.json", new TypeReference<>() {});
-
-        for(DemoCompanyDTO dto : dtos) {
-            for(CreateOrderRequestDTO order: dto.getOrders()) {
-                System.out.println(order);
-            }
-        }
-
-        for(DemoCompanyDTO dto : dtos) {
-            for(DemoDocumentDTO doc: dto.getDocuments()) {
-                for(CreateOrderRequestDTO order:doc.getOrders()) {
-                    System.out.println(order);
-                }
-            }
+        List<Company> companyEntities = new ArrayList<>(customers.size() + providers.size());
+        for (Customer customer : customers) {
+            companyEntities.add(customer.getCompany());
         }
-
-        List<Customer> entities = customerMapper.toEntities(dtos, company);
-        List<Company> companyEntities = new ArrayList<>();
-
-        for (Customer entity : entities) {
-            companyEntities.add(entity.getCompany());
+        for (Provider provider : providers) {
+            companyEntities.add(provider.getCompany());
         }
 
         companyRepository.saveAll(companyEntities);
-        customerRepository.saveAll(entities);
-    }
+        customerRepository.saveAll(customers);
+        providerRepository.saveAll(providers);
 
-    /**
-     * Loads demo providers from JSON resource and saves them along with their companies.
-     *
-     * @param company the owning company of the demo providers
-     */
-    private void loadDemoProviders(Company company) {
-        List<DemoCompanyDTO> dtos = readJsonFromResource("db/demo_data/providers.json", new TypeReference<>() {});
-
-        List<Provider> entities = providerMapper.toEntities(dtos, company);
-        List<Company> companyEntities = new ArrayList<>();
-
-        for (Provider entity : entities) {
-            companyEntities.add(entity.getCompany());
+        List<Document> documents = new ArrayList<>();
+        for (Company partner : companyEntities) {
+            if (partner.getDocuments() != null) {
+                documents.addAll(partner.getDocuments());
+            }
         }
-
-        companyRepository.saveAll(companyEntities);
-        providerRepository.saveAll(entities);
+        cashFlowRollupService.recordCreated(documents);
     }
 
     /**
      * Deletes all demo data associated with the current user's company.
-     * This includes breaking many-to-many relationships between documents and orders.
+     * The rows are removed with set-based statements in chunks, see {@link TenantPurgeService}.
      */
-    @Transactional
     public void deleteDemoData() {
         Company ownerCompany = companyService.getCurrentCompanyOrThrow();
 
-        List<Company> companies = companyRepository.findAllByOwnerCompany(ownerCompany);
-
-        for (Company company : companies) {
-            for (Document doc : company.getDocuments()) {
-                doc.getOrders().clear(); // Breaks ManyToMany relationship (join table)
-                documentRepository.save(doc);
-            }
-        }
-
-        companyRepository.deleteAll(companies);
-    }
-
-    /**
-     * Reads a JSON file from resources and deserializes it into the specified type.
-     *
-     * @param <T>     the type of the returned object
-     * @param path    the resource path to the JSON file
-     * @param typeRef the Jackson TypeReference representing the target type
-     * @return deserialized object from JSON
-     * @throws RuntimeException if resource is not found or reading/parsing fails
-     */
-    private <T> T readJsonFromResource(String path, TypeReference<T> typeRef) {
-        try (InputStream is = getClass().getClassLoader().getResourceAsStream(path)) {
-            if (is == null) {
-                throw new RuntimeException("Resource not found: " + path);
-            }
-
-            objectMapper.registerModule(new JavaTimeModule());
-            objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-            objectMapper.disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE);
-
-            return objectMapper.readValue(is, typeRef);
-        } catch (Exception e) {
-            throw new RuntimeException("Error reading JSON from " + path, e);
-        }
+        tenantPurgeService.purgeOwnedData(ownerCompany);
     }
 
     private String generateRandomVatNum(){
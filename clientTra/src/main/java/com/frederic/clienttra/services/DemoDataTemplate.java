@@ -0,0 +1,86 @@
+package com.frederic.clienttra.services;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.frederic.clienttra.dto.demo.DemoCompanyDTO;
+import com.frederic.clienttra.dto.demo.DemoOwnerCompanyDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * The demo dataset, parsed once at startup from {@code db/demo_data/*.json}.
+ * <p>
+ * Every demo registration builds its entities from this single template instead of reading and
+ * parsing the resources again. The template is shared between concurrent registrations, so the
+ * returned DTOs must only be read: the demo mappers copy their values into new entities and never
+ * modify them.
+ * </p>
+ */
+@Component
+public class DemoDataTemplate {
+
+    private static final String COMPANY_RESOURCE = "db/demo_data/company.json";
+    private static final String CUSTOMERS_RESOURCE = "db/demo_data/customers.json";
+    private static final String PROVIDERS_RESOURCE = "db/demo_data/providers.json";
+
+    private final DemoOwnerCompanyDTO ownerCompany;
+    private final List<DemoCompanyDTO> customers;
+    private final List<DemoCompanyDTO> providers;
+
+    public DemoDataTemplate(ObjectMapper objectMapper) {
+        // A private copy, so that the shared mapper used by the web layer is left untouched.
+        // The demo files carry fields the DTOs do not map (e.g. idChangeRate), so unknown
+        // properties are ignored whatever the configuration of the mapper passed in.
+        ObjectMapper reader = objectMapper.copy()
+                .registerModule(new JavaTimeModule())
+                .disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        this.ownerCompany = read(reader, COMPANY_RESOURCE, new TypeReference<>() {});
+        this.customers = List.copyOf(read(reader, CUSTOMERS_RESOURCE, new TypeReference<List<DemoCompanyDTO>>() {}));
+        this.providers = List.copyOf(read(reader, PROVIDERS_RESOURCE, new TypeReference<List<DemoCompanyDTO>>() {}));
+    }
+
+    /**
+     * @return the demo owner company, with its addresses, bank accounts and change rates
+     */
+    public DemoOwnerCompanyDTO getOwnerCompany() {
+        return ownerCompany;
+    }
+
+    /**
+     * @return the demo customers, with their documents and orders (unmodifiable)
+     */
+    public List<DemoCompanyDTO> getCustomers() {
+        return customers;
+    }
+
+    /**
+     * @return the demo providers, with their documents and orders (unmodifiable)
+     */
+    public List<DemoCompanyDTO> getProviders() {
+        return providers;
+    }
+
+    /**
+     * Reads a JSON file from resources and deserializes it into the specified type.
+     *
+     * @throws IllegalStateException if the resource is not found or reading/parsing fails
+     */
+    private <T> T read(ObjectMapper reader, String path, TypeReference<T> typeRef) {
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream(path)) {
+            if (is == null) {
+                throw new IllegalStateException("Resource not found: " + path);
+            }
+            return reader.readValue(is, typeRef);
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Error reading JSON from " + path, e);
+        }
+    }
+}
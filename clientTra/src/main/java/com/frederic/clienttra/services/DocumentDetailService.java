@@ -0,0 +1,74 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.read.DocumentDTO;
+import com.frederic.clienttra.dto.read.OrderForDocumentDTO;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.entities.Document;
+import com.frederic.clienttra.entities.Item;
+import com.frederic.clienttra.entities.Order;
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.exceptions.DocumentNotFoundException;
+import com.frederic.clienttra.mappers.DocumentMapper;
+import com.frederic.clienttra.repositories.DocumentRepository;
+import com.frederic.clienttra.repositories.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read path for the detail view of a single document, shared by all document services.
+ * <p>
+ * The document is loaded with a fixed number of statements regardless of how many orders it has:
+ * one for the header, its references and its orders, and one for the items of those orders, from
+ * which the quantity of each order is summed.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class DocumentDetailService {
+
+    private final DocumentRepository documentRepository;
+    private final OrderRepository orderRepository;
+    private final DocumentMapper documentMapper;
+
+    /**
+     * Retrieves the detail of a document belonging to the given owner company.
+     *
+     * @param owner the owner company
+     * @param type  the document type
+     * @param id    the document ID
+     * @return the detailed document DTO, with the quantity of each order set
+     * @throws DocumentNotFoundException if the document does not exist or does not belong to the owner company
+     */
+    @Transactional(readOnly = true)
+    public DocumentDTO getDocumentDetail(Company owner, DocumentType type, Integer id) {
+        Document entity = documentRepository.findDetailByOwnerCompanyAndIdDocumentAndDocType(owner, id, type)
+                .orElseThrow(DocumentNotFoundException::new);
+
+        List<Integer> orderIds = entity.getOrders() == null ? List.of() :
+                entity.getOrders().stream().map(Order::getIdOrder).toList();
+        Map<Integer, Double> quantities = new HashMap<>();
+        if (!orderIds.isEmpty()) {
+            for (Order order : orderRepository.findWithItemsByIdOrderIn(orderIds)) {
+                double quantity = 0.0;
+                for (Item item : order.getItems()) {
+                    quantity += Optional.ofNullable(item.getQty()).orElse(0.0);
+                }
+                quantities.put(order.getIdOrder(), quantity);
+            }
+        }
+
+        DocumentDTO dto = documentMapper.toDto(entity);
+        if (dto.getOrders() != null) {
+            for (OrderForDocumentDTO order : dto.getOrders()) {
+                order.setQuantity(quantities.getOrDefault(order.getIdOrder(), 0.0));
+            }
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,256 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.repositories.DocumentNumberSeriesRepository;
+import com.frederic.clienttra.repositories.DocumentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Service allocating document numbers from per-owner, per-type, per-year number series.
+ * <p>
+ * Allocation advances the series row with a single UPDATE inside the caller's transaction.
+ * The row lock serializes concurrent allocations on the same series, and a rollback of the
+ * document creation also rolls back the allocation, so numbers are unique and gapless.
+ * A series is created the first time it is used, starting after the highest number of that
+ * year already stored for the owner company, so existing documents keep their numbering.
+ * </p>
+ * <p>
+ * The format of each series is set by {@code clienttra.document-numbers.customer-invoice},
+ * {@code .quote} and {@code .purchase-order}. {@code YYYY} stands for the year and the
+ * trailing {@code #} for the sequence, padded to as many digits. The defaults follow the
+ * numbering already used by the application (see the demo data): {@code 2025-1.001} for
+ * customer invoices, {@code 2025-1.Q01} for quotes and {@code 2025-1.PO01} for purchase orders.
+ * Each type has its own prefix, so a series is seeded from the numbers of its own format only.
+ * Provider invoices are numbered by the provider and have no series.
+ * </p>
+ */
+@Service
+public class DocumentNumberService {
+
+    public static final String DEFAULT_CUSTOMER_INVOICE_FORMAT = "YYYY-1.###";
+    public static final String DEFAULT_QUOTE_FORMAT = "YYYY-1.Q##";
+    public static final String DEFAULT_PURCHASE_ORDER_FORMAT = "YYYY-1.PO##";
+
+    private static final String YEAR = "YYYY";
+    private static final Pattern TRAILING_DIGITS = Pattern.compile("(\\d+)$");
+    private static final Pattern FORMAT = Pattern.compile("(.*?)(#+)");
+
+    private final DocumentNumberSeriesRepository seriesRepository;
+    private final DocumentRepository documentRepository;
+    private final Map<DocumentType, NumberFormat> formats = new EnumMap<>(DocumentType.class);
+
+    public DocumentNumberService(DocumentNumberSeriesRepository seriesRepository,
+                                 DocumentRepository documentRepository,
+                                 @Value("${clienttra.document-numbers.customer-invoice:" + DEFAULT_CUSTOMER_INVOICE_FORMAT + "}")
+                                 String customerInvoiceFormat,
+                                 @Value("${clienttra.document-numbers.quote:" + DEFAULT_QUOTE_FORMAT + "}")
+                                 String quoteFormat,
+                                 @Value("${clienttra.document-numbers.purchase-order:" + DEFAULT_PURCHASE_ORDER_FORMAT + "}")
+                                 String purchaseOrderFormat) {
+        this.seriesRepository = seriesRepository;
+        this.documentRepository = documentRepository;
+        formats.put(DocumentType.INV_CUST, NumberFormat.parse(customerInvoiceFormat));
+        formats.put(DocumentType.QUOTE, NumberFormat.parse(quoteFormat));
+        formats.put(DocumentType.PO, NumberFormat.parse(purchaseOrderFormat));
+    }
+
+    /**
+     * Allocates the next document number of a series.
+     *
+     * @param owner the owner company
+     * @param type  the document type
+     * @param year  the series year, usually the year of the document date
+     * @return the allocated document number
+     * @throws IllegalArgumentException if the document type has no number series
+     */
+    @Transactional
+    public String allocateNext(Company owner, DocumentType type, int year) {
+        return allocateBlock(owner, type, year, 1).get(0);
+    }
+
+    /**
+     * Allocates a block of consecutive document numbers of a series in one operation.
+     *
+     * @param owner the owner company
+     * @param type  the document type
+     * @param year  the series year
+     * @param count how many numbers to allocate
+     * @return the allocated document numbers, in ascending order
+     * @throws IllegalArgumentException if {@code count} is not positive or the document type has no number series
+     */
+    @Transactional
+    public List<String> allocateBlock(Company owner, DocumentType type, int year, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive: " + count);
+        }
+        NumberFormat format = format(type);
+        String prefix = format.prefix(year);
+        Integer idOwner = owner.getIdCompany();
+
+        if (seriesRepository.increment(idOwner, type, year, count) == 0) {
+            seriesRepository.insertIfAbsent(idOwner, type.getCode(), year, highestExistingSequence(owner, type, prefix));
+            seriesRepository.increment(idOwner, type, year, count);
+        }
+        int last = seriesRepository.findLastValue(idOwner, type, year)
+                .orElseThrow(IllegalStateException::new);
+
+        List<String> numbers = new ArrayList<>(count);
+        for (int value = last - count + 1; value <= last; value++) {
+            numbers.add(format.number(year, value));
+        }
+        return numbers;
+    }
+
+    /**
+     * Returns the number a new document gets: the requested one if the client chose it,
+     * otherwise the next number of the series of the document date's year.
+     *
+     * @param owner     the owner company
+     * @param type      the document type
+     * @param docDate   the document date
+     * @param requested the number sent by the client, may be null or blank
+     * @return the document number to store
+     */
+    @Transactional
+    public String assignNumber(Company owner, DocumentType type, LocalDate docDate, String requested) {
+        if (requested != null && !requested.isBlank()) {
+            registerNumber(owner, type, docDate.getYear(), requested);
+            return requested;
+        }
+        return allocateNext(owner, type, docDate.getYear());
+    }
+
+    /**
+     * Returns the last number allocated in a series, without scanning documents when the
+     * series exists.
+     *
+     * @param owner the owner company
+     * @param type  the document type
+     * @param year  the series year
+     * @return an Optional with the last document number, empty if none was issued that year
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> findLastNumber(Company owner, DocumentType type, int year) {
+        NumberFormat format = format(type);
+        Optional<Integer> lastValue = seriesRepository.findLastValue(owner.getIdCompany(), type, year);
+        if (lastValue.isPresent()) {
+            return lastValue.filter(value -> value > 0).map(value -> format.number(year, value));
+        }
+        return findHighestExistingNumber(owner, type, format.prefix(year));
+    }
+
+    /**
+     * Makes sure a number chosen by the client is never allocated again by its series.
+     * Numbers that do not follow the series format are ignored.
+     *
+     * @param owner     the owner company
+     * @param type      the document type
+     * @param year      the series year
+     * @param docNumber the number stored on the document
+     */
+    @Transactional
+    public void registerNumber(Company owner, DocumentType type, int year, String docNumber) {
+        if (!hasSeries(type) || docNumber == null) {
+            return;
+        }
+        String prefix = format(type).prefix(year);
+        Integer sequence = sequenceOf(prefix, docNumber);
+        if (sequence == null) {
+            return;
+        }
+        Integer idOwner = owner.getIdCompany();
+        if (seriesRepository.findLastValue(idOwner, type, year).isEmpty()) {
+            seriesRepository.insertIfAbsent(idOwner, type.getCode(), year,
+                    Math.max(sequence, highestExistingSequence(owner, type, prefix)));
+        }
+        seriesRepository.raiseTo(idOwner, type, year, sequence);
+    }
+
+    /**
+     * Tells whether a document type is numbered by a series.
+     *
+     * @param type the document type
+     * @return true for customer invoices, quotes and purchase orders
+     */
+    public static boolean hasSeries(DocumentType type) {
+        return type != DocumentType.INV_PROV;
+    }
+
+    private NumberFormat format(DocumentType type) {
+        NumberFormat format = formats.get(type);
+        if (format == null) {
+            throw new IllegalArgumentException("Provider invoices have no number series");
+        }
+        return format;
+    }
+
+    private int highestExistingSequence(Company owner, DocumentType type, String prefix) {
+        return findHighestExistingNumber(owner, type, prefix)
+                .map(number -> sequenceOf(prefix, number))
+                .orElse(0);
+    }
+
+    private Optional<String> findHighestExistingNumber(Company owner, DocumentType type, String prefix) {
+        return documentRepository
+                .findDocNumbersByOwnerCompanyAndDocTypeAndDocNumberStartingWith(owner, type, prefix, PageRequest.of(0, 1))
+                .stream()
+                .findFirst();
+    }
+
+    private static Integer sequenceOf(String prefix, String docNumber) {
+        if (!docNumber.startsWith(prefix)) {
+            return null;
+        }
+        Matcher matcher = TRAILING_DIGITS.matcher(docNumber.substring(prefix.length()));
+        if (!matcher.find()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(matcher.group(1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Format of the numbers of a series.
+     *
+     * @param prefix the text before the sequence, where {@code YYYY} stands for the year
+     * @param digits the minimum number of digits of the sequence
+     */
+    private record NumberFormat(String prefix, int digits) {
+
+        /**
+         * @param format a format such as {@code YYYY-1.Q##}
+         * @throws IllegalArgumentException if the format does not end with {@code #}
+         */
+        static NumberFormat parse(String format) {
+            Matcher matcher = FORMAT.matcher(format);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Document number format must end with #: " + format);
+            }
+            return new NumberFormat(matcher.group(1), matcher.group(2).length());
+        }
+
+        String prefix(int year) {
+            return prefix.replace(YEAR, String.valueOf(year));
+        }
+
+        String number(int year, int value) {
+            return prefix(year) + String.format("%0" + digits + "d", value);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.read.DocumentPageDTO;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.enums.DocumentStatus;
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.exceptions.InvalidCursorException;
+import com.frederic.clienttra.mappers.DocumentMapper;
+import com.frederic.clienttra.projections.DocumentListProjection;
+import com.frederic.clienttra.repositories.DocumentRepository;
+import com.frederic.clienttra.utils.DocumentCursor;
+import com.frederic.clienttra.utils.KeysetPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated document lists, shared by all document services.
+ */
+@Service
+@RequiredArgsConstructor
+public class DocumentPageService {
+
+    private final DocumentRepository documentRepository;
+    private final DocumentMapper documentMapper;
+
+    /**
+     * Retrieves one page of documents of the given type belonging to the given owner company.
+     *
+     * @param owner     the owner company
+     * @param type      the document type
+     * @param idCompany optional company ID filter
+     * @param status    optional document status filter
+     * @param cursor    opaque cursor returned with the previous page, or null for the first page
+     * @param limit     requested page size; defaults to {@link KeysetPage#DEFAULT_PAGE_SIZE}
+     *                  and is capped at {@link KeysetPage#MAX_PAGE_SIZE}
+     * @return the page of document DTOs and the cursor of the next page
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public DocumentPageDTO getDocumentsPage(Company owner, DocumentType type, Integer idCompany,
+                                            DocumentStatus status, String cursor, Integer limit) {
+        int pageSize = KeysetPage.pageSize(limit);
+        List<DocumentListProjection> rows = documentRepository.findPageByDocTypeAndOwnerCompany(
+                type, owner, idCompany, status, DocumentCursor.decode(cursor), pageSize);
+        return documentMapper.toPageDtoFromProjection(rows, pageSize);
+    }
+}
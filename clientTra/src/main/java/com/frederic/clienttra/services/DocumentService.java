@@ -3,7 +3,7 @@ package com.frederic.clienttra.services;
 import com.frederic.clienttra.dto.bases.BaseDocumentDTO;
 import com.frederic.clienttra.dto.create.CreateDocumentRequestDTO;
 import com.frederic.clienttra.dto.read.DocumentDTO;
-import com.frederic.clienttra.dto.read.DocumentForListDTO;
+import com.frederic.clienttra.dto.read.DocumentPageDTO;
 import com.frederic.clienttra.enums.DocumentStatus;
 import com.frederic.clienttra.enums.DocumentType;
 
@@ -15,40 +15,16 @@ import java.util.List;
 public interface DocumentService {
 
     /**
-     * Retrieves all documents filtered by their document type.
-     *
-     * @param type the type of documents to retrieve
-     * @return a list of document summaries matching the type
-     */
-    List<DocumentForListDTO> getAllDocumentsByType(DocumentType type);
-
-    /**
-     * Retrieves documents for a specific company filtered by document type.
-     *
-     * @param type      the document type
-     * @param idCompany the ID of the company
-     * @return a list of document summaries belonging to the company and type
-     */
-    List<DocumentForListDTO> getDocumentsByCompanyId(DocumentType type, Integer idCompany);
-
-    /**
-     * Retrieves documents filtered by document type and their current status.
-     *
-     * @param type   the document type
-     * @param status the status to filter by (e.g. PENDING, DELETED)
-     * @return a list of document summaries matching the criteria
-     */
-    List<DocumentForListDTO> getDocumentsByStatus(DocumentType type, DocumentStatus status);
-
-    /**
-     * Retrieves documents filtered by company ID, document type, and status.
+     * Retrieves one page of documents of the given type, newest first, using keyset pagination.
      *
      * @param type      the document type
-     * @param idCompany the ID of the company
-     * @param status    the document status to filter by
-     * @return a list of document summaries matching the criteria
+     * @param idCompany optional company ID filter, or null for all companies
+     * @param status    optional status filter, or null for all statuses
+     * @param cursor    opaque cursor returned with the previous page, or null for the first page
+     * @param limit     requested page size, or null for the default
+     * @return the page of document summaries and the cursor of the next page
      */
-    List<DocumentForListDTO> getDocumentsByIdCompanyAndStatus(DocumentType type, Integer idCompany, DocumentStatus status);
+    DocumentPageDTO getDocumentsPage(DocumentType type, Integer idCompany, DocumentStatus status, String cursor, Integer limit);
 
     /**
      * Creates a new document for a given company.
@@ -0,0 +1,33 @@
+package com.frederic.clienttra.services;
+
+/**
+ * View of a running job given to its {@link JobHandler}.
+ */
+public interface JobContext {
+
+    /**
+     * Context of work that does not run as a job: progress is ignored and it is never cancelled.
+     */
+    JobContext NONE = new JobContext() {
+        @Override
+        public void progress(int percent) {
+        }
+
+        @Override
+        public boolean isCancelRequested() {
+            return false;
+        }
+    };
+
+    /**
+     * Records the progress of the job.
+     *
+     * @param percent the progress, from 0 to 100
+     */
+    void progress(int percent);
+
+    /**
+     * @return true if a user asked to cancel the job; the handler should then stop at the next safe point
+     */
+    boolean isCancelRequested();
+}
@@ -0,0 +1,26 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.enums.JobType;
+
+/**
+ * Runs the jobs of one {@link JobType}. Implementations are Spring beans picked up by the {@link JobWorker}.
+ * <p>
+ * Handlers run on a worker thread, outside any transaction and without an authenticated user,
+ * so they receive the owner company explicitly. A job may run again after a node failure, so
+ * handlers must be safe to re-run.
+ * </p>
+ */
+public interface JobHandler {
+
+    JobType getType();
+
+    /**
+     * Runs a job.
+     *
+     * @param owner   the owner company that submitted the job
+     * @param context the progress and cancellation of the job
+     * @return the result of the job, stored as JSON
+     */
+    Object run(Company owner, JobContext context);
+}
@@ -0,0 +1,98 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.create.JobRequestDTO;
+import com.frederic.clienttra.dto.read.JobDTO;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.entities.Job;
+import com.frederic.clienttra.enums.JobStatus;
+import com.frederic.clienttra.exceptions.JobAlreadyFinishedException;
+import com.frederic.clienttra.exceptions.JobNotFoundException;
+import com.frederic.clienttra.mappers.JobMapper;
+import com.frederic.clienttra.repositories.JobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service for submitting, polling and cancelling the background jobs of the current company.
+ * Jobs are run later by a {@link JobWorker}, on this node or another one.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobService {
+
+    private final JobRepository jobRepository;
+    private final JobMapper jobMapper;
+    private final CompanyService companyService;
+
+    /**
+     * Queues a job for the current company.
+     *
+     * @param dto the job type
+     * @return the queued job
+     */
+    @Transactional
+    public JobDTO submit(JobRequestDTO dto) {
+        Company owner = companyService.getCurrentCompanyOrThrow();
+        Job job = Job.builder()
+                .jobType(dto.getType())
+                .status(JobStatus.QUEUED)
+                .createdAt(LocalDateTime.now())
+                .ownerCompany(owner)
+                .build();
+        return jobMapper.toDto(jobRepository.save(job));
+    }
+
+    /**
+     * Retrieves a job of the current company.
+     *
+     * @param idJob the job ID
+     * @return the job
+     * @throws JobNotFoundException if the job does not exist for the current company
+     */
+    @Transactional(readOnly = true)
+    public JobDTO getJob(Long idJob) {
+        return jobMapper.toDto(findJob(idJob, companyService.getCurrentCompanyOrThrow()));
+    }
+
+    /**
+     * Retrieves the 50 most recent jobs of the current company, newest first.
+     *
+     * @return the jobs
+     */
+    @Transactional(readOnly = true)
+    public List<JobDTO> getRecentJobs() {
+        Company owner = companyService.getCurrentCompanyOrThrow();
+        return jobMapper.toDtos(jobRepository.findTop50ByOwnerCompanyOrderByIdJobDesc(owner));
+    }
+
+    /**
+     * Cancels a job of the current company. A queued job is cancelled at once; a running job is
+     * asked to stop and becomes CANCELLED when its handler returns.
+     *
+     * @param idJob the job ID
+     * @return the job after the cancellation
+     * @throws JobNotFoundException        if the job does not exist for the current company
+     * @throws JobAlreadyFinishedException if the job has already finished
+     */
+    @Transactional
+    public JobDTO cancel(Long idJob) {
+        Company owner = companyService.getCurrentCompanyOrThrow();
+        if (jobRepository.cancelQueued(idJob, owner, LocalDateTime.now()) == 0
+                && jobRepository.requestCancel(idJob, owner) == 0) {
+            Job job = findJob(idJob, owner);
+            if (job.getStatus().isFinished()) {
+                throw new JobAlreadyFinishedException();
+            }
+        }
+        return jobMapper.toDto(findJob(idJob, owner));
+    }
+
+    private Job findJob(Long idJob, Company owner) {
+        return jobRepository.findByIdJobAndOwnerCompany(idJob, owner)
+                .orElseThrow(JobNotFoundException::new);
+    }
+}
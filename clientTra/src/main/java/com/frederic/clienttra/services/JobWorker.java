@@ -0,0 +1,193 @@
+package com.frederic.clienttra.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.entities.Job;
+import com.frederic.clienttra.enums.JobStatus;
+import com.frederic.clienttra.enums.JobType;
+import com.frederic.clienttra.projections.RunningJobsProjection;
+import com.frederic.clienttra.repositories.CompanyRepository;
+import com.frederic.clienttra.repositories.JobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Polls the {@code jobs} table and runs queued jobs on a fixed pool of worker threads.
+ * <p>
+ * Each poll claims at most as many jobs as there are idle workers: the oldest queued jobs are
+ * locked with {@code FOR UPDATE SKIP LOCKED}, so that several nodes can poll the same table
+ * without claiming the same job, and marked as running in the same transaction. A company never
+ * gets more than {@code clienttra.jobs.per-company} running jobs; the limit is exact on one node
+ * and may be exceeded briefly when two nodes claim jobs of the same company at the same time.
+ * </p>
+ * <p>
+ * Running jobs send a heartbeat on every poll. Jobs whose heartbeat is older than
+ * {@code clienttra.jobs.stale-after-seconds}, because their node stopped, are queued again.
+ * Created by {@link com.frederic.clienttra.config.JobConfig}.
+ * </p>
+ */
+public class JobWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobWorker.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JobRepository jobRepository;
+    private final CompanyRepository companyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<JobType, JobHandler> handlers;
+    private final int workers;
+    private final int perCompany;
+    private final Duration staleAfter;
+    private final String workerId;
+    private final ExecutorService executor;
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    public JobWorker(JobRepository jobRepository, CompanyRepository companyRepository,
+                     TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                     List<JobHandler> handlers, int workers, int perCompany, Duration staleAfter) {
+        this.jobRepository = jobRepository;
+        this.companyRepository = companyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.handlers = handlers.stream().collect(Collectors.toMap(JobHandler::getType, Function.identity()));
+        this.workers = workers;
+        this.perCompany = perCompany;
+        this.staleAfter = staleAfter;
+        this.workerId = ManagementFactory.getRuntimeMXBean().getName();
+        this.executor = Executors.newFixedThreadPool(workers);
+    }
+
+    /**
+     * Sends the heartbeats of the running jobs, re-queues stale jobs and starts queued jobs.
+     */
+    @Scheduled(fixedDelayString = "${clienttra.jobs.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!running.isEmpty()) {
+                    jobRepository.heartbeat(Set.copyOf(running), now);
+                }
+                int requeued = jobRepository.requeueStale(now.minus(staleAfter));
+                if (requeued > 0) {
+                    logger.warn("Re-queued {} jobs whose worker stopped sending heartbeats", requeued);
+                }
+            });
+            for (Job job : claim()) {
+                executor.submit(() -> execute(job.getIdJob(), job.getJobType(), job.getOwnerCompany().getIdCompany()));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Job poll failed: {}", e.getMessage());
+        }
+    }
+
+    List<Job> claim() {
+        int idle = workers - running.size();
+        if (idle <= 0) {
+            return List.of();
+        }
+        List<Job> claimed = transactionTemplate.execute(status -> {
+            // Lock more than needed, so that jobs of busy companies do not starve the others
+            List<Job> candidates = jobRepository.lockQueued(idle * 4);
+            if (candidates.isEmpty()) {
+                return List.<Job>of();
+            }
+            Map<Integer, Long> runningByCompany = new HashMap<>();
+            for (RunningJobsProjection row : jobRepository.countRunningByOwner()) {
+                runningByCompany.put(row.getIdOwnerCompany(), row.getRunning());
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<Job> toRun = new ArrayList<>();
+            for (Job job : candidates) {
+                if (toRun.size() == idle) {
+                    break;
+                }
+                Integer idCompany = job.getOwnerCompany().getIdCompany();
+                if (runningByCompany.getOrDefault(idCompany, 0L) >= perCompany) {
+                    continue;
+                }
+                runningByCompany.merge(idCompany, 1L, Long::sum);
+                job.setStatus(JobStatus.RUNNING);
+                job.setWorker(workerId);
+                job.setStartedAt(now);
+                job.setHeartbeatAt(now);
+                toRun.add(job);
+            }
+            return toRun;
+        });
+        claimed.forEach(job -> running.add(job.getIdJob()));
+        return claimed;
+    }
+
+    void execute(Long idJob, JobType type, Integer idCompany) {
+        JobStatus status = JobStatus.FAILED;
+        String result = null;
+        String error = null;
+        try {
+            JobHandler handler = handlers.get(type);
+            if (handler == null) {
+                throw new IllegalStateException("No handler for job type " + type);
+            }
+            Company owner = companyRepository.findById(idCompany)
+                    .orElseThrow(() -> new IllegalStateException("Company " + idCompany + " not found"));
+            Context context = new Context(idJob);
+            Object value = handler.run(owner, context);
+            result = objectMapper.writeValueAsString(value);
+            status = context.isCancelRequested() ? JobStatus.CANCELLED : JobStatus.SUCCEEDED;
+        } catch (Exception e) {
+            logger.warn("Job {} ({}) of company {} failed", idJob, type, idCompany, e);
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            if (error.length() > MAX_ERROR_LENGTH) {
+                error = error.substring(0, MAX_ERROR_LENGTH);
+            }
+        } finally {
+            running.remove(idJob);
+        }
+        JobStatus finalStatus = status;
+        String finalResult = result;
+        String finalError = error;
+        transactionTemplate.executeWithoutResult(tx ->
+                jobRepository.finish(idJob, finalStatus, finalResult, finalError, LocalDateTime.now()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private class Context implements JobContext {
+
+        private final Long idJob;
+
+        Context(Long idJob) {
+            this.idJob = idJob;
+        }
+
+        @Override
+        public void progress(int percent) {
+            int clamped = Math.max(0, Math.min(100, percent));
+            transactionTemplate.executeWithoutResult(status ->
+                    jobRepository.updateProgress(idJob, clamped, LocalDateTime.now()));
+        }
+
+        @Override
+        public boolean isCancelRequested() {
+            return jobRepository.isCancelRequested(idJob);
+        }
+    }
+}
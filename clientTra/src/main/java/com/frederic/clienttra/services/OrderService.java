@@ -3,6 +3,7 @@ package com.frederic.clienttra.services;
 import com.frederic.clienttra.dto.create.CreateOrderRequestDTO;
 import com.frederic.clienttra.dto.read.OrderDetailsDTO;
 import com.frederic.clienttra.dto.read.OrderListDTO;
+import com.frederic.clienttra.dto.read.OrderPageDTO;
 import com.frederic.clienttra.dto.update.UpdateItemRequestDTO;
 import com.frederic.clienttra.dto.update.UpdateOrderRequestDTO;
 import com.frederic.clienttra.entities.Company;
@@ -11,22 +12,27 @@ import com.frederic.clienttra.entities.Item;
 import com.frederic.clienttra.entities.Order;
 import com.frederic.clienttra.enums.DocumentStatus;
 import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.enums.PartyType;
 import com.frederic.clienttra.exceptions.CantCreateOrderWithoutItemsException;
 import com.frederic.clienttra.exceptions.CantDeletePaidInvoiceException;
 import com.frederic.clienttra.exceptions.CantModifyPaidInvoiceException;
+import com.frederic.clienttra.exceptions.InvalidCursorException;
 import com.frederic.clienttra.exceptions.OrderNotFoundException;
 import com.frederic.clienttra.mappers.ItemMapper;
 import com.frederic.clienttra.mappers.OrderMapper;
 import com.frederic.clienttra.projections.OrderListForDashboardProjection;
-import com.frederic.clienttra.projections.OrderListForDocumentsProjection;
 import com.frederic.clienttra.repositories.DocumentRepository;
 import com.frederic.clienttra.repositories.OrderRepository;
 import com.frederic.clienttra.utils.DocumentUtils;
+import com.frederic.clienttra.utils.KeysetPage;
+import com.frederic.clienttra.utils.OrderCursor;
 import com.frederic.clienttra.validators.OwnerValidator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -44,6 +50,8 @@ public class OrderService {
     private final DocumentRepository documentRepository;
     private final DocumentUtils documentUtils;
     private final OwnerValidator ownerValidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CashFlowRollupService cashFlowRollupService;
 
     /**
      * Retrieves detailed information of an order by its ID and owning company ID.
@@ -80,21 +88,6 @@ public class OrderService {
         return orderMapper.toDetailsDto(order);
     }
 
-    /**
-     * Retrieves a list of orders associated with a specific company.
-     *
-     * @param idCompany the ID of the owning company.
-     * @return a list of order summary DTOs.
-     */
-    @Transactional(readOnly = true)
-    public List<OrderListDTO> getOrders(Integer idCompany) {
-        Company owner = companyService.getCurrentCompanyOrThrow();
-
-        List<OrderListForDocumentsProjection> orders = orderRepository.findByOwnerCompanyAndCompany_idCompanyOrderByDateOrderDesc(owner, idCompany);
-
-        return orderMapper.toListDtoFromProjectionForDocuments(orders);
-    }
-
     /**
      * Retrieves orders by their IDs and owning company, useful for sending orders to documents.
      *
@@ -115,60 +108,33 @@ public class OrderService {
     }
 
     /**
-     * Retrieves pending (not yet billed) orders for a given company.
-     *
-     * @param idCompany the ID of the company.
-     * @return list of pending order DTOs.
-     */
-    @Transactional(readOnly = true)
-    public List<OrderListDTO> getPendingOrders(Integer idCompany) {
-        Company owner = companyService.getCurrentCompanyOrThrow();
-
-        List<OrderListForDocumentsProjection> orders = orderRepository.findByOwnerCompanyAndCompany_idCompanyAndBilledFalseOrderByDateOrderDesc(owner, idCompany);
-
-        return orderMapper.toListDtoFromProjectionForDocuments(orders);
-    }
-
-    /**
-     * Retrieves all pending (not yet billed) orders.
+     * Retrieves one page of orders, newest first, using keyset pagination.
+     * Every filter is optional.
      *
-     * @return list of pending order DTOs.
+     * @param idCompany      optional customer or provider company ID
+     * @param party          optional restriction to orders of customers or of providers
+     * @param billed         optional billing status
+     * @param fromDate       optional first order date
+     * @param toDate         optional last order date
+     * @param sourceLanguage optional source language
+     * @param targetLanguage optional target language
+     * @param cursor         opaque cursor returned with the previous page, or null for the first page
+     * @param limit          requested page size; defaults to {@link KeysetPage#DEFAULT_PAGE_SIZE}
+     *                       and is capped at {@link KeysetPage#MAX_PAGE_SIZE}
+     * @return the page of order DTOs and the cursor of the next page
+     * @throws InvalidCursorException if the cursor is malformed
      */
     @Transactional(readOnly = true)
-    public List<OrderListDTO> getPendingOrders() {
+    public OrderPageDTO getOrdersPage(Integer idCompany, PartyType party, Boolean billed,
+                                      LocalDate fromDate, LocalDate toDate,
+                                      String sourceLanguage, String targetLanguage,
+                                      String cursor, Integer limit) {
         Company owner = companyService.getCurrentCompanyOrThrow();
-
-        List<OrderListForDocumentsProjection> orders = orderRepository.findByOwnerCompanyAndBilledFalseOrderByDateOrderDesc(owner);
-
-        return orderMapper.toListDtoFromProjectionForDocuments(orders);
-    }
-
-    /**
-     * Retrieves all orders For Providers.
-     *
-     * @return list of pending order DTOs.
-     */
-    @Transactional(readOnly = true)
-    public List<OrderListDTO> getProvidersOrders() {
-        Company owner = companyService.getCurrentCompanyOrThrow();
-
-        List<OrderListForDashboardProjection> orders = orderRepository.findByOwnerCompanyOrdersForProvidersByDateOrderDesc(owner);
-
-        return orderMapper.toListDtosFromProjectionForDashboard(orders);
-    }
-
-    /**
-     * Retrieves all orders For Customers.
-     *
-     * @return list of pending order DTOs.
-     */
-    @Transactional(readOnly = true)
-    public List<OrderListDTO> getCustomersOrders() {
-        Company owner = companyService.getCurrentCompanyOrThrow();
-
-        List<OrderListForDashboardProjection> orders = orderRepository.findByOwnerCompanyOrdersForCustomersByDateOrderDesc(owner);
-
-        return orderMapper.toListDtosFromProjectionForDashboard(orders);
+        int pageSize = KeysetPage.pageSize(limit);
+        List<OrderListForDashboardProjection> rows = orderRepository.findPageByOwnerCompany(
+                owner, idCompany, party, billed, fromDate, toDate,
+                sourceLanguage, targetLanguage, OrderCursor.decode(cursor), pageSize);
+        return orderMapper.toPageDto(rows, pageSize);
     }
 
     /**
@@ -210,6 +176,7 @@ public class OrderService {
         order.setTotal(totalOrder);
 
         Order savedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(DataChangedEvent.orderSaved(owner, savedOrder));
         return orderMapper.toDetailsDto(savedOrder);
     }
 
@@ -233,9 +200,11 @@ public class OrderService {
         //List<Document> documents =entity.getDocuments();
 
         List<Document> documents = new ArrayList<>(entity.getDocuments());//Esto se hace así para evitar bloqueos de Hibernate (En caso contrario, Spring Data intenta iterar de nuevo sobre esa misma colección gestionada, que fue modificada durante la iteración anterior → ConcurrentModificationException.)
+        Map<Integer, Double> previousTotals = new HashMap<>();
+        documents.forEach(document -> previousTotals.put(document.getIdDocument(), document.getTotalNet()));
 
         // Validate the order belongs to the correct company
-        if (!entity.getOwnerCompany().equals(owner) || !entity.getCompany().getIdCompany().equals(idCompany)) {
+        if (!Objects.equals(entity.getOwnerCompany().getIdCompany(), owner.getIdCompany()) || !entity.getCompany().getIdCompany().equals(idCompany)) {
             throw new OrderNotFoundException();
         }
 
@@ -322,6 +291,8 @@ public class OrderService {
         }
 
         documentRepository.saveAll(documents);
+        documents.forEach(document -> cashFlowRollupService.recordTotalChange(document, previousTotals.get(document.getIdDocument())));
+        eventPublisher.publishEvent(DataChangedEvent.orderSaved(owner, savedOrder));
 
         return orderMapper.toDetailsDto(savedOrder);
     }
@@ -338,10 +309,11 @@ public class OrderService {
         Company owner = companyService.getCurrentCompanyOrThrow();
         Order order = orderRepository.findByIdOrderAndOwnerCompany(idOrder, owner)
                 .orElseThrow(OrderNotFoundException::new);
-        if (!order.getOwnerCompany().equals(owner) || !order.getCompany().getIdCompany().equals(idCompany)) {
+        if (!Objects.equals(order.getOwnerCompany().getIdCompany(), owner.getIdCompany()) || !order.getCompany().getIdCompany().equals(idCompany)) {
             throw new OrderNotFoundException();
         }
         orderRepository.delete(order);
+        eventPublisher.publishEvent(DataChangedEvent.orderDeleted(owner, order));
     }
 
     /**
@@ -373,6 +345,7 @@ public class OrderService {
         order.getDocuments().clear();
 
         orderRepository.delete(order);
+        eventPublisher.publishEvent(DataChangedEvent.orderDeleted(owner, order));
     }
 
     /**
@@ -1,25 +1,28 @@
 package com.frederic.clienttra.services;
 
+import com.frederic.clienttra.dto.read.AgingBucketsDTO;
+import com.frederic.clienttra.dto.read.AgingReportDTO;
 import com.frederic.clienttra.dto.read.InvoiceSummaryForPendingReportDTO;
 import com.frederic.clienttra.dto.read.MonthlyPendingReportDTO;
+import com.frederic.clienttra.dto.read.PartyForAgingReportDTO;
 import com.frederic.clienttra.dto.read.PendingReportDTO;
 import com.frederic.clienttra.entities.Company;
 import com.frederic.clienttra.enums.DocumentStatus;
 import com.frederic.clienttra.enums.DocumentType;
 import com.frederic.clienttra.mappers.PendingReportMapper;
+import com.frederic.clienttra.projections.AgingForPendingReportProjection;
 import com.frederic.clienttra.projections.InvoiceForPendingReportProjection;
-import com.frederic.clienttra.projections.OrderListForDashboardProjection;
 import com.frederic.clienttra.repositories.InvoiceForPendingReportRepository;
-import com.frederic.clienttra.repositories.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
- * Service responsible for generating pending invoice reports grouped by month.
+ * Service responsible for generating pending invoice reports grouped by month,
+ * and aging reports of the pending amounts per counterparty.
  */
 @Service
 @RequiredArgsConstructor
@@ -28,6 +31,7 @@ public class PendingReportService {
     private final InvoiceForPendingReportRepository repository;
     private final PendingReportMapper mapper;
     private final CompanyServiceImpl companyService;
+    private final ReportCache reportCache;
 
     /**
      * Generates a pending report for invoices of the specified document type.
@@ -39,17 +43,21 @@ public class PendingReportService {
     public PendingReportDTO generate(DocumentType type){
         // Retrieve the current user's owning company
         Company owner = companyService.getCurrentCompanyOrThrow();
+        return reportCache.get("pending", owner, type, null, null, null, () -> buildPendingReport(owner, type));
+    }
+
+    private PendingReportDTO buildPendingReport(Company owner, DocumentType type){
 
         // Fetch raw pending invoices for the company and document type
         List<InvoiceForPendingReportProjection> rawData = repository.findInvoiceForPendingReport(owner.getIdCompany(), type, DocumentStatus.PENDING);
 
-        // Group invoices by YearMonth of the document date
-        Map<YearMonth, List<InvoiceForPendingReportProjection>> groupedByYearMonth = new HashMap<>();
-        try {
-            groupedByYearMonth = rawData.stream()
-                    .collect(Collectors.groupingBy(p -> YearMonth.from(p.getDeadline())));
-        }catch(NullPointerException e){
-            System.out.println(e.getMessage());
+        // Group invoices by YearMonth of the deadline; rows arrive ordered by deadline,
+        // invoices without a deadline are only counted in the aging report
+        Map<YearMonth, List<InvoiceForPendingReportProjection>> groupedByYearMonth = new LinkedHashMap<>();
+        for (InvoiceForPendingReportProjection invoice : rawData) {
+            if (invoice.getDeadline() != null) {
+                groupedByYearMonth.computeIfAbsent(YearMonth.from(invoice.getDeadline()), ym -> new ArrayList<>()).add(invoice);
+            }
         }
 
         List<MonthlyPendingReportDTO> monthlyReport =  new ArrayList<>();
@@ -87,4 +95,44 @@ public class PendingReportService {
                 .build();
     }
 
+    /**
+     * Generates an aging report of the pending invoices of the specified document type.
+     * Amounts are split into not-yet-due, 1-30, 31-60, 61-90 and over 90 days past the deadline,
+     * with subtotals per counterparty. The buckets and subtotals are computed by a single
+     * aggregating query; only the grand totals are summed here, over one row per counterparty.
+     *
+     * @param type the document type to generate the report for (e.g., customer or provider invoices).
+     * @return a DTO containing the aging totals and the subtotals per counterparty.
+     */
+    public AgingReportDTO generateAging(DocumentType type){
+        Company owner = companyService.getCurrentCompanyOrThrow();
+        LocalDate today = LocalDate.now();
+        return reportCache.get("aging", owner, type, today, today, null, () -> buildAgingReport(owner, type, today));
+    }
+
+    private AgingReportDTO buildAgingReport(Company owner, DocumentType type, LocalDate today){
+        List<AgingForPendingReportProjection> rows = repository.findAgingByCounterparty(owner.getIdCompany(), type,
+                DocumentStatus.PENDING, today, today.minusDays(30), today.minusDays(60), today.minusDays(90));
+
+        AgingBucketsDTO totals = mapper.toAgingBucketsDTO(0.0, 0.0, 0.0, 0.0, 0.0);
+        List<PartyForAgingReportDTO> parties = new ArrayList<>(rows.size());
+        for (AgingForPendingReportProjection row : rows) {
+            PartyForAgingReportDTO party = mapper.toPartyForAgingReportDTO(row);
+            AgingBucketsDTO buckets = party.getBuckets();
+            totals.setNotDue(totals.getNotDue() + buckets.getNotDue());
+            totals.setDays1To30(totals.getDays1To30() + buckets.getDays1To30());
+            totals.setDays31To60(totals.getDays31To60() + buckets.getDays31To60());
+            totals.setDays61To90(totals.getDays61To90() + buckets.getDays61To90());
+            totals.setOver90(totals.getOver90() + buckets.getOver90());
+            totals.setTotal(totals.getTotal() + buckets.getTotal());
+            parties.add(party);
+        }
+
+        return AgingReportDTO.builder()
+                .asOf(today)
+                .totals(totals)
+                .parties(parties)
+                .build();
+    }
+
 }
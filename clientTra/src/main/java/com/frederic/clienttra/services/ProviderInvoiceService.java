@@ -2,16 +2,17 @@ package com.frederic.clienttra.services;
 
 import com.frederic.clienttra.dto.bases.BaseDocumentDTO;
 import com.frederic.clienttra.dto.read.DocumentDTO;
-import com.frederic.clienttra.dto.read.DocumentForListDTO;
+import com.frederic.clienttra.dto.read.DocumentPageDTO;
 import com.frederic.clienttra.entities.*;
 import com.frederic.clienttra.enums.DocumentStatus;
 import com.frederic.clienttra.enums.DocumentType;
 import com.frederic.clienttra.exceptions.*;
 import com.frederic.clienttra.mappers.DocumentMapper;
-import com.frederic.clienttra.projections.DocumentListProjection;
 import com.frederic.clienttra.repositories.*;
 import com.frederic.clienttra.utils.DocumentUtils;
+import com.frederic.clienttra.utils.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,71 +38,28 @@ public class ProviderInvoiceService implements DocumentService {
     private final ProviderRepository providerRepository;
     private final OrderRepository orderRepository;
     private final DocumentUtils documentUtils;
+    private final CashFlowRollupService cashFlowRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DocumentDetailService documentDetailService;
+    private final DocumentPageService documentPageService;
 
     /**
-     * Retrieves all documents filtered by document type for the current owner company.
+     * Retrieves one page of documents of the given type using keyset pagination.
      *
-     * @param type the document type.
-     * @return list of documents DTO for the given type.
-     */
-    @Transactional(readOnly = true)
-    @Override
-    public List<DocumentForListDTO> getAllDocumentsByType(DocumentType type) {
-        Company owner = companyService.getCurrentCompanyOrThrow();
-
-        List<DocumentListProjection> entities = documentRepository.findListByDocTypeAndOwnerCompany(type, owner);
-
-        return documentMapper.toListDtosFromProjection(entities);
-    }
-
-    /**
-     * Retrieves documents by document type and company ID.
-     *
-     * @param type the document type.
-     * @param idCompany the company ID.
-     * @return list of documents DTO.
-     */
-    @Transactional(readOnly = true)
-    @Override
-    public List<DocumentForListDTO> getDocumentsByCompanyId(DocumentType type, Integer idCompany) {
-        Company owner = companyService.getCurrentCompanyOrThrow();
-
-        List<DocumentListProjection> entities = documentRepository.findListByDocTypeIdCompanyAndOwnerCompany(type, idCompany, owner);
-
-        return documentMapper.toListDtosFromProjection(entities);
-    }
-
-    /**
-     * Retrieves documents by document type and status.
-     *
-     * @param type the document type.
-     * @param status the document status.
-     * @return list of documents DTO.
-     */
-    @Transactional(readOnly = true)
-    @Override
-    public List<DocumentForListDTO> getDocumentsByStatus(DocumentType type, DocumentStatus status) {
-        Company owner = companyService.getCurrentCompanyOrThrow();
-
-        List<DocumentListProjection> entities = documentRepository.findListByDocTypeStatusAndOwnerCompany(type, status, owner);
-
-        return documentMapper.toListDtosFromProjection(entities);
-    }
-
-    /**
-     * Retrieves documents by document type, company ID and status.
-     *
-     * @param type the document type.
-     * @param idCompany the company ID.
-     * @param status the document status.
-     * @return list of documents DTO.
+     * @param type      the document type
+     * @param idCompany optional company ID filter
+     * @param status    optional document status filter
+     * @param cursor    opaque cursor returned with the previous page, or null for the first page
+     * @param limit     requested page size; defaults to {@link KeysetPage#DEFAULT_PAGE_SIZE}
+     *                  and is capped at {@link KeysetPage#MAX_PAGE_SIZE}
+     * @return the page of document DTOs and the cursor of the next page
+     * @throws InvalidCursorException if the cursor is malformed
      */
     @Transactional(readOnly = true)
     @Override
-    public List<DocumentForListDTO> getDocumentsByIdCompanyAndStatus(DocumentType type, Integer idCompany, DocumentStatus status) {
+    public DocumentPageDTO getDocumentsPage(DocumentType type, Integer idCompany, DocumentStatus status, String cursor, Integer limit) {
         Company owner = companyService.getCurrentCompanyOrThrow();
-        List<DocumentListProjection> entities = documentRepository.findListByDocTypeIdCompanyStatusAndOwnerCompany(type, idCompany, status, owner);
-        return documentMapper.toListDtosFromProjection(entities);
+        return documentPageService.getDocumentsPage(owner, type, idCompany, status, cursor, limit);
     }
 
     /**
@@ -116,11 +74,7 @@ public class ProviderInvoiceService implements DocumentService {
     @Override
     public DocumentDTO getDocumentById(DocumentType type, Integer id) {
         Company owner = companyService.getCurrentCompanyOrThrow();
-
-        Document entity = documentRepository.findByOwnerCompanyAndIdDocumentAndDocType(owner, id, type)
-                .orElseThrow(DocumentNotFoundException::new);
-
-        return documentMapper.toDto(entity);
+        return documentDetailService.getDocumentDetail(owner, type, id);
     }
 
     /**
@@ -189,6 +143,8 @@ public class ProviderInvoiceService implements DocumentService {
 
         // 6. Save the document
         Document newEntity = documentRepository.save(entity);
+        cashFlowRollupService.recordCreated(newEntity);
+        eventPublisher.publishEvent(DataChangedEvent.documentSaved(owner, newEntity));
 
         return documentMapper.toDto(newEntity);
     }
@@ -220,6 +176,7 @@ public class ProviderInvoiceService implements DocumentService {
             if (!entityParent.getStatus().equals(DocumentStatus.PENDING)) {
                 throw new CantModifyPaidInvoiceException();
             }
+            DocumentStatus previousStatus = entityParent.getStatus();
             entityParent.setStatus(DocumentStatus.MODIFIED);
             //Setting orders as billed = false to free them. Orders staying in the invoice will be setted back to billed = true in CreateDocument
             entityParent.getOrders().forEach(order -> {
@@ -227,6 +184,8 @@ public class ProviderInvoiceService implements DocumentService {
                 orderRepository.save(order);
             });
             documentRepository.save(entityParent);
+            cashFlowRollupService.recordStatusChange(entityParent, previousStatus);
+            eventPublisher.publishEvent(DataChangedEvent.documentSaved(owner, entityParent));
         }
 
         dto.setIdDocumentParent(entityParent.getIdDocument());
@@ -241,10 +200,12 @@ public class ProviderInvoiceService implements DocumentService {
      * @param idDocument the ID of the document to delete
      * @throws DocumentNotFoundException if the document does not exist or is not owned by the current user
      */
+    @Transactional
     public void togglePaidStatus(Integer idDocument){
         Company owner = companyService.getCurrentCompanyOrThrow();
         Document entity = documentRepository.findByOwnerCompanyAndIdDocument(owner, idDocument)
                 .orElseThrow(DocumentNotFoundException::new);
+        DocumentStatus previousStatus = entity.getStatus();
         if(entity.getStatus() == DocumentStatus.PAID){
             entity.setStatus(DocumentStatus.PENDING);
         }
@@ -252,6 +213,8 @@ public class ProviderInvoiceService implements DocumentService {
             entity.setStatus(DocumentStatus.PAID);
         }
         documentRepository.save(entity);
+        cashFlowRollupService.recordStatusChange(entity, previousStatus);
+        eventPublisher.publishEvent(DataChangedEvent.documentSaved(owner, entity));
     }
 
     /**
@@ -266,12 +229,15 @@ public class ProviderInvoiceService implements DocumentService {
         Company owner = companyService.getCurrentCompanyOrThrow();
         Document entity = documentRepository.findByOwnerCompanyAndIdDocument(owner, id)
                 .orElseThrow(DocumentNotFoundException::new);
+        DocumentStatus previousStatus = entity.getStatus();
         entity.setStatus(DocumentStatus.DELETED);
         entity.getOrders().forEach(order -> {
             order.setBilled(false);
             orderRepository.save(order);
         });
         documentRepository.save(entity);
+        cashFlowRollupService.recordStatusChange(entity, previousStatus);
+        eventPublisher.publishEvent(DataChangedEvent.documentSaved(owner, entity));
     }
 
     /**
@@ -26,6 +26,16 @@ public interface ProviderService {
      */
     List<ProviderForListDTO> getAllProvidersEnabled(boolean enabled);
 
+    /**
+     * Retrieves one page of providers sorted by commercial name.
+     *
+     * @param enabled the enabled status to keep, or null for all providers.
+     * @param cursor  the cursor of the previous page, or null for the first page.
+     * @param limit   the page size, or null for the default.
+     * @return page of providers with the cursor of the next one.
+     */
+    ProviderPageDTO getProvidersPage(Boolean enabled, String cursor, Integer limit);
+
     /**
      * Retrieves provider details by provider ID.
      *
@@ -42,6 +52,15 @@ public interface ProviderService {
      */
     List<ProviderForListDTO> searchByNameOrVat(String query);
 
+    /**
+     * Returns the best matching enabled providers for a typeahead, by name or VAT number.
+     *
+     * @param query the text typed so far.
+     * @param limit the maximum number of results, or null for the default.
+     * @return list of matching providers, best match first.
+     */
+    List<BaseCompanyMinimalDTO> typeahead(String query, Integer limit);
+
     /**
      * Retrieves a minimal list of providers with only essential company data.
      *
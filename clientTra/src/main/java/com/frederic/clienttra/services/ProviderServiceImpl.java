@@ -4,6 +4,7 @@ import com.frederic.clienttra.dto.create.CreateProviderRequestDTO;
 import com.frederic.clienttra.dto.read.BaseCompanyMinimalDTO;
 import com.frederic.clienttra.dto.read.ProviderDetailsDTO;
 import com.frederic.clienttra.dto.read.ProviderForListDTO;
+import com.frederic.clienttra.dto.read.ProviderPageDTO;
 import com.frederic.clienttra.dto.update.UpdateProviderRequestDTO;
 import com.frederic.clienttra.entities.Company;
 import com.frederic.clienttra.entities.Provider;
@@ -15,6 +16,9 @@ import com.frederic.clienttra.projections.ProviderListProjection;
 import com.frederic.clienttra.projections.ProviderMinimalProjection;
 import com.frederic.clienttra.repositories.CompanyRepository;
 import com.frederic.clienttra.repositories.ProviderRepository;
+import com.frederic.clienttra.utils.CompanyNameCursor;
+import com.frederic.clienttra.utils.KeysetPage;
+import com.frederic.clienttra.utils.SearchTerms;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -39,43 +43,57 @@ public class ProviderServiceImpl implements ProviderService {
     private final ProviderMapper providerMapper;
     private final CompanyMapper companyMapper;
     private final CompanyService companyService;
+    private final CompanyDetailService companyDetailService;
+    private final SearchIndex searchIndex;
 
     /**
-     * Retrieves all enabled providers for the current owner company,
-     * sorted by commercial name (case-insensitive).
+     * Retrieves all providers for the current owner company,
+     * sorted by commercial name by the database.
      *
-     * @return List of all enabled providers.
+     * @return List of all providers.
      */
     @Transactional(readOnly = true)
     @Override
     public List<ProviderForListDTO> getAllProviders() {
         Company owner = companyService.getCurrentCompanyOrThrow();
 
-        List<ProviderListProjection> entities = new ArrayList<>(providerRepository.findListByOwnerCompany(owner));
-        List<ProviderForListDTO> dtos = providerMapper.toProviderForListDTOS(entities);
-
-        // Sort providers by commercial name, nulls last, case-insensitive
-        dtos.sort(Comparator.comparing(ProviderForListDTO::getComName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
-
-        return dtos;
+        List<ProviderListProjection> entities = providerRepository.findListByOwnerCompany(owner);
+        return providerMapper.toProviderForListDTOS(entities);
     }
 
     /**
      * Retrieves providers filtered by enabled status for the current owner,
-     * sorted by commercial name (case-insensitive).
+     * sorted by commercial name by the database.
      *
      * @param enabled true to retrieve enabled providers, false for disabled.
      * @return List of filtered providers.
      */
+    @Transactional(readOnly = true)
     public List<ProviderForListDTO> getAllProvidersEnabled(boolean enabled) {
         Company owner = companyService.getCurrentCompanyOrThrow();
 
-        List<ProviderListProjection> entities = new ArrayList<>(providerRepository.findListByOwnerCompany(owner, enabled));
-        List<ProviderForListDTO> dtos = providerMapper.toProviderForListDTOS(entities);
+        List<ProviderListProjection> entities = providerRepository.findListByOwnerCompany(owner, enabled);
+        return providerMapper.toProviderForListDTOS(entities);
+    }
 
-        dtos.sort(Comparator.comparing(ProviderForListDTO::getComName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+    /**
+     * Retrieves one page of the providers of the current owner company, sorted by commercial name.
+     * Only the requested page is read from the database.
+     *
+     * @param enabled the enabled status to keep, or null for all providers.
+     * @param cursor  the {@code nextCursor} of the previous page, or null for the first page.
+     * @param limit   the page size (default 50, maximum 200).
+     * @return Page of providers with the cursor of the next one.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ProviderPageDTO getProvidersPage(Boolean enabled, String cursor, Integer limit) {
+        Company owner = companyService.getCurrentCompanyOrThrow();
+        int pageSize = KeysetPage.pageSize(limit);
 
-        return dtos;
+        List<ProviderListProjection> rows = providerRepository.findPageByOwnerCompany(
+                owner, enabled, CompanyNameCursor.decode(cursor), pageSize);
+        return providerMapper.toPageDto(rows, pageSize);
     }
 
     /**
@@ -91,8 +109,9 @@ public class ProviderServiceImpl implements ProviderService {
     public ProviderDetailsDTO getProviderByIdCompany(int id) {
         Company owner = companyService.getCurrentCompanyOrThrow();
 
-        Provider entity = providerRepository.findByOwnerCompanyAndCompany_IdCompany(owner, id)
+        Provider entity = providerRepository.findDetailByOwnerCompanyAndIdCompany(owner, id)
                 .orElseThrow(ProviderNotFoundException::new);
+        companyDetailService.loadDetailCollections(entity.getCompany());
 
         return providerMapper.toProviderDetailsDTO(entity);
     }
@@ -119,8 +138,30 @@ public class ProviderServiceImpl implements ProviderService {
     }
 
     /**
-     * Retrieves a minimal list of providers with only essential company information,
-     * for the current owner company.
+     * Returns the best matching enabled providers for a typeahead, searching the commercial name,
+     * legal name and VAT number. Names starting with the input come first.
+     *
+     * @param input the text typed so far
+     * @param limit the maximum number of results, {@link SearchTerms#DEFAULT_LIMIT} if null
+     * @return the matching providers, best match first
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<BaseCompanyMinimalDTO> typeahead(String input, Integer limit) {
+        Company owner = companyService.getCurrentCompanyOrThrow();
+        SearchTerms terms = SearchTerms.parse(input);
+        if (terms == null) {
+            return new ArrayList<>();
+        }
+
+        List<ProviderMinimalProjection> entities = providerRepository.findTypeahead(owner.getIdCompany(),
+                terms.booleanQuery(), terms.namePrefix(), SearchTerms.limit(limit));
+        return providerMapper.toMinimalDTOs(entities);
+    }
+
+    /**
+     * Retrieves a minimal list of enabled providers with only essential company information,
+     * for the current owner company, sorted by commercial name.
      *
      * @return List of minimal provider DTOs.
      */
@@ -130,10 +171,7 @@ public class ProviderServiceImpl implements ProviderService {
         Company owner = companyService.getCurrentCompanyOrThrow();
 
         List<ProviderMinimalProjection> entities = providerRepository.findMinimalListByOwnerCompany(owner);
-        List<BaseCompanyMinimalDTO>dtos = providerMapper.toMinimalDTOs(entities);
-        dtos.sort(Comparator.comparing(BaseCompanyMinimalDTO::getComName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
-
-        return dtos;
+        return providerMapper.toMinimalDTOs(entities);
     }
 
     /**
@@ -177,6 +215,7 @@ public class ProviderServiceImpl implements ProviderService {
         entity.setOwnerCompany(owner);
 
         Provider providerSaved = providerRepository.save(entity);
+        searchIndex.providerSaved(providerSaved);
 
         return providerMapper.toProviderForListDTO(providerSaved);
     }
@@ -212,6 +251,7 @@ public class ProviderServiceImpl implements ProviderService {
 
         companyRepository.save(company);
         providerRepository.save(entity);
+        searchIndex.providerSaved(entity);
     }
 
     /**
@@ -230,6 +270,7 @@ public class ProviderServiceImpl implements ProviderService {
 
         entity.setEnabled(false);
         providerRepository.save(entity);
+        searchIndex.providerSaved(entity);
     }
 
 }
@@ -2,17 +2,17 @@ package com.frederic.clienttra.services;
 
 import com.frederic.clienttra.dto.bases.BaseDocumentDTO;
 import com.frederic.clienttra.dto.read.DocumentDTO;
-import com.frederic.clienttra.dto.read.DocumentForListDTO;
+import com.frederic.clienttra.dto.read.DocumentPageDTO;
 import com.frederic.clienttra.entities.*;
 import com.frederic.clienttra.enums.DocumentStatus;
 import com.frederic.clienttra.enums.DocumentType;
 import com.frederic.clienttra.exceptions.*;
 import com.frederic.clienttra.mappers.DocumentMapper;
-import com.frederic.clienttra.projections.DocumentListProjection;
 import com.frederic.clienttra.repositories.*;
 import com.frederic.clienttra.utils.DocumentUtils;
+import com.frederic.clienttra.utils.KeysetPage;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,72 +38,28 @@ public class PurchaseOrderService implements DocumentService {
     private final ProviderRepository providerRepository;
     private final OrderRepository orderRepository;
     private final DocumentUtils documentUtils;
+    private final DocumentDetailService documentDetailService;
+    private final DocumentPageService documentPageService;
+    private final DocumentNumberService documentNumberService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Retrieves all documents of the specified type belonging to the current company.
+     * Retrieves one page of documents of the given type using keyset pagination.
      *
-     * @param type DocumentType to filter by.
-     * @return List of DocumentForListDTO.
+     * @param type      the document type
+     * @param idCompany optional company ID filter
+     * @param status    optional document status filter
+     * @param cursor    opaque cursor returned with the previous page, or null for the first page
+     * @param limit     requested page size; defaults to {@link KeysetPage#DEFAULT_PAGE_SIZE}
+     *                  and is capped at {@link KeysetPage#MAX_PAGE_SIZE}
+     * @return the page of document DTOs and the cursor of the next page
+     * @throws InvalidCursorException if the cursor is malformed
      */
     @Transactional(readOnly = true)
     @Override
-    public List<DocumentForListDTO> getAllDocumentsByType(DocumentType type) {
+    public DocumentPageDTO getDocumentsPage(DocumentType type, Integer idCompany, DocumentStatus status, String cursor, Integer limit) {
         Company owner = companyService.getCurrentCompanyOrThrow();
-
-        List<DocumentListProjection> entities = documentRepository.findListByDocTypeAndOwnerCompany(type, owner);
-        return documentMapper.toListDtosFromProjection(entities);
-    }
-
-    /**
-     * Retrieves all documents of the specified type and company ID,
-     * belonging to the current owner company.
-     *
-     * @param type      DocumentType filter.
-     * @param idCompany Company ID filter.
-     * @return List of DocumentForListDTO.
-     */
-    @Transactional(readOnly = true)
-    @Override
-    public List<DocumentForListDTO> getDocumentsByCompanyId(DocumentType type, Integer idCompany) {
-        Company owner = companyService.getCurrentCompanyOrThrow();
-
-        List<DocumentListProjection> entities = documentRepository.findListByDocTypeIdCompanyAndOwnerCompany(type, idCompany, owner);
-        return documentMapper.toListDtosFromProjection(entities);
-    }
-
-    /**
-     * Retrieves all documents of the specified type and status
-     * belonging to the current owner company.
-     *
-     * @param type   DocumentType filter.
-     * @param status DocumentStatus filter.
-     * @return List of DocumentForListDTO.
-     */
-    @Transactional(readOnly = true)
-    @Override
-    public List<DocumentForListDTO> getDocumentsByStatus(DocumentType type, DocumentStatus status) {
-        Company owner = companyService.getCurrentCompanyOrThrow();
-
-        List<DocumentListProjection> entities = documentRepository.findListByDocTypeStatusAndOwnerCompany(type, status, owner);
-        return documentMapper.toListDtosFromProjection(entities);
-    }
-
-    /**
-     * Retrieves all documents of specified type, company ID, and status
-     * belonging to the current owner company.
-     *
-     * @param type      DocumentType filter.
-     * @param idCompany Company ID filter.
-     * @param status    DocumentStatus filter.
-     * @return List of DocumentForListDTO.
-     */
-    @Transactional(readOnly = true)
-    @Override
-    public List<DocumentForListDTO> getDocumentsByIdCompanyAndStatus(DocumentType type, Integer idCompany, DocumentStatus status) {
-        Company owner = companyService.getCurrentCompanyOrThrow();
-
-        List<DocumentListProjection> entities = documentRepository.findListByDocTypeIdCompanyStatusAndOwnerCompany(type, idCompany, status, owner);
-        return documentMapper.toListDtosFromProjection(entities);
+        return documentPageService.getDocumentsPage(owner, type, idCompany, status, cursor, limit);
     }
 
     /**
@@ -118,11 +74,7 @@ public class PurchaseOrderService implements DocumentService {
     @Override
     public DocumentDTO getDocumentById(DocumentType type, Integer id) {
         Company owner = companyService.getCurrentCompanyOrThrow();
-
-        Document entity = documentRepository.findByOwnerCompanyAndIdDocumentAndDocType(owner, id, type)
-                .orElseThrow(DocumentNotFoundException::new);
-
-        return documentMapper.toDto(entity);
+        return documentDetailService.getDocumentDetail(owner, type, id);
     }
 
     /**
@@ -136,25 +88,11 @@ public class PurchaseOrderService implements DocumentService {
     @Transactional(readOnly = true)
     public String getLastDocumentNumber(DocumentType type) {
         Company owner = companyService.getCurrentCompanyOrThrow();
-        String yearPrefix = Year.now().toString() + "-";
-        String lastNumber;
-
-        lastNumber = documentRepository
-                .findDocNumbersByOwnerCompanyAndDocTypeAndDocNumberStartingWith(owner, type, yearPrefix, PageRequest.of(0, 1))
-                .stream()
-                .findFirst()
-                .orElse(null);
-
-        if(lastNumber == null){
-            yearPrefix = (Year.now().minusYears(1)).toString() + "-";
-            lastNumber = documentRepository
-                    .findDocNumbersByOwnerCompanyAndDocTypeAndDocNumberStartingWith(owner, type, yearPrefix, PageRequest.of(0, 1))
-                    .stream()
-                    .findFirst()
-                    .orElse("N/A");
-        }
+        int year = Year.now().getValue();
 
-        return lastNumber;
+        return documentNumberService.findLastNumber(owner, type, year)
+                .or(() -> documentNumberService.findLastNumber(owner, type, year - 1))
+                .orElse("N/A");
     }
 
     /**
@@ -228,12 +166,14 @@ public class PurchaseOrderService implements DocumentService {
         entity.setCurrency(currency);
         entity.setDeadline(deadline);
         entity.setDocType(type);
+        entity.setDocNumber(documentNumberService.assignNumber(owner, type, entity.getDocDate(), entity.getDocNumber()));
 
         // Calculate document totals (net, VAT, total, etc.)
         documentUtils.calculateTotals(entity);
 
         // Save and return the created document
         Document newEntity = documentRepository.save(entity);
+        eventPublisher.publishEvent(DataChangedEvent.documentSaved(owner, newEntity));
 
         return documentMapper.toDto(newEntity);
     }
@@ -306,6 +246,7 @@ public class PurchaseOrderService implements DocumentService {
         documentMapper.updateEntity(entity, dto, entity.getChangeRate(), entity.getBankAccount(), null, entity.getOrders());
 
         Document newEntity = documentRepository.save(entity);
+        eventPublisher.publishEvent(DataChangedEvent.documentSaved(owner, newEntity));
 
         return documentMapper.toDto(newEntity);
     }
@@ -327,6 +268,7 @@ public class PurchaseOrderService implements DocumentService {
         entity.setStatus(DocumentStatus.DELETED);
 
         documentRepository.save(entity);
+        eventPublisher.publishEvent(DataChangedEvent.documentSaved(owner, entity));
     }
 
     /**
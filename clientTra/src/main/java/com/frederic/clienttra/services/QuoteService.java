@@ -4,7 +4,7 @@ import com.frederic.clienttra.dto.bases.BaseDocumentDTO;
 import com.frederic.clienttra.dto.read.BankAccountDTO;
 import com.frederic.clienttra.dto.read.ChangeRateDTO;
 import com.frederic.clienttra.dto.read.DocumentDTO;
-import com.frederic.clienttra.dto.read.DocumentForListDTO;
+import com.frederic.clienttra.dto.read.DocumentPageDTO;
 import com.frederic.clienttra.entities.*;
 import com.frederic.clienttra.enums.DocumentStatus;
 import com.frederic.clienttra.enums.DocumentType;
@@ -12,14 +12,14 @@ import com.frederic.clienttra.exceptions.*;
 import com.frederic.clienttra.mappers.BankAccountMapper;
 import com.frederic.clienttra.mappers.ChangeRateMapper;
 import com.frederic.clienttra.mappers.DocumentMapper;
-import com.frederic.clienttra.projections.DocumentListProjection;
 import com.frederic.clienttra.repositories.CompanyRepository;
 import com.frederic.clienttra.repositories.CustomerRepository;
 import com.frederic.clienttra.repositories.DocumentRepository;
 import com.frederic.clienttra.repositories.OrderRepository;
 import com.frederic.clienttra.utils.DocumentUtils;
+import com.frederic.clienttra.utils.KeysetPage;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -47,68 +47,28 @@ public class QuoteService implements DocumentService {
     private final CustomerRepository customerRepository;
     private final OrderRepository orderRepository;
     private final DocumentUtils documentUtils;
+    private final DocumentDetailService documentDetailService;
+    private final DocumentPageService documentPageService;
+    private final DocumentNumberService documentNumberService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Retrieves all documents of a given type belonging to the current company.
+     * Retrieves one page of documents of the given type using keyset pagination.
      *
-     * @param type DocumentType to filter by.
-     * @return List of DocumentForListDTO.
+     * @param type      the document type
+     * @param idCompany optional company ID filter
+     * @param status    optional document status filter
+     * @param cursor    opaque cursor returned with the previous page, or null for the first page
+     * @param limit     requested page size; defaults to {@link KeysetPage#DEFAULT_PAGE_SIZE}
+     *                  and is capped at {@link KeysetPage#MAX_PAGE_SIZE}
+     * @return the page of document DTOs and the cursor of the next page
+     * @throws InvalidCursorException if the cursor is malformed
      */
     @Transactional(readOnly = true)
     @Override
-    public List<DocumentForListDTO> getAllDocumentsByType(DocumentType type) {
+    public DocumentPageDTO getDocumentsPage(DocumentType type, Integer idCompany, DocumentStatus status, String cursor, Integer limit) {
         Company owner = companyService.getCurrentCompanyOrThrow();
-        List<DocumentListProjection> entities = documentRepository.findListByDocTypeAndOwnerCompany(type, owner);
-        return documentMapper.toListDtosFromProjection(entities);
-    }
-
-    /**
-     * Retrieves all documents of a given type for a specific company ID,
-     * filtered by the current owner company.
-     *
-     * @param type      DocumentType filter.
-     * @param idCompany Company ID filter.
-     * @return List of DocumentForListDTO.
-     */
-    @Transactional(readOnly = true)
-    @Override
-    public List<DocumentForListDTO> getDocumentsByCompanyId(DocumentType type, Integer idCompany) {
-        Company owner = companyService.getCurrentCompanyOrThrow();
-        List<DocumentListProjection> entities = documentRepository.findListByDocTypeIdCompanyAndOwnerCompany(type, idCompany, owner);
-        return documentMapper.toListDtosFromProjection(entities);
-    }
-
-    /**
-     * Retrieves all documents of a given type and status,
-     * filtered by the current owner company.
-     *
-     * @param type   DocumentType filter.
-     * @param status DocumentStatus filter.
-     * @return List of DocumentForListDTO.
-     */
-    @Transactional(readOnly = true)
-    @Override
-    public List<DocumentForListDTO> getDocumentsByStatus(DocumentType type, DocumentStatus status) {
-        Company owner = companyService.getCurrentCompanyOrThrow();
-        List<DocumentListProjection> entities = documentRepository.findListByDocTypeStatusAndOwnerCompany(type, status, owner);
-        return documentMapper.toListDtosFromProjection(entities);
-    }
-
-    /**
-     * Retrieves all documents filtered by type, company ID, and status,
-     * within the current owner company.
-     *
-     * @param type      DocumentType filter.
-     * @param idCompany Company ID filter.
-     * @param status    DocumentStatus filter.
-     * @return List of DocumentForListDTO.
-     */
-    @Transactional(readOnly = true)
-    @Override
-    public List<DocumentForListDTO> getDocumentsByIdCompanyAndStatus(DocumentType type, Integer idCompany, DocumentStatus status) {
-        Company owner = companyService.getCurrentCompanyOrThrow();
-        List<DocumentListProjection> entities = documentRepository.findListByDocTypeIdCompanyStatusAndOwnerCompany(type, idCompany, status, owner);
-        return documentMapper.toListDtosFromProjection(entities);
+        return documentPageService.getDocumentsPage(owner, type, idCompany, status, cursor, limit);
     }
 
     /**
@@ -123,9 +83,7 @@ public class QuoteService implements DocumentService {
     @Override
     public DocumentDTO getDocumentById(DocumentType type, Integer id) {
         Company owner = companyService.getCurrentCompanyOrThrow();
-        Document entity = documentRepository.findByOwnerCompanyAndIdDocumentAndDocType(owner, id, type)
-                .orElseThrow(DocumentNotFoundException::new);
-        return documentMapper.toDto(entity);
+        return documentDetailService.getDocumentDetail(owner, type, id);
     }
 
     /**
@@ -138,25 +96,11 @@ public class QuoteService implements DocumentService {
     @Transactional(readOnly = true)
     public String getLastDocumentNumber(DocumentType type) {
         Company owner = companyService.getCurrentCompanyOrThrow();
-        String yearPrefix = "Q"+Year.now().toString() + "-";
-        String lastNumber;
-
-        lastNumber = documentRepository
-                .findDocNumbersByOwnerCompanyAndDocTypeAndDocNumberStartingWith(owner, type, yearPrefix, PageRequest.of(0, 1))
-                .stream()
-                .findFirst()
-                .orElse(null);
-
-        if(lastNumber == null){
-            yearPrefix = "Q"+(Year.now().minusYears(1)).toString() + "-";
-            lastNumber = documentRepository
-                    .findDocNumbersByOwnerCompanyAndDocTypeAndDocNumberStartingWith(owner, type, yearPrefix, PageRequest.of(0, 1))
-                    .stream()
-                    .findFirst()
-                    .orElse("N/A");
-        }
+        int year = Year.now().getValue();
 
-        return lastNumber;
+        return documentNumberService.findLastNumber(owner, type, year)
+                .or(() -> documentNumberService.findLastNumber(owner, type, year - 1))
+                .orElse("N/A");
     }
 
     /**
@@ -230,12 +174,14 @@ public class QuoteService implements DocumentService {
         entity.setCurrency(currency);
         entity.setDeadline(deadline);
         entity.setDocType(type);
+        entity.setDocNumber(documentNumberService.assignNumber(owner, type, entity.getDocDate(), entity.getDocNumber()));
 
         // Calculate totals (net, VAT, total amounts)
         documentUtils.calculateTotals(entity);
 
         // Persist and return the created document DTO
         Document newEntity = documentRepository.save(entity);
+        eventPublisher.publishEvent(DataChangedEvent.documentSaved(owner, newEntity));
         return documentMapper.toDto(newEntity);
     }
 
@@ -298,6 +244,7 @@ public class QuoteService implements DocumentService {
         documentMapper.updateEntity(entity, dto, entity.getChangeRate(), entity.getBankAccount(), null, entity.getOrders());
 
         Document newEntity = documentRepository.save(entity);
+        eventPublisher.publishEvent(DataChangedEvent.documentSaved(owner, newEntity));
         return documentMapper.toDto(newEntity);
     }
 
@@ -317,6 +264,7 @@ public class QuoteService implements DocumentService {
 
         entity.setStatus(DocumentStatus.DELETED);
         documentRepository.save(entity);
+        eventPublisher.publishEvent(DataChangedEvent.documentSaved(owner, entity));
     }
 
     /**
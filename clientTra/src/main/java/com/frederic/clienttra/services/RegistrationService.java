@@ -6,10 +6,9 @@ import com.frederic.clienttra.entities.*;
 import com.frederic.clienttra.exceptions.CompanyAlreadyExistsException;
 import com.frederic.clienttra.mappers.AddressMapper;
 import com.frederic.clienttra.repositories.*;
+import com.frederic.clienttra.security.CustomUserDetailsService;
+import com.frederic.clienttra.security.UserSecurityVersionCache;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -32,7 +31,9 @@ public class RegistrationService {
     private final RoleRepository roleRepository;
     private final PlanRepository planRepository;
     private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
+    private final CustomUserDetailsService userDetailsService;
+    private final UserSecurityVersionCache securityVersionCache;
+    private final TenantPurgeService tenantPurgeService;
 
     /**
      * Registers a new company and its administrator user.
@@ -43,7 +44,7 @@ public class RegistrationService {
      *   <li>Creates a new Company entity with addresses and default currency exchange rate</li>
      *   <li>Assigns the default FREEMIUM plan and ADMIN role to the new user</li>
      *   <li>Encrypts the admin password and saves the user linked to the new company</li>
-     *   <li>Authenticates the new user automatically to log them in</li>
+     *   <li>Authenticates the new user automatically to log them in, without hashing the password again</li>
      * </ul>
      * </p>
      *
@@ -111,10 +112,7 @@ public class RegistrationService {
         userRepository.save(adminUser);
 
         // Log in the new user programmatically after registration
-        UsernamePasswordAuthenticationToken authToken =
-                new UsernamePasswordAuthenticationToken(dto.getAdminUsername(), dto.getAdminPassword());
-        Authentication authentication = authenticationManager.authenticate(authToken);
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+        SecurityContextHolder.getContext().setAuthentication(userDetailsService.authenticationFor(adminUser));
     }
 
     /**
@@ -126,7 +124,7 @@ public class RegistrationService {
      *   <li>Checks if a company with the VAT number already exists (only root companies, no owner)</li>
      *   <li>Creates a new Company entity with addresses and default currency exchange rate</li>
      *   <li>Assigns the current logged-in user to the new company</li>
-     *   <li>Deletes the demo company from the database</li>
+     *   <li>Deletes the demo company and all its data from the database, without loading it</li>
      * </ul>
      * </p>
      *
@@ -169,10 +167,12 @@ public class RegistrationService {
         Company newCompany=companyRepository.save(company);
 
         user.setCompany(newCompany);
+        // Tokens still pointing at the demo company must no longer be accepted
+        user.bumpSecurityVersion();
 
         userRepository.save(user);
+        securityVersionCache.evict(user.getIdUser());
 
-        companyRepository.delete(demoCompany);
-
+        tenantPurgeService.purgeCompany(demoCompany);
     }
 }
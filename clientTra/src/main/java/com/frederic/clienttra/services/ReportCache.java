@@ -0,0 +1,163 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.read.ReportCacheStatsDTO;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.enums.DocumentType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, time-limited cache of report results, scoped by owner company and document type.
+ * <p>
+ * Every (owner company, document type) scope has a version that is bumped when a
+ * {@link DataChangedEvent} affecting that scope is committed; an entry is only served while the
+ * version it was computed under is still current, so invalidation never touches other tenants,
+ * and a report computed while the version changed is not kept. Entries also expire after a TTL,
+ * which bounds how long changes made by another instance can go unnoticed.
+ * </p>
+ */
+@Component
+public class ReportCache {
+
+    private final long ttlMs;
+    private final Map<Key, Entry> entries;
+    private final Map<Scope, AtomicLong> versions = new ConcurrentHashMap<>();
+    // A lock rather than synchronized, so that virtual threads waiting here are not pinned
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ReportCache(@Value("${clienttra.report-cache.max-size:1000}") int maxSize,
+                       @Value("${clienttra.report-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.ttlMs = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result of a report, computing and caching it on a miss.
+     * A result computed while its scope was invalidated is returned but not cached.
+     *
+     * @param report     the report name
+     * @param owner      the owner company
+     * @param type       the document type the report is built from
+     * @param from       the first date of the report range, or null
+     * @param to         the last date of the report range, or null
+     * @param withOrders whether pending orders are included, or null
+     * @param loader     computes the report on a miss
+     * @param <T>        the report type
+     * @return the report
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String report, Company owner, DocumentType type, LocalDate from, LocalDate to,
+                     Boolean withOrders, Supplier<T> loader) {
+        Scope scope = new Scope(owner.getIdCompany(), type);
+        Key key = new Key(report, scope, from, to, withOrders);
+        long version = versionOf(scope).get();
+        long now = System.currentTimeMillis();
+
+        lock.lock();
+        try {
+            Entry cached = entries.get(key);
+            if (cached != null) {
+                if (cached.version() == version && cached.expiresAt() > now) {
+                    hits.increment();
+                    return (T) cached.value();
+                }
+                entries.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        T value = loader.get();
+
+        lock.lock();
+        try {
+            if (versionOf(scope).get() == version) {
+                entries.put(key, new Entry(value, version, now + ttlMs));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return value;
+    }
+
+    /**
+     * Invalidates the cached reports affected by a change, once its transaction has committed
+     * (or right away when it was published outside a transaction).
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        event.reportTypes().forEach(type -> invalidate(event.owner(), type));
+    }
+
+    /**
+     * Invalidates every cached report of an owner company built from the given document type.
+     *
+     * @param owner the owner company
+     * @param type  the document type that was written
+     */
+    void invalidate(Company owner, DocumentType type) {
+        invalidations.increment();
+        bump(new Scope(owner.getIdCompany(), type));
+    }
+
+    /**
+     * Returns the hit, miss and invalidation counters since startup and the current size.
+     *
+     * @return the cache statistics
+     */
+    public ReportCacheStatsDTO getStats() {
+        int size;
+        lock.lock();
+        try {
+            size = entries.size();
+        } finally {
+            lock.unlock();
+        }
+        return ReportCacheStatsDTO.builder()
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .invalidations(invalidations.sum())
+                .size(size)
+                .build();
+    }
+
+    private void bump(Scope scope) {
+        versionOf(scope).incrementAndGet();
+    }
+
+    private AtomicLong versionOf(Scope scope) {
+        return versions.computeIfAbsent(scope, s -> new AtomicLong());
+    }
+
+    private record Scope(Integer idOwnerCompany, DocumentType type) {
+    }
+
+    private record Key(String report, Scope scope, LocalDate from, LocalDate to, Boolean withOrders) {
+    }
+
+    private record Entry(Object value, long version, long expiresAt) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.enums.JobType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs {@link JobType#ROLLUP_REBUILD} jobs with the {@link CashFlowRollupService}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RollupRebuildJobHandler implements JobHandler {
+
+    private final CashFlowRollupService cashFlowRollupService;
+
+    @Override
+    public JobType getType() {
+        return JobType.ROLLUP_REBUILD;
+    }
+
+    @Override
+    public Object run(Company owner, JobContext context) {
+        return cashFlowRollupService.rebuild(owner);
+    }
+}
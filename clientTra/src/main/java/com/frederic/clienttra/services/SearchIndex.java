@@ -0,0 +1,478 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.read.SearchResultDTO;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.entities.Customer;
+import com.frederic.clienttra.entities.Document;
+import com.frederic.clienttra.entities.Order;
+import com.frederic.clienttra.entities.Provider;
+import com.frederic.clienttra.enums.DocumentStatus;
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.enums.SearchResultType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index of the searchable records of each owner company: counterparty names
+ * and VAT numbers, document numbers and order descriptions.
+ * <p>
+ * A company's index is built on its first search, from a loader supplied by the caller, and kept
+ * up to date by the customer and provider write paths, which report every saved record, and by the
+ * {@link DataChangedEvent} published for documents and orders. Changes are applied when the
+ * writing transaction commits, so rolled back writes never show up. Like the
+ * {@link ReportCache}, every company has a version that is bumped on each write; an index built
+ * while a write was in progress is used for that search but not kept. Indexes also expire after
+ * a TTL, which bounds how long changes made by another instance can go unnoticed, and the least
+ * recently used ones are dropped beyond {@code clienttra.search-index.max-tenants}.
+ * </p>
+ * <p>
+ * Text is folded to lower case without accents and split into words on every character that is
+ * neither a letter nor a digit. A record matches when every word of the query is the prefix of
+ * one of its words.
+ * </p>
+ */
+@Component
+public class SearchIndex {
+
+    static final int MAX_QUERY_WORDS = 8;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final long ttlMs;
+    private final Map<Integer, TenantIndex> indexes;
+    private final Map<Integer, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<Integer, ReentrantLock> buildLocks = new ConcurrentHashMap<>();
+    // A lock rather than synchronized, so that virtual threads waiting here are not pinned
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public SearchIndex(@Value("${clienttra.search-index.max-tenants:500}") int maxTenants,
+                       @Value("${clienttra.search-index.ttl-seconds:600}") long ttlSeconds) {
+        this.ttlMs = ttlSeconds * 1000;
+        this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, TenantIndex> eldest) {
+                return size() > maxTenants;
+            }
+        };
+    }
+
+    /**
+     * Searches the records of an owner company, building its index on a miss.
+     * Results are ranked: records whose label starts with the query first, then whole-word
+     * matches before prefix matches, and disabled counterparties lower than everything else;
+     * ties go to counterparties, then documents, then orders, then the shortest label.
+     *
+     * @param owner  the owner company
+     * @param query  the text typed by the user
+     * @param limit  the maximum number of results
+     * @param loader loads every searchable record of the owner company on a miss
+     * @return the best matching records, best first
+     */
+    public List<SearchResultDTO> search(Company owner, String query, int limit, Supplier<List<Entry>> loader) {
+        List<String> words = words(query);
+        if (words.isEmpty() || limit < 1) {
+            return new ArrayList<>();
+        }
+        if (words.size() > MAX_QUERY_WORDS) {
+            words = words.subList(0, MAX_QUERY_WORDS);
+        }
+        return indexOf(owner.getIdCompany(), loader).search(words, limit);
+    }
+
+    /**
+     * Records a created or updated customer.
+     *
+     * @param customer the saved customer, with its company
+     */
+    public void customerSaved(Customer customer) {
+        Company company = customer.getCompany();
+        put(customer.getOwnerCompany(), counterparty(SearchResultType.CUSTOMER, company.getIdCompany(),
+                company.getComName(), company.getLegalName(), company.getVatNumber(),
+                !Boolean.FALSE.equals(customer.getEnabled())));
+    }
+
+    /**
+     * Records a created or updated provider.
+     *
+     * @param provider the saved provider, with its company
+     */
+    public void providerSaved(Provider provider) {
+        Company company = provider.getCompany();
+        put(provider.getOwnerCompany(), counterparty(SearchResultType.PROVIDER, company.getIdCompany(),
+                company.getComName(), company.getLegalName(), company.getVatNumber(),
+                !Boolean.FALSE.equals(provider.getEnabled())));
+    }
+
+    /**
+     * Applies the documents and orders saved or deleted by a change, once its transaction has
+     * committed (or right away when it was published outside a transaction). Documents that are
+     * modified or deleted are removed from the index, as they are from the document lists. After
+     * a bulk rewrite the index of the company is dropped instead.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        Integer idOwner = event.owner().getIdCompany();
+        if (event.purged()) {
+            bump(idOwner);
+            lock.lock();
+            try {
+                indexes.remove(idOwner);
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        List<Entry> saved = new ArrayList<>();
+        List<EntryKey> removed = new ArrayList<>();
+        for (Document document : event.savedDocuments()) {
+            if (document.getStatus() == DocumentStatus.MODIFIED || document.getStatus() == DocumentStatus.DELETED) {
+                removed.add(new EntryKey(SearchResultType.DOCUMENT, document.getIdDocument()));
+            } else {
+                saved.add(document(document.getIdDocument(), document.getDocNumber(), document.getDocType(),
+                        document.getCompany().getIdCompany()));
+            }
+        }
+        for (Order order : event.savedOrders()) {
+            saved.add(order(order.getIdOrder(), order.getDescrip(), order.getCompany().getIdCompany()));
+        }
+        for (Order order : event.deletedOrders()) {
+            removed.add(new EntryKey(SearchResultType.ORDER, order.getIdOrder()));
+        }
+        apply(idOwner, index -> {
+            saved.forEach(index::put);
+            removed.forEach(index::remove);
+        });
+    }
+
+    /**
+     * Builds the entry of a customer or provider, found by commercial name, legal name or VAT number.
+     */
+    public static Entry counterparty(SearchResultType type, Integer idCompany, String comName, String legalName,
+                                     String vatNumber, boolean enabled) {
+        return new Entry(type, idCompany, null, comName, vatNumber, idCompany, enabled,
+                Arrays.asList(comName, legalName, vatNumber, compact(vatNumber)));
+    }
+
+    /**
+     * Builds the entry of a document, found by document number.
+     */
+    public static Entry document(Integer idDocument, String docNumber, DocumentType docType, Integer idCompany) {
+        return new Entry(SearchResultType.DOCUMENT, idDocument, docType, docNumber, null, idCompany, true,
+                Arrays.asList(docNumber, compact(docNumber)));
+    }
+
+    /**
+     * Builds the entry of an order, found by description.
+     */
+    public static Entry order(Integer idOrder, String descrip, Integer idCompany) {
+        return new Entry(SearchResultType.ORDER, idOrder, null, descrip, null, idCompany, true,
+                Collections.singletonList(descrip));
+    }
+
+    /**
+     * Splits a text into lower-case words without accents.
+     *
+     * @param text the text, may be null
+     * @return the words, in order
+     */
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return new ArrayList<>();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String word : SEPARATORS.split(folded)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Codes such as VAT and document numbers are also indexed without their separators,
+     * so that "F2024-0012" is found by "f20240012" as well as by "f2024 0012".
+     */
+    private static String compact(String code) {
+        return code == null ? null : SEPARATORS.matcher(code).replaceAll("");
+    }
+
+    private void put(Company owner, Entry entry) {
+        update(owner, index -> index.put(entry));
+    }
+
+    /**
+     * Applies a change to the index of an owner company when the current transaction commits,
+     * or right away outside a transaction. Nothing is applied if the index is not built yet:
+     * it will be loaded from the database, changes included.
+     */
+    private void update(Company owner, Consumer<TenantIndex> change) {
+        Integer idOwner = owner.getIdCompany();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Bumped now as well, so that an index being built during the transaction is not kept
+            bump(idOwner);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(idOwner, change);
+                }
+            });
+        } else {
+            apply(idOwner, change);
+        }
+    }
+
+    /**
+     * Applies a change to the index of an owner company right away.
+     */
+    private void apply(Integer idOwner, Consumer<TenantIndex> change) {
+        bump(idOwner);
+        TenantIndex index;
+        lock.lock();
+        try {
+            index = indexes.get(idOwner);
+        } finally {
+            lock.unlock();
+        }
+        if (index != null) {
+            index.apply(change);
+        }
+    }
+
+    private TenantIndex indexOf(Integer idOwner, Supplier<List<Entry>> loader) {
+        TenantIndex index = current(idOwner);
+        if (index != null) {
+            return index;
+        }
+        // Concurrent first searches of the same company wait for a single build
+        ReentrantLock buildLock = buildLocks.computeIfAbsent(idOwner, id -> new ReentrantLock());
+        buildLock.lock();
+        try {
+            index = current(idOwner);
+            if (index != null) {
+                return index;
+            }
+            long version = versionOf(idOwner).get();
+            index = new TenantIndex(System.currentTimeMillis() + ttlMs);
+            loader.get().forEach(index::put);
+
+            lock.lock();
+            try {
+                if (versionOf(idOwner).get() == version) {
+                    indexes.put(idOwner, index);
+                }
+            } finally {
+                lock.unlock();
+            }
+            return index;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private TenantIndex current(Integer idOwner) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            TenantIndex index = indexes.get(idOwner);
+            if (index != null && index.expiresAt <= now) {
+                indexes.remove(idOwner);
+                return null;
+            }
+            return index;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void bump(Integer idOwner) {
+        versionOf(idOwner).incrementAndGet();
+    }
+
+    private AtomicLong versionOf(Integer idOwner) {
+        return versions.computeIfAbsent(idOwner, id -> new AtomicLong());
+    }
+
+    /**
+     * A searchable record.
+     *
+     * @param type         the kind of record
+     * @param id           the ID used by the detail endpoint of the type
+     * @param documentType the type of a document, null for other records
+     * @param label        the text shown for the record
+     * @param detail       the VAT number of a counterparty, null for other records
+     * @param idCompany    the counterparty, or the counterparty of the document or order
+     * @param enabled      false for disabled counterparties
+     * @param texts        the texts the record is found by, null elements allowed
+     */
+    public record Entry(SearchResultType type, Integer id, DocumentType documentType, String label, String detail,
+                        Integer idCompany, boolean enabled, List<String> texts) {
+    }
+
+    private record EntryKey(SearchResultType type, Integer id) {
+    }
+
+    private record Indexed(Entry entry, String foldedLabel, String[] words) {
+    }
+
+    private record Hit(Indexed indexed, int score) {
+    }
+
+    private static final Comparator<Hit> RANKING = Comparator
+            .comparingInt(Hit::score).reversed()
+            .thenComparing(hit -> hit.indexed().entry().type())
+            .thenComparingInt(hit -> hit.indexed().foldedLabel().length())
+            .thenComparing(hit -> hit.indexed().foldedLabel())
+            .thenComparing(hit -> hit.indexed().entry().id(), Comparator.reverseOrder());
+
+    /**
+     * The index of one owner company: the records by key, and the keys of the records by word,
+     * sorted so that every word starting with a prefix is a contiguous range.
+     */
+    private static final class TenantIndex {
+
+        private final long expiresAt;
+        private final Map<EntryKey, Indexed> entries = new HashMap<>();
+        private final NavigableMap<String, Set<EntryKey>> postings = new TreeMap<>();
+        private final Map<Integer, String> companyNames = new HashMap<>();
+        private final ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
+
+        TenantIndex(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        void apply(Consumer<TenantIndex> change) {
+            rwLock.writeLock().lock();
+            try {
+                change.accept(this);
+            } finally {
+                rwLock.writeLock().unlock();
+            }
+        }
+
+        void put(Entry entry) {
+            EntryKey key = new EntryKey(entry.type(), entry.id());
+            remove(key);
+            Set<String> words = new LinkedHashSet<>();
+            for (String text : entry.texts()) {
+                words.addAll(words(text));
+            }
+            for (String word : words) {
+                postings.computeIfAbsent(word, w -> new HashSet<>()).add(key);
+            }
+            entries.put(key, new Indexed(entry, String.join(" ", words(entry.label())), words.toArray(String[]::new)));
+            if (entry.type() == SearchResultType.CUSTOMER || entry.type() == SearchResultType.PROVIDER) {
+                companyNames.put(entry.id(), entry.label());
+            }
+        }
+
+        void remove(EntryKey key) {
+            Indexed old = entries.remove(key);
+            if (old == null) {
+                return;
+            }
+            for (String word : old.words()) {
+                Set<EntryKey> keys = postings.get(word);
+                if (keys != null) {
+                    keys.remove(key);
+                    if (keys.isEmpty()) {
+                        postings.remove(word);
+                    }
+                }
+            }
+        }
+
+        List<SearchResultDTO> search(List<String> words, int limit) {
+            // The longest word is usually the most selective; the others are checked per candidate
+            String first = words.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+            String phrase = String.join(" ", words);
+
+            rwLock.readLock().lock();
+            try {
+                Set<EntryKey> candidates = new HashSet<>();
+                for (Set<EntryKey> keys : postings.subMap(first, true, first + Character.MAX_VALUE, false).values()) {
+                    candidates.addAll(keys);
+                }
+
+                // Keeps the best hits, worst on top
+                PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+                for (EntryKey key : candidates) {
+                    Indexed indexed = entries.get(key);
+                    int score = score(indexed, words, phrase);
+                    if (score < 0) {
+                        continue;
+                    }
+                    best.add(new Hit(indexed, score));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+
+                List<Hit> hits = new ArrayList<>(best);
+                hits.sort(RANKING);
+                List<SearchResultDTO> results = new ArrayList<>(hits.size());
+                for (Hit hit : hits) {
+                    results.add(toDto(hit.indexed().entry()));
+                }
+                return results;
+            } finally {
+                rwLock.readLock().unlock();
+            }
+        }
+
+        /**
+         * @return the score of a record, or -1 if a word of the query is not the prefix of any of its words
+         */
+        private static int score(Indexed indexed, List<String> words, String phrase) {
+            int score = indexed.foldedLabel().startsWith(phrase) ? 100 : 0;
+            for (String word : words) {
+                int wordScore = -1;
+                for (String candidate : indexed.words()) {
+                    if (candidate.equals(word)) {
+                        wordScore = 10;
+                        break;
+                    }
+                    if (candidate.startsWith(word)) {
+                        wordScore = 5;
+                    }
+                }
+                if (wordScore < 0) {
+                    return -1;
+                }
+                score += wordScore;
+            }
+            return indexed.entry().enabled() ? score + 50 : score;
+        }
+
+        private SearchResultDTO toDto(Entry entry) {
+            String detail = entry.detail() != null ? entry.detail() : companyNames.get(entry.idCompany());
+            return SearchResultDTO.builder()
+                    .type(entry.type())
+                    .id(entry.id())
+                    .documentType(entry.documentType())
+                    .label(entry.label())
+                    .detail(detail)
+                    .idCompany(entry.idCompany())
+                    .enabled(entry.enabled())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.read.SearchResultDTO;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.enums.SearchResultType;
+import com.frederic.clienttra.projections.CounterpartySearchProjection;
+import com.frederic.clienttra.projections.DocumentSearchProjection;
+import com.frederic.clienttra.projections.OrderSearchProjection;
+import com.frederic.clienttra.repositories.CustomerRepository;
+import com.frederic.clienttra.repositories.DocumentRepository;
+import com.frederic.clienttra.repositories.OrderRepository;
+import com.frederic.clienttra.repositories.ProviderRepository;
+import com.frederic.clienttra.utils.SearchTerms;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for the unified search over the customers, providers, documents and orders
+ * of the current company, answered from the {@link SearchIndex}.
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private final CompanyService companyService;
+    private final SearchIndex searchIndex;
+    private final CustomerRepository customerRepository;
+    private final ProviderRepository providerRepository;
+    private final DocumentRepository documentRepository;
+    private final OrderRepository orderRepository;
+
+    /**
+     * Searches the customers and providers by name or VAT number, the documents by number and
+     * the orders by description.
+     * <p>
+     * Not transactional: once the index of the company is built, a search reads no database row.
+     * </p>
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of results, {@link SearchTerms#DEFAULT_LIMIT} if null
+     * @return the best matching records, best first
+     */
+    public List<SearchResultDTO> search(String query, Integer limit) {
+        Company owner = companyService.getCurrentCompanyOrThrow();
+        return searchIndex.search(owner, query, SearchTerms.limit(limit), () -> load(owner));
+    }
+
+    private List<SearchIndex.Entry> load(Company owner) {
+        List<SearchIndex.Entry> entries = new ArrayList<>();
+        for (CounterpartySearchProjection p : customerRepository.findSearchEntriesByOwnerCompany(owner)) {
+            entries.add(SearchIndex.counterparty(SearchResultType.CUSTOMER, p.getIdCompany(), p.getComName(),
+                    p.getLegalName(), p.getVatNumber(), !Boolean.FALSE.equals(p.getEnabled())));
+        }
+        for (CounterpartySearchProjection p : providerRepository.findSearchEntriesByOwnerCompany(owner)) {
+            entries.add(SearchIndex.counterparty(SearchResultType.PROVIDER, p.getIdCompany(), p.getComName(),
+                    p.getLegalName(), p.getVatNumber(), !Boolean.FALSE.equals(p.getEnabled())));
+        }
+        for (DocumentSearchProjection p : documentRepository.findSearchEntriesByOwnerCompany(owner)) {
+            entries.add(SearchIndex.document(p.getIdDocument(), p.getDocNumber(), p.getDocType(), p.getIdCompany()));
+        }
+        for (OrderSearchProjection p : orderRepository.findSearchEntriesByOwnerCompany(owner)) {
+            entries.add(SearchIndex.order(p.getIdOrder(), p.getDescrip(), p.getIdCompany()));
+        }
+        return entries;
+    }
+}
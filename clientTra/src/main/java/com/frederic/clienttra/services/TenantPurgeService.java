@@ -0,0 +1,100 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.repositories.TenantPurgeRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Service deleting all the data of a tenant without loading it.
+ * <p>
+ * The {@link TenantPurgeRepository} statements are run in dependency order, each one repeatedly
+ * with a row limit until it deletes fewer rows than the limit. Every chunk is its own transaction,
+ * so locks are held briefly and the undo log stays small however large the tenant is. A purge
+ * interrupted half way leaves only rows that the next purge of the same company removes.
+ * </p>
+ * <p>
+ * Must not be called from inside a transaction, which would turn the chunks back into one.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class TenantPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantPurgeService.class);
+    static final int DEFAULT_CHUNK_SIZE = 5000;
+
+    private final TenantPurgeRepository tenantPurgeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${clienttra.tenant-purge.chunk-size:5000}")
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /**
+     * Deletes everything owned by a company: its customers and providers with their companies,
+     * documents, orders and schemes, and its report rollups and number series.
+     * The company itself, its users and its own addresses, bank accounts and change rates are kept.
+     *
+     * @param owner the owner company
+     * @return the number of rows deleted
+     */
+    public long purgeOwnedData(Company owner) {
+        return purgeOwnedData(owner, JobContext.NONE);
+    }
+
+    /**
+     * Same as {@link #purgeOwnedData(Company)}, reporting progress after each statement and
+     * stopping between chunks when the job is cancelled. The rows deleted until then stay deleted.
+     *
+     * @param owner   the owner company
+     * @param context the job running the purge
+     * @return the number of rows deleted
+     */
+    public long purgeOwnedData(Company owner, JobContext context) {
+        long deleted = run(TenantPurgeRepository.OWNED_DATA, owner.getIdCompany(), context);
+        eventPublisher.publishEvent(DataChangedEvent.purged(owner));
+        logger.info("Purged {} rows owned by company {}", deleted, owner.getIdCompany());
+        return deleted;
+    }
+
+    /**
+     * Deletes a company together with everything it owns, its users included.
+     *
+     * @param company the company to delete
+     * @return the number of rows deleted
+     */
+    public long purgeCompany(Company company) {
+        long deleted = run(TenantPurgeRepository.OWNED_DATA, company.getIdCompany(), JobContext.NONE)
+                + run(TenantPurgeRepository.COMPANY, company.getIdCompany(), JobContext.NONE);
+        eventPublisher.publishEvent(DataChangedEvent.purged(company));
+        logger.info("Purged company {} ({} rows)", company.getIdCompany(), deleted);
+        return deleted;
+    }
+
+    private long run(List<String> statements, Integer idCompany, JobContext context) {
+        long total = 0;
+        for (int i = 0; i < statements.size(); i++) {
+            String statement = statements.get(i);
+            int deleted;
+            do {
+                if (context.isCancelRequested()) {
+                    return total;
+                }
+                Integer result = transactionTemplate.execute(status ->
+                        tenantPurgeRepository.deleteChunk(statement, idCompany, chunkSize));
+                deleted = result != null ? result : 0;
+                total += deleted;
+            } while (deleted >= chunkSize);
+            context.progress((i + 1) * 100 / statements.size());
+        }
+        return total;
+    }
+}
@@ -15,6 +15,7 @@ import com.frederic.clienttra.repositories.RoleRepository;
 import com.frederic.clienttra.repositories.UserRepository;
 import com.frederic.clienttra.security.CustomUserDetails;
 import com.frederic.clienttra.security.SecurityUtils;
+import com.frederic.clienttra.security.UserSecurityVersionCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -38,6 +39,7 @@ public class UserService {
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final RoleRepository roleRepository;
+    private final UserSecurityVersionCache securityVersionCache;
 
     /**
      * Retrieves all users belonging to the current user's company,
@@ -143,7 +145,9 @@ public class UserService {
         }
 
         userToDelete.setEnabled(false);
+        userToDelete.bumpSecurityVersion();
         userRepository.save(userToDelete);
+        securityVersionCache.evict(userToDelete.getIdUser());
     }
 
     /**
@@ -168,6 +172,7 @@ public class UserService {
 
         userToReactivate.setEnabled(true);
         userRepository.save(userToReactivate);
+        securityVersionCache.evict(userToReactivate.getIdUser());
     }
 
     /**
@@ -224,6 +229,8 @@ public class UserService {
         }
 
         userRepository.save(user);
+        // Tokens do not carry the preferred language; refresh the cached one
+        securityVersionCache.evict(user.getIdUser());
     }
 
     @Transactional
@@ -245,8 +252,12 @@ public class UserService {
         if(dto.getEnabled() != null){
             userToUpdate.setEnabled(dto.getEnabled());
         }
+        if (dto.getIdRole() != null || dto.getEnabled() != null) {
+            userToUpdate.bumpSecurityVersion();
+        }
 
         userRepository.save(userToUpdate);
+        securityVersionCache.evict(userToUpdate.getIdUser());
 
         return userMapper.toAdminDTO(userToUpdate);
 
@@ -271,6 +282,8 @@ public class UserService {
         }
 
         user.setPasswd(passwordEncoder.encode(dto.getNewPassword()));
+        user.bumpSecurityVersion();
         userRepository.save(user);
+        securityVersionCache.evict(user.getIdUser());
     }
 }
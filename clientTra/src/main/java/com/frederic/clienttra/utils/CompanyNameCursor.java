@@ -0,0 +1,38 @@
+package com.frederic.clienttra.utils;
+
+import com.frederic.clienttra.exceptions.InvalidCursorException;
+
+/**
+ * Position of the last customer or provider returned in a page of a customer or provider list.
+ * <p>
+ * These lists are ordered by {@code comName, idCompany}, with companies without a commercial name
+ * first, as MySQL sorts nulls; the next page starts strictly after this position. Clients receive
+ * it as an opaque URL-safe string and send it back unchanged.
+ *
+ * @param comName   commercial name of the last company returned, may be null
+ * @param idCompany ID of the last company returned
+ */
+public record CompanyNameCursor(String comName, Integer idCompany) {
+
+    /**
+     * Encodes this cursor as an opaque string.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        // The name goes last and may contain the separator; without a name there is no name field
+        return comName == null ? CursorCodec.encode(idCompany) : CursorCodec.encode(idCompany, comName);
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor, may be null or blank for the first page
+     * @return the decoded cursor, or null if none was given
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public static CompanyNameCursor decode(String cursor) {
+        return CursorCodec.decode(cursor, 1, 2,
+                parts -> new CompanyNameCursor(parts.length == 2 ? parts[1] : null, Integer.valueOf(parts[0])));
+    }
+}
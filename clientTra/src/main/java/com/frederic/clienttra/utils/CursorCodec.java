@@ -0,0 +1,73 @@
+package com.frederic.clienttra.utils;
+
+import com.frederic.clienttra.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Encoding shared by the keyset pagination cursors ({@link DocumentCursor}, {@link OrderCursor},
+ * {@link CompanyNameCursor}).
+ * <p>
+ * A cursor is its fields joined with {@code |}, Base64 URL-encoded without padding so that clients
+ * can send it back unchanged as a query parameter. Only the last field may contain the separator.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+    private static final Pattern SPLITTER = Pattern.compile(Pattern.quote(SEPARATOR));
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Encodes the fields of a cursor as an opaque string.
+     *
+     * @param fields the fields, in order; only the last one may contain the separator
+     * @return the encoded cursor
+     */
+    public static String encode(Object... fields) {
+        String raw = Arrays.stream(fields).map(String::valueOf).collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor with exactly {@code fields} fields.
+     *
+     * @see #decode(String, int, int, Function)
+     */
+    public static <T> T decode(String cursor, int fields, Function<String[], T> parser) {
+        return decode(cursor, fields, fields, parser);
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode(Object...)}.
+     *
+     * @param cursor    the encoded cursor, may be null or blank for the first page
+     * @param minFields the minimum number of fields
+     * @param maxFields the maximum number of fields; the last one keeps any further separator
+     * @param parser    builds the cursor from its fields
+     * @return the decoded cursor, or null if none was given
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public static <T> T decode(String cursor, int minFields, int maxFields, Function<String[], T> parser) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = SPLITTER.split(raw, maxFields);
+            if (parts.length < minFields) {
+                throw new InvalidCursorException();
+            }
+            return parser.apply(parts);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
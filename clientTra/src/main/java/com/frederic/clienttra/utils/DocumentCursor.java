@@ -0,0 +1,41 @@
+package com.frederic.clienttra.utils;
+
+import com.frederic.clienttra.exceptions.InvalidCursorException;
+
+import java.time.LocalDate;
+
+/**
+ * Position of the last document returned in a page of a document list.
+ * <p>
+ * Document lists are ordered by {@code docDate DESC, docNumber DESC, idDocument DESC}; the next
+ * page starts strictly after this position. Clients receive it as an opaque URL-safe string
+ * and send it back unchanged.
+ *
+ * @param docDate    date of the last document returned
+ * @param docNumber  number of the last document returned
+ * @param idDocument ID of the last document returned
+ */
+public record DocumentCursor(LocalDate docDate, String docNumber, Integer idDocument) {
+
+    /**
+     * Encodes this cursor as an opaque string.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        // The document number goes last, so it may itself contain the separator
+        return CursorCodec.encode(docDate, idDocument, docNumber);
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor, may be null or blank for the first page
+     * @return the decoded cursor, or null if none was given
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public static DocumentCursor decode(String cursor) {
+        return CursorCodec.decode(cursor, 3,
+                parts -> new DocumentCursor(LocalDate.parse(parts[0]), parts[2], Integer.valueOf(parts[1])));
+    }
+}
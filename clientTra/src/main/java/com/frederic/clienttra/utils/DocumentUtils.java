@@ -56,16 +56,28 @@ public class DocumentUtils {
      */
     public void calculateTotals(Document document){
         double totalNet = 0.0;
-        double totalVat = 0.0;
-        double totalWithholding = 0.0;
-        double totalGross = 0.0;
-        double totalToPay = 0.0;
         List<Order> orders = document.getOrders();
 
         for (Order order : orders) {
             totalNet += order.getTotal();
         }
 
+        calculateTotals(document, totalNet);
+    }
+
+    /**
+     * Calculates and sets the total amounts (VAT, withholding, gross, and to pay)
+     * on the given document from an already known net total and its tax rates.
+     *
+     * @param document The document entity whose totals are to be calculated.
+     * @param totalNet The net total of the document's orders.
+     */
+    public void calculateTotals(Document document, double totalNet){
+        double totalVat = 0.0;
+        double totalWithholding = 0.0;
+        double totalGross = 0.0;
+        double totalToPay = 0.0;
+
         totalVat = totalNet * document.getVatRate();
         totalWithholding = totalNet * document.getWithholding();
         totalGross = totalNet + totalVat;
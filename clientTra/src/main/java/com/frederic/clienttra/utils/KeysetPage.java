@@ -0,0 +1,83 @@
+package com.frederic.clienttra.utils;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list, with the helpers shared by every paginated list.
+ * <p>
+ * Repositories fetch {@link #request(int) one row more} than the page size. {@link #of} drops
+ * that row, which only signals that another page exists, and derives the next cursor from the
+ * last row kept.
+ *
+ * @param items      the items of the page
+ * @param nextCursor the cursor of the next page, or null if this is the last one
+ */
+public record KeysetPage<T>(List<T> items, String nextCursor) {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    /**
+     * Response header carrying the next cursor of the list endpoints that return a page as a
+     * plain JSON array.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Normalizes a requested page size to the range {@code 1..MAX_PAGE_SIZE}.
+     *
+     * @param requested the requested size, may be null
+     * @return the page size to use
+     */
+    public static int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * @param pageSize the page size
+     * @return the limit of a keyset query: the first {@code pageSize + 1} rows
+     */
+    public static Pageable request(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    /**
+     * Builds a page from the rows of a keyset query.
+     *
+     * @param rows     up to {@code pageSize + 1} rows, as fetched with {@link #request(int)}
+     * @param pageSize the page size
+     * @param toItems  converts the rows kept into the page items
+     * @param cursorOf encodes the position of a row as a cursor
+     * @return the page items and the cursor after the last one, if there is a next page
+     */
+    public static <R, T> KeysetPage<T> of(List<R> rows, int pageSize,
+                                          Function<List<R>, List<T>> toItems,
+                                          Function<R, String> cursorOf) {
+        boolean hasNext = rows.size() > pageSize;
+        List<R> page = hasNext ? rows.subList(0, pageSize) : rows;
+        return new KeysetPage<>(toItems.apply(page), hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null);
+    }
+
+    /**
+     * Builds the response of a list endpoint that returns one page as a plain JSON array.
+     *
+     * @param items      the items of the page
+     * @param nextCursor the cursor of the next page, sent in the {@value #NEXT_CURSOR_HEADER}
+     *                   header; no header is sent on the last page
+     * @return the response
+     */
+    public static <T> ResponseEntity<List<T>> toListResponse(List<T> items, String nextCursor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+}
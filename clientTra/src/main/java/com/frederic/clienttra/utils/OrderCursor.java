@@ -0,0 +1,38 @@
+package com.frederic.clienttra.utils;
+
+import com.frederic.clienttra.exceptions.InvalidCursorException;
+
+import java.time.LocalDate;
+
+/**
+ * Position of the last order returned in a page of an order list.
+ * <p>
+ * Order lists are ordered by {@code dateOrder DESC, idOrder DESC}; the next page starts strictly
+ * after this position. Clients receive it as an opaque URL-safe string and send it back unchanged.
+ *
+ * @param dateOrder date of the last order returned
+ * @param idOrder   ID of the last order returned
+ */
+public record OrderCursor(LocalDate dateOrder, Integer idOrder) {
+
+    /**
+     * Encodes this cursor as an opaque string.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        return CursorCodec.encode(dateOrder, idOrder);
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the encoded cursor, may be null or blank for the first page
+     * @return the decoded cursor, or null if none was given
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public static OrderCursor decode(String cursor) {
+        return CursorCodec.decode(cursor, 2,
+                parts -> new OrderCursor(LocalDate.parse(parts[0]), Integer.valueOf(parts[1])));
+    }
+}
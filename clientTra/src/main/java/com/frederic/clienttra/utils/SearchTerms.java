@@ -0,0 +1,66 @@
+package com.frederic.clienttra.utils;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Search input of the customer and provider searches, turned into the parameters of the
+ * full-text queries on {@code companies}.
+ * <p>
+ * The input is split into words on every character that is neither a letter nor a digit, so
+ * that the full-text operators ({@code + - * " ( ) < > ~ @}) typed by users are never
+ * interpreted. Every word must be present, as a prefix: {@code "acme tra"} becomes
+ * {@code "+acme* +tra*"}. Words shorter than the server's {@code innodb_ft_min_token_size}
+ * (3 by default) are not indexed, so a name is found by its longer words only.
+ *
+ * @param booleanQuery the query for {@code MATCH ... AGAINST (... IN BOOLEAN MODE)}
+ * @param namePrefix   a {@code LIKE} pattern matching commercial names starting with the input,
+ *                     used to rank those first
+ */
+public record SearchTerms(String booleanQuery, String namePrefix) {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    /** Further words only narrow the result a little more and make the lookup slower. */
+    static final int MAX_WORDS = 8;
+
+    /**
+     * Parses a search input.
+     *
+     * @param input the text typed by the user, may be null
+     * @return the search terms, or null if the input contains no word to search for
+     */
+    public static SearchTerms parse(String input) {
+        if (input == null || input.isBlank()) {
+            return null;
+        }
+        String booleanQuery = Arrays.stream(input.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .limit(MAX_WORDS)
+                .map(word -> "+" + word + "*")
+                .collect(Collectors.joining(" "));
+        if (booleanQuery.isEmpty()) {
+            return null;
+        }
+        return new SearchTerms(booleanQuery, escapeLike(input.trim()) + "%");
+    }
+
+    /**
+     * Normalizes a requested result limit to the range {@code 1..MAX_LIMIT}.
+     *
+     * @param requested the requested limit, may be null
+     * @return the limit to use
+     */
+    public static int limit(Integer requested) {
+        if (requested == null || requested < 1) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
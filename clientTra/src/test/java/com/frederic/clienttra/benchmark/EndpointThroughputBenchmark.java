@@ -0,0 +1,111 @@
+package com.frederic.clienttra.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load benchmark for the invoice list and report endpoints of a running instance.
+ * <p>
+ * Skipped unless {@code benchmark.baseUrl} is set. Run it once against the application started
+ * with {@code spring.threads.virtual.enabled=false} and once with {@code true}, and compare
+ * the printed throughput and p99 latencies (no reference results have been recorded yet):
+ * <pre>
+ * mvn test -Dtest=EndpointThroughputBenchmark \
+ *     -Dbenchmark.baseUrl=http://localhost:8080 -Dbenchmark.token=&lt;jwt&gt; \
+ *     -Dbenchmark.concurrency=200 -Dbenchmark.requests=5000
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark.baseUrl", matches = ".+")
+public class EndpointThroughputBenchmark {
+
+    private final String baseUrl = System.getProperty("benchmark.baseUrl");
+    private final String token = System.getProperty("benchmark.token", "");
+    private final int concurrency = Integer.getInteger("benchmark.concurrency", 100);
+    private final int requests = Integer.getInteger("benchmark.requests", 2000);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    @Test
+    void customerInvoiceList() throws Exception {
+        run("GET /api/customer-invoices", "/api/customer-invoices");
+    }
+
+    @Test
+    void cashFlowIncomeReport() throws Exception {
+        LocalDate end = LocalDate.now();
+        run("GET /api/reports/cash-flow/income",
+                "/api/reports/cash-flow/income?initDate=" + end.minusYears(1) + "&endDate=" + end + "&withOrders=true");
+    }
+
+    @Test
+    void pendingIncomeReport() throws Exception {
+        run("GET /api/reports/pending/income", "/api/reports/pending/income");
+    }
+
+    private void run(String name, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        // Warm-up
+        for (int i = 0; i < Math.min(50, requests); i++) {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(requests));
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            futures.add(pool.submit(() -> {
+                long t0 = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() >= 400) {
+                        errors.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                }
+                latencies.add(System.nanoTime() - t0);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNs = System.nanoTime() - start;
+        pool.shutdown();
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.printf("%s: %d requests, concurrency %d, %.1f req/s, p50 %.1f ms, p99 %.1f ms, errors %d%n",
+                name, requests, concurrency,
+                requests / (elapsedNs / 1_000_000_000.0),
+                percentile(sorted, 0.50), percentile(sorted, 0.99),
+                errors.get());
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+}
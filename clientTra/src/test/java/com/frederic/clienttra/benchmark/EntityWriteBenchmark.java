@@ -0,0 +1,114 @@
+package com.frederic.clienttra.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Latency benchmark for the write paths that insert many rows per request: order creation
+ * and demo-data registration.
+ * <p>
+ * Skipped unless {@code benchmark.baseUrl} is set. Run it once against the application started
+ * with {@code clienttra.jdbc.batch-size=0} and once with the default, and compare the printed
+ * average and percentile latencies:
+ * <pre>
+ * mvn test -Dtest=EntityWriteBenchmark \
+ *     -Dbenchmark.baseUrl=http://localhost:8080 -Dbenchmark.token=&lt;jwt&gt; \
+ *     -Dbenchmark.idCompany=2 -Dbenchmark.items=50 -Dbenchmark.iterations=100
+ * </pre>
+ * The order benchmark creates real orders for {@code benchmark.idCompany}; the demo-data
+ * benchmark registers a new demo user on every iteration. Run it against a disposable database.
+ */
+@EnabledIfSystemProperty(named = "benchmark.baseUrl", matches = ".+")
+public class EntityWriteBenchmark {
+
+    private final String baseUrl = System.getProperty("benchmark.baseUrl");
+    private final String token = System.getProperty("benchmark.token", "");
+    private final int idCompany = Integer.getInteger("benchmark.idCompany", 2);
+    private final int items = Integer.getInteger("benchmark.items", 20);
+    private final int iterations = Integer.getInteger("benchmark.iterations", 50);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    @Test
+    void createOrder() throws Exception {
+        String path = "/api/companies/" + idCompany + "/orders";
+        run("POST " + path + " (" + items + " items)", i -> post(path, orderJson(i), true));
+    }
+
+    @Test
+    void loadDemoData() throws Exception {
+        String prefix = "bench" + System.currentTimeMillis() + "_";
+        run("POST /api/registration/demo-data", i -> post("/api/registration/demo-data",
+                "{\"username\":\"" + prefix + i + "\",\"password\":\"Benchmark1!\","
+                        + "\"email\":\"" + prefix + i + "@example.com\"}", false));
+    }
+
+    private String orderJson(int i) {
+        StringBuilder json = new StringBuilder()
+                .append("{\"descrip\":\"Benchmark order ").append(i).append("\",")
+                .append("\"dateOrder\":\"").append(LocalDate.now()).append("\",")
+                .append("\"pricePerUnit\":0.08,\"units\":\"words\",\"billed\":false,")
+                .append("\"sourceLanguage\":\"EN\",\"targetLanguage\":\"ES\",\"items\":[");
+        for (int n = 0; n < items; n++) {
+            if (n > 0) {
+                json.append(',');
+            }
+            json.append("{\"descrip\":\"Item ").append(n).append("\",\"qty\":1000.0,\"discount\":0.0}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private HttpRequest post(String path, String body, boolean authenticated) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (authenticated) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private void run(String name, IntFunction<HttpRequest> requestFactory) throws Exception {
+        // Warm-up
+        for (int i = 0; i < Math.min(5, iterations); i++) {
+            client.send(requestFactory.apply(-1 - i), HttpResponse.BodyHandlers.discarding());
+        }
+
+        List<Long> latencies = new ArrayList<>(iterations);
+        int errors = 0;
+        for (int i = 0; i < iterations; i++) {
+            HttpRequest request = requestFactory.apply(i);
+            long t0 = System.nanoTime();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            latencies.add(System.nanoTime() - t0);
+            if (response.statusCode() >= 400) {
+                errors++;
+            }
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        double average = sorted.stream().mapToLong(Long::longValue).average().orElse(0) / 1_000_000.0;
+        System.out.printf("%s: %d requests, avg %.1f ms, p50 %.1f ms, p99 %.1f ms, errors %d%n",
+                name, iterations, average, percentile(sorted, 0.50), percentile(sorted, 0.99), errors);
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+}
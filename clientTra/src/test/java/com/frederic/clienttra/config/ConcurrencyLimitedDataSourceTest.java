@@ -0,0 +1,75 @@
+package com.frederic.clienttra.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+public class ConcurrencyLimitedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+    @Mock
+    private Connection connection;
+
+    private ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(target.getConnection()).thenReturn(connection);
+        dataSource = new ConcurrencyLimitedDataSource(target, 2, 50);
+    }
+
+    @Test
+    void getConnection_shouldTimeOut_whenAllPermitsAreInUse() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThat(dataSource.getActiveCount()).isEqualTo(2);
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    void close_shouldReleasePermitOnlyOnce() throws SQLException {
+        Connection first = dataSource.getConnection();
+
+        first.close();
+        first.close();
+
+        assertThat(dataSource.getActiveCount()).isZero();
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void connection_shouldUseProxyIdentity_forEqualsAndHashCode() throws SQLException {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        assertThat(first).isEqualTo(first);
+        assertThat(first).isNotEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(System.identityHashCode(first));
+        assertThat(Set.of(first, second)).hasSize(2);
+    }
+
+    @Test
+    void getConnection_shouldReleasePermit_whenTargetFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLException.class)
+                .hasMessage("down");
+        assertThat(dataSource.getActiveCount()).isZero();
+    }
+}
@@ -0,0 +1,85 @@
+package com.frederic.clienttra.config;
+
+import com.frederic.clienttra.security.TenantContext;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+public class HandlerObservationConventionTest {
+
+    @Mock
+    private TenantContext tenantContext;
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        request = new MockHttpServletRequest("GET", "/api/customers/3");
+    }
+
+    @Test
+    void lowCardinalityKeyValues_shouldTagControllerMethod() throws NoSuchMethodException {
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new SampleController(), SampleController.class.getMethod("getSample")));
+
+        KeyValues keyValues = convention(Set.of()).getLowCardinalityKeyValues(context());
+
+        assertThat(keyValues).contains(KeyValue.of("handler", "SampleController.getSample"));
+        assertThat(keyValues.stream().map(KeyValue::getKey)).doesNotContain(TenantMetricsTag.KEY);
+    }
+
+    @Test
+    void lowCardinalityKeyValues_shouldTagNone_whenNoHandlerMatched() {
+        KeyValues keyValues = convention(Set.of()).getLowCardinalityKeyValues(context());
+
+        assertThat(keyValues).contains(KeyValue.of("handler", "none"));
+    }
+
+    @Test
+    void lowCardinalityKeyValues_shouldTagListedTenantsOnly() {
+        TenantMetricsTag tenantTag = new TenantMetricsTag(() -> tenantContext, Set.of(7));
+        HandlerObservationConvention convention = new HandlerObservationConvention(tenantTag);
+
+        when(tenantContext.findOwnerId()).thenReturn(Optional.of(7));
+        tenantTag.capture(request);
+        assertThat(convention.getLowCardinalityKeyValues(context())).contains(KeyValue.of(TenantMetricsTag.KEY, "7"));
+
+        when(tenantContext.findOwnerId()).thenReturn(Optional.of(8));
+        tenantTag.capture(request);
+        assertThat(convention.getLowCardinalityKeyValues(context())).contains(KeyValue.of(TenantMetricsTag.KEY, "other"));
+
+        MockHttpServletRequest anonymous = new MockHttpServletRequest("POST", "/api/auth/login");
+        ServerRequestObservationContext anonymousContext =
+                new ServerRequestObservationContext(anonymous, new MockHttpServletResponse());
+        assertThat(convention.getLowCardinalityKeyValues(anonymousContext)).contains(KeyValue.of(TenantMetricsTag.KEY, "none"));
+    }
+
+    private HandlerObservationConvention convention(Set<Integer> taggedTenants) {
+        return new HandlerObservationConvention(new TenantMetricsTag(() -> tenantContext, taggedTenants));
+    }
+
+    private ServerRequestObservationContext context() {
+        return new ServerRequestObservationContext(request, new MockHttpServletResponse());
+    }
+
+    static class SampleController {
+        public String getSample() {
+            return "sample";
+        }
+    }
+}
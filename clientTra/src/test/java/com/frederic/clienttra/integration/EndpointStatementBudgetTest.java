@@ -0,0 +1,155 @@
+package com.frederic.clienttra.integration;
+
+import com.frederic.clienttra.dto.create.CreateUserRequestDTO;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.repositories.CompanyRepository;
+import com.frederic.clienttra.repositories.CustomerRepository;
+import com.frederic.clienttra.repositories.DocumentRepository;
+import com.frederic.clienttra.repositories.ProviderRepository;
+import com.frederic.clienttra.security.CustomUserDetails;
+import com.frederic.clienttra.security.CustomUserDetailsService;
+import com.frederic.clienttra.services.DemoDataService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of the read endpoints.
+ * <p>
+ * The application runs against an in-memory H2 database in MySQL mode (profile
+ * {@code statement-budget}) with one demo tenant registered through {@link DemoDataService}, so
+ * every list and detail has several rows to map. Each test makes one HTTP call and declares with
+ * {@link StatementBudget} how many JDBC statements it may issue; the build fails when a change
+ * adds statements, typically a lazy association walked once per row. Raise a budget only
+ * together with the change that needs it.
+ * <p>
+ * Endpoints backed by MySQL-only SQL (full-text search, the report queries) are covered by
+ * {@code QueryPlanRegressionTest} instead.
+ */
+@SpringBootTest
+@ActiveProfiles("statement-budget")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(StatementBudgetExtension.class)
+public class EndpointStatementBudgetTest {
+
+    private static final String USERNAME = "budget_admin";
+
+    @Autowired
+    private WebApplicationContext context;
+    @Autowired
+    private DemoDataService demoDataService;
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    private MockMvc mockMvc;
+    private CustomUserDetails principal;
+    private Integer idCustomerCompany;
+    private Integer idProviderCompany;
+    private Integer idInvoice;
+
+    @BeforeAll
+    void seedTenant() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+
+        demoDataService.loadData(CreateUserRequestDTO.builder()
+                .username(USERNAME)
+                .password("budget_adminPass")
+                .email("budget_admin@example.com")
+                .build());
+        principal = (CustomUserDetails) userDetailsService.loadUserByUsername(USERNAME);
+
+        Company owner = companyRepository.findByIdCompany(principal.getIdCompany()).orElseThrow();
+        idCustomerCompany = customerRepository.findListByOwnerCompany(owner).get(0).getIdCompany();
+        idProviderCompany = providerRepository.findListByOwnerCompany(owner).get(0).getIdCompany();
+        idInvoice = documentRepository.findPageByDocTypeAndOwnerCompany(DocumentType.INV_CUST, owner, null, null, null, 1)
+                .get(0).getIdDocument();
+    }
+
+    @Test
+    @StatementBudget(1)
+    void customerList() throws Exception {
+        call("/api/customers");
+    }
+
+    @Test
+    @StatementBudget(1)
+    void customerPage() throws Exception {
+        call("/api/customers/page?enabled=true&limit=5");
+    }
+
+    @Test
+    @StatementBudget(6)
+    void customerDetail() throws Exception {
+        // Customer with company and addresses, then phones, bank accounts, contacts, schemes, scheme lines
+        call("/api/customers/{id}", idCustomerCompany);
+    }
+
+    @Test
+    @StatementBudget(1)
+    void minimalProviderList() throws Exception {
+        call("/api/providers/minimal-list");
+    }
+
+    @Test
+    @StatementBudget(6)
+    void providerDetail() throws Exception {
+        call("/api/providers/{id}", idProviderCompany);
+    }
+
+    @Test
+    @StatementBudget(1)
+    void customerInvoiceList() throws Exception {
+        call("/api/customer-invoices");
+    }
+
+    @Test
+    @StatementBudget(1)
+    void customerInvoicePage() throws Exception {
+        call("/api/customer-invoices/page?limit=20");
+    }
+
+    @Test
+    @StatementBudget(2)
+    void customerInvoiceDetail() throws Exception {
+        // Document with its references and orders, then the order items
+        call("/api/customer-invoices/by-id/{id}", idInvoice);
+    }
+
+    @Test
+    @StatementBudget(1)
+    void pendingOrderList() throws Exception {
+        call("/api/orders/pending");
+    }
+
+    @Test
+    @StatementBudget(1)
+    void orderPage() throws Exception {
+        call("/api/orders/page?limit=20");
+    }
+
+    private void call(String url, Object... uriVariables) throws Exception {
+        mockMvc.perform(get(url, uriVariables).with(user(principal)))
+                .andExpect(status().isOk());
+    }
+}
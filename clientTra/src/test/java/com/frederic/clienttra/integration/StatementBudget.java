@@ -0,0 +1,20 @@
+package com.frederic.clienttra.integration;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of JDBC statements the HTTP call made by a test may issue.
+ * Checked by {@link StatementBudgetExtension}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    /**
+     * @return the maximum number of statements
+     */
+    int value();
+}
@@ -0,0 +1,41 @@
+package com.frederic.clienttra.integration;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fails a test annotated with {@link StatementBudget} when it issues more statements than its
+ * budget. Only the test method itself is recorded, not its {@code @BeforeAll} or
+ * {@code @BeforeEach} set-up.
+ */
+public class StatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        if (budget(context).isPresent()) {
+            StatementCounter.start();
+        }
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Optional<StatementBudget> budget = budget(context);
+        if (budget.isEmpty()) {
+            return;
+        }
+        List<String> statements = StatementCounter.stop();
+        if (statements.size() > budget.get().value()) {
+            throw new AssertionError("%s issued %d statements, budget is %d:%n%s".formatted(
+                    context.getDisplayName(), statements.size(), budget.get().value(),
+                    String.join(System.lineSeparator(), statements)));
+        }
+    }
+
+    private static Optional<StatementBudget> budget(ExtensionContext context) {
+        return context.getTestMethod().map(method -> method.getAnnotation(StatementBudget.class));
+    }
+}
@@ -0,0 +1,46 @@
+package com.frederic.clienttra.integration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate statement inspector recording the SQL of every JDBC statement prepared by the
+ * current thread while a recording is active.
+ * <p>
+ * Registered through {@code hibernate.session_factory.statement_inspector} in the
+ * {@code statement-budget} profile. MockMvc runs the request on the calling thread, so a
+ * recording started by the test only sees the statements of its own request.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> recorded = RECORDED.get();
+        if (recorded != null) {
+            recorded.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Starts recording the statements of the current thread, discarding any previous recording.
+     */
+    public static void start() {
+        RECORDED.set(new ArrayList<>());
+    }
+
+    /**
+     * Stops recording.
+     *
+     * @return the SQL of the statements prepared since {@link #start()}, in order
+     */
+    public static List<String> stop() {
+        List<String> recorded = RECORDED.get();
+        RECORDED.remove();
+        return recorded != null ? recorded : List.of();
+    }
+}
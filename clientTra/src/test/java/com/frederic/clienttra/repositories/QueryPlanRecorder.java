@@ -0,0 +1,78 @@
+package com.frederic.clienttra.repositories;
+
+import com.mysql.cj.MysqlConnection;
+import com.mysql.cj.Query;
+import com.mysql.cj.interceptors.QueryInterceptor;
+import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.Resultset;
+import com.mysql.cj.protocol.ServerSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+/**
+ * MySQL driver interceptor recording the SELECT statements sent by the current thread while a
+ * recording is active.
+ * <p>
+ * Registered through the {@code queryInterceptors} parameter of the JDBC URL in
+ * {@link QueryPlanRegressionTest}. The driver prepares statements on the client side, so the
+ * recorded SQL is the text sent to the server, with the parameter values in place, and can be
+ * run through {@code EXPLAIN} as is.
+ */
+public class QueryPlanRecorder implements QueryInterceptor {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Override
+    public QueryInterceptor init(MysqlConnection conn, Properties props, Log log) {
+        return this;
+    }
+
+    @Override
+    public <T extends Resultset> T preProcess(Supplier<String> sql, Query interceptedQuery) {
+        List<String> recorded = RECORDED.get();
+        if (recorded != null) {
+            String statement = sql.get().strip();
+            if (statement.toLowerCase(Locale.ROOT).startsWith("select")) {
+                recorded.add(statement);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean executeTopLevelOnly() {
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    @Override
+    public <T extends Resultset> T postProcess(Supplier<String> sql, Query interceptedQuery, T originalResultSet,
+                                               ServerSession serverSession) {
+        return null;
+    }
+
+    /**
+     * Starts recording the statements of the current thread, discarding any previous recording.
+     */
+    public static void start() {
+        RECORDED.set(new ArrayList<>());
+    }
+
+    /**
+     * Stops recording.
+     *
+     * @return the SELECT statements sent since {@link #start()}, in order
+     */
+    public static List<String> stop() {
+        List<String> recorded = RECORDED.get();
+        RECORDED.remove();
+        return recorded != null ? recorded : List.of();
+    }
+}
@@ -0,0 +1,503 @@
+package com.frederic.clienttra.repositories;
+
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.enums.DocumentStatus;
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.enums.PartyType;
+import com.frederic.clienttra.projections.InvoiceForCashFlowReportProjection;
+import com.frederic.clienttra.utils.CompanyNameCursor;
+import com.frederic.clienttra.utils.DocumentCursor;
+import com.frederic.clienttra.utils.OrderCursor;
+import com.frederic.clienttra.utils.SearchTerms;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-plan regression suite for the hot repository queries.
+ * <p>
+ * Runs with the rest of the build whenever Docker is available, against a MySQL 8 container;
+ * without Docker it is skipped. The schema is created by the migrations (see the
+ * {@code query-plan} profile) and any failing statement fails the suite. A few tenants worth of
+ * documents and orders are then generated and the statistics refreshed.
+ * <p>
+ * Every test calls a repository method and runs the SQL the driver sent for it through
+ * {@code EXPLAIN} (see {@link QueryPlanRecorder}). The test fails if the plan reads
+ * {@code documents}, {@code orders}, {@code customers} or {@code providers} with a full scan or
+ * sorts with a filesort.
+ */
+@SpringBootTest
+@ActiveProfiles("query-plan")
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class QueryPlanRegressionTest {
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withUrlParam("queryInterceptors", QueryPlanRecorder.class.getName());
+
+    private static final Set<String> CHECKED_TABLES = Set.of("documents", "orders", "customers", "providers");
+    private static final Pattern TABLE_ALIAS = Pattern.compile("(?:from|join)\\s+(\\w+)\\s+(?:as\\s+)?(\\w+)");
+
+    private static final int OWNERS = 4;
+    private static final int COUNTERPARTIES_PER_OWNER = 50;
+    private static final int DOCUMENTS_PER_OWNER = 5000;
+    private static final int ORDERS_PER_OWNER = 5000;
+
+    private static final String[] DOC_TYPES = {"INV_CUST", "INV_PROV", "QUOTE", "PO"};
+    private static final String[] STATUSES = {"PENDING", "PAID", "ACCEPTED", "REJECTED", "MODIFIED", "DELETED"};
+    private static final String[] LANGUAGES = {"en", "es", "fr", "de"};
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 30);
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private DocumentRepository documentRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private InvoiceForCashFlowReportRepository cashFlowReportRepository;
+    @Autowired
+    private InvoiceForPendingReportRepository pendingReportRepository;
+
+    private Company owner;
+    private int counterparty;
+
+    /**
+     * The context is created before the extension starts the container, so the container is
+     * started here, when the properties are first resolved.
+     */
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        MYSQL.start();
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @BeforeAll
+    void setUp() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            int idOwner = generateData(connection);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE TABLE companies, customers, providers, documents, orders");
+            }
+            owner = companyRepository.findByIdCompany(idOwner).orElseThrow();
+        }
+    }
+
+    @Test
+    void compositeIndexes_shouldExist() throws SQLException {
+        List<String> indexes = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("""
+                     SELECT DISTINCT index_name FROM information_schema.statistics
+                     WHERE table_schema = DATABASE() AND table_name IN ('companies', 'documents', 'orders', 'customers', 'providers')
+                     """)) {
+            while (rs.next()) {
+                indexes.add(rs.getString(1));
+            }
+        }
+
+        assertThat(indexes).contains(
+                "idx_documents_owner_type_date",
+                "idx_documents_owner_type_status_date",
+                "idx_documents_owner_type_company_date",
+                "idx_documents_owner_type_number",
+                "idx_documents_cash_flow_graph",
+                "idx_documents_owner_type_status_deadline",
+                "idx_orders_owner_billed_date",
+                "idx_orders_owner_date",
+                "idx_orders_owner_company_date",
+                "idx_orders_owner_company_billed_date",
+                "idx_orders_owner_languages_date",
+                "idx_customers_owner_company_enabled",
+                "idx_providers_owner_company_enabled",
+                "idx_companies_owner_com_name",
+                "idx_companies_fulltext_search");
+    }
+
+    @Test
+    void customerList_byName() throws SQLException {
+        assertIndexedPlan(() -> customerRepository.findListByOwnerCompany(owner));
+    }
+
+    @Test
+    void customerPage_byNameAfterCursor() throws SQLException {
+        CompanyNameCursor after = new CompanyNameCursor("PLAN-" + owner.getIdCompany() + "-2", counterparty);
+        assertIndexedPlan(() -> customerRepository.findPageByOwnerCompany(owner, true, after, 50));
+    }
+
+    @Test
+    void minimalProviderList_byName() throws SQLException {
+        assertIndexedPlan(() -> providerRepository.findMinimalListByOwnerCompany(owner));
+    }
+
+    @Test
+    void customerTypeahead_byFullText() throws SQLException {
+        SearchTerms terms = SearchTerms.parse("plan");
+        assertFullTextPlan(() -> customerRepository.findTypeahead(owner.getIdCompany(),
+                terms.booleanQuery(), terms.namePrefix(), SearchTerms.limit(null)));
+    }
+
+    @Test
+    void providerTypeahead_byFullText() throws SQLException {
+        SearchTerms terms = SearchTerms.parse("plan");
+        assertFullTextPlan(() -> providerRepository.findTypeahead(owner.getIdCompany(),
+                terms.booleanQuery(), terms.namePrefix(), SearchTerms.limit(null)));
+    }
+
+    @Test
+    void documentPage_byTypeAndOwner() throws SQLException {
+        assertIndexedPlan(() -> documentRepository.findPageByDocTypeAndOwnerCompany(
+                DocumentType.INV_CUST, owner, null, null, null, 50));
+    }
+
+    @Test
+    void documentPage_byStatus() throws SQLException {
+        assertIndexedPlan(() -> documentRepository.findPageByDocTypeAndOwnerCompany(
+                DocumentType.INV_CUST, owner, null, DocumentStatus.PENDING, null, 50));
+    }
+
+    @Test
+    void documentPage_byCompany() throws SQLException {
+        assertIndexedPlan(() -> documentRepository.findPageByDocTypeAndOwnerCompany(
+                DocumentType.INV_CUST, owner, counterparty, null, null, 50));
+    }
+
+    @Test
+    void documentPage_afterCursor() throws SQLException {
+        DocumentCursor after = new DocumentCursor(LocalDate.of(2024, 6, 1), "F2024-0500", 1000);
+        assertIndexedPlan(() -> documentRepository.findPageByDocTypeAndOwnerCompany(
+                DocumentType.INV_CUST, owner, null, null, after, 50));
+    }
+
+    @Test
+    void documentPage_byCompanyAndStatus() throws SQLException {
+        assertIndexedPlan(() -> documentRepository.findPageByDocTypeAndOwnerCompany(
+                DocumentType.INV_CUST, owner, counterparty, DocumentStatus.PENDING, null, 50));
+    }
+
+    @Test
+    void docNumbers_startingWithPrefix() throws SQLException {
+        assertIndexedPlan(() -> documentRepository.findDocNumbersByOwnerCompanyAndDocTypeAndDocNumberStartingWith(
+                owner, DocumentType.INV_CUST, "F2024", PageRequest.of(0, 1)));
+    }
+
+    @Test
+    void minimalDocumentList() throws SQLException {
+        assertIndexedPlan(() -> documentRepository.findMinimalListByOwnerCompanyAndDocType(owner, "QUOTE"));
+    }
+
+    @Test
+    void cashFlowReport() throws SQLException {
+        // The date range rules out index order by company, so only the rows in range are sorted
+        assertIndexedPlan(() -> {
+            try (Stream<InvoiceForCashFlowReportProjection> rows = cashFlowReportRepository.streamInvoicesForCashFlowReport(
+                    LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), owner.getIdCompany(), DocumentType.INV_CUST)) {
+                rows.forEach(row -> { });
+            }
+        }, true);
+    }
+
+    @Test
+    void cashFlowGraph() throws SQLException {
+        assertIndexedPlan(() -> cashFlowReportRepository.findInvoicesForCashFlowGraph(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), owner.getIdCompany(), DocumentType.INV_CUST));
+    }
+
+    @Test
+    void pendingReport() throws SQLException {
+        assertIndexedPlan(() -> pendingReportRepository.findInvoiceForPendingReport(
+                owner.getIdCompany(), DocumentType.INV_CUST, DocumentStatus.PENDING));
+    }
+
+    @Test
+    void agingReport() throws SQLException {
+        // Only the grouped rows, one per counterparty, are sorted by name
+        assertIndexedPlan(() -> pendingReportRepository.findAgingByCounterparty(
+                owner.getIdCompany(), DocumentType.INV_CUST, DocumentStatus.PENDING,
+                TODAY, TODAY.minusDays(30), TODAY.minusDays(60), TODAY.minusDays(90)), true);
+    }
+
+    @Test
+    void orderPage_unbilledByOwner() throws SQLException {
+        assertIndexedPlan(() -> orderRepository.findPageByOwnerCompany(owner, null, null, false,
+                null, null, null, null, null, 50));
+    }
+
+    @Test
+    void orderPage_byCompany() throws SQLException {
+        assertIndexedPlan(() -> orderRepository.findPageByOwnerCompany(owner, counterparty, null, null,
+                null, null, null, null, null, 50));
+    }
+
+    @Test
+    void orderPage_unbilledByCompany() throws SQLException {
+        assertIndexedPlan(() -> orderRepository.findPageByOwnerCompany(owner, counterparty, null, false,
+                null, null, null, null, null, 50));
+    }
+
+    @Test
+    void pendingOrders_forCustomers() throws SQLException {
+        assertIndexedPlan(() -> orderRepository.findByOwnerCompanyPendingOrdersForCustomersByDateOrderDesc(owner));
+    }
+
+    @Test
+    void pendingOrders_forProviders() throws SQLException {
+        assertIndexedPlan(() -> orderRepository.findByOwnerCompanyPendingOrdersForProvidersByDateOrderDesc(owner));
+    }
+
+    @Test
+    void orderPage_byOwnerAfterCursor() throws SQLException {
+        OrderCursor after = new OrderCursor(LocalDate.of(2024, 6, 1), 1000);
+        assertIndexedPlan(() -> orderRepository.findPageByOwnerCompany(owner, null, null, null,
+                null, null, null, null, after, 50));
+    }
+
+    @Test
+    void orderPage_byCompanyAndDateWindow() throws SQLException {
+        assertIndexedPlan(() -> orderRepository.findPageByOwnerCompany(owner, counterparty, null, false,
+                LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31), null, null, null, 50));
+    }
+
+    @Test
+    void orderPage_byLanguagePair() throws SQLException {
+        assertIndexedPlan(() -> orderRepository.findPageByOwnerCompany(owner, null, null, null,
+                null, null, "en", "es", null, 50));
+    }
+
+    @Test
+    void orderPage_forCustomers() throws SQLException {
+        assertIndexedPlan(() -> orderRepository.findPageByOwnerCompany(owner, null, PartyType.CUSTOMER, null,
+                null, null, null, null, null, 50));
+    }
+
+    @Test
+    void orderPage_forProviders() throws SQLException {
+        assertIndexedPlan(() -> orderRepository.findPageByOwnerCompany(owner, null, PartyType.PROVIDER, null,
+                null, null, null, null, null, 50));
+    }
+
+    /**
+     * Full-text searches rank their matches, so they always sort; the matches must be found
+     * through the full-text index instead of a scan of the tenant's companies.
+     */
+    private void assertFullTextPlan(Runnable query) throws SQLException {
+        assertPlan(query, true, true);
+    }
+
+    private void assertIndexedPlan(Runnable query) throws SQLException {
+        assertPlan(query, false, false);
+    }
+
+    private void assertIndexedPlan(Runnable query, boolean allowFilesort) throws SQLException {
+        assertPlan(query, allowFilesort, false);
+    }
+
+    private void assertPlan(Runnable query, boolean allowFilesort, boolean fullText) throws SQLException {
+        for (String sql : record(query)) {
+            Map<String, String> tables = tablesByAlias(sql);
+            List<String> problems = new ArrayList<>();
+            List<String> types = new ArrayList<>();
+            for (Map<String, String> row : explain(sql)) {
+                String alias = row.get("table");
+                String type = row.get("type");
+                types.add(type);
+                if (CHECKED_TABLES.contains(tables.get(alias)) && "ALL".equals(type)) {
+                    problems.add("full scan on " + tables.get(alias));
+                }
+                if (!allowFilesort && row.get("Extra").contains("Using filesort")) {
+                    problems.add("filesort on " + alias);
+                }
+            }
+            assertThat(problems).as("plan of:%n%s", sql).isEmpty();
+            if (fullText) {
+                assertThat(types).as("plan of:%n%s", sql).contains("fulltext");
+            }
+        }
+    }
+
+    /**
+     * Runs the query in a read-only transaction, as the services do.
+     *
+     * @return the SELECT statements it sent, at least one
+     */
+    private List<String> record(Runnable query) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        QueryPlanRecorder.start();
+        List<String> statements;
+        try {
+            transaction.executeWithoutResult(status -> query.run());
+        } finally {
+            statements = QueryPlanRecorder.stop();
+        }
+        assertThat(statements).as("statements sent by the query").isNotEmpty();
+        return statements;
+    }
+
+    private List<Map<String, String>> explain(String sql) throws SQLException {
+        List<Map<String, String>> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+            while (rs.next()) {
+                rows.add(Map.of(
+                        "table", Objects.toString(rs.getString("table"), ""),
+                        "type", Objects.toString(rs.getString("type"), ""),
+                        "Extra", Objects.toString(rs.getString("Extra"), "")));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Maps the aliases of the tables read by a statement, which {@code EXPLAIN} reports instead
+     * of the table names, to those names.
+     */
+    private static Map<String, String> tablesByAlias(String sql) {
+        Map<String, String> tables = new HashMap<>();
+        Matcher matcher = TABLE_ALIAS.matcher(sql.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            tables.put(matcher.group(2), matcher.group(1));
+        }
+        return tables;
+    }
+
+    /**
+     * @return the ID of the last owner generated, the one the tests query
+     */
+    private int generateData(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        List<Integer> owners = new ArrayList<>();
+        for (int i = 0; i < OWNERS; i++) {
+            int idOwner = insertCompany(connection, "PLAN-OWNER-" + i, null);
+            owners.add(idOwner);
+        }
+
+        try (PreparedStatement customer = connection.prepareStatement(
+                "INSERT INTO customers (enabled, id_company, id_owner_company) VALUES (?, ?, ?)");
+             PreparedStatement provider = connection.prepareStatement(
+                     "INSERT INTO providers (enabled, id_company, id_owner_company) VALUES (?, ?, ?)");
+             PreparedStatement document = connection.prepareStatement("""
+                     INSERT INTO documents (doc_number, doc_date, doc_type, status, total_net, total_to_pay,
+                                            deadline, id_company, id_owner_company)
+                     VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                     """);
+             PreparedStatement order = connection.prepareStatement("""
+                     INSERT INTO orders (descrip, date_order, price_per_unit, total, billed, source_language,
+                                         target_language, id_company, id_owner_company)
+                     VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                     """)) {
+
+            LocalDate start = LocalDate.of(2022, 1, 1);
+            for (int idOwner : owners) {
+                List<Integer> counterparties = new ArrayList<>();
+                for (int i = 0; i < COUNTERPARTIES_PER_OWNER; i++) {
+                    int idCompany = insertCompany(connection, "PLAN-" + idOwner + "-" + i, idOwner);
+                    counterparties.add(idCompany);
+                    PreparedStatement target = i % 2 == 0 ? customer : provider;
+                    target.setBoolean(1, i % 10 != 0);
+                    target.setInt(2, idCompany);
+                    target.setInt(3, idOwner);
+                    target.addBatch();
+                }
+                customer.executeBatch();
+                provider.executeBatch();
+
+                for (int i = 0; i < DOCUMENTS_PER_OWNER; i++) {
+                    LocalDate date = start.plusDays(i % 1000);
+                    document.setString(1, "F" + date.getYear() + "-" + String.format("%04d", i));
+                    document.setDate(2, Date.valueOf(date));
+                    document.setString(3, DOC_TYPES[i % DOC_TYPES.length]);
+                    document.setString(4, STATUSES[(i / DOC_TYPES.length) % STATUSES.length]);
+                    document.setDouble(5, 100 + i % 900);
+                    document.setDouble(6, 121 + i % 900);
+                    document.setDate(7, Date.valueOf(date.plusDays(30)));
+                    document.setInt(8, counterparties.get(i % counterparties.size()));
+                    document.setInt(9, idOwner);
+                    document.addBatch();
+                }
+                document.executeBatch();
+
+                for (int i = 0; i < ORDERS_PER_OWNER; i++) {
+                    order.setString(1, "Order " + i);
+                    order.setDate(2, Date.valueOf(start.plusDays(i % 1000)));
+                    order.setDouble(3, 0.08);
+                    order.setDouble(4, 80 + i % 500);
+                    order.setBoolean(5, i % 5 != 0);
+                    order.setString(6, LANGUAGES[i % LANGUAGES.length]);
+                    order.setString(7, LANGUAGES[(i / LANGUAGES.length) % LANGUAGES.length]);
+                    order.setInt(8, counterparties.get(i % counterparties.size()));
+                    order.setInt(9, idOwner);
+                    order.addBatch();
+                }
+                order.executeBatch();
+                connection.commit();
+
+                counterparty = counterparties.get(0);
+            }
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return owners.get(owners.size() - 1);
+    }
+
+    private int insertCompany(Connection connection, String name, Integer idOwner) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO companies (vat_number, com_name, legal_name, id_owner_company) VALUES (?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            statement.setString(1, name);
+            statement.setString(2, name);
+            statement.setString(3, name);
+            if (idOwner != null) {
+                statement.setInt(4, idOwner);
+            } else {
+                statement.setNull(4, Types.INTEGER);
+            }
+            statement.executeUpdate();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                keys.next();
+                return keys.getInt(1);
+            }
+        }
+    }
+}
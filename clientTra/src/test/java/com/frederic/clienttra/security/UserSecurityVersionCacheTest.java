@@ -0,0 +1,65 @@
+package com.frederic.clienttra.security;
+
+import com.frederic.clienttra.projections.UserSecurityStateProjection;
+import com.frederic.clienttra.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class UserSecurityVersionCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSecurityVersionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new UserSecurityVersionCache(userRepository, 100, 30);
+    }
+
+    private CustomUserDetails fromClaims(int securityVersion) {
+        return new CustomUserDetails(7, "user", null, true, List.of(new SimpleGrantedAuthority("ROLE_USER")),
+                3, null, null, null, securityVersion);
+    }
+
+    private UserSecurityStateProjection state(int securityVersion, String language) {
+        UserSecurityStateProjection state = mock(UserSecurityStateProjection.class);
+        when(state.getSecurityVersion()).thenReturn(securityVersion);
+        when(state.getEnabled()).thenReturn(true);
+        when(state.getPreferredLanguage()).thenReturn(language);
+        return state;
+    }
+
+    @Test
+    void currentPrincipal_shouldUseCurrentLanguage_andReadItAgainAfterEviction() {
+        UserSecurityStateProjection spanish = state(4, "es");
+        UserSecurityStateProjection english = state(4, "en");
+        when(userRepository.findSecurityStateByIdUser(7)).thenReturn(Optional.of(spanish)).thenReturn(Optional.of(english));
+
+        assertThat(cache.currentPrincipal(fromClaims(4)).getPreferredLanguage()).isEqualTo("es");
+        assertThat(cache.currentPrincipal(fromClaims(4)).getPreferredLanguage()).isEqualTo("es");
+
+        cache.evict(7);
+
+        assertThat(cache.currentPrincipal(fromClaims(4)).getPreferredLanguage()).isEqualTo("en");
+        verify(userRepository, times(2)).findSecurityStateByIdUser(7);
+    }
+
+    @Test
+    void currentPrincipal_shouldReturnNull_whenSecurityVersionChanged() {
+        UserSecurityStateProjection current = state(5, "es");
+        when(userRepository.findSecurityStateByIdUser(7)).thenReturn(Optional.of(current));
+
+        assertThat(cache.currentPrincipal(fromClaims(4))).isNull();
+    }
+}
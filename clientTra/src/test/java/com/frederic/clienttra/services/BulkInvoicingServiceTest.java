@@ -0,0 +1,208 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.create.BulkInvoicingRequestDTO;
+import com.frederic.clienttra.dto.read.BulkInvoicingCustomerResultDTO;
+import com.frederic.clienttra.dto.read.BulkInvoicingResultDTO;
+import com.frederic.clienttra.entities.ChangeRate;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.entities.Customer;
+import com.frederic.clienttra.entities.Document;
+import com.frederic.clienttra.enums.BulkInvoicingOutcome;
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.projections.UnbilledOrderForInvoicingProjection;
+import com.frederic.clienttra.repositories.CustomerRepository;
+import com.frederic.clienttra.repositories.DocumentOrderBatchRepository;
+import com.frederic.clienttra.repositories.DocumentRepository;
+import com.frederic.clienttra.repositories.OrderRepository;
+import com.frederic.clienttra.utils.DocumentUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class BulkInvoicingServiceTest {
+
+    @Mock
+    private CompanyService companyService;
+    @Mock
+    private ChangeRateService changeRateService;
+    @Mock
+    private BankAccountService bankAccountService;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private CustomerRepository customerRepository;
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private DocumentOrderBatchRepository documentOrderBatchRepository;
+    @Mock
+    private DocumentNumberService documentNumberService;
+    @Spy
+    private DocumentUtils documentUtils = new DocumentUtils();
+    @Mock
+    private CashFlowRollupService cashFlowRollupService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private BulkInvoicingService bulkInvoicingService;
+
+    private Company owner;
+    private final LocalDate docDate = LocalDate.of(2025, 3, 31);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        owner = new Company();
+        owner.setIdCompany(1);
+        ChangeRate changeRate = new ChangeRate();
+        changeRate.setCurrency1("€");
+
+        when(companyService.getCurrentCompanyOrThrow()).thenReturn(owner);
+        when(changeRateService.getChangeRateByIdAndOwner(1, owner)).thenReturn(changeRate);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        AtomicInteger nextId = new AtomicInteger(100);
+        when(documentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Document> documents = invocation.getArgument(0);
+            documents.forEach(document -> document.setIdDocument(nextId.getAndIncrement()));
+            return documents;
+        });
+        when(documentNumberService.allocateBlock(eq(owner), eq(DocumentType.INV_CUST), eq(2025), anyInt()))
+                .thenAnswer(invocation -> {
+                    int count = invocation.getArgument(3);
+                    return IntStream.rangeClosed(1, count).mapToObj(i -> "2025-00" + i).toList();
+                });
+    }
+
+    private BulkInvoicingRequestDTO request() {
+        return BulkInvoicingRequestDTO.builder()
+                .docDate(docDate)
+                .idChangeRate(1)
+                .build();
+    }
+
+    private UnbilledOrderForInvoicingProjection order(Integer idOrder, Integer idCompany, double total) {
+        UnbilledOrderForInvoicingProjection p = mock(UnbilledOrderForInvoicingProjection.class);
+        when(p.getIdOrder()).thenReturn(idOrder);
+        when(p.getIdCompany()).thenReturn(idCompany);
+        when(p.getTotal()).thenReturn(total);
+        return p;
+    }
+
+    private Customer customer(Integer idCompany, double vat, double withholding, int duedate) {
+        Company company = new Company();
+        company.setIdCompany(idCompany);
+        company.setComName("Company " + idCompany);
+        Customer customer = new Customer();
+        customer.setCompany(company);
+        customer.setOwnerCompany(owner);
+        customer.setDefaultVat(vat);
+        customer.setDefaultWithholding(withholding);
+        customer.setDuedate(duedate);
+        customer.setPayMethod("Transferencia");
+        return customer;
+    }
+
+    @Test
+    void invoiceUnbilledOrders_shouldCreateOneInvoicePerCustomer_WithCustomerDefaults() {
+        List<UnbilledOrderForInvoicingProjection> orders = List.of(
+                order(1, 10, 100.0), order(2, 10, 50.0), order(3, 20, 200.0));
+        when(orderRepository.findUnbilledForBulkInvoicing(owner, docDate)).thenReturn(orders);
+        when(customerRepository.findAllWithCompanyByOwnerCompanyAndCompanyIds(eq(owner), any()))
+                .thenReturn(List.of(customer(10, 0.21, 0.15, 30), customer(20, 0.10, 0.0, 60)));
+        when(orderRepository.lockUnbilledByIds(1, List.of(1, 2, 3))).thenReturn(orders);
+
+        BulkInvoicingResultDTO result = bulkInvoicingService.invoiceUnbilledOrders(request());
+
+        assertThat(result.getInvoicesCreated()).isEqualTo(2);
+        assertThat(result.getOrdersBilled()).isEqualTo(3);
+        assertThat(result.getTotalNet()).isEqualTo(350.0);
+        assertThat(result.getResults()).extracting(BulkInvoicingCustomerResultDTO::getDocNumber)
+                .containsExactly("2025-001", "2025-002");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Document>> saved = ArgumentCaptor.forClass(List.class);
+        verify(documentRepository).saveAll(saved.capture());
+        Document first = saved.getValue().get(0);
+        assertThat(first.getVatRate()).isEqualTo(0.21);
+        assertThat(first.getTotalToPay()).isEqualTo(150.0 + 150.0 * 0.21 - 150.0 * 0.15);
+        assertThat(first.getDeadline()).isEqualTo(docDate.plusDays(30));
+        assertThat(saved.getValue().get(1).getDeadline()).isEqualTo(docDate.plusDays(60));
+
+        verify(documentNumberService).allocateBlock(owner, DocumentType.INV_CUST, 2025, 2);
+        verify(documentOrderBatchRepository).insertAll(Map.of(100, List.of(1, 2), 101, List.of(3)));
+        verify(orderRepository).markAsBilled(owner, List.of(1, 2, 3));
+        verify(cashFlowRollupService).recordCreated(saved.getValue());
+        verify(eventPublisher).publishEvent(DataChangedEvent.documentsSaved(owner, saved.getValue()));
+        assertThat(bulkInvoicingService.getProgress().isRunning()).isFalse();
+        assertThat(bulkInvoicingService.getProgress().getCustomersDone()).isEqualTo(2);
+    }
+
+    @Test
+    void invoiceUnbilledOrders_shouldSkipCustomers_WhoseOrdersWereBilledMeanwhile() {
+        UnbilledOrderForInvoicingProjection a = order(1, 10, 100.0);
+        UnbilledOrderForInvoicingProjection b = order(2, 20, 200.0);
+        when(orderRepository.findUnbilledForBulkInvoicing(owner, docDate)).thenReturn(List.of(a, b));
+        when(customerRepository.findAllWithCompanyByOwnerCompanyAndCompanyIds(eq(owner), any()))
+                .thenReturn(List.of(customer(10, 0.21, 0.15, 30), customer(20, 0.21, 0.15, 30)));
+        when(orderRepository.lockUnbilledByIds(1, List.of(1, 2))).thenReturn(List.of(b));
+
+        BulkInvoicingResultDTO result = bulkInvoicingService.invoiceUnbilledOrders(request());
+
+        assertThat(result.getResults()).extracting(BulkInvoicingCustomerResultDTO::getOutcome)
+                .containsExactly(BulkInvoicingOutcome.SKIPPED, BulkInvoicingOutcome.INVOICED);
+        verify(documentNumberService).allocateBlock(owner, DocumentType.INV_CUST, 2025, 1);
+        verify(orderRepository).markAsBilled(owner, List.of(2));
+    }
+
+    @Test
+    void invoiceUnbilledOrders_shouldReportFailedChunk_AndContinueWithNextChunk() {
+        ReflectionTestUtils.setField(bulkInvoicingService, "chunkSize", 1);
+        UnbilledOrderForInvoicingProjection a = order(1, 10, 100.0);
+        UnbilledOrderForInvoicingProjection b = order(2, 20, 200.0);
+        when(orderRepository.findUnbilledForBulkInvoicing(owner, docDate)).thenReturn(List.of(a, b));
+        when(customerRepository.findAllWithCompanyByOwnerCompanyAndCompanyIds(eq(owner), any()))
+                .thenReturn(List.of(customer(10, 0.21, 0.15, 30), customer(20, 0.21, 0.15, 30)));
+        when(orderRepository.lockUnbilledByIds(1, List.of(1))).thenThrow(new IllegalStateException("lock timeout"));
+        when(orderRepository.lockUnbilledByIds(1, List.of(2))).thenReturn(List.of(b));
+
+        BulkInvoicingResultDTO result = bulkInvoicingService.invoiceUnbilledOrders(request());
+
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getInvoicesCreated()).isEqualTo(1);
+        assertThat(result.getResults().get(0).getMessage()).isEqualTo("lock timeout");
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void invoiceUnbilledOrders_shouldNotWriteAnything_WhenNoOrdersAreUnbilled() {
+        when(orderRepository.findUnbilledForBulkInvoicing(owner, docDate)).thenReturn(List.of());
+
+        BulkInvoicingResultDTO result = bulkInvoicingService.invoiceUnbilledOrders(request());
+
+        assertThat(result.getResults()).isEmpty();
+        verifyNoInteractions(customerRepository, documentRepository, documentNumberService, transactionTemplate);
+    }
+}
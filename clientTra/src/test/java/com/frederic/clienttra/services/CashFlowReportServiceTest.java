@@ -0,0 +1,161 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.read.CashFlowReportDTO;
+import com.frederic.clienttra.dto.read.InvoiceSummaryForCashFlowReportDTO;
+import com.frederic.clienttra.dto.read.PartyForCashFlowReportDTO;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.mappers.CashFlowReportMapper;
+import com.frederic.clienttra.projections.InvoiceForCashFlowReportProjection;
+import com.frederic.clienttra.projections.PendingOrdersForCashflowReportProjection;
+import com.frederic.clienttra.repositories.InvoiceForCashFlowReportRepository;
+import com.frederic.clienttra.repositories.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CashFlowReportServiceTest {
+
+    @Mock
+    private InvoiceForCashFlowReportRepository repository;
+    @Mock
+    private OrderRepository orderRepository;
+    @Spy
+    private CashFlowReportMapper mapper = new CashFlowReportMapper();
+    @Mock
+    private OrderService orderService;
+    @Mock
+    private CompanyServiceImpl companyService;
+    @Mock
+    private CashFlowRollupService rollupService;
+    @Spy
+    private ReportCache reportCache = new ReportCache(100, 60);
+
+    @InjectMocks
+    private CashFlowReportService cashFlowReportService;
+
+    private Company owner;
+    private final LocalDate initDate = LocalDate.of(2025, 1, 1);
+    private final LocalDate endDate = LocalDate.of(2025, 12, 31);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        owner = new Company();
+        owner.setIdCompany(1);
+        when(companyService.getCurrentCompanyOrThrow()).thenReturn(owner);
+    }
+
+    private InvoiceForCashFlowReportProjection invoice(Integer idCompany, String number, double net, double vat) {
+        InvoiceForCashFlowReportProjection p = mock(InvoiceForCashFlowReportProjection.class);
+        when(p.getIdCompany()).thenReturn(idCompany);
+        when(p.getLegalName()).thenReturn("Company " + idCompany);
+        when(p.getVatNumber()).thenReturn("VAT" + idCompany);
+        when(p.getInvoiceNumber()).thenReturn(number);
+        when(p.getDocDate()).thenReturn(LocalDate.of(2025, 3, 1));
+        when(p.getTotalNet()).thenReturn(net);
+        when(p.getTotalVat()).thenReturn(vat);
+        when(p.getTotalWithholding()).thenReturn(0.0);
+        return p;
+    }
+
+    private PendingOrdersForCashflowReportProjection pendingOrder(Integer idCompany, double total) {
+        PendingOrdersForCashflowReportProjection p = mock(PendingOrdersForCashflowReportProjection.class);
+        when(p.getIdCompany()).thenReturn(idCompany);
+        when(p.getLegalName()).thenReturn("Company " + idCompany);
+        when(p.getVatNumber()).thenReturn("VAT" + idCompany);
+        when(p.getTotal()).thenReturn(total);
+        return p;
+    }
+
+    @Test
+    void generateReport_shouldBuildPartiesInOnePass_andCloseTheStream() {
+        InvoiceForCashFlowReportProjection a1 = invoice(10, "2025-001", 100.0, 21.0);
+        InvoiceForCashFlowReportProjection a2 = invoice(10, "2025-004", 50.0, 10.5);
+        InvoiceForCashFlowReportProjection b1 = invoice(20, "2025-002", 200.0, 42.0);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(repository.streamInvoicesForCashFlowReport(initDate, endDate, 1, DocumentType.INV_CUST))
+                .thenReturn(Stream.of(a1, a2, b1).onClose(() -> closed.set(true)));
+
+        CashFlowReportDTO report = cashFlowReportService.generateReport(initDate, endDate, DocumentType.INV_CUST, false);
+
+        assertThat(closed).isTrue();
+        assertThat(report.getGrandTotalNet()).isEqualTo(350.0);
+        assertThat(report.getParties()).extracting(PartyForCashFlowReportDTO::getIdCompany).containsExactly(10, 20);
+
+        PartyForCashFlowReportDTO first = report.getParties().get(0);
+        assertThat(first.getTotalNet()).isEqualTo(150.0);
+        assertThat(first.getTotalVat()).isEqualTo(31.5);
+        assertThat(first.getInvoices()).extracting(InvoiceSummaryForCashFlowReportDTO::getInvoiceNumber)
+                .containsExactly("2025-001", "2025-004");
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void generateReport_shouldAddPendingOrders_withoutLoadingCompaniesOneByOne() {
+        InvoiceForCashFlowReportProjection a1 = invoice(10, "2025-001", 100.0, 21.0);
+        PendingOrdersForCashflowReportProjection o1 = pendingOrder(10, 30.0);
+        PendingOrdersForCashflowReportProjection o2 = pendingOrder(10, 20.0);
+        PendingOrdersForCashflowReportProjection o3 = pendingOrder(30, 70.0);
+        when(repository.streamInvoicesForCashFlowReport(initDate, endDate, 1, DocumentType.INV_CUST))
+                .thenReturn(Stream.of(a1));
+        when(orderRepository.findByOwnerCompanyPendingOrdersForCustomersByDateOrderDesc(owner))
+                .thenReturn(List.of(o1, o2, o3));
+
+        CashFlowReportDTO report = cashFlowReportService.generateReport(initDate, endDate, DocumentType.INV_CUST, true);
+
+        assertThat(report.getParties()).extracting(PartyForCashFlowReportDTO::getIdCompany).containsExactly(30, 10);
+        assertThat(report.getParties().get(0).getLegalName()).isEqualTo("Company 30");
+        assertThat(report.getParties().get(0).getTotalNet()).isEqualTo(70.0);
+        assertThat(report.getGrandTotalNet()).isEqualTo(220.0);
+        verify(companyService, never()).getCompanyById(any());
+
+        PartyForCashFlowReportDTO withInvoices = report.getParties().get(1);
+        assertThat(withInvoices.getTotalNet()).isEqualTo(150.0);
+        assertThat(withInvoices.getInvoices()).extracting(InvoiceSummaryForCashFlowReportDTO::getInvoiceNumber)
+                .containsExactly("2025-001", "PENDING");
+    }
+
+    @Test
+    void generateReport_shouldServeRepeatedCallsFromCache_untilInvalidated() {
+        InvoiceForCashFlowReportProjection a1 = invoice(10, "2025-001", 100.0, 21.0);
+        when(repository.streamInvoicesForCashFlowReport(initDate, endDate, 1, DocumentType.INV_CUST))
+                .thenAnswer(invocation -> Stream.of(a1));
+
+        CashFlowReportDTO first = cashFlowReportService.generateReport(initDate, endDate, DocumentType.INV_CUST, false);
+        CashFlowReportDTO second = cashFlowReportService.generateReport(initDate, endDate, DocumentType.INV_CUST, false);
+        reportCache.invalidate(owner, DocumentType.INV_PROV);
+        cashFlowReportService.generateReport(initDate, endDate, DocumentType.INV_CUST, false);
+        reportCache.invalidate(owner, DocumentType.INV_CUST);
+        cashFlowReportService.generateReport(initDate, endDate, DocumentType.INV_CUST, false);
+
+        assertThat(second).isSameAs(first);
+        verify(repository, times(2)).streamInvoicesForCashFlowReport(initDate, endDate, 1, DocumentType.INV_CUST);
+    }
+
+    @Test
+    void generateReport_shouldNotCacheRangesLongerThanTheLimit() {
+        LocalDate longEnd = initDate.plusDays(CashFlowReportService.DEFAULT_MAX_CACHED_DAYS);
+        InvoiceForCashFlowReportProjection a1 = invoice(10, "2025-001", 100.0, 21.0);
+        when(repository.streamInvoicesForCashFlowReport(initDate, longEnd, 1, DocumentType.INV_CUST))
+                .thenAnswer(invocation -> Stream.of(a1));
+
+        cashFlowReportService.generateReport(initDate, longEnd, DocumentType.INV_CUST, false);
+        cashFlowReportService.generateReport(initDate, longEnd, DocumentType.INV_CUST, false);
+
+        verify(repository, times(2)).streamInvoicesForCashFlowReport(initDate, longEnd, 1, DocumentType.INV_CUST);
+        assertThat(reportCache.getStats().getSize()).isZero();
+    }
+}
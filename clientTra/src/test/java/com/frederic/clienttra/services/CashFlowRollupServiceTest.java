@@ -0,0 +1,147 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.read.RollupVerificationDTO;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.entities.Document;
+import com.frederic.clienttra.enums.DocumentStatus;
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.projections.MonthlyRollupProjection;
+import com.frederic.clienttra.repositories.CashFlowMonthlyRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CashFlowRollupServiceTest {
+
+    @Mock
+    private CashFlowMonthlyRollupRepository rollupRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CashFlowRollupService rollupService;
+
+    private Company owner;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        owner = new Company();
+        owner.setIdCompany(1);
+    }
+
+    private Document invoice(DocumentType type, DocumentStatus status, double totalNet) {
+        Document document = new Document();
+        document.setOwnerCompany(owner);
+        document.setDocType(type);
+        document.setStatus(status);
+        document.setDocDate(LocalDate.of(2025, 3, 14));
+        document.setTotalNet(totalNet);
+        return document;
+    }
+
+    private MonthlyRollupProjection row(String docType, int period, double totalNet, int docCount) {
+        MonthlyRollupProjection row = mock(MonthlyRollupProjection.class);
+        when(row.getDocType()).thenReturn(docType);
+        when(row.getPeriod()).thenReturn(period);
+        when(row.getTotalNet()).thenReturn(totalNet);
+        when(row.getDocCount()).thenReturn(docCount);
+        return row;
+    }
+
+    @Test
+    void recordCreated_shouldAddInvoiceToItsMonth() {
+        rollupService.recordCreated(invoice(DocumentType.INV_CUST, DocumentStatus.PENDING, 120.0));
+
+        verify(rollupRepository).add(1, "INV_CUST", 202503, 120.0, 1);
+    }
+
+    @Test
+    void recordCreated_shouldIgnoreQuotes() {
+        rollupService.recordCreated(invoice(DocumentType.QUOTE, DocumentStatus.PENDING, 120.0));
+
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void recordStatusChange_shouldSubtractDeletedInvoice() {
+        rollupService.recordStatusChange(invoice(DocumentType.INV_PROV, DocumentStatus.DELETED, 80.0), DocumentStatus.PAID);
+
+        verify(rollupRepository).add(1, "INV_PROV", 202503, -80.0, -1);
+    }
+
+    @Test
+    void recordStatusChange_shouldNotTouchRollup_whenTogglingPaidStatus() {
+        rollupService.recordStatusChange(invoice(DocumentType.INV_CUST, DocumentStatus.PAID, 80.0), DocumentStatus.PENDING);
+
+        verify(rollupRepository, never()).add(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void recordTotalChange_shouldAddDifferenceWithoutChangingCount() {
+        rollupService.recordTotalChange(invoice(DocumentType.INV_CUST, DocumentStatus.PENDING, 150.0), 120.0);
+
+        verify(rollupRepository).add(1, "INV_CUST", 202503, 30.0, 0);
+    }
+
+    @Test
+    void getMonthlyTotals_shouldMapPeriodsToMonths() {
+        MonthlyRollupProjection march = row("INV_CUST", 202503, 300.0, 2);
+        when(rollupRepository.findByPeriodBetween(1, "INV_CUST", 202501, 202506)).thenReturn(List.of(march));
+
+        Map<YearMonth, Double> totals = rollupService.getMonthlyTotals(owner, DocumentType.INV_CUST,
+                YearMonth.of(2025, 1), YearMonth.of(2025, 6));
+
+        assertThat(totals).containsExactly(Map.entry(YearMonth.of(2025, 3), 300.0));
+    }
+
+    @Test
+    void verify_shouldReportMonthsThatDiffer() {
+        MonthlyRollupProjection expectedMarch = row("INV_CUST", 202503, 300.0, 2);
+        MonthlyRollupProjection expectedApril = row("INV_CUST", 202504, 50.0, 1);
+        MonthlyRollupProjection storedMarch = row("INV_CUST", 202503, 300.0, 2);
+        when(rollupRepository.aggregateFromDocuments(1)).thenReturn(List.of(expectedMarch, expectedApril));
+        when(rollupRepository.findAllByOwner(1)).thenReturn(List.of(storedMarch));
+
+        RollupVerificationDTO result = rollupService.verify(owner);
+
+        assertThat(result.getMonths()).isEqualTo(2);
+        assertThat(result.isConsistent()).isFalse();
+        assertThat(result.getMismatches()).singleElement().asString().startsWith("INV_CUST 2025-04");
+    }
+
+    @Test
+    void rebuild_shouldReplaceRollupsFromDocuments() {
+        when(rollupRepository.aggregateFromDocuments(1)).thenReturn(List.of());
+        when(rollupRepository.findAllByOwner(1)).thenReturn(List.of());
+
+        RollupVerificationDTO result = rollupService.rebuild(owner);
+
+        var inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).deleteAllByOwner(1);
+        inOrder.verify(rollupRepository).insertFromDocuments(1);
+        verify(eventPublisher).publishEvent(DataChangedEvent.rollupsRebuilt(owner));
+        assertThat(result.isConsistent()).isTrue();
+    }
+
+    @Test
+    void coversMonth_shouldDetectPartialEdgeMonths() {
+        YearMonth march = YearMonth.of(2025, 3);
+
+        assertThat(CashFlowRollupService.coversMonth(march, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31))).isTrue();
+        assertThat(CashFlowRollupService.coversMonth(march, LocalDate.of(2025, 3, 2), LocalDate.of(2025, 5, 31))).isFalse();
+        assertThat(CashFlowRollupService.coversMonth(march, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 30))).isFalse();
+    }
+}
@@ -0,0 +1,43 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.repositories.CompanyRepository;
+import com.frederic.clienttra.repositories.SchemeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.mockito.Mockito.*;
+
+public class CompanyDetailServiceTest {
+
+    @Mock
+    private CompanyRepository companyRepository;
+    @Mock
+    private SchemeRepository schemeRepository;
+
+    @InjectMocks
+    private CompanyDetailService companyDetailService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void loadDetailCollections_shouldIssueOneStatementPerCollection() {
+        Company company = new Company();
+        company.setIdCompany(10);
+
+        companyDetailService.loadDetailCollections(company);
+
+        verify(companyRepository).findWithPhonesByIdCompany(10);
+        verify(companyRepository).findWithBankAccountsByIdCompany(10);
+        verify(companyRepository).findWithContactPersonsByIdCompany(10);
+        verify(companyRepository).findWithSchemesByIdCompany(10);
+        verify(schemeRepository).findWithLinesByCompany(company);
+        verifyNoMoreInteractions(companyRepository, schemeRepository);
+    }
+}
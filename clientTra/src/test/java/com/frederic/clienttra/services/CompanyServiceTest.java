@@ -7,10 +7,10 @@ import com.frederic.clienttra.exceptions.CompanyNotFoundForUserException;
 import com.frederic.clienttra.mappers.CompanyMapper;
 import com.frederic.clienttra.repositories.CompanyRepository;
 import com.frederic.clienttra.security.CustomUserDetails;
+import com.frederic.clienttra.security.TenantContext;
 import com.frederic.clienttra.testutils.SecurityTestUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -33,12 +33,12 @@ public class CompanyServiceTest {
     CompanyMapper companyMapper;
     @Mock
     CompanyRepository companyRepository;
-    @InjectMocks
     private CompanyServiceImpl companyService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        companyService = new CompanyServiceImpl(companyRepository, companyMapper, new TenantContext(companyRepository));
     }
 
     private CustomUserDetails getCurrentUser(int idUser, int idCompany) {
@@ -85,10 +85,11 @@ public class CompanyServiceTest {
         CustomUserDetails currentUser = getCurrentUser(idUser, idCompany);
         SecurityTestUtils.mockSecurityContextWithUser(currentUser);
 
-        when(companyRepository.findById(idCompany)).thenReturn(getCurrentCompany(idCompany));
+        when(companyRepository.getReferenceById(idCompany)).thenReturn(getCurrentCompany(idCompany).get());
 
         Optional<Company> result = companyService.getCurrentCompany();
         assertThat(result.get().getIdCompany()).isEqualTo(idCompany);
+        verify(companyRepository, never()).findById(anyInt());
     }
 
     @Test
@@ -101,14 +102,8 @@ public class CompanyServiceTest {
     }
 
     @Test
-    void getCurrentCompanyOrThrow_ShouldThrow_WhenNoCompany() {
-        int idUser = 5;
-        int idCompany = 999;
-
-        CustomUserDetails currentUser = getCurrentUser(idUser, idCompany);
-        SecurityTestUtils.mockSecurityContextWithUser(currentUser);
-
-        when(companyRepository.findById(idCompany)).thenReturn(Optional.empty());
+    void getCurrentCompanyOrThrow_ShouldThrow_WhenUserNotAuthenticated() {
+        SecurityContextHolder.clearContext();
 
         assertThatThrownBy(() -> companyService.getCurrentCompanyOrThrow())
                 .isInstanceOf(CompanyNotFoundForUserException.class);
@@ -141,7 +136,7 @@ public class CompanyServiceTest {
 
         Company company = getCurrentCompany(1).get();
 
-        when(companyRepository.findById(anyInt())).thenReturn(Optional.of(company));
+        when(companyRepository.getReferenceById(anyInt())).thenReturn(company);
 
         doNothing().when(companyMapper).updateEntity(company, dto);
 
@@ -167,7 +162,7 @@ public class CompanyServiceTest {
         CustomUserDetails currentUser = getCurrentUser(1, company.getIdCompany());
         SecurityTestUtils.mockSecurityContextWithUser(currentUser);
 
-        when(companyRepository.findById(company.getIdCompany())).thenReturn(Optional.of(company));
+        when(companyRepository.getReferenceById(company.getIdCompany())).thenReturn(company);
 
         companyService.uploadCompanyLogo(file);
 
@@ -2,6 +2,7 @@ package com.frederic.clienttra.services;
 
 import com.frederic.clienttra.dto.create.CreateDocumentRequestDTO;
 import com.frederic.clienttra.dto.read.DocumentDTO;
+import com.frederic.clienttra.dto.read.DocumentPageDTO;
 import com.frederic.clienttra.entities.*;
 import com.frederic.clienttra.enums.DocumentStatus;
 import com.frederic.clienttra.enums.DocumentType;
@@ -18,6 +19,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -35,8 +37,12 @@ public class CustomerInvoiceServiceTest {
     @Mock
     private DocumentMapper documentMapper;
     @Mock
+    private DocumentNumberService documentNumberService;
+    @Mock
     private DocumentRepository documentRepository;
     @Mock
+    private DocumentPageService documentPageService;
+    @Mock
     private ChangeRateService changeRateService;
     @Mock
     private CompanyService companyService;
@@ -50,6 +56,10 @@ public class CustomerInvoiceServiceTest {
     private OrderRepository orderRepository;
     @Mock
     private DocumentUtils documentUtils;
+    @Mock
+    private CashFlowRollupService cashFlowRollupService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Spy
     @InjectMocks
@@ -60,6 +70,22 @@ public class CustomerInvoiceServiceTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    @Test
+    void getDocumentsPage_shouldDelegateWithCurrentCompany() {
+        Company owner = new Company();
+        owner.setIdCompany(1);
+        DocumentPageDTO page = new DocumentPageDTO(List.of(), null);
+
+        when(companyService.getCurrentCompanyOrThrow()).thenReturn(owner);
+        when(documentPageService.getDocumentsPage(owner, DocumentType.INV_CUST, 2, DocumentStatus.PENDING, "abc", 20))
+                .thenReturn(page);
+
+        DocumentPageDTO result = customerInvoiceService.getDocumentsPage(
+                DocumentType.INV_CUST, 2, DocumentStatus.PENDING, "abc", 20);
+
+        assertThat(result).isSameAs(page);
+    }
+
     @Test
     void create_shouldCreateDocumentCorrectly() {
         int idOwnerCompany = 1;
@@ -0,0 +1,36 @@
+package com.frederic.clienttra.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frederic.clienttra.dto.demo.DemoCompanyDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DemoDataTemplateTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DemoDataTemplate template = new DemoDataTemplate(objectMapper);
+
+    @Test
+    void constructor_shouldParseTheWholeDemoDataset() {
+        assertThat(template.getOwnerCompany().getChangeRates()).isNotEmpty();
+        assertThat(template.getOwnerCompany().getBankAccounts()).isNotEmpty();
+        assertThat(template.getCustomers()).isNotEmpty();
+        assertThat(template.getProviders()).isNotEmpty();
+        assertThat(template.getCustomers()).flatExtracting(DemoCompanyDTO::getDocuments)
+                .allSatisfy(document -> assertThat(document.getDocDate()).isNotNull());
+    }
+
+    @Test
+    void getters_shouldReturnTheSameUnmodifiableTemplate() {
+        assertThat(template.getCustomers()).isSameAs(template.getCustomers());
+        assertThatThrownBy(() -> template.getProviders().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void constructor_shouldNotModifyTheSharedObjectMapper() {
+        assertThat(objectMapper.getRegisteredModuleIds()).isEmpty();
+    }
+}
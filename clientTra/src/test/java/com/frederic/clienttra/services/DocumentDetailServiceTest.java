@@ -0,0 +1,116 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.read.DocumentDTO;
+import com.frederic.clienttra.dto.read.OrderForDocumentDTO;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.entities.Document;
+import com.frederic.clienttra.entities.Item;
+import com.frederic.clienttra.entities.Order;
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.exceptions.DocumentNotFoundException;
+import com.frederic.clienttra.mappers.DocumentMapper;
+import com.frederic.clienttra.repositories.DocumentRepository;
+import com.frederic.clienttra.repositories.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class DocumentDetailServiceTest {
+
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private DocumentMapper documentMapper;
+
+    @InjectMocks
+    private DocumentDetailService documentDetailService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void getDocumentDetail_shouldSumQuantitiesOfLoadedItems() {
+        Company owner = new Company();
+        owner.setIdCompany(1);
+
+        Order first = new Order();
+        first.setIdOrder(100);
+        Order second = new Order();
+        second.setIdOrder(101);
+
+        Document document = new Document();
+        document.setIdDocument(10);
+        document.setOrders(List.of(first, second));
+
+        DocumentDTO dto = new DocumentDTO();
+        dto.setOrders(new ArrayList<>(List.of(
+                OrderForDocumentDTO.builder().idOrder(100).build(),
+                OrderForDocumentDTO.builder().idOrder(101).build())));
+
+        Order firstWithItems = new Order();
+        firstWithItems.setIdOrder(100);
+        firstWithItems.setItems(List.of(item(2000.0), item(500.0)));
+        Order secondWithItems = new Order();
+        secondWithItems.setIdOrder(101);
+        secondWithItems.setItems(List.of());
+
+        when(documentRepository.findDetailByOwnerCompanyAndIdDocumentAndDocType(owner, 10, DocumentType.INV_CUST))
+                .thenReturn(Optional.of(document));
+        when(orderRepository.findWithItemsByIdOrderIn(List.of(100, 101))).thenReturn(List.of(firstWithItems, secondWithItems));
+        when(documentMapper.toDto(document)).thenReturn(dto);
+
+        DocumentDTO result = documentDetailService.getDocumentDetail(owner, DocumentType.INV_CUST, 10);
+
+        assertThat(result.getOrders()).extracting(OrderForDocumentDTO::getQuantity).containsExactly(2500.0, 0.0);
+        verify(documentRepository, never()).findByOwnerCompanyAndIdDocumentAndDocType(any(), any(), any());
+    }
+
+    @Test
+    void getDocumentDetail_shouldSkipOrderQueries_whenDocumentHasNoOrders() {
+        Company owner = new Company();
+        Document document = new Document();
+        document.setOrders(List.of());
+        DocumentDTO dto = new DocumentDTO();
+        dto.setOrders(List.of());
+
+        when(documentRepository.findDetailByOwnerCompanyAndIdDocumentAndDocType(owner, 10, DocumentType.QUOTE))
+                .thenReturn(Optional.of(document));
+        when(documentMapper.toDto(document)).thenReturn(dto);
+
+        documentDetailService.getDocumentDetail(owner, DocumentType.QUOTE, 10);
+
+        verify(orderRepository, never()).findWithItemsByIdOrderIn(anyList());
+    }
+
+    @Test
+    void getDocumentDetail_shouldThrow_whenNotFound() {
+        Company owner = new Company();
+        when(documentRepository.findDetailByOwnerCompanyAndIdDocumentAndDocType(owner, 10, DocumentType.PO))
+                .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> documentDetailService.getDocumentDetail(owner, DocumentType.PO, 10))
+                .isInstanceOf(DocumentNotFoundException.class);
+    }
+
+    private Item item(Double qty) {
+        Item item = new Item();
+        item.setQty(qty);
+        return item;
+    }
+}
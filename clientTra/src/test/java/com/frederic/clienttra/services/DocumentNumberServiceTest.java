@@ -0,0 +1,135 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.repositories.DocumentNumberSeriesRepository;
+import com.frederic.clienttra.repositories.DocumentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class DocumentNumberServiceTest {
+
+    @Mock
+    private DocumentNumberSeriesRepository seriesRepository;
+    @Mock
+    private DocumentRepository documentRepository;
+
+    private DocumentNumberService documentNumberService;
+
+    private Company owner;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        documentNumberService = new DocumentNumberService(seriesRepository, documentRepository,
+                DocumentNumberService.DEFAULT_CUSTOMER_INVOICE_FORMAT,
+                DocumentNumberService.DEFAULT_QUOTE_FORMAT,
+                DocumentNumberService.DEFAULT_PURCHASE_ORDER_FORMAT);
+        owner = new Company();
+        owner.setIdCompany(1);
+    }
+
+    @Test
+    void allocateNext_shouldUseExistingSeries_withoutScanningDocuments() {
+        when(seriesRepository.increment(1, DocumentType.INV_CUST, 2025, 1)).thenReturn(1);
+        when(seriesRepository.findLastValue(1, DocumentType.INV_CUST, 2025)).thenReturn(Optional.of(42));
+
+        String number = documentNumberService.allocateNext(owner, DocumentType.INV_CUST, 2025);
+
+        assertThat(number).isEqualTo("2025-1.042");
+        verifyNoInteractions(documentRepository);
+        verify(seriesRepository, never()).insertIfAbsent(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void allocateBlock_shouldReturnConsecutiveNumbers() {
+        when(seriesRepository.increment(1, DocumentType.QUOTE, 2025, 3)).thenReturn(1);
+        when(seriesRepository.findLastValue(1, DocumentType.QUOTE, 2025)).thenReturn(Optional.of(12));
+
+        List<String> numbers = documentNumberService.allocateBlock(owner, DocumentType.QUOTE, 2025, 3);
+
+        assertThat(numbers).containsExactly("2025-1.Q10", "2025-1.Q11", "2025-1.Q12");
+    }
+
+    @Test
+    void allocateNext_shouldCreateSeriesAfterHighestExistingNumber_whenSeriesIsMissing() {
+        when(seriesRepository.increment(1, DocumentType.INV_CUST, 2025, 1)).thenReturn(0, 1);
+        when(documentRepository.findDocNumbersByOwnerCompanyAndDocTypeAndDocNumberStartingWith(
+                eq(owner), eq(DocumentType.INV_CUST), eq("2025-1."), any()))
+                .thenReturn(List.of("2025-1.007"));
+        when(seriesRepository.findLastValue(1, DocumentType.INV_CUST, 2025)).thenReturn(Optional.of(8));
+
+        String number = documentNumberService.allocateNext(owner, DocumentType.INV_CUST, 2025);
+
+        assertThat(number).isEqualTo("2025-1.008");
+        verify(seriesRepository).insertIfAbsent(1, "INV_CUST", 2025, 7);
+        verify(seriesRepository, times(2)).increment(1, DocumentType.INV_CUST, 2025, 1);
+    }
+
+    @Test
+    void assignNumber_shouldKeepRequestedNumber_andRaiseSeries() {
+        when(seriesRepository.findLastValue(1, DocumentType.PO, 2025)).thenReturn(Optional.of(3));
+
+        String number = documentNumberService.assignNumber(owner, DocumentType.PO, LocalDate.of(2025, 5, 1), "2025-1.PO10");
+
+        assertThat(number).isEqualTo("2025-1.PO10");
+        verify(seriesRepository).raiseTo(1, DocumentType.PO, 2025, 10);
+        verify(seriesRepository, never()).increment(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void allocateNext_shouldSeedQuoteSeriesFromExistingQuoteNumbers() {
+        when(seriesRepository.increment(1, DocumentType.QUOTE, 2025, 1)).thenReturn(0, 1);
+        when(documentRepository.findDocNumbersByOwnerCompanyAndDocTypeAndDocNumberStartingWith(
+                eq(owner), eq(DocumentType.QUOTE), eq("2025-1.Q"), any()))
+                .thenReturn(List.of("2025-1.Q02"));
+        when(seriesRepository.findLastValue(1, DocumentType.QUOTE, 2025)).thenReturn(Optional.of(3));
+
+        String number = documentNumberService.allocateNext(owner, DocumentType.QUOTE, 2025);
+
+        assertThat(number).isEqualTo("2025-1.Q03");
+        verify(seriesRepository).insertIfAbsent(1, "QUOTE", 2025, 2);
+    }
+
+    @Test
+    void allocateNext_shouldFollowConfiguredFormat() {
+        DocumentNumberService custom = new DocumentNumberService(seriesRepository, documentRepository,
+                "F-YYYY/#####", DocumentNumberService.DEFAULT_QUOTE_FORMAT, DocumentNumberService.DEFAULT_PURCHASE_ORDER_FORMAT);
+        when(seriesRepository.increment(1, DocumentType.INV_CUST, 2025, 1)).thenReturn(1);
+        when(seriesRepository.findLastValue(1, DocumentType.INV_CUST, 2025)).thenReturn(Optional.of(42));
+
+        assertThat(custom.allocateNext(owner, DocumentType.INV_CUST, 2025)).isEqualTo("F-2025/00042");
+    }
+
+    @Test
+    void constructor_shouldRejectFormatWithoutSequence() {
+        assertThatThrownBy(() -> new DocumentNumberService(seriesRepository, documentRepository,
+                "YYYY-1.", DocumentNumberService.DEFAULT_QUOTE_FORMAT, DocumentNumberService.DEFAULT_PURCHASE_ORDER_FORMAT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void assignNumber_shouldIgnoreProviderInvoices() {
+        String number = documentNumberService.assignNumber(owner, DocumentType.INV_PROV, LocalDate.of(2025, 5, 1), "PROV-77");
+
+        assertThat(number).isEqualTo("PROV-77");
+        verifyNoInteractions(seriesRepository);
+    }
+
+    @Test
+    void allocateBlock_shouldRejectNonPositiveCount() {
+        assertThatThrownBy(() -> documentNumberService.allocateBlock(owner, DocumentType.INV_CUST, 2025, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.read.DocumentPageDTO;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.enums.DocumentStatus;
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.exceptions.InvalidCursorException;
+import com.frederic.clienttra.mappers.DocumentMapper;
+import com.frederic.clienttra.projections.DocumentListProjection;
+import com.frederic.clienttra.repositories.DocumentRepository;
+import com.frederic.clienttra.utils.DocumentCursor;
+import com.frederic.clienttra.utils.KeysetPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+public class DocumentPageServiceTest {
+
+    @Mock
+    private DocumentRepository documentRepository;
+    @Mock
+    private DocumentMapper documentMapper;
+
+    @InjectMocks
+    private DocumentPageService documentPageService;
+
+    private Company owner;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        owner = new Company();
+        owner.setIdCompany(1);
+    }
+
+    @Test
+    void getDocumentsPage_shouldPassDecodedCursorAndCappedPageSize() {
+        DocumentCursor cursor = new DocumentCursor(LocalDate.of(2024, 3, 1), "2024-0007", 42);
+        List<DocumentListProjection> rows = List.of();
+        DocumentPageDTO page = new DocumentPageDTO(List.of(), null);
+
+        when(documentRepository.findPageByDocTypeAndOwnerCompany(
+                DocumentType.INV_CUST, owner, 2, DocumentStatus.PENDING, cursor, KeysetPage.MAX_PAGE_SIZE))
+                .thenReturn(rows);
+        when(documentMapper.toPageDtoFromProjection(rows, KeysetPage.MAX_PAGE_SIZE)).thenReturn(page);
+
+        DocumentPageDTO result = documentPageService.getDocumentsPage(
+                owner, DocumentType.INV_CUST, 2, DocumentStatus.PENDING, cursor.encode(), 10_000);
+
+        assertThat(result).isSameAs(page);
+    }
+
+    @Test
+    void getDocumentsPage_shouldThrowInvalidCursorException_WhenCursorIsMalformed() {
+        assertThatThrownBy(() -> documentPageService.getDocumentsPage(owner, DocumentType.INV_CUST, null, null, "%%%", null))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
@@ -0,0 +1,100 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.create.JobRequestDTO;
+import com.frederic.clienttra.dto.read.JobDTO;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.entities.Job;
+import com.frederic.clienttra.enums.JobStatus;
+import com.frederic.clienttra.enums.JobType;
+import com.frederic.clienttra.exceptions.JobAlreadyFinishedException;
+import com.frederic.clienttra.exceptions.JobNotFoundException;
+import com.frederic.clienttra.mappers.JobMapper;
+import com.frederic.clienttra.repositories.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class JobServiceTest {
+
+    @Mock
+    private JobRepository jobRepository;
+    @Spy
+    private JobMapper jobMapper = new JobMapper();
+    @Mock
+    private CompanyService companyService;
+
+    @InjectMocks
+    private JobService jobService;
+
+    private Company owner;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        owner = new Company();
+        owner.setIdCompany(1);
+        when(companyService.getCurrentCompanyOrThrow()).thenReturn(owner);
+    }
+
+    private Job job(JobStatus status) {
+        return Job.builder()
+                .idJob(7L)
+                .jobType(JobType.DEMO_DATA_PURGE)
+                .status(status)
+                .ownerCompany(owner)
+                .build();
+    }
+
+    @Test
+    void submit_shouldQueueJobForCurrentCompany() {
+        when(jobRepository.save(any(Job.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        JobDTO result = jobService.submit(new JobRequestDTO(JobType.DEMO_DATA_PURGE));
+
+        ArgumentCaptor<Job> saved = ArgumentCaptor.forClass(Job.class);
+        verify(jobRepository).save(saved.capture());
+        assertThat(saved.getValue().getOwnerCompany()).isSameAs(owner);
+        assertThat(saved.getValue().getCreatedAt()).isNotNull();
+        assertThat(result.getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(result.getType()).isEqualTo(JobType.DEMO_DATA_PURGE);
+    }
+
+    @Test
+    void cancel_shouldOnlyRequestCancellation_whenJobIsRunning() {
+        when(jobRepository.cancelQueued(eq(7L), eq(owner), any())).thenReturn(0);
+        when(jobRepository.requestCancel(7L, owner)).thenReturn(1);
+        Job running = job(JobStatus.RUNNING);
+        running.setCancelRequested(true);
+        when(jobRepository.findByIdJobAndOwnerCompany(7L, owner)).thenReturn(Optional.of(running));
+
+        JobDTO result = jobService.cancel(7L);
+
+        assertThat(result.isCancelRequested()).isTrue();
+        assertThat(result.getStatus()).isEqualTo(JobStatus.RUNNING);
+    }
+
+    @Test
+    void cancel_shouldThrow_whenJobAlreadyFinished() {
+        when(jobRepository.findByIdJobAndOwnerCompany(7L, owner)).thenReturn(Optional.of(job(JobStatus.SUCCEEDED)));
+
+        assertThatThrownBy(() -> jobService.cancel(7L)).isInstanceOf(JobAlreadyFinishedException.class);
+    }
+
+    @Test
+    void getJob_shouldThrow_whenJobBelongsToAnotherCompany() {
+        when(jobRepository.findByIdJobAndOwnerCompany(7L, owner)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> jobService.getJob(7L)).isInstanceOf(JobNotFoundException.class);
+    }
+}
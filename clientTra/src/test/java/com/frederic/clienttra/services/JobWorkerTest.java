@@ -0,0 +1,151 @@
+package com.frederic.clienttra.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.entities.Job;
+import com.frederic.clienttra.enums.JobStatus;
+import com.frederic.clienttra.enums.JobType;
+import com.frederic.clienttra.projections.RunningJobsProjection;
+import com.frederic.clienttra.repositories.CompanyRepository;
+import com.frederic.clienttra.repositories.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class JobWorkerTest {
+
+    @Mock
+    private JobRepository jobRepository;
+    @Mock
+    private CompanyRepository companyRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private JobHandler handler;
+
+    private JobWorker jobWorker;
+    private Company owner;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        owner = company(1);
+        when(handler.getType()).thenReturn(JobType.ROLLUP_REBUILD);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        jobWorker = new JobWorker(jobRepository, companyRepository, transactionTemplate, new ObjectMapper(),
+                List.of(handler), 2, 1, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobWorker.shutdown();
+    }
+
+    private Company company(Integer idCompany) {
+        Company company = new Company();
+        company.setIdCompany(idCompany);
+        return company;
+    }
+
+    private Job job(Long idJob, Company company) {
+        return Job.builder()
+                .idJob(idJob)
+                .jobType(JobType.ROLLUP_REBUILD)
+                .status(JobStatus.QUEUED)
+                .ownerCompany(company)
+                .build();
+    }
+
+    private RunningJobsProjection running(Integer idCompany, long count) {
+        RunningJobsProjection p = mock(RunningJobsProjection.class);
+        when(p.getIdOwnerCompany()).thenReturn(idCompany);
+        when(p.getRunning()).thenReturn(count);
+        return p;
+    }
+
+    @Test
+    void claim_shouldRespectPerCompanyLimit_andIdleWorkers() {
+        Company other = company(2);
+        Company third = company(3);
+        Job busy = job(10L, owner);
+        Job first = job(11L, other);
+        Job sameCompany = job(12L, other);
+        Job second = job(13L, third);
+        RunningJobsProjection ownerRunning = running(1, 1);
+        when(jobRepository.lockQueued(8)).thenReturn(List.of(busy, first, sameCompany, second));
+        when(jobRepository.countRunningByOwner()).thenReturn(List.of(ownerRunning));
+
+        List<Job> claimed = jobWorker.claim();
+
+        assertThat(claimed).containsExactly(first, second);
+        assertThat(first.getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(first.getHeartbeatAt()).isNotNull();
+        assertThat(busy.getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(sameCompany.getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(jobWorker.claim()).isEmpty();
+    }
+
+    @Test
+    void execute_shouldStoreResultAsJson_whenHandlerSucceeds() {
+        when(companyRepository.findById(1)).thenReturn(Optional.of(owner));
+        when(handler.run(eq(owner), any())).thenReturn(Map.of("months", 3));
+
+        jobWorker.execute(5L, JobType.ROLLUP_REBUILD, 1);
+
+        verify(jobRepository).finish(eq(5L), eq(JobStatus.SUCCEEDED), eq("{\"months\":3}"), isNull(), any());
+    }
+
+    @Test
+    void execute_shouldMarkJobCancelled_whenCancelWasRequestedWhileRunning() {
+        when(companyRepository.findById(1)).thenReturn(Optional.of(owner));
+        when(handler.run(eq(owner), any())).thenAnswer(invocation -> {
+            JobContext context = invocation.getArgument(1);
+            context.progress(150);
+            return context.isCancelRequested() ? Map.of() : Map.of("done", true);
+        });
+        when(jobRepository.isCancelRequested(5L)).thenReturn(true);
+
+        jobWorker.execute(5L, JobType.ROLLUP_REBUILD, 1);
+
+        verify(jobRepository).updateProgress(eq(5L), eq(100), any());
+        verify(jobRepository).finish(eq(5L), eq(JobStatus.CANCELLED), eq("{}"), isNull(), any());
+    }
+
+    @Test
+    void execute_shouldStoreError_whenHandlerFails() {
+        when(companyRepository.findById(1)).thenReturn(Optional.of(owner));
+        when(handler.run(eq(owner), any())).thenThrow(new IllegalStateException("lock timeout"));
+
+        jobWorker.execute(5L, JobType.ROLLUP_REBUILD, 1);
+
+        verify(jobRepository).finish(eq(5L), eq(JobStatus.FAILED), isNull(), eq("lock timeout"), any());
+    }
+
+    @Test
+    void execute_shouldFail_whenNoHandlerExistsForType() {
+        jobWorker.execute(5L, JobType.DEMO_DATA_PURGE, 1);
+
+        verify(jobRepository).finish(eq(5L), eq(JobStatus.FAILED), isNull(),
+                eq("No handler for job type DEMO_DATA_PURGE"), any());
+        verifyNoInteractions(companyRepository);
+    }
+}
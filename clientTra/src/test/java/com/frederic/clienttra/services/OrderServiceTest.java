@@ -4,28 +4,35 @@ import com.frederic.clienttra.dto.bases.BaseOrderDTO;
 import com.frederic.clienttra.dto.create.CreateItemRequestDTO;
 import com.frederic.clienttra.dto.create.CreateOrderRequestDTO;
 import com.frederic.clienttra.dto.read.OrderDetailsDTO;
+import com.frederic.clienttra.dto.read.OrderPageDTO;
 import com.frederic.clienttra.dto.update.UpdateItemRequestDTO;
 import com.frederic.clienttra.dto.update.UpdateOrderRequestDTO;
 import com.frederic.clienttra.entities.*;
 import com.frederic.clienttra.enums.DocumentStatus;
 import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.enums.PartyType;
 import com.frederic.clienttra.exceptions.CantCreateOrderWithoutItemsException;
 import com.frederic.clienttra.exceptions.CantModifyPaidInvoiceException;
+import com.frederic.clienttra.exceptions.InvalidCursorException;
 import com.frederic.clienttra.exceptions.OrderNotFoundException;
 import com.frederic.clienttra.mappers.CompanyMapper;
 import com.frederic.clienttra.mappers.ItemMapper;
 import com.frederic.clienttra.mappers.OrderMapper;
+import com.frederic.clienttra.projections.OrderListForDashboardProjection;
 import com.frederic.clienttra.repositories.DocumentRepository;
 import com.frederic.clienttra.repositories.OrderRepository;
 import com.frederic.clienttra.security.CustomUserDetails;
 import com.frederic.clienttra.testutils.SecurityTestUtils;
 import com.frederic.clienttra.utils.DocumentUtils;
+import com.frederic.clienttra.utils.KeysetPage;
+import com.frederic.clienttra.utils.OrderCursor;
 import com.frederic.clienttra.validators.OwnerValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -51,6 +58,10 @@ public class OrderServiceTest {
     private DocumentUtils documentUtils;
     @Mock
     private DocumentRepository documentRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private CashFlowRollupService cashFlowRollupService;
     @InjectMocks
     private OrderService orderService;
 
@@ -427,6 +438,54 @@ public class OrderServiceTest {
         verifyNoMoreInteractions(orderRepository, itemMapper, documentUtils, orderMapper);
     }
 
+    @Test
+    void updateOrder_ShouldAdjustRollup_WhenLinkedInvoiceTotalChanges(){
+        int idUser = 1;
+        int idOwnerCompany = 99;
+        int idCompany = 100;
+        int idOrder = 88;
+
+        CustomUserDetails currentUser = getCurrentUser(idUser, idOwnerCompany);
+        SecurityTestUtils.mockSecurityContextWithUser(currentUser);
+        Company ownerCompany=getCurrentCompany(idOwnerCompany);
+        Company company = new Company();
+        company.setIdCompany(idCompany);
+        Order order = baseOrder(idOrder, ownerCompany, company).build();
+        order.setItems(baseItems(order));
+        order.setTotal(0.0);
+        Document document = new Document();
+        document.setIdDocument(7);
+        document.setDocType(DocumentType.INV_CUST);
+        document.setStatus(DocumentStatus.PENDING);
+        document.setTotalNet(100.0);
+        order.setDocuments(new ArrayList<>(List.of(document)));
+        UpdateOrderRequestDTO dto = baseUpdateOrderDTO(order).build();
+
+        when(companyService.getCurrentCompanyOrThrow()).thenReturn(ownerCompany);
+        when(orderRepository.findByIdOrderAndOwnerCompany(idOrder, ownerCompany)).thenReturn(Optional.of(order));
+        when(itemMapper.toEntity(any()))
+                .thenAnswer(inv -> {
+                    UpdateItemRequestDTO dtoArg = inv.getArgument(0);
+                    Item item = new Item();
+                    item.setDescrip(dtoArg.getDescrip());
+                    item.setQty(dtoArg.getQty());
+                    item.setDiscount(dtoArg.getDiscount());
+                    item.setTotal(dtoArg.getTotal());
+                    return item;
+                });
+        doAnswer(invocation -> {//simular el recálculo de la factura a partir de sus pedidos
+            Document documentArg = invocation.getArgument(0);
+            documentArg.setTotalNet(150.0);
+            return null;
+        }).when(documentUtils).calculateTotals(any());
+
+        orderService.updateOrder(idCompany, idOrder, dto);
+
+        verify(documentRepository).saveAll(List.of(document));
+        verify(cashFlowRollupService).recordTotalChange(document, 100.0);
+        assertThat(document.getTotalNet()).isEqualTo(150.0);
+    }
+
     @Test
     void updateOrder_ShouldThrowCantModifyPaidInvoiceException_IfOrderBilledAndNotPending(){
         int idUser = 1;
@@ -554,6 +613,7 @@ public class OrderServiceTest {
         verify(companyService).getCurrentCompanyOrThrow();
         verify(orderRepository).findByIdOrderAndOwnerCompany(idOrder, ownerCompany);
         verify(orderRepository).delete(order);
+        verify(eventPublisher).publishEvent(DataChangedEvent.orderDeleted(ownerCompany, order));
     }
 
     @Test
@@ -645,4 +705,34 @@ public class OrderServiceTest {
         });
     }
 
+    @Test
+    void getOrdersPage_shouldDecodeCursor_AndCapPageSize(){
+        Company ownerCompany = new Company();
+        ownerCompany.setIdCompany(1);
+        OrderCursor cursor = new OrderCursor(LocalDate.of(2025, 3, 1), 42);
+        List<OrderListForDashboardProjection> rows = List.of();
+        OrderPageDTO page = OrderPageDTO.builder().items(List.of()).build();
+
+        when(companyService.getCurrentCompanyOrThrow()).thenReturn(ownerCompany);
+        when(orderRepository.findPageByOwnerCompany(ownerCompany, null, PartyType.CUSTOMER, false,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31), "en", "es", cursor, KeysetPage.MAX_PAGE_SIZE))
+                .thenReturn(rows);
+        when(orderMapper.toPageDto(rows, KeysetPage.MAX_PAGE_SIZE)).thenReturn(page);
+
+        OrderPageDTO result = orderService.getOrdersPage(null, PartyType.CUSTOMER, false,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31), "en", "es", cursor.encode(), 5000);
+
+        assertThat(result).isSameAs(page);
+    }
+
+    @Test
+    void getOrdersPage_shouldThrowInvalidCursorException_IfCursorIsMalformed(){
+        when(companyService.getCurrentCompanyOrThrow()).thenReturn(new Company());
+
+        assertThatThrownBy(() -> orderService.getOrdersPage(7, null, null, null, null, null, null, "%%%", null))
+                .isInstanceOf(InvalidCursorException.class);
+
+        verifyNoInteractions(orderRepository);
+    }
+
 }
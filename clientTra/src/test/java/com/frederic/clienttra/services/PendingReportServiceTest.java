@@ -0,0 +1,124 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.read.AgingReportDTO;
+import com.frederic.clienttra.dto.read.MonthlyPendingReportDTO;
+import com.frederic.clienttra.dto.read.PendingReportDTO;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.enums.DocumentStatus;
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.mappers.PendingReportMapper;
+import com.frederic.clienttra.projections.AgingForPendingReportProjection;
+import com.frederic.clienttra.projections.InvoiceForPendingReportProjection;
+import com.frederic.clienttra.repositories.InvoiceForPendingReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PendingReportServiceTest {
+
+    @Mock
+    private InvoiceForPendingReportRepository repository;
+    @Spy
+    private PendingReportMapper mapper = new PendingReportMapper();
+    @Mock
+    private CompanyServiceImpl companyService;
+    @Spy
+    private ReportCache reportCache = new ReportCache(100, 60);
+
+    @InjectMocks
+    private PendingReportService pendingReportService;
+
+    private Company owner;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        owner = new Company();
+        owner.setIdCompany(1);
+        when(companyService.getCurrentCompanyOrThrow()).thenReturn(owner);
+    }
+
+    private AgingForPendingReportProjection aging(Integer idCompany, Double notDue, Double days1To30, Double over90) {
+        AgingForPendingReportProjection p = mock(AgingForPendingReportProjection.class);
+        when(p.getIdCompany()).thenReturn(idCompany);
+        when(p.getComName()).thenReturn("Company " + idCompany);
+        when(p.getInvoiceCount()).thenReturn(2L);
+        when(p.getNotDue()).thenReturn(notDue);
+        when(p.getDays1To30()).thenReturn(days1To30);
+        when(p.getDays31To60()).thenReturn(0.0);
+        when(p.getDays61To90()).thenReturn(null);
+        when(p.getOver90()).thenReturn(over90);
+        return p;
+    }
+
+    private InvoiceForPendingReportProjection invoice(String docNumber, LocalDate deadline, double totalToPay) {
+        InvoiceForPendingReportProjection p = mock(InvoiceForPendingReportProjection.class);
+        when(p.getDocNumber()).thenReturn(docNumber);
+        when(p.getDeadline()).thenReturn(deadline);
+        when(p.getTotalToPay()).thenReturn(totalToPay);
+        when(p.getStatus()).thenReturn(DocumentStatus.PENDING);
+        return p;
+    }
+
+    @Test
+    void generateAging_shouldUseBucketLimitsRelativeToToday_andSumPartySubtotals() {
+        LocalDate today = LocalDate.now();
+        AgingForPendingReportProjection a = aging(10, 100.0, 50.0, 0.0);
+        AgingForPendingReportProjection b = aging(20, 0.0, 25.0, 300.0);
+        when(repository.findAgingByCounterparty(1, DocumentType.INV_CUST, DocumentStatus.PENDING,
+                today, today.minusDays(30), today.minusDays(60), today.minusDays(90)))
+                .thenReturn(List.of(a, b));
+
+        AgingReportDTO report = pendingReportService.generateAging(DocumentType.INV_CUST);
+
+        assertThat(report.getAsOf()).isEqualTo(today);
+        assertThat(report.getParties()).hasSize(2);
+        assertThat(report.getParties().get(0).getBuckets().getTotal()).isEqualTo(150.0);
+        assertThat(report.getParties().get(1).getBuckets().getDays61To90()).isEqualTo(0.0);
+        assertThat(report.getTotals().getNotDue()).isEqualTo(100.0);
+        assertThat(report.getTotals().getDays1To30()).isEqualTo(75.0);
+        assertThat(report.getTotals().getOver90()).isEqualTo(300.0);
+        assertThat(report.getTotals().getTotal()).isEqualTo(475.0);
+        verify(repository, never()).findInvoiceForPendingReport(any(), any(), any());
+    }
+
+    @Test
+    void generateAging_shouldReturnZeroTotals_whenNothingIsPending() {
+        when(repository.findAgingByCounterparty(eq(1), eq(DocumentType.INV_PROV), eq(DocumentStatus.PENDING),
+                any(), any(), any(), any())).thenReturn(List.of());
+
+        AgingReportDTO report = pendingReportService.generateAging(DocumentType.INV_PROV);
+
+        assertThat(report.getParties()).isEmpty();
+        assertThat(report.getTotals().getTotal()).isEqualTo(0.0);
+    }
+
+    @Test
+    void generate_shouldKeepMonthsInDeadlineOrder_andSkipInvoicesWithoutDeadline() {
+        InvoiceForPendingReportProjection march = invoice("2025-002", LocalDate.of(2025, 3, 10), 40.0);
+        InvoiceForPendingReportProjection marchLater = invoice("2025-001", LocalDate.of(2025, 3, 20), 60.0);
+        InvoiceForPendingReportProjection may = invoice("2025-003", LocalDate.of(2025, 5, 1), 10.0);
+        InvoiceForPendingReportProjection noDeadline = invoice("2025-004", null, 99.0);
+        when(repository.findInvoiceForPendingReport(1, DocumentType.INV_CUST, DocumentStatus.PENDING))
+                .thenReturn(List.of(march, marchLater, may, noDeadline));
+
+        PendingReportDTO report = pendingReportService.generate(DocumentType.INV_CUST);
+
+        assertThat(report.getMonthlyReports()).extracting(MonthlyPendingReportDTO::getDeadline)
+                .containsExactly(YearMonth.of(2025, 3), YearMonth.of(2025, 5));
+        assertThat(report.getMonthlyReports().get(0).getInvoices().get(0).getDocNumber()).isEqualTo("2025-001");
+        assertThat(report.getGrandTotal()).isEqualTo(110.0);
+    }
+}
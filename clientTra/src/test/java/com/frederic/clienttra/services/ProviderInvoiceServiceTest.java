@@ -15,6 +15,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -38,6 +39,8 @@ public class ProviderInvoiceServiceTest {
     @Mock private ProviderRepository providerRepository;
     @Mock private OrderRepository orderRepository;
     @Mock private DocumentUtils documentUtils;
+    @Mock private CashFlowRollupService cashFlowRollupService;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @Spy
     @InjectMocks
@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -30,6 +31,8 @@ public class PurchaseOrderServiceTest {
     @Mock
     private DocumentMapper documentMapper;
     @Mock
+    private DocumentNumberService documentNumberService;
+    @Mock
     private DocumentRepository documentRepository;
     @Mock
     private BankAccountService bankAccountService;
@@ -45,6 +48,8 @@ public class PurchaseOrderServiceTest {
     private OrderRepository orderRepository;
     @Mock
     private DocumentUtils documentUtils;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private PurchaseOrderService purchaseOrderService;
@@ -17,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -48,6 +49,10 @@ public class QuoteServiceTest {
     private DocumentUtils documentUtils;
     @Mock
     private DocumentMapper documentMapper;
+    @Mock
+    private DocumentNumberService documentNumberService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private QuoteService quoteService;
@@ -10,6 +10,8 @@ import com.frederic.clienttra.repositories.PlanRepository;
 import com.frederic.clienttra.repositories.RoleRepository;
 import com.frederic.clienttra.repositories.UserRepository;
 import com.frederic.clienttra.security.CustomUserDetails;
+import com.frederic.clienttra.security.CustomUserDetailsService;
+import com.frederic.clienttra.security.UserSecurityVersionCache;
 import com.frederic.clienttra.testutils.SecurityTestUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,7 +19,6 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.ArrayList;
@@ -47,7 +48,11 @@ public class RegistrationServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
     @Mock
-    private AuthenticationManager authenticationManager;
+    private CustomUserDetailsService userDetailsService;
+    @Mock
+    private UserSecurityVersionCache securityVersionCache;
+    @Mock
+    private TenantPurgeService tenantPurgeService;
     @InjectMocks
     private RegistrationService registrationService;
 
@@ -144,6 +149,9 @@ public class RegistrationServiceTest {
         assertThat(capturedUser.getEmail()).isEqualTo(dto.getAdminEmail());
         assertThat(capturedUser.getPasswd()).isEqualTo("encodedPassword");
         assertThat(capturedUser.getRole()).isEqualTo(adminRole);
+        verify(passwordEncoder, times(1)).encode(dto.getAdminPassword());
+        verify(passwordEncoder, never()).matches(any(), any());
+        verify(userDetailsService).authenticationFor(capturedUser);
 
         assertThat(capturedCompany.getVatNumber()).isEqualTo(dto.getVatNumber());
         assertThat(capturedCompany.getAddresses()).hasSize(1);
@@ -209,7 +217,8 @@ public class RegistrationServiceTest {
         assertThat(cr.getRate()).isEqualTo(1.0);
         assertThat(capturedCompany.getOwnerCompany()).isNull();
 
-        verify(companyRepository).delete(company);
+        verify(tenantPurgeService).purgeCompany(company);
+        verify(companyRepository, never()).delete(any());
     }
 
     @Test
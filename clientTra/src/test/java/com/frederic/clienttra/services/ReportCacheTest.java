@@ -0,0 +1,115 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.read.ReportCacheStatsDTO;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.entities.Order;
+import com.frederic.clienttra.enums.DocumentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReportCacheTest {
+
+    private ReportCache reportCache;
+    private Company owner;
+    private Company otherOwner;
+    private final LocalDate from = LocalDate.of(2025, 1, 1);
+    private final LocalDate to = LocalDate.of(2025, 12, 31);
+
+    @BeforeEach
+    void setUp() {
+        reportCache = new ReportCache(2, 60);
+        owner = new Company();
+        owner.setIdCompany(1);
+        otherOwner = new Company();
+        otherOwner.setIdCompany(2);
+    }
+
+    private Supplier<String> counting(AtomicInteger calls) {
+        return () -> "report-" + calls.incrementAndGet();
+    }
+
+    @Test
+    void get_shouldComputeOnce_andCountHitsAndMisses() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String first = reportCache.get("report", owner, DocumentType.INV_CUST, from, to, true, counting(calls));
+        String second = reportCache.get("report", owner, DocumentType.INV_CUST, from, to, true, counting(calls));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(calls).hasValue(1);
+        ReportCacheStatsDTO stats = reportCache.getStats();
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void get_shouldKeySeparately_byRangeAndWithOrders() {
+        AtomicInteger calls = new AtomicInteger();
+
+        reportCache.get("report", owner, DocumentType.INV_CUST, from, to, true, counting(calls));
+        reportCache.get("report", owner, DocumentType.INV_CUST, from, to, false, counting(calls));
+        reportCache.get("report", owner, DocumentType.INV_CUST, from, to.minusDays(1), true, counting(calls));
+
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void invalidate_shouldOnlyAffectTheWrittenOwnerAndType() {
+        AtomicInteger calls = new AtomicInteger();
+        reportCache.get("report", owner, DocumentType.INV_CUST, from, to, null, counting(calls));
+        reportCache.get("report", otherOwner, DocumentType.INV_CUST, from, to, null, counting(calls));
+
+        reportCache.invalidate(owner, DocumentType.INV_CUST);
+
+        assertThat(reportCache.get("report", otherOwner, DocumentType.INV_CUST, from, to, null, counting(calls))).isEqualTo("report-2");
+        assertThat(reportCache.get("report", owner, DocumentType.INV_CUST, from, to, null, counting(calls))).isEqualTo("report-3");
+        assertThat(reportCache.getStats().getInvalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void onDataChanged_shouldInvalidateBothInvoiceTypes_forAnOrderWrite() {
+        AtomicInteger calls = new AtomicInteger();
+        reportCache.get("report", owner, DocumentType.INV_CUST, from, to, null, counting(calls));
+        reportCache.get("report", owner, DocumentType.INV_PROV, from, to, null, counting(calls));
+
+        reportCache.onDataChanged(DataChangedEvent.orderSaved(owner, Order.builder().idOrder(1).ownerCompany(owner).build()));
+
+        assertThat(reportCache.get("report", owner, DocumentType.INV_CUST, from, to, null, counting(calls))).isEqualTo("report-3");
+        assertThat(reportCache.get("report", owner, DocumentType.INV_PROV, from, to, null, counting(calls))).isEqualTo("report-4");
+        assertThat(reportCache.getStats().getInvalidations()).isEqualTo(2);
+    }
+
+    @Test
+    void get_shouldNotCacheResult_whenScopeIsInvalidatedWhileComputing() {
+        AtomicInteger calls = new AtomicInteger();
+
+        reportCache.get("report", owner, DocumentType.INV_PROV, from, to, null, () -> {
+            reportCache.invalidate(owner, DocumentType.INV_PROV);
+            return "stale";
+        });
+
+        assertThat(reportCache.get("report", owner, DocumentType.INV_PROV, from, to, null, counting(calls))).isEqualTo("report-1");
+    }
+
+    @Test
+    void get_shouldEvictLeastRecentlyUsed_whenFull() {
+        AtomicInteger calls = new AtomicInteger();
+        reportCache.get("a", owner, DocumentType.INV_CUST, from, to, null, counting(calls));
+        reportCache.get("b", owner, DocumentType.INV_CUST, from, to, null, counting(calls));
+        reportCache.get("a", owner, DocumentType.INV_CUST, from, to, null, counting(calls));
+        reportCache.get("c", owner, DocumentType.INV_CUST, from, to, null, counting(calls));
+
+        reportCache.get("a", owner, DocumentType.INV_CUST, from, to, null, counting(calls));
+        reportCache.get("b", owner, DocumentType.INV_CUST, from, to, null, counting(calls));
+
+        assertThat(calls).hasValue(4);
+        assertThat(reportCache.getStats().getSize()).isEqualTo(2);
+    }
+}
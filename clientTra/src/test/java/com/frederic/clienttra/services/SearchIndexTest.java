@@ -0,0 +1,174 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.dto.read.SearchResultDTO;
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.entities.Customer;
+import com.frederic.clienttra.entities.Document;
+import com.frederic.clienttra.entities.Order;
+import com.frederic.clienttra.enums.DocumentStatus;
+import com.frederic.clienttra.enums.DocumentType;
+import com.frederic.clienttra.enums.SearchResultType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class SearchIndexTest {
+
+    private SearchIndex searchIndex;
+    private Company owner;
+    private Company acme;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new SearchIndex(10, 600);
+        owner = company(1, "Owner");
+        acme = company(10, "Acme Traducciones");
+    }
+
+    private Company company(Integer id, String name) {
+        Company company = new Company();
+        company.setIdCompany(id);
+        company.setComName(name);
+        return company;
+    }
+
+    private Supplier<List<SearchIndex.Entry>> loader(SearchIndex.Entry... entries) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(entries);
+        };
+    }
+
+    private Supplier<List<SearchIndex.Entry>> defaultLoader() {
+        return loader(
+                SearchIndex.counterparty(SearchResultType.CUSTOMER, 10, "Acme Traducciones", "Acme S.L.", "B-12345678", true),
+                SearchIndex.counterparty(SearchResultType.PROVIDER, 20, "Old Acme", "Old Acme S.L.", "B87654321", false),
+                SearchIndex.document(100, "F2025-0012", DocumentType.INV_CUST, 10),
+                SearchIndex.order(200, "Traducción jurídica para Acme", 10));
+    }
+
+    private List<SearchResultDTO> search(String query) {
+        return searchIndex.search(owner, query, 10, defaultLoader());
+    }
+
+    private Order order(Integer idOrder, String descrip) {
+        return Order.builder().idOrder(idOrder).descrip(descrip).company(acme).ownerCompany(owner).build();
+    }
+
+    @Test
+    void search_shouldBuildTheIndexOnce_AndRankLabelsStartingWithTheQueryFirst() {
+        List<SearchResultDTO> results = search("acme");
+        search("acme tra");
+
+        assertThat(results).extracting(SearchResultDTO::getType, SearchResultDTO::getId).containsExactly(
+                tuple(SearchResultType.CUSTOMER, 10),
+                tuple(SearchResultType.ORDER, 200),
+                tuple(SearchResultType.PROVIDER, 20));
+        assertThat(results.get(0).getDetail()).isEqualTo("B-12345678");
+        assertThat(results.get(1).getDetail()).isEqualTo("Acme Traducciones");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void search_shouldMatchEveryWordAsPrefix_IgnoringCaseAccentsAndSeparators() {
+        assertThat(search("f2025 0012")).extracting(SearchResultDTO::getId).containsExactly(100);
+        assertThat(search("F20250012")).extracting(SearchResultDTO::getId).containsExactly(100);
+        assertThat(search("TRADUCCION jur")).extracting(SearchResultDTO::getId).containsExactly(200);
+        assertThat(search("12345678")).extracting(SearchResultDTO::getId).containsExactly(10);
+        assertThat(search("acme zzz")).isEmpty();
+        assertThat(search(" -*")).isEmpty();
+    }
+
+    @Test
+    void search_shouldCapTheResults_AndKeepTenantsApart() {
+        List<SearchIndex.Entry> orders = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            orders.add(SearchIndex.order(i, "Order " + i, 10));
+        }
+        Supplier<List<SearchIndex.Entry>> loader = () -> orders;
+
+        assertThat(searchIndex.search(owner, "order", 5, loader)).hasSize(5);
+        assertThat(searchIndex.search(company(2, "Other"), "acme", 10, loader(
+                SearchIndex.order(300, "Other tenant", 30)))).isEmpty();
+    }
+
+    @Test
+    void writes_shouldUpdateTheBuiltIndex() {
+        search("acme");
+        Customer customer = new Customer();
+        customer.setCompany(company(10, "Zenith Traducciones"));
+        customer.setOwnerCompany(owner);
+        customer.setEnabled(true);
+        Document document = new Document();
+        document.setIdDocument(100);
+        document.setDocNumber("F2025-0012");
+        document.setStatus(DocumentStatus.DELETED);
+        document.setCompany(acme);
+        document.setOwnerCompany(owner);
+
+        searchIndex.customerSaved(customer);
+        searchIndex.onDataChanged(DataChangedEvent.orderSaved(owner, order(201, "Revisión de contrato")));
+        searchIndex.onDataChanged(DataChangedEvent.orderDeleted(owner, order(200, "Traducción jurídica para Acme")));
+        searchIndex.onDataChanged(DataChangedEvent.documentSaved(owner, document));
+
+        assertThat(search("zenith")).extracting(SearchResultDTO::getId).containsExactly(10);
+        assertThat(search("revision")).extracting(SearchResultDTO::getDetail).containsExactly("Zenith Traducciones");
+        assertThat(search("juridica")).isEmpty();
+        assertThat(search("f2025")).isEmpty();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void writesInATransaction_shouldOnlyShowAfterCommit() {
+        search("acme");
+        Customer customer = new Customer();
+        customer.setCompany(company(30, "Zenith Traducciones"));
+        customer.setOwnerCompany(owner);
+        customer.setEnabled(true);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            searchIndex.customerSaved(customer);
+
+            assertThat(search("zenith")).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(search("zenith")).extracting(SearchResultDTO::getId).containsExactly(30);
+    }
+
+    @Test
+    void search_shouldNotKeepAnIndex_BuiltWhileACompanyWasWritten() {
+        Supplier<List<SearchIndex.Entry>> racing = () -> {
+            loads.incrementAndGet();
+            searchIndex.onDataChanged(DataChangedEvent.orderSaved(owner, order(201, "Revisión de contrato")));
+            return List.of(SearchIndex.order(200, "Traducción jurídica para Acme", 10));
+        };
+
+        assertThat(searchIndex.search(owner, "acme", 10, racing)).hasSize(1);
+        search("acme");
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void purgedEvent_shouldDropTheIndex() {
+        search("acme");
+
+        searchIndex.onDataChanged(DataChangedEvent.purged(owner));
+        search("acme");
+
+        assertThat(loads).hasValue(2);
+    }
+}
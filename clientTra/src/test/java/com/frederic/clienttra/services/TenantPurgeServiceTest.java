@@ -0,0 +1,96 @@
+package com.frederic.clienttra.services;
+
+import com.frederic.clienttra.entities.Company;
+import com.frederic.clienttra.repositories.TenantPurgeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class TenantPurgeServiceTest {
+
+    @Mock
+    private TenantPurgeRepository tenantPurgeRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TenantPurgeService tenantPurgeService;
+
+    private Company owner;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        owner = new Company();
+        owner.setIdCompany(1);
+        ReflectionTestUtils.setField(tenantPurgeService, "chunkSize", 100);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void purgeOwnedData_shouldRepeatEachStatement_untilAChunkIsNotFull() {
+        String items = TenantPurgeRepository.OWNED_DATA.get(1);
+        when(tenantPurgeRepository.deleteChunk(items, 1, 100)).thenReturn(100, 100, 30);
+
+        long deleted = tenantPurgeService.purgeOwnedData(owner);
+
+        assertThat(deleted).isEqualTo(230);
+        verify(tenantPurgeRepository, times(3)).deleteChunk(items, 1, 100);
+        verify(tenantPurgeRepository, times(TenantPurgeRepository.OWNED_DATA.size() + 2))
+                .deleteChunk(anyString(), eq(1), eq(100));
+        verify(transactionTemplate, times(TenantPurgeRepository.OWNED_DATA.size() + 2)).execute(any());
+        verify(eventPublisher).publishEvent(DataChangedEvent.purged(owner));
+    }
+
+    @Test
+    void purgeOwnedData_shouldDeleteChildrenBeforeParents_andKeepTheOwnerCompany() {
+        tenantPurgeService.purgeOwnedData(owner);
+
+        InOrder inOrder = inOrder(tenantPurgeRepository);
+        for (String statement : TenantPurgeRepository.OWNED_DATA) {
+            inOrder.verify(tenantPurgeRepository).deleteChunk(statement, 1, 100);
+        }
+        TenantPurgeRepository.COMPANY.forEach(statement ->
+                verify(tenantPurgeRepository, never()).deleteChunk(eq(statement), any(), anyInt()));
+    }
+
+    @Test
+    void purgeCompany_shouldDeleteTheCompanyLast() {
+        tenantPurgeService.purgeCompany(owner);
+
+        InOrder inOrder = inOrder(tenantPurgeRepository);
+        inOrder.verify(tenantPurgeRepository).deleteChunk(TenantPurgeRepository.OWNED_DATA.get(0), 1, 100);
+        inOrder.verify(tenantPurgeRepository).deleteChunk(
+                "DELETE FROM companies WHERE id_owner_company = ? LIMIT ?", 1, 100);
+        inOrder.verify(tenantPurgeRepository).deleteChunk(
+                "DELETE FROM companies WHERE id_company = ? LIMIT ?", 1, 100);
+        verify(eventPublisher).publishEvent(DataChangedEvent.purged(owner));
+    }
+
+    @Test
+    void purgeOwnedData_shouldStopBetweenChunks_whenJobIsCancelled() {
+        JobContext context = mock(JobContext.class);
+        when(context.isCancelRequested()).thenReturn(false, false, true);
+        when(tenantPurgeRepository.deleteChunk(anyString(), eq(1), eq(100))).thenReturn(100);
+
+        long deleted = tenantPurgeService.purgeOwnedData(owner, context);
+
+        assertThat(deleted).isEqualTo(200);
+        verify(tenantPurgeRepository, times(2)).deleteChunk(TenantPurgeRepository.OWNED_DATA.get(0), 1, 100);
+        verify(context, never()).progress(anyInt());
+    }
+}
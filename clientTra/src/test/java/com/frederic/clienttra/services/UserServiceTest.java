@@ -15,6 +15,7 @@ import com.frederic.clienttra.mappers.UserMapper;
 import com.frederic.clienttra.repositories.RoleRepository;
 import com.frederic.clienttra.repositories.UserRepository;
 import com.frederic.clienttra.security.CustomUserDetails;
+import com.frederic.clienttra.security.UserSecurityVersionCache;
 import com.frederic.clienttra.security.SecurityUtils;
 import com.frederic.clienttra.testutils.SecurityTestUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -42,6 +43,8 @@ class UserServiceTest {
     private PasswordEncoder passwordEncoder;
     @Mock
     private RoleRepository roleRepository;
+    @Mock
+    private UserSecurityVersionCache securityVersionCache;
 
     @InjectMocks
     private UserService userService;
@@ -230,7 +233,7 @@ class UserServiceTest {
         CustomUserDetails currentUser = getCurrentUser(1, idCompany);
         SecurityTestUtils.mockSecurityContextWithUser(currentUser);
 
-        UserService userService = new UserService(userRepository, companyService, userMapper, passwordEncoder, roleRepository);
+        UserService userService = new UserService(userRepository, companyService, userMapper, passwordEncoder, roleRepository, securityVersionCache);
 
         when(userRepository.findByIdUserAndCompany_IdCompany(userId, idCompany))
                 .thenReturn(Optional.empty());
@@ -444,6 +447,7 @@ class UserServiceTest {
         assertThat(user.isDarkMode()).isTrue();
 
         verify(userRepository).save(user);
+        verify(securityVersionCache).evict(userId);
     }
 
     @Test
@@ -472,7 +476,9 @@ class UserServiceTest {
 
         // Assert
         assertThat(user.getPasswd()).isEqualTo("encodedNewPass");
+        assertThat(user.getSecurityVersion()).isEqualTo(1);
         verify(userRepository).save(user);
+        verify(securityVersionCache).evict(userId);
     }
 
     @Test
@@ -0,0 +1,50 @@
+package com.frederic.clienttra.utils;
+
+import com.frederic.clienttra.exceptions.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompanyNameCursorTest {
+
+    @Test
+    void encodeAndDecode_shouldRoundTrip() {
+        CompanyNameCursor cursor = new CompanyNameCursor("Traducciones | Ñandú S.L.", 42);
+
+        CompanyNameCursor decoded = CompanyNameCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodeAndDecode_shouldKeepMissingAndEmptyNamesApart() {
+        CompanyNameCursor withoutName = new CompanyNameCursor(null, 7);
+        CompanyNameCursor emptyName = new CompanyNameCursor("", 7);
+
+        assertThat(CompanyNameCursor.decode(withoutName.encode())).isEqualTo(withoutName);
+        assertThat(CompanyNameCursor.decode(emptyName.encode())).isEqualTo(emptyName);
+    }
+
+    @Test
+    void decode_shouldReturnNull_WhenCursorIsBlank() {
+        assertThat(CompanyNameCursor.decode(null)).isNull();
+        assertThat(CompanyNameCursor.decode(" ")).isNull();
+    }
+
+    @Test
+    void decode_shouldThrow_WhenCursorIsMalformed() {
+        assertThatThrownBy(() -> CompanyNameCursor.decode("not-a-cursor"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void decode_shouldThrow_WhenCursorIsAnOrderCursor() {
+        String orderCursor = new OrderCursor(LocalDate.of(2025, 2, 28), 123).encode();
+
+        assertThatThrownBy(() -> CompanyNameCursor.decode(orderCursor))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
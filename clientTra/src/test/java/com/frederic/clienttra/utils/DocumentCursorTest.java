@@ -0,0 +1,33 @@
+package com.frederic.clienttra.utils;
+
+import com.frederic.clienttra.exceptions.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DocumentCursorTest {
+
+    @Test
+    void encodeAndDecode_shouldRoundTrip_EvenIfDocNumberContainsSeparator() {
+        DocumentCursor cursor = new DocumentCursor(LocalDate.of(2025, 2, 28), "Q2025|0012", 123);
+
+        DocumentCursor decoded = DocumentCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_shouldReturnNull_WhenCursorIsBlank() {
+        assertThat(DocumentCursor.decode(null)).isNull();
+        assertThat(DocumentCursor.decode(" ")).isNull();
+    }
+
+    @Test
+    void decode_shouldThrow_WhenCursorIsMalformed() {
+        assertThatThrownBy(() -> DocumentCursor.decode("not-a-cursor"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
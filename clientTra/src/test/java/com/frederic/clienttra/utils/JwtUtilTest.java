@@ -0,0 +1,77 @@
+package com.frederic.clienttra.utils;
+
+import com.frederic.clienttra.security.CustomUserDetails;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JwtUtilTest {
+
+    // 32 bytes, Base64 encoded
+    private static final String SECRET = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 60_000L);
+        jwtUtil.init();
+    }
+
+    private CustomUserDetails userDetails() {
+        return new CustomUserDetails(
+                7,
+                "user",
+                "pass",
+                true,
+                List.of(new SimpleGrantedAuthority("ADMIN")),
+                3,
+                "es",
+                "blue",
+                "dark",
+                4
+        );
+    }
+
+    @Test
+    void toUserDetails_shouldRebuildPrincipalFromClaims_withoutPreferences() {
+        String token = jwtUtil.generateToken(userDetails());
+
+        Claims claims = jwtUtil.parseToken(token);
+        CustomUserDetails result = jwtUtil.toUserDetails(claims);
+
+        assertThat(result).isNotNull();
+        assertThat(result.getIdUser()).isEqualTo(7);
+        assertThat(result.getUsername()).isEqualTo("user");
+        assertThat(result.getPassword()).isNull();
+        assertThat(result.getIdCompany()).isEqualTo(3);
+        assertThat(result.getAuthorities()).extracting("authority").containsExactly("ADMIN");
+        assertThat(result.getPreferredLanguage()).isNull();
+        assertThat(result.getPreferredTheme()).isNull();
+        assertThat(result.getPreferredMode()).isNull();
+        assertThat(result.getSecurityVersion()).isEqualTo(4);
+    }
+
+    @Test
+    void parseToken_shouldReturnNull_whenTokenIsTampered() {
+        String token = jwtUtil.generateToken(userDetails());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(jwtUtil.parseToken(tampered)).isNull();
+        assertThat(jwtUtil.validateToken(tampered)).isFalse();
+        assertThat(jwtUtil.getUsernameFromToken(tampered)).isNull();
+    }
+
+    @Test
+    void parseToken_shouldReturnNull_whenTokenIsMalformed() {
+        assertThat(jwtUtil.parseToken("not-a-jwt")).isNull();
+    }
+}
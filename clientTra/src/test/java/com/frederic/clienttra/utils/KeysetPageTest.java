@@ -0,0 +1,54 @@
+package com.frederic.clienttra.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeysetPageTest {
+
+    @Test
+    void pageSize_shouldApplyDefaultAndMaximum() {
+        assertThat(KeysetPage.pageSize(null)).isEqualTo(KeysetPage.DEFAULT_PAGE_SIZE);
+        assertThat(KeysetPage.pageSize(0)).isEqualTo(KeysetPage.DEFAULT_PAGE_SIZE);
+        assertThat(KeysetPage.pageSize(20)).isEqualTo(20);
+        assertThat(KeysetPage.pageSize(5000)).isEqualTo(KeysetPage.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void request_shouldFetchOneRowMoreThanThePage() {
+        assertThat(KeysetPage.request(20).getPageSize()).isEqualTo(21);
+        assertThat(KeysetPage.request(20).getPageNumber()).isZero();
+    }
+
+    @Test
+    void of_shouldDropExtraRowAndEncodeCursorOfLastItemKept() {
+        KeysetPage<String> page = KeysetPage.of(List.of(1, 2, 3), 2,
+                rows -> rows.stream().map(String::valueOf).toList(), last -> "after-" + last);
+
+        assertThat(page.items()).containsExactly("1", "2");
+        assertThat(page.nextCursor()).isEqualTo("after-2");
+    }
+
+    @Test
+    void of_shouldHaveNoCursor_onLastPage() {
+        KeysetPage<String> page = KeysetPage.of(List.of(1, 2), 2,
+                rows -> rows.stream().map(String::valueOf).toList(), last -> "after-" + last);
+
+        assertThat(page.items()).containsExactly("1", "2");
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void toListResponse_shouldSendNextCursorInHeader_onlyWhenThereIsOne() {
+        ResponseEntity<List<String>> more = KeysetPage.toListResponse(List.of("1", "2"), "after-2");
+        ResponseEntity<List<String>> last = KeysetPage.toListResponse(List.of("3"), null);
+
+        assertThat(more.getBody()).containsExactly("1", "2");
+        assertThat(more.getHeaders().getFirst(KeysetPage.NEXT_CURSOR_HEADER)).isEqualTo("after-2");
+        assertThat(last.getBody()).containsExactly("3");
+        assertThat(last.getHeaders().containsKey(KeysetPage.NEXT_CURSOR_HEADER)).isFalse();
+    }
+}
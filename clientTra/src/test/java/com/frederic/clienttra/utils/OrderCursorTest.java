@@ -0,0 +1,41 @@
+package com.frederic.clienttra.utils;
+
+import com.frederic.clienttra.exceptions.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OrderCursorTest {
+
+    @Test
+    void encodeAndDecode_shouldRoundTrip() {
+        OrderCursor cursor = new OrderCursor(LocalDate.of(2025, 2, 28), 123);
+
+        OrderCursor decoded = OrderCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_shouldReturnNull_WhenCursorIsBlank() {
+        assertThat(OrderCursor.decode(null)).isNull();
+        assertThat(OrderCursor.decode(" ")).isNull();
+    }
+
+    @Test
+    void decode_shouldThrow_WhenCursorIsMalformed() {
+        assertThatThrownBy(() -> OrderCursor.decode("not-a-cursor"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void decode_shouldThrow_WhenCursorIsADocumentCursor() {
+        String documentCursor = new DocumentCursor(LocalDate.of(2025, 2, 28), "F2025-001", 5).encode();
+
+        assertThatThrownBy(() -> OrderCursor.decode(documentCursor))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
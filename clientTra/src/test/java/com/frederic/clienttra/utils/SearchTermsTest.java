@@ -0,0 +1,46 @@
+package com.frederic.clienttra.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SearchTermsTest {
+
+    @Test
+    void parse_shouldRequireEveryWordAsPrefix() {
+        SearchTerms terms = SearchTerms.parse("  Acme Traducciones ");
+
+        assertThat(terms.booleanQuery()).isEqualTo("+acme* +traducciones*");
+        assertThat(terms.namePrefix()).isEqualTo("Acme Traducciones%");
+    }
+
+    @Test
+    void parse_shouldDropFullTextOperators_AndEscapeLikeWildcards() {
+        SearchTerms terms = SearchTerms.parse("-B12_345% \"(ñandú)*\"");
+
+        assertThat(terms.booleanQuery()).isEqualTo("+b12* +345* +ñandú*");
+        assertThat(terms.namePrefix()).isEqualTo("-B12\\_345\\% \"(ñandú)*\"%");
+    }
+
+    @Test
+    void parse_shouldLimitTheNumberOfWords() {
+        SearchTerms terms = SearchTerms.parse("a b c d e f g h i j");
+
+        assertThat(terms.booleanQuery().split(" ")).hasSize(SearchTerms.MAX_WORDS);
+    }
+
+    @Test
+    void parse_shouldReturnNull_WhenInputHasNoWord() {
+        assertThat(SearchTerms.parse(null)).isNull();
+        assertThat(SearchTerms.parse("   ")).isNull();
+        assertThat(SearchTerms.parse("*+-\"")).isNull();
+    }
+
+    @Test
+    void limit_shouldApplyDefaultAndMaximum() {
+        assertThat(SearchTerms.limit(null)).isEqualTo(SearchTerms.DEFAULT_LIMIT);
+        assertThat(SearchTerms.limit(0)).isEqualTo(SearchTerms.DEFAULT_LIMIT);
+        assertThat(SearchTerms.limit(5)).isEqualTo(5);
+        assertThat(SearchTerms.limit(1000)).isEqualTo(SearchTerms.MAX_LIMIT);
+    }
+}
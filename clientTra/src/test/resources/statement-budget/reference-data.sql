@@ -0,0 +1,3 @@
+-- Reference data of V1__create_tables.sql needed to register a demo tenant
+INSERT INTO roles (role_name) VALUES ('ROLE_ADMIN'), ('ROLE_ACCOUNTING'), ('ROLE_USER');
+INSERT INTO plans (plan_name) VALUES ('FREEMIUM'), ('PREMIUM'), ('TEST');
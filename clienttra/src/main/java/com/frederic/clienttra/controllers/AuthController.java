@@ -2,7 +2,6 @@ package com.frederic.clienttra.controllers;
 
 import com.frederic.clienttra.dto.read.LoginRequestDTO;
 import com.frederic.clienttra.security.CustomUserDetails;
-import com.frederic.clienttra.security.CustomUserDetailsService;
 import com.frederic.clienttra.utils.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -23,7 +22,6 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AuthController {
     private final AuthenticationManager authenticationManager;
-    private final CustomUserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
 
     @GetMapping("/validate-token")
@@ -44,8 +42,8 @@ public class AuthController {
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            CustomUserDetails userDetails = (CustomUserDetails) userDetailsService
-                    .loadUserByUsername(request.getUsername());
+            // The provider already loaded the user; reuse it instead of querying again
+            CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
 
             String jwt = jwtUtil.generateToken(userDetails);
 
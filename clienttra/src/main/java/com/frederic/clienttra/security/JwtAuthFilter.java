@@ -1,29 +1,47 @@
 package com.frederic.clienttra.security;
 
 import com.frederic.clienttra.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates requests carrying a Bearer JWT.
+ * <p>
+ * The token is parsed and verified once. When claims-only mode is enabled and the token
+ * carries the full set of claims, the principal is rebuilt from them and only the user's
+ * security version and preferred language are read (through a bounded cache). Otherwise, including for tokens
+ * issued before the claims-only format, the user is loaded from the database.
+ */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final UserSecurityVersionCache securityVersionCache;
+    private final boolean claimsOnlyAuth;
 
-    public JwtAuthFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtUtil jwtUtil,
+                         UserDetailsService userDetailsService,
+                         UserSecurityVersionCache securityVersionCache,
+                         @Value("${jwt.claims-only-auth:false}") boolean claimsOnlyAuth) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.securityVersionCache = securityVersionCache;
+        this.claimsOnlyAuth = claimsOnlyAuth;
     }
 
     @Override
@@ -32,21 +50,18 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        username = jwtUtil.getUsernameFromToken(jwt);
+        Claims claims = jwtUtil.parseToken(authHeader.substring(7));
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (claims != null && claims.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = resolveUserDetails(claims);
 
-            if (jwtUtil.validateToken(jwt)) {
+            if (userDetails != null && userDetails.isEnabled()) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -64,4 +79,19 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolveUserDetails(Claims claims) {
+        if (claimsOnlyAuth) {
+            CustomUserDetails fromClaims = jwtUtil.toUserDetails(claims);
+            if (fromClaims != null) {
+                return securityVersionCache.currentPrincipal(fromClaims);
+            }
+        }
+
+        try {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
 }
@@ -2,45 +2,119 @@ package com.frederic.clienttra.utils;
 
 import com.frederic.clienttra.security.CustomUserDetails;
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.io.Decoders;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtUtil {
 
+    private static final String CLAIM_ID_USER = "idUser";
+    private static final String CLAIM_ID_COMPANY = "idCompany";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_SECURITY_VERSION = "securityVersion";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
     @Value("${jwt.expiration-ms}")
     private long jwtExpirationMs;
 
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    /**
+     * Builds the signing key and the parser once; both are immutable and thread-safe.
+     * The secret is Base64-decoded exactly as the former string-based API did, so
+     * tokens issued before this change remain valid.
+     */
+    @PostConstruct
+    void init() {
+        signingKey = new SecretKeySpec(Decoders.BASE64.decode(jwtSecret), SignatureAlgorithm.HS256.getJcaName());
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
+    /**
+     * Issues a token for the user. User preferences are not included: they can be changed at any
+     * time without a new token, so the claims would go stale.
+     */
     public String generateToken(CustomUserDetails userDetails) {
+        String role = userDetails.getAuthorities().stream()
+                .findFirst()
+                .map(GrantedAuthority::getAuthority)
+                .orElse(null);
+
         return Jwts.builder()
                 .setSubject(userDetails.getUsername())
-                .claim("idUser", userDetails.getIdUser())
-                .claim("idCompany", userDetails.getIdCompany())
+                .claim(CLAIM_ID_USER, userDetails.getIdUser())
+                .claim(CLAIM_ID_COMPANY, userDetails.getIdCompany())
+                .claim(CLAIM_ROLE, role)
+                .claim(CLAIM_SECURITY_VERSION, userDetails.getSecurityVersion())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(SignatureAlgorithm.HS256, jwtSecret)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Parses and verifies a token in a single pass.
+     *
+     * @param token the compact JWT
+     * @return the verified claims, or null if the token is malformed, expired or badly signed
+     */
+    public Claims parseToken(String token) {
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            return jwtParser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Rebuilds the authenticated principal from verified claims, without touching the database.
+     * The preferences are left null; see {@code UserSecurityVersionCache#currentPrincipal}.
+     *
+     * @param claims claims returned by {@link #parseToken(String)}
+     * @return the user details, or null if the token predates the claims-only format
+     */
+    public CustomUserDetails toUserDetails(Claims claims) {
+        Integer idUser = claims.get(CLAIM_ID_USER, Integer.class);
+        Integer idCompany = claims.get(CLAIM_ID_COMPANY, Integer.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Integer securityVersion = claims.get(CLAIM_SECURITY_VERSION, Integer.class);
+
+        if (claims.getSubject() == null || idUser == null || idCompany == null || role == null || securityVersion == null) {
+            return null;
         }
+
+        return new CustomUserDetails(
+                idUser,
+                claims.getSubject(),
+                null,
+                true,
+                List.of(new SimpleGrantedAuthority(role)),
+                idCompany,
+                null,
+                null,
+                null,
+                securityVersion
+        );
+    }
+
+    public boolean validateToken(String token) {
+        return parseToken(token) != null;
     }
 
     public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .setSigningKey(jwtSecret)
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        Claims claims = parseToken(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
 }
@@ -0,0 +1,27 @@
+-- ===========================================================
+-- Generadores de identificadores por bloques
+-- Una fila por tabla. Hibernate reserva bloques de 50 identificadores
+-- (optimizador pooled: next_val es el extremo superior del próximo
+-- bloque), de modo que las inserciones de esas entidades pueden
+-- agruparse en lotes JDBC. Las columnas AUTO_INCREMENT se mantienen,
+-- pero todas las inserciones en estas tablas deben pasar por JPA para
+-- no reutilizar identificadores ya reservados.
+-- ===========================================================
+
+CREATE TABLE IF NOT EXISTS id_generators (
+  gen_name             VARCHAR(64) NOT NULL PRIMARY KEY,
+  next_val             BIGINT NOT NULL
+);
+
+-- Carga inicial: el primer bloque empieza tras el identificador más alto existente
+INSERT INTO id_generators (gen_name, next_val) SELECT 'companies', COALESCE(MAX(id_company), 0) + 50 FROM companies;
+INSERT INTO id_generators (gen_name, next_val) SELECT 'addresses', COALESCE(MAX(id_address), 0) + 50 FROM addresses;
+INSERT INTO id_generators (gen_name, next_val) SELECT 'phones', COALESCE(MAX(id_phone), 0) + 50 FROM phones;
+INSERT INTO id_generators (gen_name, next_val) SELECT 'contact_persons', COALESCE(MAX(id_contact_person), 0) + 50 FROM contact_persons;
+INSERT INTO id_generators (gen_name, next_val) SELECT 'bank_accounts', COALESCE(MAX(id_bank_account), 0) + 50 FROM bank_accounts;
+INSERT INTO id_generators (gen_name, next_val) SELECT 'customers', COALESCE(MAX(id_customer), 0) + 50 FROM customers;
+INSERT INTO id_generators (gen_name, next_val) SELECT 'providers', COALESCE(MAX(id_provider), 0) + 50 FROM providers;
+INSERT INTO id_generators (gen_name, next_val) SELECT 'change_rates', COALESCE(MAX(id_change_rate), 0) + 50 FROM change_rates;
+INSERT INTO id_generators (gen_name, next_val) SELECT 'documents', COALESCE(MAX(id_document), 0) + 50 FROM documents;
+INSERT INTO id_generators (gen_name, next_val) SELECT 'orders', COALESCE(MAX(id_order), 0) + 50 FROM orders;
+INSERT INTO id_generators (gen_name, next_val) SELECT 'items', COALESCE(MAX(id_item), 0) + 50 FROM items;
@@ -0,0 +1,31 @@
+-- ===========================================================
+-- Trabajos en segundo plano
+-- Cola persistente de operaciones largas por empresa (borrado de
+-- datos de demo, reconstrucción de acumulados...). Los nodos
+-- reclaman trabajos con SELECT ... FOR UPDATE SKIP LOCKED, de modo
+-- que varios nodos pueden compartir la cola sin ejecutar dos veces
+-- el mismo trabajo. heartbeat_at permite detectar trabajos de un
+-- nodo caído y volver a ponerlos en cola.
+-- ===========================================================
+
+CREATE TABLE IF NOT EXISTS jobs (
+  id_job               BIGINT AUTO_INCREMENT PRIMARY KEY,
+  job_type             VARCHAR(40) NOT NULL,
+  status               VARCHAR(20) NOT NULL,
+  progress             INT NOT NULL DEFAULT 0,
+  result               TEXT,
+  error                VARCHAR(500),
+  cancel_requested     BOOLEAN NOT NULL DEFAULT FALSE,
+  worker               VARCHAR(100),
+  created_at           DATETIME NOT NULL,
+  started_at           DATETIME,
+  finished_at          DATETIME,
+  heartbeat_at         DATETIME,
+  id_owner_company     INT NOT NULL,
+  FOREIGN KEY (id_owner_company) REFERENCES companies(id_company) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+-- Reclamación: trabajos en cola por orden de llegada
+CREATE INDEX idx_jobs_status_id ON jobs (status, id_job);
+-- Listado y límite de concurrencia por empresa
+CREATE INDEX idx_jobs_owner_status ON jobs (id_owner_company, status);
@@ -0,0 +1,11 @@
+-- ===========================================================
+-- Índice de texto completo para la búsqueda de clientes y proveedores
+-- Descripción: la búsqueda por nombre comercial, razón social o NIF usaba
+-- LIKE '%texto%', que recorría todas las empresas del propietario en cada
+-- pulsación. CustomerRepository y ProviderRepository buscan ahora con
+-- MATCH ... AGAINST en modo booleano, con un prefijo por palabra (texto*).
+-- La primera vez InnoDB añade la columna oculta FTS_DOC_ID y reconstruye
+-- la tabla companies.
+-- ===========================================================
+
+CREATE FULLTEXT INDEX idx_companies_fulltext_search ON companies(com_name, legal_name, vat_number);
@@ -0,0 +1,14 @@
+-- ===========================================================
+-- Índice para los listados de clientes y proveedores ordenados por nombre
+-- Descripción: los listados cargaban todas las contrapartes del propietario
+-- y las ordenaban en Java. Ahora las consultas de CustomerRepository y
+-- ProviderRepository recorren companies por (id_owner_company, com_name) y
+-- se detienen al completar la página, sin filesort. La intercalación por
+-- defecto de MySQL 8 (utf8mb4_0900_ai_ci) ordena sin distinguir mayúsculas
+-- ni acentos, igual que el orden que se hacía en Java. InnoDB añade
+-- id_company al final del índice, que sirve de desempate para el cursor.
+-- ===========================================================
+
+-- CustomerRepository.findListByOwnerCompany, findPageByOwnerCompany, findMinimalListByOwnerCompany
+-- ProviderRepository.findListByOwnerCompany, findPageByOwnerCompany, findMinimalListByOwnerCompany
+CREATE INDEX idx_companies_owner_com_name ON companies(id_owner_company, com_name);
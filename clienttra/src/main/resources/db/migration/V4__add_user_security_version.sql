@@ -0,0 +1,7 @@
+-- ===========================================================
+-- Versión de seguridad de usuarios
+-- Permite invalidar los tokens JWT emitidos antes de un cambio
+-- de rol, contraseña, estado o empresa del usuario.
+-- ===========================================================
+
+ALTER TABLE users ADD COLUMN security_version INT NOT NULL DEFAULT 0;
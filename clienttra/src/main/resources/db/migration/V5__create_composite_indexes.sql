@@ -0,0 +1,60 @@
+-- ===========================================================
+-- Índices compuestos ajustados a las consultas de los repositorios
+-- Descripción: Todas las consultas filtran primero por empresa propietaria
+-- y tipo de documento, y ordenan por fecha/número. Cada índice empieza por
+-- (id_owner_company, doc_type) y continúa con las columnas de filtro y de
+-- orden de la consulta que sirve, para evitar filesort y recorridos completos.
+-- InnoDB añade la clave primaria al final de cada índice secundario, por lo
+-- que el desempate por id_document de la paginación también sale del índice.
+-- ===========================================================
+
+-- Documents
+-- DocumentRepository.findListByDocTypeAndOwnerCompany, findPageByDocTypeAndOwnerCompany,
+-- InvoiceForCashFlowReportRepository.findInvoicesForCashFlowReport
+CREATE INDEX idx_documents_owner_type_date ON documents(id_owner_company, doc_type, doc_date, doc_number);
+
+-- DocumentRepository.findListByDocTypeStatusAndOwnerCompany,
+-- InvoiceForPendingReportRepository.findInvoiceForPendingReport
+CREATE INDEX idx_documents_owner_type_status_date ON documents(id_owner_company, doc_type, status, doc_date, doc_number);
+
+-- DocumentRepository.findListByDocTypeIdCompanyAndOwnerCompany,
+-- findListByDocTypeIdCompanyStatusAndOwnerCompany
+CREATE INDEX idx_documents_owner_type_company_date ON documents(id_owner_company, doc_type, id_company, doc_date, doc_number);
+
+-- DocumentRepository.findDocNumbersByOwnerCompanyAndDocTypeAndDocNumberStartingWith,
+-- findMinimalListByOwnerCompanyAndDocType
+CREATE INDEX idx_documents_owner_type_number ON documents(id_owner_company, doc_type, doc_number, status);
+
+-- InvoiceForCashFlowReportRepository.findInvoicesForCashFlowGraph (índice de cobertura)
+CREATE INDEX idx_documents_cash_flow_graph ON documents(id_owner_company, doc_type, doc_date, status, total_net);
+
+-- Sustituidos por los índices compuestos anteriores
+DROP INDEX idx_documents_owner_company ON documents;
+DROP INDEX idx_documents_type_status ON documents;
+DROP INDEX idx_documents_date ON documents;
+
+-- Orders
+-- OrderRepository.findByOwnerCompanyAndBilledFalseOrderByDateOrderDesc,
+-- findByOwnerCompanyPendingOrdersFor*ByDateOrderDesc
+CREATE INDEX idx_orders_owner_billed_date ON orders(id_owner_company, billed, date_order);
+
+-- OrderRepository.findByOwnerCompanyOrdersFor*ByDateOrderDesc
+CREATE INDEX idx_orders_owner_date ON orders(id_owner_company, date_order);
+
+-- OrderRepository.findByOwnerCompanyAndCompany_idCompanyOrderByDateOrderDesc
+CREATE INDEX idx_orders_owner_company_date ON orders(id_owner_company, id_company, date_order);
+
+-- OrderRepository.findByOwnerCompanyAndCompany_idCompanyAndBilled*OrderByDateOrderDesc
+CREATE INDEX idx_orders_owner_company_billed_date ON orders(id_owner_company, id_company, billed, date_order);
+
+-- Sustituidos por los índices compuestos anteriores
+DROP INDEX idx_orders_owner_company ON orders;
+DROP INDEX idx_orders_billed ON orders;
+
+-- Customers / Providers
+-- Unión de pedidos con clientes/proveedores de la empresa propietaria
+CREATE INDEX idx_customers_owner_company_enabled ON customers(id_owner_company, id_company, enabled);
+CREATE INDEX idx_providers_owner_company_enabled ON providers(id_owner_company, id_company, enabled);
+
+DROP INDEX idx_customers_owner_company ON customers;
+DROP INDEX idx_providers_owner_company ON providers;
@@ -0,0 +1,16 @@
+-- ===========================================================
+-- Series de numeración de documentos
+-- Un contador por empresa propietaria, tipo de documento y año.
+-- La asignación incrementa last_value dentro de la transacción que
+-- crea el documento, por lo que la numeración no deja huecos.
+-- ===========================================================
+
+CREATE TABLE IF NOT EXISTS document_number_series (
+  id_series            INT AUTO_INCREMENT PRIMARY KEY,
+  doc_type             VARCHAR(25) NOT NULL,
+  series_year          INT NOT NULL,
+  last_value           INT NOT NULL DEFAULT 0,
+  id_owner_company     INT NOT NULL,
+  CONSTRAINT uq_document_number_series UNIQUE (id_owner_company, doc_type, series_year),
+  FOREIGN KEY (id_owner_company) REFERENCES companies(id_company) ON DELETE CASCADE ON UPDATE CASCADE
+);
@@ -0,0 +1,26 @@
+-- ===========================================================
+-- Totales mensuales de facturas para el gráfico de flujo de caja
+-- Una fila por empresa propietaria, tipo de documento y mes (yyyymm).
+-- Se actualiza en la misma transacción que crea, modifica, elimina o
+-- marca como pagada una factura; sólo cuentan las facturas cuyo estado
+-- no es MODIFIED ni DELETED.
+-- ===========================================================
+
+CREATE TABLE IF NOT EXISTS cash_flow_monthly_rollups (
+  id_rollup            INT AUTO_INCREMENT PRIMARY KEY,
+  doc_type             VARCHAR(25) NOT NULL,
+  period               INT NOT NULL,
+  total_net            DOUBLE NOT NULL DEFAULT 0,
+  doc_count            INT NOT NULL DEFAULT 0,
+  id_owner_company     INT NOT NULL,
+  CONSTRAINT uq_cash_flow_monthly_rollups UNIQUE (id_owner_company, doc_type, period),
+  FOREIGN KEY (id_owner_company) REFERENCES companies(id_company) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+-- Carga inicial a partir de las facturas existentes
+INSERT INTO cash_flow_monthly_rollups (doc_type, period, total_net, doc_count, id_owner_company)
+SELECT doc_type, YEAR(doc_date) * 100 + MONTH(doc_date), SUM(total_net), COUNT(*), id_owner_company
+FROM documents
+WHERE doc_type IN ('INV_CUST', 'INV_PROV')
+  AND status NOT IN ('MODIFIED', 'DELETED')
+GROUP BY id_owner_company, doc_type, YEAR(doc_date) * 100 + MONTH(doc_date);
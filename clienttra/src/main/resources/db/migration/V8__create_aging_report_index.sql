@@ -0,0 +1,9 @@
+-- ===========================================================
+-- Índice para el informe de antigüedad de cobros y pagos pendientes
+-- Descripción: InvoiceForPendingReportRepository.findAgingByCounterparty filtra
+-- por empresa propietaria, tipo de documento y estado, y reparte los importes
+-- según el vencimiento. El índice incluye además la empresa y el importe a
+-- pagar, de modo que la consulta agregada se resuelve solo con el índice.
+-- ===========================================================
+
+CREATE INDEX idx_documents_owner_type_status_deadline ON documents(id_owner_company, doc_type, status, deadline, id_company, total_to_pay);
@@ -0,0 +1,9 @@
+-- ===========================================================
+-- Índice para los listados paginados de pedidos filtrados por par de idiomas
+-- Descripción: OrderRepository.findPageByOwnerCompany ordena por fecha e ID
+-- descendentes. Los filtros de empresa y de facturación ya tienen índice
+-- (V5); este índice cubre el filtro por idioma de origen y de destino, de modo
+-- que la página se lee en orden de índice y se detiene al llegar al límite.
+-- ===========================================================
+
+CREATE INDEX idx_orders_owner_languages_date ON orders(id_owner_company, source_language, target_language, date_order);